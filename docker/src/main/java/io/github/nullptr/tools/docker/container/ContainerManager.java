@@ -120,7 +120,7 @@ public class ContainerManager {
         if (env != null) cmd.withEnv(env);
         if (config != null) cmd.withHostConfig(config);
 
-        LOGGER.info("Creating container " + image + "...");
+        LOGGER.info("Creating container {}...", image);
         return cmd.exec();
     }
 
@@ -129,7 +129,7 @@ public class ContainerManager {
      * @param id The id of the container to start.
      */
     public void startContainer(@NotNull String id) {
-        LOGGER.info("Starting container " + id + "...");
+        LOGGER.info("Starting container {}...", id);
         this.manager.getClient().startContainerCmd(id).exec();
     }
 
@@ -158,7 +158,7 @@ public class ContainerManager {
         final CreateContainerResponse response = this.createContainer(image, name, command, volumes, env, config);
         this.startContainer(response.getId());
 
-        LOGGER.info("Container " + response.getId() + " created with image " + image + " as " + name + ".");
+        LOGGER.info("Container {} created with image {} as {}.", response.getId(), image, name);
     }
 
     /**
@@ -167,7 +167,7 @@ public class ContainerManager {
      * @return The container.
      */
     public InspectContainerResponse inspectContainer(@NotNull String containerId) {
-        LOGGER.info("Inspecting container " + containerId + "...");
+        LOGGER.info("Inspecting container {}...", containerId);
         return this.manager.getClient().inspectContainerCmd(containerId).exec();
     }
 
@@ -180,7 +180,7 @@ public class ContainerManager {
         try {
             return this.manager.getClient().waitContainerCmd(containerId).exec(new WaitContainerCallback(containerId)).awaitCompletion();
         } catch (InterruptedException e) {
-            LOGGER.error("An error has occurred while waiting for container " + containerId + ".", e);
+            LOGGER.error("An error has occurred while waiting for container {}.", containerId, e);
             return null;
         }
     }
@@ -194,7 +194,7 @@ public class ContainerManager {
      * @return The stream to read the resource.
      */
     public InputStream copyFromContainer(@NotNull String containerId, @NotNull String resourcePath, @NotNull String destination) {
-        LOGGER.info("Copying resource " + resourcePath + " from container " + containerId + " to " + destination + "...");
+        LOGGER.info("Copying resource {} from container {} to {}...", resourcePath, containerId, destination);
         return this.manager.getClient().copyArchiveFromContainerCmd(containerId, resourcePath).withHostPath(destination).exec();
     }
 
@@ -215,7 +215,7 @@ public class ContainerManager {
         if (noOverwriteDirNonDir != null) cmd.withNoOverwriteDirNonDir(noOverwriteDirNonDir);
         if (dirChildrenOnly != null) cmd.withDirChildrenOnly(dirChildrenOnly);
 
-        LOGGER.info("Copying resource " + resourcePath + " to container " + containerId + " to " + destination + "...");
+        LOGGER.info("Copying resource {} to container {} to {}...", resourcePath, containerId, destination);
         cmd.exec();
     }
 
@@ -225,7 +225,7 @@ public class ContainerManager {
      * @return The changes.
      */
     public List<ChangeLog> getContainerDiff(@NotNull String containerId) {
-        LOGGER.info("Getting container " + containerId + " changes...");
+        LOGGER.info("Getting container {} changes...", containerId);
         return this.manager.getClient().containerDiffCmd(containerId).exec();
     }
 
@@ -240,7 +240,7 @@ public class ContainerManager {
 
         if (timeout != null) cmd.withTimeout(timeout);
 
-        LOGGER.info("Stopping container " + containerId + "...");
+        LOGGER.info("Stopping container {}...", containerId);
         cmd.exec();
     }
 
@@ -256,7 +256,7 @@ public class ContainerManager {
         if (removeVolumes != null) cmd.withRemoveVolumes(removeVolumes);
         if (force != null) cmd.withForce(force);
 
-        LOGGER.info("Removing container " + containerId + "...");
+        LOGGER.info("Removing container {}...", containerId);
         cmd.exec();
     }
 
@@ -271,7 +271,7 @@ public class ContainerManager {
 
         if (signal != null) cmd.withSignal(signal);
 
-        LOGGER.info("Killing container " + containerId + "...");
+        LOGGER.info("Killing container {}...", containerId);
         cmd.exec();
     }
 
@@ -281,7 +281,7 @@ public class ContainerManager {
      * @param name The new name of the container.
      */
     public void renameContainer(@NotNull String containerId, @NotNull String name) {
-        LOGGER.info("Renaming container " + containerId + " to " + name + "...");
+        LOGGER.info("Renaming container {} to {}...", containerId, name);
         this.manager.getClient().renameContainerCmd(containerId).withName(name).exec();
     }
 
@@ -296,7 +296,7 @@ public class ContainerManager {
 
         if (timeout != null) cmd.withTimeout(timeout);
 
-        LOGGER.info("Restarting container " + containerId + "...");
+        LOGGER.info("Restarting container {}...", containerId);
         cmd.exec();
     }
 
@@ -312,7 +312,7 @@ public class ContainerManager {
 
         if (psArgs != null) cmd.withPsArgs(psArgs);
 
-        LOGGER.info("Listing processes for container " + containerId + "...");
+        LOGGER.info("Listing processes for container {}...", containerId);
         return cmd.exec();
     }
 
@@ -321,7 +321,7 @@ public class ContainerManager {
      * @param containerId The id of the container to pause.
      */
     public void pauseContainer(@NotNull String containerId) {
-        LOGGER.info("Pausing container " + containerId + "...");
+        LOGGER.info("Pausing container {}...", containerId);
         this.manager.getClient().pauseContainerCmd(containerId).exec();
     }
 
@@ -330,7 +330,7 @@ public class ContainerManager {
      * @param containerId The id of the container to unpause.
      */
     public void resumeContainer(@NotNull String containerId) {
-        LOGGER.info("Resuming container " + containerId + "...");
+        LOGGER.info("Resuming container {}...", containerId);
         this.manager.getClient().unpauseContainerCmd(containerId).exec();
     }
 
@@ -343,7 +343,7 @@ public class ContainerManager {
         try {
             return this.manager.getClient().statsCmd(containerId).withNoStream(false).exec(new StatsContainerCallback(containerId)).awaitCompletion();
         } catch (InterruptedException e) {
-            LOGGER.error("An error has occurred while retrieving stats for container " + containerId + ".", e);
+            LOGGER.error("An error has occurred while retrieving stats for container {}.", containerId, e);
             return null;
         }
     }
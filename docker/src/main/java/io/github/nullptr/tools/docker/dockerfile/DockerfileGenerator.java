@@ -1,6 +1,7 @@
 package io.github.nullptr.tools.docker.dockerfile;
 
 import io.github.nullptr.tools.io.FileWriter;
+import io.github.nullptr.tools.io.FileWriterOptions;
 import org.jetbrains.annotations.NotNull;
 
 import java.nio.file.Path;
@@ -26,6 +27,16 @@ public class DockerfileGenerator extends FileWriter {
         this.instructions = new ArrayList<>();
     }
 
+    /**
+     * The dockerfile generator constructor.
+     * @param path The path to the Dockerfile.
+     * @param options The options telling how the bytes are written.
+     */
+    public DockerfileGenerator(Path path, FileWriterOptions options) {
+        super(path, options);
+        this.instructions = new ArrayList<>();
+    }
+
     /**
      * Add a FROM instruction. <br>
      * /!\ If you don't want to use a param marked as optional, simply pass null.
@@ -76,7 +76,7 @@ public class DockerImageManager {
 
             return cmd.exec(new PullImageCallback(image, tag)).awaitCompletion();
         } catch (InterruptedException e) {
-            LOGGER.error("An error has occurred when pulling image: " + image + (tag != null ? ":" + tag : "") + " !", e);
+            LOGGER.error("An error has occurred when pulling image: {}{} !", image, tag != null ? ":" + tag : "", e);
             return null;
         }
     }
@@ -99,7 +99,7 @@ public class DockerImageManager {
 
             return cmd.exec(new PushImageCallback(image, tag)).awaitCompletion();
         } catch (InterruptedException e) {
-            LOGGER.error("An error has occurred when pushing image: " + image + (tag != null ? ":" + tag : "") + " !", e);
+            LOGGER.error("An error has occurred when pushing image: {}{} !", image, tag != null ? ":" + tag : "", e);
             return null;
         }
     }
@@ -110,10 +110,10 @@ public class DockerImageManager {
      */
     public void loadImage(@NotNull File tarImageFile) {
         try {
-            LOGGER.info("Loading image: " + tarImageFile.getAbsolutePath() + "...");
+            LOGGER.info("Loading image: {}...", tarImageFile.getAbsolutePath());
             this.manager.getClient().loadImageCmd(Files.newInputStream(tarImageFile.toPath())).exec();
         } catch (IOException e) {
-            LOGGER.error("An error has occurred when loading image: " + tarImageFile.getAbsolutePath() + ".", e);
+            LOGGER.error("An error has occurred when loading image: {}.", tarImageFile.getAbsolutePath(), e);
         }
     }
 
@@ -129,7 +129,7 @@ public class DockerImageManager {
 
         if (limit != null) cmd.withLimit(limit);
 
-        LOGGER.info("Searching images for term: " + term + "...");
+        LOGGER.info("Searching images for term: {}...", term);
         return cmd.exec();
     }
 
@@ -146,7 +146,7 @@ public class DockerImageManager {
         if (force != null) cmd.withForce(force);
         if (dontRemoveParents != null) cmd.withNoPrune(dontRemoveParents);
 
-        LOGGER.info("Removing image: " + image + "...");
+        LOGGER.info("Removing image: {}...", image);
         cmd.exec();
     }
 
@@ -163,7 +163,7 @@ public class DockerImageManager {
         if (showAll != null) cmd.withShowAll(showAll);
         if (nameFilter != null) cmd.withImageNameFilter(nameFilter);
 
-        LOGGER.info("Listing images" + (nameFilter != null ? " with filter \"" + nameFilter + "\"" : "") + "...");
+        LOGGER.info("Listing images{}...", nameFilter != null ? " with filter \"" + nameFilter + "\"" : "");
         return cmd.exec();
     }
 
@@ -173,7 +173,7 @@ public class DockerImageManager {
      * @return The inspected image.
      */
     public InspectImageResponse inspectImage(@NotNull String image) {
-        LOGGER.info("Inspecting image: " + image + "...");
+        LOGGER.info("Inspecting image: {}...", image);
         return this.manager.getClient().inspectImageCmd(image).exec();
     }
 
@@ -190,7 +190,7 @@ public class DockerImageManager {
 
         if (tag != null) cmd.withTag(tag);
 
-        LOGGER.info("Saving image: " + image + (tag != null ? ":" + tag : "") + "...");
+        LOGGER.info("Saving image: {}{}...", image, tag != null ? ":" + tag : "");
         return cmd.exec();
     }
 
@@ -207,7 +207,7 @@ public class DockerImageManager {
             cmd.withImage(entry.getKey(), entry.getValue());
         }
 
-        LOGGER.info("Saving " + images.size() + " images...");
+        LOGGER.info("Saving {} images...", images.size());
         return cmd.exec();
     }
 
@@ -249,7 +249,7 @@ public class DockerImageManager {
 
             return cmd.exec(new BuildImageCallback(dockerfile)).awaitCompletion();
         } catch (InterruptedException e) {
-            LOGGER.error("An error has occurred while building the image: " + dockerfile.getName(), e);
+            LOGGER.error("An error has occurred while building the image: {}", dockerfile.getName(), e);
             return null;
         }
     }
@@ -267,7 +267,7 @@ public class DockerImageManager {
 
         if (force != null) cmd.withForce(force);
 
-        LOGGER.info("Tagging image: " + imageName + " as: " + repository + ":" + tag + "...");
+        LOGGER.info("Tagging image: {} as: {}:{}...", imageName, repository, tag);
         cmd.exec();
     }
 }
@@ -59,7 +59,7 @@ public class DockerNetworkManager {
      * @return The network.
      */
     public Network inspectNetwork(@NotNull String id) {
-        LOGGER.info("Inspecting network " + id + "...");
+        LOGGER.info("Inspecting network {}...", id);
         return this.manager.getClient().inspectNetworkCmd().withNetworkId(id).exec();
     }
 
@@ -99,7 +99,7 @@ public class DockerNetworkManager {
         if (enableIPv6 != null) cmd.withEnableIpv6(enableIPv6);
         if (attachable != null) cmd.withAttachable(attachable);
 
-        LOGGER.info("Creating network " + name + "...");
+        LOGGER.info("Creating network {}...", name);
         return cmd.exec();
     }
 
@@ -108,7 +108,7 @@ public class DockerNetworkManager {
      * @param id The id of the network.
      */
     public void removeNetwork(@NotNull String id) {
-        LOGGER.info("Removing network " + id + "...");
+        LOGGER.info("Removing network {}...", id);
         this.manager.getClient().removeNetworkCmd(id).exec();
     }
 
@@ -118,7 +118,7 @@ public class DockerNetworkManager {
      * @param containerId The id of the container.
      */
     public void connectToNetwork(@NotNull String networkId, @NotNull String containerId) {
-        LOGGER.info("Connecting container " + containerId + " to network " + networkId + "...");
+        LOGGER.info("Connecting container {} to network {}...", containerId, networkId);
         this.manager.getClient().connectToNetworkCmd().withNetworkId(networkId).withContainerId(containerId).exec();
     }
 
@@ -134,7 +134,7 @@ public class DockerNetworkManager {
 
         if (force != null) cmd.withForce(force);
 
-        LOGGER.info("Disconnecting container " + containerId + " from network " + networkId + "...");
+        LOGGER.info("Disconnecting container {} from network {}...", containerId, networkId);
         cmd.exec();
     }
 }
@@ -50,7 +50,7 @@ public class DockerSwarmManager {
         if (advertiseAddress != null) cmd.withAdvertiseAddr(advertiseAddress);
         if (forceNewCluster != null) cmd.withForceNewCluster(forceNewCluster);
 
-        LOGGER.info("Initializing a new swarm " + swarmSpec.getName() + "...");
+        LOGGER.info("Initializing a new swarm {}...", swarmSpec.getName());
         cmd.exec();
     }
 
@@ -129,7 +129,7 @@ public class DockerSwarmManager {
         if (swarmNodeSpec != null) cmd.withSwarmNodeSpec(swarmNodeSpec);
         if (version != null) cmd.withVersion(version);
 
-        LOGGER.info("Updating swarm node " + swarmNodeId + "...");
+        LOGGER.info("Updating swarm node {}...", swarmNodeId);
         cmd.exec();
     }
 
@@ -144,7 +144,7 @@ public class DockerSwarmManager {
 
         if (force != null) cmd.withForce(force);
 
-        LOGGER.info("Removing swarm node " + swarmNodeId + "...");
+        LOGGER.info("Removing swarm node {}...", swarmNodeId);
         cmd.exec();
     }
 
@@ -198,7 +198,7 @@ public class DockerSwarmManager {
 
         if (authConfig != null) cmd.withAuthConfig(authConfig);
 
-        LOGGER.info("Creating service " + serviceSpec.getName() + "...");
+        LOGGER.info("Creating service {}...", serviceSpec.getName());
         return cmd.exec();
     }
 
@@ -208,7 +208,7 @@ public class DockerSwarmManager {
      * @return The service.
      */
     public Service inspectService(@NotNull String serviceId) {
-        LOGGER.info("Inspecting service " + serviceId + "...");
+        LOGGER.info("Inspecting service {}...", serviceId);
         return this.manager.getClient().inspectServiceCmd(serviceId).exec();
     }
 
@@ -224,7 +224,7 @@ public class DockerSwarmManager {
 
         if (version != null) cmd.withVersion(version);
 
-        LOGGER.info("Updating service " + serviceId + "...");
+        LOGGER.info("Updating service {}...", serviceId);
         cmd.exec();
     }
 
@@ -233,7 +233,7 @@ public class DockerSwarmManager {
      * @param serviceId The service ID.
      */
     public void removeService(@NotNull String serviceId) {
-        LOGGER.info("Removing service " + serviceId + "...");
+        LOGGER.info("Removing service {}...", serviceId);
         this.manager.getClient().removeServiceCmd(serviceId).exec();
     }
 
@@ -283,7 +283,7 @@ public class DockerSwarmManager {
      * @return The created secret.
      */
     public CreateSecretResponse createSecret(@NotNull SecretSpec secretSpec) {
-        LOGGER.info("Creating secret " + secretSpec.getName() + "...");
+        LOGGER.info("Creating secret {}...", secretSpec.getName());
         return this.manager.getClient().createSecretCmd(secretSpec).exec();
     }
 
@@ -292,7 +292,7 @@ public class DockerSwarmManager {
      * @param secretId The secret ID.
      */
     public void removeSecret(@NotNull String secretId) {
-        LOGGER.info("Removing secret " + secretId + "...");
+        LOGGER.info("Removing secret {}...", secretId);
         this.manager.getClient().removeSecretCmd(secretId).exec();
     }
 
@@ -329,7 +329,7 @@ public class DockerSwarmManager {
         if (name != null) cmd.withName(name);
         if (data != null) cmd.withData(data);
 
-        LOGGER.info("Creating config" + (name != null ? " " + name : "") + "...");
+        LOGGER.info("Creating config{}...", name != null ? " " + name : "");
         return cmd.exec();
     }
 
@@ -339,7 +339,7 @@ public class DockerSwarmManager {
      * @return The config.
      */
     public Config inspectConfig(@NotNull String id) {
-        LOGGER.info("Inspecting config " + id + "...");
+        LOGGER.info("Inspecting config {}...", id);
         return this.manager.getClient().inspectConfigCmd(id).exec();
     }
 
@@ -348,7 +348,7 @@ public class DockerSwarmManager {
      * @param id The config ID.
      */
     public void removeConfig(@NotNull String id) {
-        LOGGER.info("Removing config " + id + "...");
+        LOGGER.info("Removing config {}...", id);
         this.manager.getClient().removeConfigCmd(id).exec();
     }
 }
@@ -47,7 +47,7 @@ public class DockerVolumeManager {
         if (driver != null) cmd.withDriver(driver);
         if (driverOpts != null) cmd.withDriverOpts(driverOpts);
 
-        LOGGER.info("Creating volume" + (name != null ? " " + name : "") + "...");
+        LOGGER.info("Creating volume{}...", name != null ? " " + name : "");
         return cmd.exec();
     }
 
@@ -57,7 +57,7 @@ public class DockerVolumeManager {
      * @return The inspected volume.
      */
     public InspectVolumeResponse inspectVolume(@NotNull String name) {
-        LOGGER.info("Inspecting volume " + name + "...");
+        LOGGER.info("Inspecting volume {}...", name);
         return this.manager.getClient().inspectVolumeCmd(name).exec();
     }
 
@@ -66,7 +66,7 @@ public class DockerVolumeManager {
      * @param name The name of the volume.
      */
     public void removeVolume(@NotNull String name) {
-        LOGGER.info("Removing volume " + name + "...");
+        LOGGER.info("Removing volume {}...", name);
         this.manager.getClient().removeVolumeCmd(name).exec();
     }
 
@@ -0,0 +1,742 @@
+package io.github.nullptr.tools.slf4j;
+
+import io.github.nullptr.tools.logger.FileLogger;
+import io.github.nullptr.tools.logger.LoggerPrefix;
+import io.github.nullptr.tools.logger.LoggerPrintType;
+import org.slf4j.Logger;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+
+/**
+ * A SLF4J logger writing to a {@link FileLogger}, with its own prefix and level. <br>
+ * The messages are formatted by the file logger without intermediate strings, trace messages being written as debug ones. <br>
+ * As with SLF4J, when the last argument is an exception, it is logged after the message instead of being formatted. <br>
+ * /!\ The markers are ignored.
+ */
+public class FileLoggerAdapter implements Logger {
+
+    /**
+     * The threshold of the trace level.
+     */
+    private static final int TRACE = Level.TRACE.toInt();
+    /**
+     * The threshold of the debug level.
+     */
+    private static final int DEBUG = Level.DEBUG.toInt();
+    /**
+     * The threshold of the info level.
+     */
+    private static final int INFO = Level.INFO.toInt();
+    /**
+     * The threshold of the warn level.
+     */
+    private static final int WARN = Level.WARN.toInt();
+    /**
+     * The threshold of the error level.
+     */
+    private static final int ERROR = Level.ERROR.toInt();
+
+    /**
+     * The name of the logger.
+     */
+    private final String name;
+    /**
+     * The file logger to write to.
+     */
+    private final FileLogger logger;
+    /**
+     * The prefix of the messages.
+     */
+    private final LoggerPrefix prefix;
+    /**
+     * The {@link Level#toInt()} of the lowest enabled level.
+     */
+    private volatile int threshold;
+
+    /**
+     * The FileLoggerAdapter constructor.
+     * @param name The name of the logger.
+     * @param logger The file logger to write to.
+     * @param prefix The prefix of the messages.
+     * @param threshold The {@link Level#toInt()} of the lowest enabled level.
+     */
+    public FileLoggerAdapter(String name, FileLogger logger, LoggerPrefix prefix, int threshold) {
+        this.name = name;
+        this.logger = logger;
+        this.prefix = prefix;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Get the name of the logger.
+     * @return The name of the logger.
+     */
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Set the lowest enabled level.
+     * @param threshold The {@link Level#toInt()} of the lowest enabled level, or {@link FileLoggerConfiguration#OFF}.
+     */
+    void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Check if the trace messages are logged.
+     * @return <code>true</code> if the trace messages are logged.
+     */
+    @Override
+    public boolean isTraceEnabled() {
+        return this.threshold <= TRACE;
+    }
+
+    /**
+     * Log as trace.
+     * @param msg The message to log.
+     */
+    @Override
+    public void trace(String msg) {
+        if (this.threshold <= TRACE) this.logger.log(this.prefix, LoggerPrintType.DEBUG, msg);
+    }
+
+    /**
+     * Log as trace, the first "{}" of the pattern being replaced by the argument.
+     * @param format The pattern of the message to log.
+     * @param arg The argument.
+     */
+    @Override
+    public void trace(String format, Object arg) {
+        if (this.threshold <= TRACE) this.log(LoggerPrintType.DEBUG, format, arg);
+    }
+
+    /**
+     * Log as trace, the two first "{}" of the pattern being replaced by the arguments.
+     * @param format The pattern of the message to log.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    @Override
+    public void trace(String format, Object arg1, Object arg2) {
+        if (this.threshold <= TRACE) this.log(LoggerPrintType.DEBUG, format, arg1, arg2);
+    }
+
+    /**
+     * Log as trace, each "{}" of the pattern being replaced by the next argument.
+     * @param format The pattern of the message to log.
+     * @param arguments The arguments.
+     */
+    @Override
+    public void trace(String format, Object... arguments) {
+        if (this.threshold <= TRACE) this.log(LoggerPrintType.DEBUG, format, arguments);
+    }
+
+    /**
+     * Log as trace, followed by an exception.
+     * @param msg The message to log.
+     * @param t The exception to log.
+     */
+    @Override
+    public void trace(String msg, Throwable t) {
+        if (this.threshold <= TRACE) this.logger.log(this.prefix, LoggerPrintType.DEBUG, msg, null, 0, t);
+    }
+
+    /**
+     * Check if the trace messages are logged, the marker being ignored.
+     * @param marker The ignored marker.
+     * @return <code>true</code> if the trace messages are logged.
+     */
+    @Override
+    public boolean isTraceEnabled(Marker marker) {
+        return this.isTraceEnabled();
+    }
+
+    /**
+     * Log as trace, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param msg The message to log.
+     */
+    @Override
+    public void trace(Marker marker, String msg) {
+        this.trace(msg);
+    }
+
+    /**
+     * Log as trace, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param format The pattern of the message to log.
+     * @param arg The argument.
+     */
+    @Override
+    public void trace(Marker marker, String format, Object arg) {
+        this.trace(format, arg);
+    }
+
+    /**
+     * Log as trace, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param format The pattern of the message to log.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    @Override
+    public void trace(Marker marker, String format, Object arg1, Object arg2) {
+        this.trace(format, arg1, arg2);
+    }
+
+    /**
+     * Log as trace, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param format The pattern of the message to log.
+     * @param arguments The arguments.
+     */
+    @Override
+    public void trace(Marker marker, String format, Object... arguments) {
+        this.trace(format, arguments);
+    }
+
+    /**
+     * Log as trace, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param msg The message to log.
+     * @param t The exception to log.
+     */
+    @Override
+    public void trace(Marker marker, String msg, Throwable t) {
+        this.trace(msg, t);
+    }
+
+    /**
+     * Check if the debug messages are logged.
+     * @return <code>true</code> if the debug messages are logged.
+     */
+    @Override
+    public boolean isDebugEnabled() {
+        return this.threshold <= DEBUG;
+    }
+
+    /**
+     * Log as debug.
+     * @param msg The message to log.
+     */
+    @Override
+    public void debug(String msg) {
+        if (this.threshold <= DEBUG) this.logger.log(this.prefix, LoggerPrintType.DEBUG, msg);
+    }
+
+    /**
+     * Log as debug, the first "{}" of the pattern being replaced by the argument.
+     * @param format The pattern of the message to log.
+     * @param arg The argument.
+     */
+    @Override
+    public void debug(String format, Object arg) {
+        if (this.threshold <= DEBUG) this.log(LoggerPrintType.DEBUG, format, arg);
+    }
+
+    /**
+     * Log as debug, the two first "{}" of the pattern being replaced by the arguments.
+     * @param format The pattern of the message to log.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    @Override
+    public void debug(String format, Object arg1, Object arg2) {
+        if (this.threshold <= DEBUG) this.log(LoggerPrintType.DEBUG, format, arg1, arg2);
+    }
+
+    /**
+     * Log as debug, each "{}" of the pattern being replaced by the next argument.
+     * @param format The pattern of the message to log.
+     * @param arguments The arguments.
+     */
+    @Override
+    public void debug(String format, Object... arguments) {
+        if (this.threshold <= DEBUG) this.log(LoggerPrintType.DEBUG, format, arguments);
+    }
+
+    /**
+     * Log as debug, followed by an exception.
+     * @param msg The message to log.
+     * @param t The exception to log.
+     */
+    @Override
+    public void debug(String msg, Throwable t) {
+        if (this.threshold <= DEBUG) this.logger.log(this.prefix, LoggerPrintType.DEBUG, msg, null, 0, t);
+    }
+
+    /**
+     * Check if the debug messages are logged, the marker being ignored.
+     * @param marker The ignored marker.
+     * @return <code>true</code> if the debug messages are logged.
+     */
+    @Override
+    public boolean isDebugEnabled(Marker marker) {
+        return this.isDebugEnabled();
+    }
+
+    /**
+     * Log as debug, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param msg The message to log.
+     */
+    @Override
+    public void debug(Marker marker, String msg) {
+        this.debug(msg);
+    }
+
+    /**
+     * Log as debug, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param format The pattern of the message to log.
+     * @param arg The argument.
+     */
+    @Override
+    public void debug(Marker marker, String format, Object arg) {
+        this.debug(format, arg);
+    }
+
+    /**
+     * Log as debug, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param format The pattern of the message to log.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    @Override
+    public void debug(Marker marker, String format, Object arg1, Object arg2) {
+        this.debug(format, arg1, arg2);
+    }
+
+    /**
+     * Log as debug, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param format The pattern of the message to log.
+     * @param arguments The arguments.
+     */
+    @Override
+    public void debug(Marker marker, String format, Object... arguments) {
+        this.debug(format, arguments);
+    }
+
+    /**
+     * Log as debug, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param msg The message to log.
+     * @param t The exception to log.
+     */
+    @Override
+    public void debug(Marker marker, String msg, Throwable t) {
+        this.debug(msg, t);
+    }
+
+    /**
+     * Check if the info messages are logged.
+     * @return <code>true</code> if the info messages are logged.
+     */
+    @Override
+    public boolean isInfoEnabled() {
+        return this.threshold <= INFO;
+    }
+
+    /**
+     * Log as info.
+     * @param msg The message to log.
+     */
+    @Override
+    public void info(String msg) {
+        if (this.threshold <= INFO) this.logger.log(this.prefix, LoggerPrintType.INFO, msg);
+    }
+
+    /**
+     * Log as info, the first "{}" of the pattern being replaced by the argument.
+     * @param format The pattern of the message to log.
+     * @param arg The argument.
+     */
+    @Override
+    public void info(String format, Object arg) {
+        if (this.threshold <= INFO) this.log(LoggerPrintType.INFO, format, arg);
+    }
+
+    /**
+     * Log as info, the two first "{}" of the pattern being replaced by the arguments.
+     * @param format The pattern of the message to log.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    @Override
+    public void info(String format, Object arg1, Object arg2) {
+        if (this.threshold <= INFO) this.log(LoggerPrintType.INFO, format, arg1, arg2);
+    }
+
+    /**
+     * Log as info, each "{}" of the pattern being replaced by the next argument.
+     * @param format The pattern of the message to log.
+     * @param arguments The arguments.
+     */
+    @Override
+    public void info(String format, Object... arguments) {
+        if (this.threshold <= INFO) this.log(LoggerPrintType.INFO, format, arguments);
+    }
+
+    /**
+     * Log as info, followed by an exception.
+     * @param msg The message to log.
+     * @param t The exception to log.
+     */
+    @Override
+    public void info(String msg, Throwable t) {
+        if (this.threshold <= INFO) this.logger.log(this.prefix, LoggerPrintType.INFO, msg, null, 0, t);
+    }
+
+    /**
+     * Check if the info messages are logged, the marker being ignored.
+     * @param marker The ignored marker.
+     * @return <code>true</code> if the info messages are logged.
+     */
+    @Override
+    public boolean isInfoEnabled(Marker marker) {
+        return this.isInfoEnabled();
+    }
+
+    /**
+     * Log as info, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param msg The message to log.
+     */
+    @Override
+    public void info(Marker marker, String msg) {
+        this.info(msg);
+    }
+
+    /**
+     * Log as info, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param format The pattern of the message to log.
+     * @param arg The argument.
+     */
+    @Override
+    public void info(Marker marker, String format, Object arg) {
+        this.info(format, arg);
+    }
+
+    /**
+     * Log as info, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param format The pattern of the message to log.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    @Override
+    public void info(Marker marker, String format, Object arg1, Object arg2) {
+        this.info(format, arg1, arg2);
+    }
+
+    /**
+     * Log as info, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param format The pattern of the message to log.
+     * @param arguments The arguments.
+     */
+    @Override
+    public void info(Marker marker, String format, Object... arguments) {
+        this.info(format, arguments);
+    }
+
+    /**
+     * Log as info, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param msg The message to log.
+     * @param t The exception to log.
+     */
+    @Override
+    public void info(Marker marker, String msg, Throwable t) {
+        this.info(msg, t);
+    }
+
+    /**
+     * Check if the warn messages are logged.
+     * @return <code>true</code> if the warn messages are logged.
+     */
+    @Override
+    public boolean isWarnEnabled() {
+        return this.threshold <= WARN;
+    }
+
+    /**
+     * Log as warn.
+     * @param msg The message to log.
+     */
+    @Override
+    public void warn(String msg) {
+        if (this.threshold <= WARN) this.logger.log(this.prefix, LoggerPrintType.WARNING, msg);
+    }
+
+    /**
+     * Log as warn, the first "{}" of the pattern being replaced by the argument.
+     * @param format The pattern of the message to log.
+     * @param arg The argument.
+     */
+    @Override
+    public void warn(String format, Object arg) {
+        if (this.threshold <= WARN) this.log(LoggerPrintType.WARNING, format, arg);
+    }
+
+    /**
+     * Log as warn, the two first "{}" of the pattern being replaced by the arguments.
+     * @param format The pattern of the message to log.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    @Override
+    public void warn(String format, Object arg1, Object arg2) {
+        if (this.threshold <= WARN) this.log(LoggerPrintType.WARNING, format, arg1, arg2);
+    }
+
+    /**
+     * Log as warn, each "{}" of the pattern being replaced by the next argument.
+     * @param format The pattern of the message to log.
+     * @param arguments The arguments.
+     */
+    @Override
+    public void warn(String format, Object... arguments) {
+        if (this.threshold <= WARN) this.log(LoggerPrintType.WARNING, format, arguments);
+    }
+
+    /**
+     * Log as warn, followed by an exception.
+     * @param msg The message to log.
+     * @param t The exception to log.
+     */
+    @Override
+    public void warn(String msg, Throwable t) {
+        if (this.threshold <= WARN) this.logger.log(this.prefix, LoggerPrintType.WARNING, msg, null, 0, t);
+    }
+
+    /**
+     * Check if the warn messages are logged, the marker being ignored.
+     * @param marker The ignored marker.
+     * @return <code>true</code> if the warn messages are logged.
+     */
+    @Override
+    public boolean isWarnEnabled(Marker marker) {
+        return this.isWarnEnabled();
+    }
+
+    /**
+     * Log as warn, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param msg The message to log.
+     */
+    @Override
+    public void warn(Marker marker, String msg) {
+        this.warn(msg);
+    }
+
+    /**
+     * Log as warn, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param format The pattern of the message to log.
+     * @param arg The argument.
+     */
+    @Override
+    public void warn(Marker marker, String format, Object arg) {
+        this.warn(format, arg);
+    }
+
+    /**
+     * Log as warn, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param format The pattern of the message to log.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    @Override
+    public void warn(Marker marker, String format, Object arg1, Object arg2) {
+        this.warn(format, arg1, arg2);
+    }
+
+    /**
+     * Log as warn, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param format The pattern of the message to log.
+     * @param arguments The arguments.
+     */
+    @Override
+    public void warn(Marker marker, String format, Object... arguments) {
+        this.warn(format, arguments);
+    }
+
+    /**
+     * Log as warn, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param msg The message to log.
+     * @param t The exception to log.
+     */
+    @Override
+    public void warn(Marker marker, String msg, Throwable t) {
+        this.warn(msg, t);
+    }
+
+    /**
+     * Check if the error messages are logged.
+     * @return <code>true</code> if the error messages are logged.
+     */
+    @Override
+    public boolean isErrorEnabled() {
+        return this.threshold <= ERROR;
+    }
+
+    /**
+     * Log as error.
+     * @param msg The message to log.
+     */
+    @Override
+    public void error(String msg) {
+        if (this.threshold <= ERROR) this.logger.log(this.prefix, LoggerPrintType.ERROR, msg);
+    }
+
+    /**
+     * Log as error, the first "{}" of the pattern being replaced by the argument.
+     * @param format The pattern of the message to log.
+     * @param arg The argument.
+     */
+    @Override
+    public void error(String format, Object arg) {
+        if (this.threshold <= ERROR) this.log(LoggerPrintType.ERROR, format, arg);
+    }
+
+    /**
+     * Log as error, the two first "{}" of the pattern being replaced by the arguments.
+     * @param format The pattern of the message to log.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    @Override
+    public void error(String format, Object arg1, Object arg2) {
+        if (this.threshold <= ERROR) this.log(LoggerPrintType.ERROR, format, arg1, arg2);
+    }
+
+    /**
+     * Log as error, each "{}" of the pattern being replaced by the next argument.
+     * @param format The pattern of the message to log.
+     * @param arguments The arguments.
+     */
+    @Override
+    public void error(String format, Object... arguments) {
+        if (this.threshold <= ERROR) this.log(LoggerPrintType.ERROR, format, arguments);
+    }
+
+    /**
+     * Log as error, followed by an exception.
+     * @param msg The message to log.
+     * @param t The exception to log.
+     */
+    @Override
+    public void error(String msg, Throwable t) {
+        if (this.threshold <= ERROR) this.logger.log(this.prefix, LoggerPrintType.ERROR, msg, null, 0, t);
+    }
+
+    /**
+     * Check if the error messages are logged, the marker being ignored.
+     * @param marker The ignored marker.
+     * @return <code>true</code> if the error messages are logged.
+     */
+    @Override
+    public boolean isErrorEnabled(Marker marker) {
+        return this.isErrorEnabled();
+    }
+
+    /**
+     * Log as error, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param msg The message to log.
+     */
+    @Override
+    public void error(Marker marker, String msg) {
+        this.error(msg);
+    }
+
+    /**
+     * Log as error, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param format The pattern of the message to log.
+     * @param arg The argument.
+     */
+    @Override
+    public void error(Marker marker, String format, Object arg) {
+        this.error(format, arg);
+    }
+
+    /**
+     * Log as error, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param format The pattern of the message to log.
+     * @param arg1 The first argument.
+     * @param arg2 The second argument.
+     */
+    @Override
+    public void error(Marker marker, String format, Object arg1, Object arg2) {
+        this.error(format, arg1, arg2);
+    }
+
+    /**
+     * Log as error, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param format The pattern of the message to log.
+     * @param arguments The arguments.
+     */
+    @Override
+    public void error(Marker marker, String format, Object... arguments) {
+        this.error(format, arguments);
+    }
+
+    /**
+     * Log as error, the marker being ignored.
+     * @param marker The ignored marker.
+     * @param msg The message to log.
+     * @param t The exception to log.
+     */
+    @Override
+    public void error(Marker marker, String msg, Throwable t) {
+        this.error(msg, t);
+    }
+
+    /**
+     * Logs a parameterized message, the argument being logged after the message if it is an exception.
+     * @param type The type of the message.
+     * @param format The pattern of the message to log.
+     * @param argument The argument.
+     */
+    private void log(LoggerPrintType type, String format, Object argument) {
+        if (argument instanceof Throwable) this.logger.log(this.prefix, type, format, null, 0, (Throwable) argument);
+        else this.logger.log(this.prefix, type, format, argument);
+    }
+
+    /**
+     * Logs a parameterized message, the second argument being logged after the message if it is an exception.
+     * @param type The type of the message.
+     * @param format The pattern of the message to log.
+     * @param first The first argument.
+     * @param second The second argument.
+     */
+    private void log(LoggerPrintType type, String format, Object first, Object second) {
+        if (second instanceof Throwable) this.logger.log(this.prefix, type, format, new Object[] {first}, 1, (Throwable) second);
+        else this.logger.log(this.prefix, type, format, first, second);
+    }
+
+    /**
+     * Logs a parameterized message, the last argument being logged after the message if it is an exception.
+     * @param type The type of the message.
+     * @param format The pattern of the message to log.
+     * @param arguments The arguments.
+     */
+    private void log(LoggerPrintType type, String format, Object[] arguments) {
+        final Object last = arguments == null || arguments.length == 0 ? null : arguments[arguments.length - 1];
+
+        if (last instanceof Throwable) this.logger.log(this.prefix, type, format, arguments, arguments.length - 1, (Throwable) last);
+        else this.logger.log(this.prefix, type, format, arguments);
+    }
+}
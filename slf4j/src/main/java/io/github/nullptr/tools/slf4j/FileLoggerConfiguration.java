@@ -0,0 +1,213 @@
+package io.github.nullptr.tools.slf4j;
+
+import io.github.nullptr.tools.io.FileCompression;
+import io.github.nullptr.tools.io.FileWriterOptions;
+import io.github.nullptr.tools.logger.FileLogger;
+import io.github.nullptr.tools.logger.LoggerFormat;
+import io.github.nullptr.tools.logger.LoggerOverflowPolicy;
+import io.github.nullptr.tools.logger.LoggerPrintType;
+import io.github.nullptr.tools.logger.LoggerRollingInterval;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The configuration of the SLF4J backend, read from the <code>nullptr-logger.properties</code> file at the root of the classpath,
+ * each key being overridable by a system property prefixed by <code>nullptr.logger.</code>. <br>
+ * The known keys are:
+ * <ul>
+ *     <li><code>file</code>: the path of the log file, <code>logs/latest.log</code> by default,</li>
+ *     <li><code>level</code>: the level of all the loggers, <code>INFO</code> by default, one of
+ *     <code>TRACE</code>, <code>DEBUG</code>, <code>INFO</code>, <code>WARN</code>, <code>ERROR</code> or <code>OFF</code>,</li>
+ *     <li><code>level.&lt;name&gt;</code>: the level of the loggers of the given name, or whose name starts with the given name followed by a dot,</li>
+ *     <li><code>prefix.short</code>: <code>true</code> to prefix the messages with the simple name of the loggers, <code>true</code> by default,</li>
+ *     <li><code>format</code>: the format of the records, <code>TEXT</code> or <code>BINARY</code>,</li>
+ *     <li><code>flush</code>: the flush policy, <code>FLUSH_PER_WRITE</code>, <code>SYNC_PER_WRITE</code>,
+ *     <code>BUFFERED</code> (with <code>flush.threshold</code> in bytes) or <code>GROUP_COMMIT</code> (with <code>flush.interval</code> in milliseconds),</li>
+ *     <li><code>compression</code> and <code>compression.level</code>: the compression of the file as it is written,
+ *     <code>NONE</code> by default, <code>GZIP</code>, <code>DEFLATE</code> or <code>STORE</code>, and its level from 0 to 9,</li>
+ *     <li><code>async.capacity</code> and <code>async.overflow</code>: the capacity of the asynchronous buffer, 0 to log synchronously, and its overflow policy,</li>
+ *     <li><code>rolling.maxBytes</code>, <code>rolling.interval</code>, <code>rolling.retention</code> and <code>rolling.compress</code>: the rolling of the file,</li>
+ *     <li><code>rateLimit.perSecond</code>, <code>rateLimit.burst</code> and <code>rateLimit.interval</code>: the rate limit of the similar messages,
+ *     0 by default to not limit it, the burst and the interval between two reports of the suppressed messages, in milliseconds.</li>
+ * </ul>
+ */
+public class FileLoggerConfiguration {
+
+    /**
+     * The name of the configuration file, at the root of the classpath.
+     */
+    public static final String RESOURCE = "nullptr-logger.properties";
+    /**
+     * The prefix of the system properties overriding the configuration file.
+     */
+    public static final String PROPERTY_PREFIX = "nullptr.logger.";
+    /**
+     * The threshold of the loggers which are turned off.
+     */
+    public static final int OFF = Integer.MAX_VALUE;
+
+    /**
+     * The key of the per-name levels, followed by the name.
+     */
+    private static final String LEVEL_KEY = "level.";
+
+    /**
+     * The configuration properties.
+     */
+    private final Properties properties;
+
+    /**
+     * The FileLoggerConfiguration constructor.
+     * @param properties The configuration properties, without the system properties prefix.
+     */
+    public FileLoggerConfiguration(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Loads the configuration from the configuration file, if any, and from the system properties.
+     * @return The loaded configuration.
+     */
+    public static FileLoggerConfiguration load() {
+        final Properties properties = new Properties();
+
+        try (final InputStream stream = FileLoggerConfiguration.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (stream != null) properties.load(stream);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read the logger configuration " + RESOURCE, e);
+        }
+
+        for (final String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith(PROPERTY_PREFIX)) {
+                properties.setProperty(key.substring(PROPERTY_PREFIX.length()), System.getProperty(key));
+            }
+        }
+
+        return new FileLoggerConfiguration(properties);
+    }
+
+    /**
+     * Creates the file logger shared by all the SLF4J loggers. <br>
+     * Its own level is the lowest one, the levels being checked by each SLF4J logger.
+     * @return The created file logger.
+     */
+    public FileLogger createLogger() {
+        final FileLogger.Builder builder = new FileLogger.Builder()
+                .withPath(Paths.get(this.get("file", "logs/latest.log")))
+                .withPrefix(Logger.ROOT_LOGGER_NAME)
+                .withLevel(LoggerPrintType.DEBUG)
+                .withOptions(this.createOptions())
+                .withFormat(LoggerFormat.valueOf(this.get("format", LoggerFormat.TEXT.name()).toUpperCase(Locale.ROOT)));
+
+        final long maxBytes = Long.parseLong(this.get("rolling.maxBytes", "0"));
+        final LoggerRollingInterval interval = LoggerRollingInterval.valueOf(this.get("rolling.interval", LoggerRollingInterval.NEVER.name()).toUpperCase(Locale.ROOT));
+
+        if (maxBytes > 0 || interval != LoggerRollingInterval.NEVER) {
+            builder.withRolling(maxBytes, interval, Integer.parseInt(this.get("rolling.retention", "0")), Boolean.parseBoolean(this.get("rolling.compress", "false")));
+        }
+
+        final double rateLimit = Double.parseDouble(this.get("rateLimit.perSecond", "0"));
+        if (rateLimit > 0) {
+            builder.withRateLimit(rateLimit, Integer.parseInt(this.get("rateLimit.burst", "10")), Long.parseLong(this.get("rateLimit.interval", "10000")));
+        }
+
+        final int capacity = Integer.parseInt(this.get("async.capacity", "0"));
+        if (capacity > 0) {
+            builder.withAsync(capacity, LoggerOverflowPolicy.valueOf(this.get("async.overflow", LoggerOverflowPolicy.BLOCK.name()).toUpperCase(Locale.ROOT)));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Check if the messages are prefixed with the simple name of the loggers, the part after the last dot, instead of their full name.
+     * @return <code>true</code> if the simple names are used.
+     */
+    public boolean isShortPrefix() {
+        return Boolean.parseBoolean(this.get("prefix.short", "true"));
+    }
+
+    /**
+     * Get the configured thresholds, by logger name, the root logger being named {@link Logger#ROOT_LOGGER_NAME}.
+     * @return The thresholds, as the {@link Level#toInt()} of the lowest enabled level, or {@link #OFF}.
+     */
+    public Map<String, Integer> getThresholds() {
+        final Map<String, Integer> thresholds = new HashMap<>();
+        thresholds.put(Logger.ROOT_LOGGER_NAME, FileLoggerConfiguration.parseThreshold(this.get("level", Level.INFO.name())));
+
+        for (final String key : this.properties.stringPropertyNames()) {
+            if (key.startsWith(LEVEL_KEY)) {
+                thresholds.put(key.substring(LEVEL_KEY.length()), FileLoggerConfiguration.parseThreshold(this.properties.getProperty(key)));
+            }
+        }
+
+        return thresholds;
+    }
+
+    /**
+     * Parses a level name to a threshold.
+     * @param level The name of the level, <code>WARNING</code> being accepted for <code>WARN</code>.
+     * @return The threshold, as the {@link Level#toInt()} of the level, or {@link #OFF}.
+     */
+    public static int parseThreshold(String level) {
+        final String name = level.trim().toUpperCase(Locale.ROOT);
+
+        if (name.equals("OFF")) return OFF;
+        if (name.equals(LoggerPrintType.WARNING.name())) return Level.WARN.toInt();
+
+        try {
+            return Level.valueOf(name).toInt();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown logger level " + level, e);
+        }
+    }
+
+    /**
+     * Creates the options of the log file.
+     * @return The file writer options.
+     */
+    private FileWriterOptions createOptions() {
+        final FileWriterOptions.Builder builder = new FileWriterOptions.Builder();
+
+        switch (this.get("flush", "FLUSH_PER_WRITE").toUpperCase(Locale.ROOT)) {
+            case "BUFFERED":
+                builder.withBufferedFlush(Integer.parseInt(this.get("flush.threshold", "8192")));
+                break;
+            case "GROUP_COMMIT":
+                builder.withGroupCommit(Long.parseLong(this.get("flush.interval", "1000")));
+                break;
+            case "SYNC_PER_WRITE":
+                builder.withSyncPerWrite();
+                break;
+            case "FLUSH_PER_WRITE":
+                builder.withFlushPerWrite();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown flush policy " + this.get("flush", null));
+        }
+
+        builder.withCompression(FileCompression.valueOf(this.get("compression", FileCompression.NONE.name()).toUpperCase(Locale.ROOT)),
+                Integer.parseInt(this.get("compression.level", "-1")));
+
+        return builder.build();
+    }
+
+    /**
+     * Get a configuration value.
+     * @param key The key of the value.
+     * @param defaultValue The value to return if the key is not set.
+     * @return The configuration value, trimmed, or the default value.
+     */
+    private String get(String key, String defaultValue) {
+        final String value = this.properties.getProperty(key);
+        return value == null ? defaultValue : value.trim();
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.nullptr.tools.slf4j;
+
+import io.github.nullptr.tools.logger.FileLogger;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The factory of the SLF4J loggers, all writing to the same {@link FileLogger}, each one with its own prefix and level. <br>
+ * The levels can be changed at runtime through {@link #setLevel(String, Level)}, the factory being available
+ * from <code>(FileLoggerFactory) LoggerFactory.getILoggerFactory()</code>.
+ */
+public class FileLoggerFactory implements ILoggerFactory {
+
+    /**
+     * The file logger shared by all the loggers.
+     */
+    private final FileLogger logger;
+    /**
+     * <code>true</code> to prefix the messages with the simple name of the loggers.
+     */
+    private final boolean shortPrefix;
+    /**
+     * The configured thresholds, by logger name.
+     */
+    private final Map<String, Integer> thresholds;
+    /**
+     * The created loggers, by name.
+     */
+    private final ConcurrentMap<String, FileLoggerAdapter> loggers = new ConcurrentHashMap<>();
+
+    /**
+     * The FileLoggerFactory constructor.
+     * @param logger The file logger shared by all the loggers.
+     * @param configuration The configuration of the loggers.
+     */
+    public FileLoggerFactory(FileLogger logger, FileLoggerConfiguration configuration) {
+        this.logger = logger;
+        this.shortPrefix = configuration.isShortPrefix();
+        this.thresholds = new ConcurrentHashMap<>(configuration.getThresholds());
+    }
+
+    /**
+     * Get the logger of the given name, creating it the first time.
+     * @param name The name of the logger.
+     * @return The logger.
+     */
+    @Override
+    public Logger getLogger(String name) {
+        final FileLoggerAdapter existing = this.loggers.get(name);
+        return existing != null ? existing : this.loggers.computeIfAbsent(name, this::createLogger);
+    }
+
+    /**
+     * Set the level of the loggers of the given name, and of the loggers whose name starts with the given name followed by a dot,
+     * unless they have their own level.
+     * @param name The name of the loggers, or {@link Logger#ROOT_LOGGER_NAME} for all the loggers.
+     * @param level The lowest enabled level, or <code>null</code> to turn the loggers off.
+     */
+    public void setLevel(String name, Level level) {
+        this.thresholds.put(name, level == null ? FileLoggerConfiguration.OFF : level.toInt());
+        this.updateThresholds();
+    }
+
+    /**
+     * Removes the level of the loggers of the given name, so they inherit it again from their parent names.
+     * @param name The name of the loggers, the root level can't be removed.
+     */
+    public void clearLevel(String name) {
+        if (name.equals(Logger.ROOT_LOGGER_NAME)) return;
+
+        this.thresholds.remove(name);
+        this.updateThresholds();
+    }
+
+    /**
+     * Get the file logger shared by all the loggers, for example to close it when the application stops.
+     * @return The file logger.
+     */
+    public FileLogger getFileLogger() {
+        return this.logger;
+    }
+
+    /**
+     * Creates a logger.
+     * @param name The name of the logger.
+     * @return The created logger.
+     */
+    private FileLoggerAdapter createLogger(String name) {
+        final int dot = name.lastIndexOf('.');
+        final String prefix = this.shortPrefix && dot >= 0 && dot < name.length() - 1 ? name.substring(dot + 1) : name;
+
+        return new FileLoggerAdapter(name, this.logger, this.logger.prefix(prefix), this.resolveThreshold(name));
+    }
+
+    /**
+     * Updates the thresholds of all the created loggers, after a level change.
+     */
+    private void updateThresholds() {
+        for (final FileLoggerAdapter adapter : this.loggers.values()) {
+            adapter.setThreshold(this.resolveThreshold(adapter.getName()));
+        }
+    }
+
+    /**
+     * Resolves the threshold of a logger: its own one, or the one of its closest parent name, or the root one.
+     * @param name The name of the logger.
+     * @return The threshold of the logger.
+     */
+    private int resolveThreshold(String name) {
+        String current = name;
+
+        while (true) {
+            final Integer threshold = this.thresholds.get(current);
+            if (threshold != null) return threshold;
+
+            final int dot = current.lastIndexOf('.');
+            if (dot < 0) break;
+
+            current = current.substring(0, dot);
+        }
+
+        return this.thresholds.getOrDefault(Logger.ROOT_LOGGER_NAME, Level.INFO.toInt());
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.nullptr.tools.slf4j;
+
+import com.google.auto.service.AutoService;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.IMarkerFactory;
+import org.slf4j.helpers.BasicMDCAdapter;
+import org.slf4j.helpers.BasicMarkerFactory;
+import org.slf4j.spi.MDCAdapter;
+import org.slf4j.spi.SLF4JServiceProvider;
+
+/**
+ * The SLF4J service provider, routing all the SLF4J loggers to a {@link io.github.nullptr.tools.logger.FileLogger}. <br>
+ * It is found by SLF4J as soon as this module is on the classpath, and configured by {@link FileLoggerConfiguration}.
+ */
+@AutoService(SLF4JServiceProvider.class)
+public class FileLoggerServiceProvider implements SLF4JServiceProvider {
+
+    /**
+     * The version of the SLF4J API this provider is compiled for.
+     */
+    public static final String REQUESTED_API_VERSION = "2.0.99";
+
+    /**
+     * The factory of the loggers.
+     */
+    private ILoggerFactory loggerFactory;
+    /**
+     * The factory of the markers.
+     */
+    private IMarkerFactory markerFactory;
+    /**
+     * The adapter of the mapped diagnostic context.
+     */
+    private MDCAdapter mdcAdapter;
+
+    /**
+     * Get the factory of the loggers.
+     * @return The logger factory, a {@link FileLoggerFactory}.
+     */
+    @Override
+    public ILoggerFactory getLoggerFactory() {
+        return this.loggerFactory;
+    }
+
+    /**
+     * Get the factory of the markers. The markers are not written to the file.
+     * @return The marker factory.
+     */
+    @Override
+    public IMarkerFactory getMarkerFactory() {
+        return this.markerFactory;
+    }
+
+    /**
+     * Get the adapter of the mapped diagnostic context. The context is kept, but not written to the file.
+     * @return The MDC adapter.
+     */
+    @Override
+    public MDCAdapter getMDCAdapter() {
+        return this.mdcAdapter;
+    }
+
+    /**
+     * Get the version of the SLF4J API this provider is compiled for. <br>
+     * Not annotated with {@link Override}, the alpha versions of SLF4J 2.0 naming it {@link #getRequesteApiVersion()}.
+     * @return The requested API version.
+     */
+    public String getRequestedApiVersion() {
+        return REQUESTED_API_VERSION;
+    }
+
+    /**
+     * Get the version of the SLF4J API this provider is compiled for, as named by the alpha versions of SLF4J 2.0.
+     * @return The requested API version.
+     */
+    public String getRequesteApiVersion() {
+        return REQUESTED_API_VERSION;
+    }
+
+    /**
+     * Loads the configuration and creates the file logger, called once by SLF4J.
+     */
+    @Override
+    public void initialize() {
+        final FileLoggerConfiguration configuration = FileLoggerConfiguration.load();
+
+        this.loggerFactory = new FileLoggerFactory(configuration.createLogger(), configuration);
+        this.markerFactory = new BasicMarkerFactory();
+        this.mdcAdapter = new BasicMDCAdapter();
+    }
+}
@@ -1,14 +1,21 @@
 package io.github.nullptr.tools.i18n;
 
-import java.util.IllegalFormatException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.UnaryOperator;
 
 /**
  * This class provides internationalization support.
  */
 public class I18n {
 
+    /**
+     * The locale used for the keys missing from a locale and its parents, unless another one is given.
+     */
+    static final Locale DEFAULT_FALLBACK = new Locale("en_US");
+
     /**
      * The I18n instance.
      */
@@ -19,17 +26,34 @@ public class I18n {
      */
     private Locale locale;
     /**
-     * The language messages.
+     * The compiled messages of all the languages, replaced as a whole when they are reloaded.
      */
-    private final Map<Locale, Map<String, String>> languages;
+    private volatile I18nSnapshot snapshot;
 
     /**
-     * The I18n constructor.
+     * The I18n constructor, compiling the messages, the locales falling back to <code>en_US</code>.
      * @param languages The languages, by locale.
      */
     I18n(Map<Locale, Map<String, String>> languages) {
-        this.locale = new Locale("en_US");
-        this.languages = languages;
+        this(languages, DEFAULT_FALLBACK);
+    }
+
+    /**
+     * The I18n constructor, compiling the messages.
+     * @param languages The languages, by locale.
+     * @param fallback The locale used for the keys missing from a locale and its parents.
+     */
+    I18n(Map<Locale, Map<String, String>> languages, Locale fallback) {
+        this(new I18nSnapshot(languages, fallback));
+    }
+
+    /**
+     * The I18n constructor.
+     * @param snapshot The compiled messages, loaded or loaded on first use.
+     */
+    I18n(I18nSnapshot snapshot) {
+        this.locale = snapshot.getFallback();
+        this.snapshot = snapshot;
 
         I18n.INSTANCE = this;
     }
@@ -45,19 +69,352 @@ public class I18n {
     }
 
     /**
-     * Get a key value.
-     * @param locale The locale.
+     * Get a key value. <br>
+     * The key is looked up in the locale, then in its parents and in the fallback locale: <code>fr_CA</code>, <code>fr</code>, <code>en_US</code>.
+     * @param locale The locale, which doesn't need to be loaded.
      * @param key The key.
      * @param replacements Optional replacements for formatting.
-     * @return The value associated to the key, of the given locale.
+     * @return The value associated to the key, of the given locale, or the key if no locale of the chain defines it.
      */
     public String get(Locale locale, String key, Object... replacements) {
-        final String value = this.languages.get(locale).getOrDefault(key, key);
-        try {
-            return String.format(value, replacements);
-        } catch (IllegalFormatException e) {
-            return "Format error: " + value;
+        final I18nTemplate template = this.getTemplate(locale, key);
+        return template == null ? key : template.format(replacements);
+    }
+
+    /**
+     * Get a key value, with a single argument. <br>
+     * Keeps a boxed argument, which may be <code>null</code>, from being unboxed to call a primitive overload.
+     * @param key The key.
+     * @param replacement The replacement for formatting.
+     * @return The value associated to the key.
+     */
+    public String get(String key, Object replacement) {
+        return this.get(this.locale, key, new Object[] { replacement });
+    }
+
+    /**
+     * Get a key value, with a single argument. <br>
+     * Keeps a boxed argument, which may be <code>null</code>, from being unboxed to call a primitive overload.
+     * @param locale The locale, which doesn't need to be loaded.
+     * @param key The key.
+     * @param replacement The replacement for formatting.
+     * @return The value associated to the key, of the given locale, or the key if no locale of the chain defines it.
+     */
+    public String get(Locale locale, String key, Object replacement) {
+        return this.get(locale, key, new Object[] { replacement });
+    }
+
+    /**
+     * Get a key value, with a single <code>int</code> argument, not boxed if the key has plain <code>%s</code> or <code>%d</code> slots.
+     * @param key The key.
+     * @param replacement The replacement for formatting.
+     * @return The value associated to the key.
+     */
+    public String get(String key, int replacement) {
+        return this.get(this.locale, key, replacement);
+    }
+
+    /**
+     * Get a key value, with a single <code>int</code> argument, not boxed if the key has plain <code>%s</code> or <code>%d</code> slots.
+     * @param locale The locale, which doesn't need to be loaded.
+     * @param key The key.
+     * @param replacement The replacement for formatting.
+     * @return The value associated to the key, of the given locale, or the key if no locale of the chain defines it.
+     */
+    public String get(Locale locale, String key, int replacement) {
+        final I18nTemplate template = this.getTemplate(locale, key);
+        return template == null ? key : template.format(replacement);
+    }
+
+    /**
+     * Get a key value, with a single <code>long</code> argument, not boxed if the key has plain <code>%s</code> or <code>%d</code> slots.
+     * @param key The key.
+     * @param replacement The replacement for formatting.
+     * @return The value associated to the key.
+     */
+    public String get(String key, long replacement) {
+        return this.get(this.locale, key, replacement);
+    }
+
+    /**
+     * Get a key value, with a single <code>long</code> argument, not boxed if the key has plain <code>%s</code> or <code>%d</code> slots.
+     * @param locale The locale, which doesn't need to be loaded.
+     * @param key The key.
+     * @param replacement The replacement for formatting.
+     * @return The value associated to the key, of the given locale, or the key if no locale of the chain defines it.
+     */
+    public String get(Locale locale, String key, long replacement) {
+        final I18nTemplate template = this.getTemplate(locale, key);
+        return template == null ? key : template.format(replacement);
+    }
+
+    /**
+     * Get a key value, with a single <code>double</code> argument, not boxed if the key has plain <code>%s</code> or <code>%d</code> slots.
+     * @param key The key.
+     * @param replacement The replacement for formatting.
+     * @return The value associated to the key.
+     */
+    public String get(String key, double replacement) {
+        return this.get(this.locale, key, replacement);
+    }
+
+    /**
+     * Get a key value, with a single <code>double</code> argument, not boxed if the key has plain <code>%s</code> or <code>%d</code> slots.
+     * @param locale The locale, which doesn't need to be loaded.
+     * @param key The key.
+     * @param replacement The replacement for formatting.
+     * @return The value associated to the key, of the given locale, or the key if no locale of the chain defines it.
+     */
+    public String get(Locale locale, String key, double replacement) {
+        final I18nTemplate template = this.getTemplate(locale, key);
+        return template == null ? key : template.format(replacement);
+    }
+
+    /**
+     * Appends a key value to a builder, without creating a string.
+     * @param builder The builder to append the value to.
+     * @param key The key.
+     * @param replacements Optional replacements for formatting.
+     * @return The builder, with the value associated to the key.
+     */
+    public StringBuilder appendTo(StringBuilder builder, String key, Object... replacements) {
+        return this.appendTo(builder, this.locale, key, replacements);
+    }
+
+    /**
+     * Appends a key value to a builder, without creating a string.
+     * @param builder The builder to append the value to.
+     * @param locale The locale, which doesn't need to be loaded.
+     * @param key The key.
+     * @param replacements Optional replacements for formatting.
+     * @return The builder, with the value associated to the key, of the given locale, or the key if no locale of the chain defines it.
+     */
+    public StringBuilder appendTo(StringBuilder builder, Locale locale, String key, Object... replacements) {
+        final I18nTemplate template = this.getTemplate(locale, key);
+        return template == null ? builder.append(key) : template.appendTo(builder, replacements);
+    }
+
+    /**
+     * Appends a key value to a builder, with a single argument, without creating a string. <br>
+     * Keeps a boxed argument, which may be <code>null</code>, from being unboxed to call a primitive overload.
+     * @param builder The builder to append the value to.
+     * @param key The key.
+     * @param replacement The replacement for formatting.
+     * @return The builder, with the value associated to the key.
+     */
+    public StringBuilder appendTo(StringBuilder builder, String key, Object replacement) {
+        return this.appendTo(builder, this.locale, key, new Object[] { replacement });
+    }
+
+    /**
+     * Appends a key value to a builder, with a single argument, without creating a string. <br>
+     * Keeps a boxed argument, which may be <code>null</code>, from being unboxed to call a primitive overload.
+     * @param builder The builder to append the value to.
+     * @param locale The locale, which doesn't need to be loaded.
+     * @param key The key.
+     * @param replacement The replacement for formatting.
+     * @return The builder, with the value associated to the key, of the given locale, or the key if no locale of the chain defines it.
+     */
+    public StringBuilder appendTo(StringBuilder builder, Locale locale, String key, Object replacement) {
+        return this.appendTo(builder, locale, key, new Object[] { replacement });
+    }
+
+    /**
+     * Appends a key value to a builder, with a single <code>int</code> argument, without creating a string,
+     * and without boxing the argument if the key has plain <code>%s</code> or <code>%d</code> slots.
+     * @param builder The builder to append the value to.
+     * @param key The key.
+     * @param replacement The replacement for formatting.
+     * @return The builder, with the value associated to the key.
+     */
+    public StringBuilder appendTo(StringBuilder builder, String key, int replacement) {
+        return this.appendTo(builder, this.locale, key, replacement);
+    }
+
+    /**
+     * Appends a key value to a builder, with a single <code>int</code> argument, without creating a string,
+     * and without boxing the argument if the key has plain <code>%s</code> or <code>%d</code> slots.
+     * @param builder The builder to append the value to.
+     * @param locale The locale, which doesn't need to be loaded.
+     * @param key The key.
+     * @param replacement The replacement for formatting.
+     * @return The builder, with the value associated to the key, of the given locale, or the key if no locale of the chain defines it.
+     */
+    public StringBuilder appendTo(StringBuilder builder, Locale locale, String key, int replacement) {
+        final I18nTemplate template = this.getTemplate(locale, key);
+        return template == null ? builder.append(key) : template.appendTo(builder, replacement);
+    }
+
+    /**
+     * Appends a key value to a builder, with a single <code>long</code> argument, without creating a string,
+     * and without boxing the argument if the key has plain <code>%s</code> or <code>%d</code> slots.
+     * @param builder The builder to append the value to.
+     * @param key The key.
+     * @param replacement The replacement for formatting.
+     * @return The builder, with the value associated to the key.
+     */
+    public StringBuilder appendTo(StringBuilder builder, String key, long replacement) {
+        return this.appendTo(builder, this.locale, key, replacement);
+    }
+
+    /**
+     * Appends a key value to a builder, with a single <code>long</code> argument, without creating a string,
+     * and without boxing the argument if the key has plain <code>%s</code> or <code>%d</code> slots.
+     * @param builder The builder to append the value to.
+     * @param locale The locale, which doesn't need to be loaded.
+     * @param key The key.
+     * @param replacement The replacement for formatting.
+     * @return The builder, with the value associated to the key, of the given locale, or the key if no locale of the chain defines it.
+     */
+    public StringBuilder appendTo(StringBuilder builder, Locale locale, String key, long replacement) {
+        final I18nTemplate template = this.getTemplate(locale, key);
+        return template == null ? builder.append(key) : template.appendTo(builder, replacement);
+    }
+
+    /**
+     * Appends a key value to a builder, with a single <code>double</code> argument, without creating a string,
+     * and without boxing the argument if the key has plain <code>%s</code> or <code>%d</code> slots.
+     * @param builder The builder to append the value to.
+     * @param key The key.
+     * @param replacement The replacement for formatting.
+     * @return The builder, with the value associated to the key.
+     */
+    public StringBuilder appendTo(StringBuilder builder, String key, double replacement) {
+        return this.appendTo(builder, this.locale, key, replacement);
+    }
+
+    /**
+     * Appends a key value to a builder, with a single <code>double</code> argument, without creating a string,
+     * and without boxing the argument if the key has plain <code>%s</code> or <code>%d</code> slots.
+     * @param builder The builder to append the value to.
+     * @param locale The locale, which doesn't need to be loaded.
+     * @param key The key.
+     * @param replacement The replacement for formatting.
+     * @return The builder, with the value associated to the key, of the given locale, or the key if no locale of the chain defines it.
+     */
+    public StringBuilder appendTo(StringBuilder builder, Locale locale, String key, double replacement) {
+        final I18nTemplate template = this.getTemplate(locale, key);
+        return template == null ? builder.append(key) : template.appendTo(builder, replacement);
+    }
+
+    /**
+     * Appends a key value to an appendable, a {@link java.io.Writer} receiving the characters without any string being created.
+     * @param appendable The appendable to append the value to.
+     * @param key The key.
+     * @param replacements Optional replacements for formatting.
+     * @param <A> The type of the appendable.
+     * @return The appendable, with the value associated to the key.
+     * @throws IOException If the appendable can't be appended to.
+     */
+    public <A extends Appendable> A appendTo(A appendable, String key, Object... replacements) throws IOException {
+        return this.appendTo(appendable, this.locale, key, replacements);
+    }
+
+    /**
+     * Appends a key value to an appendable, a {@link java.io.Writer} receiving the characters without any string being created.
+     * @param appendable The appendable to append the value to.
+     * @param locale The locale, which doesn't need to be loaded.
+     * @param key The key.
+     * @param replacements Optional replacements for formatting.
+     * @param <A> The type of the appendable.
+     * @return The appendable, with the value associated to the key, of the given locale, or the key if no locale of the chain defines it.
+     * @throws IOException If the appendable can't be appended to.
+     */
+    public <A extends Appendable> A appendTo(A appendable, Locale locale, String key, Object... replacements) throws IOException {
+        final I18nTemplate template = this.getTemplate(locale, key);
+
+        if (template == null) {
+            appendable.append(key);
+            return appendable;
         }
+
+        return template.appendTo(appendable, replacements);
+    }
+
+    /**
+     * Writes a key value to a buffer, encoded in UTF-8, from its position, without creating a string.
+     * @param buffer The buffer to write the value to.
+     * @param key The key.
+     * @param replacements Optional replacements for formatting.
+     * @return The number of bytes written.
+     * @throws java.nio.BufferOverflowException If the buffer has not enough room for the value, its position being left untouched.
+     */
+    public int writeTo(ByteBuffer buffer, String key, Object... replacements) {
+        return this.writeTo(buffer, this.locale, key, replacements);
+    }
+
+    /**
+     * Writes a key value to a buffer, encoded in UTF-8, from its position, without creating a string.
+     * @param buffer The buffer to write the value to.
+     * @param locale The locale, which doesn't need to be loaded.
+     * @param key The key.
+     * @param replacements Optional replacements for formatting.
+     * @return The number of bytes written, of the value associated to the key, of the given locale, or of the key if no locale of the chain defines it.
+     * @throws java.nio.BufferOverflowException If the buffer has not enough room for the value, its position being left untouched.
+     */
+    public int writeTo(ByteBuffer buffer, Locale locale, String key, Object... replacements) {
+        final I18nTemplate template = this.getTemplate(locale, key);
+        return template == null ? I18nTemplate.encode(key, buffer) : template.writeTo(buffer, replacements);
+    }
+
+    /**
+     * Get the compiled template of a key.
+     * @param locale The locale.
+     * @param key The key.
+     * @return The template of the key, of the given locale, or <code>null</code> if there is none.
+     */
+    public I18nTemplate getTemplate(Locale locale, String key) {
+        return this.snapshot.getTemplate(locale, key);
+    }
+
+    /**
+     * Get the id of a key, to get its value with an array access instead of a hash lookup. <br>
+     * The ids never change, even when the languages are reloaded, so they can be stored in constants.
+     * @param key The key.
+     * @return The id of the key.
+     */
+    public int idOf(String key) {
+        return this.snapshot.idOf(key);
+    }
+
+    /**
+     * Get a key value, by the id of the key.
+     * @param id The id of the key, given by {@link #idOf(String)}.
+     * @param replacements Optional replacements for formatting.
+     * @return The value associated to the key.
+     */
+    public String get(int id, Object... replacements) {
+        return this.get(this.locale, id, replacements);
+    }
+
+    /**
+     * Get a key value, by the id of the key.
+     * @param locale The locale, which doesn't need to be loaded.
+     * @param id The id of the key, given by {@link #idOf(String)}.
+     * @param replacements Optional replacements for formatting.
+     * @return The value associated to the key, of the given locale, or the key if no locale of the chain defines it.
+     */
+    public String get(Locale locale, int id, Object... replacements) {
+        final I18nSnapshot snapshot = this.snapshot;
+        final I18nTemplate template = snapshot.getTemplate(locale, id);
+        return template == null ? snapshot.getDictionary().keyOf(id) : template.format(replacements);
+    }
+
+    /**
+     * Get the current snapshot of the compiled messages.
+     * @return The current snapshot.
+     */
+    public I18nSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Replaces the snapshot of the compiled messages, for example with a reloaded language. <br>
+     * The readers never lock: they see either the previous snapshot or the new one, never a partially updated one.
+     * @param update The function creating the new snapshot from the current one.
+     */
+    public synchronized void update(UnaryOperator<I18nSnapshot> update) {
+        this.snapshot = update.apply(this.snapshot);
     }
 
     /**
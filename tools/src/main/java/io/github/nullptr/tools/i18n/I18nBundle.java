@@ -0,0 +1,335 @@
+package io.github.nullptr.tools.i18n;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A binary bundle of languages, compiled at build time by {@link I18nBundleCompiler}, and memory-mapped at startup. <br>
+ * Opening a bundle only reads its header, whatever its size: the keys are found through the hash index of the file,
+ * and a value is only decoded and compiled the first time it is looked up. The bundle stays off-heap,
+ * only the templates of the values used being kept in memory. <br>
+ * The layout of the file, in big-endian order:
+ * <ul>
+ *     <li>the header: the magic number, the version, the number of locales, the number of keys and the number of slots of the index;</li>
+ *     <li>the locales: the offset of the name of each locale in the strings;</li>
+ *     <li>the keys: the offset of each key in the strings;</li>
+ *     <li>the index: the hash and the id plus one of the key of each slot, an open addressing table probed linearly;</li>
+ *     <li>the values: for each locale, the offset of the value of each key in the strings, or -1 if the locale doesn't define it;</li>
+ *     <li>the strings: the length and the UTF-8 bytes of each distinct string.</li>
+ * </ul>
+ * /!\ The bundle is read-only, and limited to 2 GiB.
+ */
+public class I18nBundle {
+
+    /**
+     * The magic number of the bundles, "NI18".
+     */
+    static final int MAGIC = 0x4E493138;
+    /**
+     * The version of the layout of the bundles.
+     */
+    static final int VERSION = 1;
+    /**
+     * The size of the header, in bytes.
+     */
+    static final int HEADER_SIZE = 20;
+
+    /**
+     * The mapped file, only read with absolute methods so it can be shared by the threads.
+     */
+    private final ByteBuffer buffer;
+    /**
+     * The number of keys.
+     */
+    private final int keyCount;
+    /**
+     * The number of slots of the index, a power of two.
+     */
+    private final int indexSize;
+    /**
+     * The offset of the locale names.
+     */
+    private final int localesOffset;
+    /**
+     * The offset of the keys.
+     */
+    private final int keysOffset;
+    /**
+     * The offset of the index.
+     */
+    private final int indexOffset;
+    /**
+     * The offset of the values.
+     */
+    private final int valuesOffset;
+    /**
+     * The offset of the strings.
+     */
+    private final int stringsOffset;
+    /**
+     * The locale indexes, by locale name.
+     */
+    private final Map<String, Integer> locales = new ConcurrentHashMap<>();
+    /**
+     * The compiled values, by offset of their string, filled on first use.
+     */
+    private final Map<Integer, I18nTemplate> templates = new ConcurrentHashMap<>();
+
+    /**
+     * The I18nBundle constructor, reading the header of the bundle.
+     * @param buffer The bundle.
+     */
+    public I18nBundle(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a language bundle.");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported language bundle version " + buffer.getInt(4) + ", expected " + VERSION);
+        }
+
+        this.buffer = buffer;
+
+        final int localeCount = buffer.getInt(8);
+        this.keyCount = buffer.getInt(12);
+        this.indexSize = buffer.getInt(16);
+        this.localesOffset = HEADER_SIZE;
+        this.keysOffset = this.localesOffset + 4 * localeCount;
+        this.indexOffset = this.keysOffset + 4 * this.keyCount;
+        this.valuesOffset = this.indexOffset + 8 * this.indexSize;
+        this.stringsOffset = this.valuesOffset + 4 * localeCount * this.keyCount;
+
+        if (this.stringsOffset > buffer.capacity()) {
+            throw new IllegalArgumentException("Truncated language bundle.");
+        }
+
+        // Only the names of the locales are read: a few strings, whatever the number of keys.
+        for (int i = 0; i < localeCount; i++) {
+            this.locales.put(this.string(buffer.getInt(this.localesOffset + 4 * i)), i);
+        }
+    }
+
+    /**
+     * Memory-maps a bundle file.
+     * @param file The path to the bundle file.
+     * @return The mapped bundle.
+     */
+    public static I18nBundle open(Path file) {
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping outlives the channel.
+            return new I18nBundle(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open the language bundle " + file, e);
+        }
+    }
+
+    /**
+     * Reads a bundle into an off-heap buffer, when it can't be mapped, like in a JAR.
+     * @param input The stream of the bundle, closed once read.
+     * @return The bundle.
+     * @throws IOException If the bundle can't be read.
+     */
+    public static I18nBundle read(InputStream input) throws IOException {
+        try (final ReadableByteChannel channel = Channels.newChannel(input)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(64 * 1024, input.available()));
+
+            while (channel.read(buffer) >= 0) {
+                if (buffer.hasRemaining()) continue;
+
+                final ByteBuffer grown = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+
+            buffer.flip();
+            return new I18nBundle(buffer.slice());
+        }
+    }
+
+    /**
+     * Get the indexes of the locales of a chain defined by the bundle.
+     * @param chain The names of the locales of the chain, from the most specific one.
+     * @return The indexes of the locales, in the order of the chain.
+     */
+    int[] indexesOf(Iterable<String> chain) {
+        int[] indexes = new int[0];
+
+        for (final String name : chain) {
+            final Integer index = this.locales.get(name);
+            if (index == null) continue;
+
+            final int[] grown = new int[indexes.length + 1];
+            System.arraycopy(indexes, 0, grown, 0, indexes.length);
+            grown[indexes.length] = index;
+            indexes = grown;
+        }
+
+        return indexes;
+    }
+
+    /**
+     * Get the compiled template of a key, from the first locale of a chain defining it.
+     * @param locales The indexes of the locales of the chain, given by {@link #indexesOf(Iterable)}.
+     * @param key The key.
+     * @return The template, or <code>null</code> if no locale of the chain defines the key.
+     */
+    I18nTemplate getTemplate(int[] locales, String key) {
+        if (locales.length == 0) return null;
+
+        final int id = this.find(key);
+        if (id < 0) return null;
+
+        for (final int locale : locales) {
+            final int offset = this.buffer.getInt(this.valuesOffset + 4 * (locale * this.keyCount + id));
+            if (offset >= 0) return this.template(offset);
+        }
+
+        return null;
+    }
+
+    /**
+     * Finds the id of a key in the index.
+     * @param key The key.
+     * @return The id of the key, or -1 if the bundle doesn't define it.
+     */
+    private int find(String key) {
+        if (this.indexSize == 0) return -1;
+
+        final int hash = key.hashCode();
+
+        for (int slot = I18nBundle.slotOf(hash, this.indexSize); ; slot = (slot + 1) & (this.indexSize - 1)) {
+            final int position = this.indexOffset + 8 * slot;
+            final int id = this.buffer.getInt(position + 4) - 1;
+
+            if (id < 0) return -1;
+            if (this.buffer.getInt(position) != hash) continue;
+
+            if (this.matches(this.buffer.getInt(this.keysOffset + 4 * id), key)) return id;
+        }
+    }
+
+    /**
+     * Get the first slot of a hash in the index.
+     * @param hash The hash of the key.
+     * @param indexSize The number of slots of the index, a power of two.
+     * @return The slot.
+     */
+    static int slotOf(int hash, int indexSize) {
+        return (hash ^ (hash >>> 16)) & (indexSize - 1);
+    }
+
+    /**
+     * Check if a string of the bundle is the given key, comparing its bytes with the key encoded on the fly,
+     * without decoding the string nor allocating the bytes of the key.
+     * @param offset The offset of the string in the strings.
+     * @param key The key.
+     * @return <code>true</code> if the string is the key.
+     */
+    private boolean matches(int offset, String key) {
+        final int start = this.stringsOffset + offset + 4;
+        final int end = start + this.buffer.getInt(start - 4);
+        final int length = key.length();
+        int position = start;
+
+        for (int i = 0; i < length; i++) {
+            int c = key.charAt(i);
+            final int count;
+
+            if (c < 0x80) {
+                count = 1;
+            } else if (c < 0x800) {
+                count = 2;
+            } else if (!Character.isSurrogate((char) c)) {
+                count = 3;
+            } else if (Character.isHighSurrogate((char) c) && i + 1 < length && Character.isLowSurrogate(key.charAt(i + 1))) {
+                c = Character.toCodePoint((char) c, key.charAt(++i));
+                count = 4;
+            } else {
+                // Replaced like String.getBytes does, which encoded the keys of the bundle.
+                c = '?';
+                count = 1;
+            }
+
+            if (end - position < count) return false;
+
+            if (count == 1) {
+                if (this.buffer.get(position++) != c) return false;
+                continue;
+            }
+
+            // The leading byte, then the continuation bytes, 6 bits each from the highest ones.
+            final int leading = count == 2 ? 0xC0 : count == 3 ? 0xE0 : 0xF0;
+            if (this.buffer.get(position++) != (byte) (leading | c >> 6 * (count - 1))) return false;
+
+            for (int shift = 6 * (count - 2); shift >= 0; shift -= 6) {
+                if (this.buffer.get(position++) != (byte) (0x80 | c >> shift & 0x3F)) return false;
+            }
+        }
+
+        return position == end;
+    }
+
+    /**
+     * Get the compiled template of a value, decoding and compiling it the first time.
+     * @param offset The offset of the value in the strings.
+     * @return The template.
+     */
+    private I18nTemplate template(int offset) {
+        final I18nTemplate template = this.templates.get(offset);
+        if (template != null) return template;
+
+        final I18nTemplate compiled = I18nTemplate.compile(this.string(offset));
+        final I18nTemplate previous = this.templates.putIfAbsent(offset, compiled);
+        return previous == null ? compiled : previous;
+    }
+
+    /**
+     * Decodes a string of the bundle.
+     * @param offset The offset of the string in the strings.
+     * @return The string.
+     */
+    private String string(int offset) {
+        final int position = this.stringsOffset + offset;
+        final byte[] bytes = new byte[this.buffer.getInt(position)];
+        final ByteBuffer view = this.buffer.duplicate();
+
+        view.position(position + 4);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Check if the bundle defines a locale.
+     * @param locale The locale.
+     * @return <code>true</code> if the bundle has a language for the locale itself.
+     */
+    public boolean hasLocale(Locale locale) {
+        return this.locales.containsKey(I18nSnapshot.nameOf(locale));
+    }
+
+    /**
+     * Get the number of locales of the bundle.
+     * @return The number of locales.
+     */
+    public int getLocaleCount() {
+        return this.locales.size();
+    }
+
+    /**
+     * Get the number of distinct keys of the bundle.
+     * @return The number of keys.
+     */
+    public int getKeyCount() {
+        return this.keyCount;
+    }
+}
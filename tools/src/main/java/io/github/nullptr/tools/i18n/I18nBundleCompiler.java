@@ -0,0 +1,181 @@
+package io.github.nullptr.tools.i18n;
+
+import io.github.nullptr.tools.io.InstantFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compiles the JSON language files into a binary {@link I18nBundle}, at build time. <br>
+ * The bundle is the same for the same files, so it can be cached by the build. It can be generated by a Gradle task:
+ * <pre>
+ * task compileI18n(type: JavaExec) {
+ *     classpath = sourceSets.main.runtimeClasspath
+ *     mainClass = 'io.github.nullptr.tools.i18n.I18nBundleCompiler'
+ *     args 'src/main/i18n', "$buildDir/resources/main/i18n.bin"
+ * }
+ * </pre>
+ */
+public class I18nBundleCompiler {
+
+    /**
+     * Compiles a directory of JSON language files into a bundle file.
+     * @param args The path to the directory containing the JSON files, and the path to the bundle file.
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: I18nBundleCompiler <languages directory> <bundle file>");
+        }
+
+        I18nBundleCompiler.compile(Paths.get(args[0]), Paths.get(args[1]));
+    }
+
+    /**
+     * Compiles a directory of JSON language files into a bundle file, replacing it atomically. <br>
+     * All JSON files must be named with the Locale in the file name, for example "en_US.json" and "fr_FR.json".
+     * @param directory The path to the directory containing the JSON files.
+     * @param bundle The path to the bundle file.
+     */
+    public static void compile(Path directory, Path bundle) {
+        final Map<Locale, Map<String, String>> languages = new HashMap<>();
+
+        try (final Stream<Path> walk = Files.walk(directory)) {
+            for (final Path file : walk.filter(I18nLoader::isLanguageFile).collect(Collectors.toList())) {
+                languages.put(I18nLoader.localeOf(file), I18nLoader.readMessages(file));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read the languages of " + directory, e);
+        }
+
+        I18nBundleCompiler.compile(languages, bundle);
+    }
+
+    /**
+     * Compiles languages into a bundle file, replacing it atomically.
+     * @param languages The messages, by locale.
+     * @param bundle The path to the bundle file.
+     */
+    public static void compile(Map<Locale, Map<String, String>> languages, Path bundle) {
+        try (final InstantFile file = new InstantFile(bundle, I18nBundleCompiler.compile(languages))) {
+            file.write();
+        }
+    }
+
+    /**
+     * Compiles languages into a bundle.
+     * @param languages The messages, by locale.
+     * @return The bytes of the bundle.
+     */
+    public static byte[] compile(Map<Locale, Map<String, String>> languages) {
+        // Sorted, so the same languages always give the same bundle.
+        final Map<String, Map<String, String>> locales = new TreeMap<>();
+        final TreeSet<String> keySet = new TreeSet<>();
+
+        languages.forEach((locale, messages) -> {
+            locales.put(I18nSnapshot.nameOf(locale), messages);
+            keySet.addAll(messages.keySet());
+        });
+
+        final List<String> keys = new ArrayList<>(keySet);
+        final int indexSize = keys.isEmpty() ? 0 : Integer.highestOneBit(Math.max(1, keys.size() * 2 - 1)) << 1;
+        final Strings strings = new Strings();
+
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream output = new DataOutputStream(bytes);
+
+            output.writeInt(I18nBundle.MAGIC);
+            output.writeInt(I18nBundle.VERSION);
+            output.writeInt(locales.size());
+            output.writeInt(keys.size());
+            output.writeInt(indexSize);
+
+            for (final String locale : locales.keySet()) {
+                output.writeInt(strings.offsetOf(locale));
+            }
+            for (final String key : keys) {
+                output.writeInt(strings.offsetOf(key));
+            }
+
+            final int[] index = new int[2 * indexSize];
+            for (int id = 0; id < keys.size(); id++) {
+                final int hash = keys.get(id).hashCode();
+                int slot = I18nBundle.slotOf(hash, indexSize);
+
+                while (index[2 * slot + 1] != 0) {
+                    slot = (slot + 1) & (indexSize - 1);
+                }
+
+                index[2 * slot] = hash;
+                index[2 * slot + 1] = id + 1;
+            }
+            for (final int value : index) {
+                output.writeInt(value);
+            }
+
+            for (final Map<String, String> messages : locales.values()) {
+                for (final String key : keys) {
+                    final String value = messages.get(key);
+                    output.writeInt(value == null ? -1 : strings.offsetOf(value));
+                }
+            }
+
+            strings.bytes.writeTo(output);
+            output.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * The strings of a bundle, each distinct string being written once.
+     */
+    private static class Strings {
+
+        /**
+         * The offsets of the written strings, by string.
+         */
+        private final Map<String, Integer> offsets = new HashMap<>();
+        /**
+         * The written strings.
+         */
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        /**
+         * Get the offset of a string, writing it the first time.
+         * @param string The string.
+         * @return The offset of the string in the strings.
+         */
+        private int offsetOf(String string) {
+            final Integer existing = this.offsets.get(string);
+            if (existing != null) return existing;
+
+            final int offset = this.bytes.size();
+            final byte[] encoded = string.getBytes(StandardCharsets.UTF_8);
+
+            this.bytes.write(encoded.length >>> 24);
+            this.bytes.write(encoded.length >>> 16);
+            this.bytes.write(encoded.length >>> 8);
+            this.bytes.write(encoded.length);
+            this.bytes.write(encoded, 0, encoded.length);
+
+            this.offsets.put(string, offset);
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.nullptr.tools.i18n;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The keys of all the languages, each one stored once and mapped to a dense int id. <br>
+ * The languages store their messages in arrays indexed by these ids, instead of a map per language repeating every key.
+ * The ids never change once assigned, so they can be computed once by the callers, and survive the reloads. <br>
+ * The identical values of all the languages, whichever snapshot loads them, also share the same template. The values are only
+ * weakly referenced, so the templates of a replaced language are collected with the last snapshot using them. <br>
+ * /!\ The dictionary only grows: keys removed from the files by a reload stay in it.
+ */
+public class I18nDictionary {
+
+    /**
+     * The ids, by key.
+     */
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    /**
+     * The keys, by id, grown under the lock.
+     */
+    private volatile String[] keys = new String[256];
+    /**
+     * The number of keys.
+     */
+    private volatile int size;
+    /**
+     * The distinct templates of the loaded languages, by value.
+     */
+    private final Map<String, Value> values = new ConcurrentHashMap<>();
+    /**
+     * The references to the collected templates, to remove from the values.
+     */
+    private final ReferenceQueue<I18nTemplate> collected = new ReferenceQueue<>();
+
+    /**
+     * Get the id of a key, without registering it.
+     * @param key The key.
+     * @return The id of the key, or -1 if it is unknown.
+     */
+    public int find(String key) {
+        final Integer id = this.ids.get(key);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Get the id of a key, registering it if it is unknown.
+     * @param key The key.
+     * @return The id of the key.
+     */
+    public int idOf(String key) {
+        final Integer id = this.ids.get(key);
+        return id == null ? this.register(key) : id;
+    }
+
+    /**
+     * Registers a key.
+     * @param key The key.
+     * @return The id of the key.
+     */
+    private synchronized int register(String key) {
+        final Integer existing = this.ids.get(key);
+        if (existing != null) return existing;
+
+        final int id = this.size;
+        if (id == this.keys.length) this.keys = Arrays.copyOf(this.keys, id * 2);
+
+        // The key is stored before it is published in the map, so a found id always has its key.
+        this.keys[id] = key;
+        this.size = id + 1;
+        this.ids.put(key, id);
+        return id;
+    }
+
+    /**
+     * Get the key of an id.
+     * @param id The id.
+     * @return The key, or <code>null</code> if the id is unknown.
+     */
+    public String keyOf(int id) {
+        return id < 0 || id >= this.size ? null : this.keys[id];
+    }
+
+    /**
+     * Get the number of keys.
+     * @return The number of keys, all the ids being lower.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the template of a value shared by the languages, so identical values are stored once.
+     * @param template The compiled value.
+     * @return The template of the same value already used by a language, or the given one.
+     */
+    I18nTemplate intern(I18nTemplate template) {
+        this.expunge();
+
+        while (true) {
+            final Value value = this.values.get(template.getSource());
+            final I18nTemplate existing = value == null ? null : value.get();
+            if (existing != null) return existing;
+
+            final Value created = new Value(template, this.collected);
+            // Retried if another language interned the same value meanwhile.
+            if (value == null ? this.values.putIfAbsent(template.getSource(), created) == null
+                    : this.values.replace(template.getSource(), value, created)) return template;
+        }
+    }
+
+    /**
+     * Removes the values whose template was collected.
+     */
+    private void expunge() {
+        for (Value value = (Value) this.collected.poll(); value != null; value = (Value) this.collected.poll()) {
+            this.values.remove(value.source, value);
+        }
+    }
+
+    /**
+     * A weak reference to the template of a value.
+     */
+    private static class Value extends WeakReference<I18nTemplate> {
+
+        /**
+         * The value, the key of the reference once the template is collected.
+         */
+        private final String source;
+
+        /**
+         * The Value constructor.
+         * @param template The template.
+         * @param queue The queue the reference is enqueued in once the template is collected.
+         */
+        private Value(I18nTemplate template, ReferenceQueue<I18nTemplate> queue) {
+            super(template, queue);
+            this.source = template.getSource();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.nullptr.tools.i18n;
+
+import io.github.nullptr.tools.io.InstantFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The index of the language files of a resources folder, generated at build time, so they can be loaded from the classpath
+ * without listing it: a JAR can't be walked as a directory, and walking an exploded one slows the startup down. <br>
+ * The index is a UTF-8 text file named {@value #FILE_NAME}, in the language folder, listing the path of each language file
+ * relative to the folder, one per line, with <code>/</code> separators. The blank lines and the lines starting with <code>#</code> are ignored.
+ * It can be generated by a Gradle task:
+ * <pre>
+ * task indexI18n(type: JavaExec) {
+ *     dependsOn processResources
+ *     classpath = sourceSets.main.runtimeClasspath
+ *     mainClass = 'io.github.nullptr.tools.i18n.I18nIndex'
+ *     args "$buildDir/resources/main/i18n"
+ * }
+ * classes.dependsOn indexI18n
+ * </pre>
+ */
+public class I18nIndex {
+
+    /**
+     * The name of the index file, in the language folder.
+     */
+    public static final String FILE_NAME = "index.txt";
+
+    /**
+     * Generates the index of a directory of JSON language files.
+     * @param args The path to the directory containing the JSON files.
+     */
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: I18nIndex <languages directory>");
+        }
+
+        I18nIndex.write(Paths.get(args[0]));
+    }
+
+    /**
+     * Generates the index of a directory of JSON language files, in the directory, replacing it atomically.
+     * @param directory The path to the directory containing the JSON files.
+     * @return The paths of the language files, relative to the directory.
+     */
+    public static List<String> write(Path directory) {
+        final List<String> files;
+
+        try (final Stream<Path> walk = Files.walk(directory)) {
+            // Sorted, so the same files always give the same index.
+            files = walk.filter(I18nLoader::isLanguageFile)
+                    .map(file -> directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to list the languages of " + directory, e);
+        }
+
+        final StringBuilder content = new StringBuilder("# Generated by I18nIndex, the language files of this folder.\n");
+        files.forEach(file -> content.append(file).append('\n'));
+
+        try (final InstantFile index = new InstantFile(directory.resolve(FILE_NAME), content.toString().getBytes(StandardCharsets.UTF_8))) {
+            index.write();
+        }
+
+        return files;
+    }
+
+    /**
+     * Reads an index.
+     * @param input The stream of the index, closed once read.
+     * @return The paths of the language files, relative to the language folder.
+     * @throws IOException If the index can't be read.
+     */
+    public static List<String> read(InputStream input) throws IOException {
+        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            final List<String> files = new ArrayList<>();
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) files.add(line);
+            }
+
+            return files;
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package io.github.nullptr.tools.i18n;
 
-import com.google.gson.Gson;
 import com.google.gson.stream.JsonReader;
+import io.github.nullptr.tools.thread.ThreadHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -13,35 +14,54 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Loads key/value pairs from a directory containing JSON files.
  */
 public class I18nLoader {
 
-    /**
-     * The Gson to use to parse JSON files.
-     */
-    private static final Gson GSON = new Gson();
     /**
      * The logger.
      */
     private static final Logger LOGGER = LoggerFactory.getLogger(I18nLoader.class);
+    /**
+     * The language folder in the resources.
+     */
+    private static final String FOLDER = "/i18n/";
 
     /**
      * Loads key/value pairs from an "i18n" directory in resources folder containing JSON files. <br>
-     * All JSON files must be named with the Locale in the file name, for example "en_US.json" and "fr_FR.json".
+     * All JSON files must be named with the Locale in the file name, for example "en_US.json" and "fr_FR.json". <br>
+     * If the folder has an {@link I18nIndex}, the files it lists are loaded from the classpath, from a JAR as well as from a directory,
+     * without listing the folder. Otherwise, the folder must be a directory, which is walked.
      * @return The loaded key/value pairs in an {@link I18n} instance.
      */
     public static I18n loadLanguages() {
+        final URL index = I18n.class.getResource(FOLDER + I18nIndex.FILE_NAME);
+        if (index != null) return I18nLoader.loadIndexedLanguages(index);
+
         final URL path = I18n.class.getResource("/i18n");
 
         if (path == null) {
             throw new RuntimeException("Failed to load languages: no folder \"i18n\" in resources found.");
         }
+        if (!"file".equals(path.getProtocol())) {
+            throw new RuntimeException("Failed to load languages: the folder " + path + " can't be listed, generate its " + I18nIndex.FILE_NAME + " with I18nIndex.");
+        }
 
         try {
             return I18nLoader.loadLanguages(Paths.get(path.toURI()));
@@ -51,40 +71,414 @@ public class I18nLoader {
         }
     }
 
+    /**
+     * Loads the language files listed by an index from the classpath. <br>
+     * Only the index is read: each language is parsed the first time a locale using it is looked up.
+     * @param index The URL of the index.
+     * @return The loaded key/value pairs in an {@link I18n} instance.
+     */
+    private static I18n loadIndexedLanguages(URL index) {
+        final Map<Locale, Supplier<Map<String, I18nTemplate>>> loaders = new HashMap<>();
+
+        try {
+            for (final String file : I18nIndex.read(index.openStream())) {
+                loaders.put(I18nLoader.localeOf(file.substring(file.lastIndexOf('/') + 1)), () -> I18nLoader.loadTemplates(FOLDER + file));
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to load languages from: " + index, e);
+            throw new RuntimeException(e);
+        }
+
+        return new I18n(I18nSnapshot.lazy(loaders, I18n.DEFAULT_FALLBACK));
+    }
+
     /**
      * Loads key/value pairs from a directory containing JSON files. <br>
-     * All JSON files must be named with the Locale in the file name, for example "en_US.json" and "fr_FR.json".
+     * All JSON files must be named with the Locale in the file name, for example "en_US.json" and "fr_FR.json". <br>
+     * Only the files are listed: each language is parsed the first time a locale using it is looked up.
      * @param path The path to the directory containing the JSON files.
      * @return The loaded key/value pairs in an {@link I18n} instance.
      */
     public static I18n loadLanguages(Path path) {
-        final Map<Locale, Map<String, String>> languages = new HashMap<>();
-
-        try {
-            Files.walk(path).forEach(file -> {
-                if (file.toFile().isDirectory()) return;
-                if (!file.toFile().getName().endsWith(".json")) return;
+        final Map<Locale, Supplier<Map<String, I18nTemplate>>> loaders = new HashMap<>();
 
-                final Locale locale = new Locale(file.getFileName().toString().replace(".json", ""));
-                final Map<String, String> lang = new HashMap<>();
+        try (final Stream<Path> files = Files.walk(path)) {
+            files.filter(I18nLoader::isLanguageFile).forEach(file -> loaders.put(I18nLoader.localeOf(file), () -> I18nLoader.loadTemplates(file)));
 
-                try {
-                    final JsonReader reader = new JsonReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8));
-                    final Map<String, String> map = GSON.fromJson(reader, Map.class);
+            return new I18n(I18nSnapshot.lazy(loaders, I18n.DEFAULT_FALLBACK));
+        } catch (IOException e) {
+            LOGGER.error("Failed to load languages from: " + path.toString(), e);
+            throw new RuntimeException(e);
+        }
+    }
 
-                    lang.putAll(map);
-                    languages.put(locale, lang);
+    /**
+     * Loads key/value pairs from a directory containing JSON files, parsing all of them at once, concurrently. <br>
+     * Use it when all the languages are needed, instead of loading them on first use.
+     * @param path The path to the directory containing the JSON files.
+     * @param threads The maximum number of files parsed at once.
+     * @return The loaded key/value pairs in an {@link I18n} instance.
+     */
+    public static I18n loadLanguages(Path path, int threads) {
+        return I18nLoader.loadLanguages(path, threads, result -> {});
+    }
 
-                    LOGGER.info("Loaded language file: " + file.getFileName().toString());
-                } catch (IOException e) {
-                    LOGGER.error("Failed to load language file " + file.getFileName().toString() + ": " + e.getMessage());
-                }
-            });
+    /**
+     * Loads key/value pairs from a directory containing JSON files, parsing all of them at once, concurrently. <br>
+     * Each file is parsed and compiled by a bounded pool of threads, the results being merged by the calling thread.
+     * A file which can't be read is reported, and its locale falls back to its chain.
+     * @param path The path to the directory containing the JSON files.
+     * @param threads The maximum number of files parsed at once.
+     * @param listener The consumer of the result of each file, called by the calling thread, in the order of the files.
+     * @return The loaded key/value pairs in an {@link I18n} instance.
+     */
+    public static I18n loadLanguages(Path path, int threads, Consumer<Result> listener) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("The number of threads must be positive, got " + threads);
+        }
 
-            return new I18n(languages);
+        final List<Path> files;
+        try (final Stream<Path> walk = Files.walk(path)) {
+            files = walk.filter(I18nLoader::isLanguageFile).collect(Collectors.toList());
         } catch (IOException e) {
             LOGGER.error("Failed to load languages from: " + path.toString(), e);
             throw new RuntimeException(e);
         }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, files.size())), ThreadHelper.daemonFactory("nullptr-tools-i18n-loader"));
+        final Map<Locale, Supplier<Map<String, I18nTemplate>>> loaders = new HashMap<>();
+
+        try {
+            final List<Future<Result>> futures = new ArrayList<>(files.size());
+            for (final Path file : files) {
+                futures.add(executor.submit(() -> I18nLoader.parse(file)));
+            }
+
+            for (final Future<Result> future : futures) {
+                final Result result = future.get();
+
+                if (result.isSuccess()) {
+                    final Map<String, I18nTemplate> templates = result.templates;
+                    loaders.put(result.locale, () -> templates);
+
+                    LOGGER.info("Loaded language file: " + result.file.getFileName() + " (" + result.size + " bytes, " + templates.size() + " keys) in " + result.durationNanos / 1_000_000 + " ms");
+                } else {
+                    LOGGER.error("Failed to load language file " + result.file.getFileName() + ": " + result.error.getMessage());
+                }
+
+                listener.accept(result);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading the languages from " + path, e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new I18n(I18nSnapshot.lazy(loaders, I18n.DEFAULT_FALLBACK));
+    }
+
+    /**
+     * Loads the languages from an "i18n.bin" bundle in resources folder, compiled by {@link I18nBundleCompiler}.
+     * @return The loaded key/value pairs in an {@link I18n} instance.
+     */
+    public static I18n loadBundle() {
+        final URL path = I18n.class.getResource("/i18n.bin");
+
+        if (path == null) {
+            throw new RuntimeException("Failed to load languages: no bundle \"i18n.bin\" in resources found.");
+        }
+
+        try {
+            if ("file".equals(path.getProtocol())) return I18nLoader.loadBundle(Paths.get(path.toURI()));
+
+            // A bundle inside a JAR can't be mapped: it is copied off-heap, still without being parsed.
+            final I18nBundle bundle = I18nBundle.read(path.openStream());
+
+            LOGGER.info("Read language bundle: " + path + " (" + bundle.getLocaleCount() + " locales, " + bundle.getKeyCount() + " keys)");
+            return new I18n(I18nSnapshot.mapped(bundle, I18n.DEFAULT_FALLBACK));
+        } catch (URISyntaxException | IOException e) {
+            LOGGER.error("Failed to load languages from: " + path, e);
+            return null;
+        }
+    }
+
+    /**
+     * Loads the languages from a bundle compiled by {@link I18nBundleCompiler}. <br>
+     * The bundle is memory-mapped, not parsed: the values are decoded and compiled the first time they are looked up.
+     * @param path The path to the bundle file.
+     * @return The loaded key/value pairs in an {@link I18n} instance.
+     */
+    public static I18n loadBundle(Path path) {
+        final I18nBundle bundle = I18nBundle.open(path);
+
+        LOGGER.info("Mapped language bundle: " + path.getFileName() + " (" + bundle.getLocaleCount() + " locales, " + bundle.getKeyCount() + " keys)");
+        return new I18n(I18nSnapshot.mapped(bundle, I18n.DEFAULT_FALLBACK));
+    }
+
+    /**
+     * Parses and compiles a language file, measuring the time it took.
+     * @param file The path to the language file.
+     * @return The result of the file.
+     */
+    private static Result parse(Path file) {
+        final long start = System.nanoTime();
+        long size = 0;
+
+        try {
+            size = Files.size(file);
+            return new Result(file, I18nLoader.localeOf(file), size, I18nLoader.readTemplates(file), System.nanoTime() - start, null);
+        } catch (IOException | RuntimeException e) {
+            return new Result(file, I18nLoader.localeOf(file), size, null, System.nanoTime() - start, e);
+        }
+    }
+
+    /**
+     * Check if a path is a language file.
+     * @param path The path.
+     * @return <code>true</code> if it is a JSON file.
+     */
+    static boolean isLanguageFile(Path path) {
+        return path.getFileName().toString().endsWith(".json") && Files.isRegularFile(path);
+    }
+
+    /**
+     * Get the locale of a language file, named after it.
+     * @param file The path to the language file, for example "en_US.json".
+     * @return The locale of the file.
+     */
+    static Locale localeOf(Path file) {
+        return I18nLoader.localeOf(file.getFileName().toString());
+    }
+
+    /**
+     * Get the locale of a language file, named after it.
+     * @param fileName The name of the language file, for example "en_US.json".
+     * @return The locale of the file.
+     */
+    static Locale localeOf(String fileName) {
+        return new Locale(fileName.replace(".json", ""));
+    }
+
+    /**
+     * Loads the compiled messages of a language file, logging the failures.
+     * @param file The path to the language file.
+     * @return The compiled messages, empty if the file can't be read, so the locale falls back to its chain.
+     */
+    private static Map<String, I18nTemplate> loadTemplates(Path file) {
+        try {
+            final Map<String, I18nTemplate> templates = I18nLoader.readTemplates(file);
+
+            LOGGER.info("Loaded language file: " + file.getFileName().toString());
+            return templates;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Failed to load language file " + file.getFileName().toString() + ": " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Loads the compiled messages of a language file of the classpath, logging the failures.
+     * @param resource The absolute path to the language file in the classpath.
+     * @return The compiled messages, empty if the file can't be read, so the locale falls back to its chain.
+     */
+    private static Map<String, I18nTemplate> loadTemplates(String resource) {
+        final InputStream input = I18n.class.getResourceAsStream(resource);
+
+        if (input == null) {
+            LOGGER.error("Failed to load language file " + resource + ": listed by the index, but not found.");
+            return new HashMap<>();
+        }
+
+        try {
+            final Map<String, I18nTemplate> templates = new HashMap<>();
+
+            I18nLoader.read(input, (key, value) -> templates.put(key, I18nTemplate.compile(value)));
+            LOGGER.info("Loaded language file: " + resource);
+            return templates;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Failed to load language file " + resource + ": " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Reads and compiles the key/value pairs of a language file, token by token, without intermediate map. <br>
+     * Nested objects are flattened, their keys being joined with dots: <code>{"menu": {"quit": "Quit"}}</code> defines <code>menu.quit</code>.
+     * @param file The path to the language file.
+     * @return The compiled messages, by key.
+     * @throws IOException If the file can't be read, or is not a JSON object.
+     */
+    static Map<String, I18nTemplate> readTemplates(Path file) throws IOException {
+        final Map<String, I18nTemplate> templates = new HashMap<>();
+
+        I18nLoader.read(Files.newInputStream(file), (key, value) -> templates.put(key, I18nTemplate.compile(value)));
+        return templates;
+    }
+
+    /**
+     * Reads the key/value pairs of a language file, without compiling them, nested objects being flattened.
+     * @param file The path to the language file.
+     * @return The messages, by key.
+     * @throws IOException If the file can't be read, or is not a JSON object.
+     */
+    static Map<String, String> readMessages(Path file) throws IOException {
+        final Map<String, String> messages = new HashMap<>();
+
+        I18nLoader.read(Files.newInputStream(file), messages::put);
+        return messages;
+    }
+
+    /**
+     * Reads the key/value pairs of a language file, token by token.
+     * @param input The stream of the language file, closed once read.
+     * @param consumer The consumer of the key/value pairs.
+     * @throws IOException If the file can't be read, or is not a JSON object.
+     */
+    private static void read(InputStream input, BiConsumer<String, String> consumer) throws IOException {
+        try (final JsonReader reader = new JsonReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            I18nLoader.readObject(reader, "", consumer);
+        }
+    }
+
+    /**
+     * Reads the key/value pairs of a JSON object.
+     * @param reader The reader, before the object.
+     * @param prefix The prefix of the keys of the object, empty or ending with a dot.
+     * @param consumer The consumer of the key/value pairs.
+     * @throws IOException If the object can't be read.
+     */
+    private static void readObject(JsonReader reader, String prefix, BiConsumer<String, String> consumer) throws IOException {
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            final String key = prefix + reader.nextName();
+
+            switch (reader.peek()) {
+                case STRING:
+                case NUMBER:
+                    consumer.accept(key, reader.nextString());
+                    break;
+                case BOOLEAN:
+                    consumer.accept(key, String.valueOf(reader.nextBoolean()));
+                    break;
+                case BEGIN_OBJECT:
+                    I18nLoader.readObject(reader, key + ".", consumer);
+                    break;
+                default:
+                    // Nulls and arrays are not messages.
+                    reader.skipValue();
+                    break;
+            }
+        }
+
+        reader.endObject();
+    }
+
+    /**
+     * The result of the parsing of a language file.
+     */
+    public static class Result {
+
+        /**
+         * The path to the language file.
+         */
+        private final Path file;
+        /**
+         * The locale of the file.
+         */
+        private final Locale locale;
+        /**
+         * The size of the file, in bytes.
+         */
+        private final long size;
+        /**
+         * The compiled messages, or <code>null</code> if the file can't be read.
+         */
+        private final Map<String, I18nTemplate> templates;
+        /**
+         * The time spent parsing and compiling the file, in nanoseconds.
+         */
+        private final long durationNanos;
+        /**
+         * The error that made the parsing fail, or <code>null</code> if the file was loaded.
+         */
+        private final Throwable error;
+
+        /**
+         * The Result constructor.
+         * @param file The path to the language file.
+         * @param locale The locale of the file.
+         * @param size The size of the file, in bytes.
+         * @param templates The compiled messages, or <code>null</code> if the file can't be read.
+         * @param durationNanos The time spent parsing and compiling the file, in nanoseconds.
+         * @param error The error that made the parsing fail, or <code>null</code> if the file was loaded.
+         */
+        private Result(Path file, Locale locale, long size, Map<String, I18nTemplate> templates, long durationNanos, Throwable error) {
+            this.file = file;
+            this.locale = locale;
+            this.size = size;
+            this.templates = templates;
+            this.durationNanos = durationNanos;
+            this.error = error;
+        }
+
+        /**
+         * Get the path to the language file.
+         * @return The path to the file.
+         */
+        public Path getFile() {
+            return this.file;
+        }
+
+        /**
+         * Get the locale of the file.
+         * @return The locale.
+         */
+        public Locale getLocale() {
+            return this.locale;
+        }
+
+        /**
+         * Get the size of the file.
+         * @return The size, in bytes.
+         */
+        public long getSize() {
+            return this.size;
+        }
+
+        /**
+         * Get the number of keys of the file.
+         * @return The number of keys, 0 if the file can't be read.
+         */
+        public int getKeyCount() {
+            return this.templates == null ? 0 : this.templates.size();
+        }
+
+        /**
+         * Get the time spent parsing and compiling the file.
+         * @return The duration, in nanoseconds.
+         */
+        public long getDurationNanos() {
+            return this.durationNanos;
+        }
+
+        /**
+         * Get the error that made the parsing fail.
+         * @return The error, or <code>null</code> if the file was loaded.
+         */
+        public Throwable getError() {
+            return this.error;
+        }
+
+        /**
+         * Check if the file was loaded.
+         * @return <code>true</code> if the file was loaded.
+         */
+        public boolean isSuccess() {
+            return this.error == null;
+        }
     }
 }
@@ -0,0 +1,228 @@
+package io.github.nullptr.tools.i18n;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * The named placeholders of the messages, like <code>{player}</code>: the global registry of their resolvers,
+ * and the values given to a single message. <br>
+ * The names are mapped once to int ids, which the templates store when they are compiled,
+ * so rendering a placeholder never looks its name up. A placeholder is rendered from, in order:
+ * <ul>
+ *     <li>the value given to the message, by an instance passed as the last replacement:
+ *     <code>i18n.get("welcome", I18nPlaceholders.of("player", name))</code>;</li>
+ *     <li>the resolver registered for its name, only called if the message has the placeholder;</li>
+ *     <li>the placeholder itself, <code>{player}</code>, if there is neither.</li>
+ * </ul>
+ */
+public final class I18nPlaceholders {
+
+    /**
+     * The pattern of the placeholder names.
+     */
+    static final Pattern NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_.-]*");
+    /**
+     * The value of the placeholders without value nor resolver.
+     */
+    static final Object ABSENT = new Object();
+
+    /**
+     * The ids, by name.
+     */
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    /**
+     * The names, by id, grown under the lock.
+     */
+    private static volatile String[] NAMES = new String[64];
+    /**
+     * The resolvers, by id, copied on write.
+     */
+    private static volatile Supplier<?>[] RESOLVERS = new Supplier<?>[64];
+    /**
+     * The number of names.
+     */
+    private static int SIZE;
+
+    /**
+     * The ids of the placeholders given values.
+     */
+    private int[] ids;
+    /**
+     * The values, in the order of the ids.
+     */
+    private Object[] values;
+    /**
+     * The number of values.
+     */
+    private int size;
+
+    /**
+     * The I18nPlaceholders constructor.
+     * @param capacity The expected number of values.
+     */
+    private I18nPlaceholders(int capacity) {
+        this.ids = new int[capacity];
+        this.values = new Object[capacity];
+    }
+
+    /**
+     * Creates the placeholder values of a message, with a first value.
+     * @param name The name of the placeholder, without braces.
+     * @param value The value.
+     * @return The placeholder values.
+     */
+    public static I18nPlaceholders of(String name, Object value) {
+        return new I18nPlaceholders(4).with(name, value);
+    }
+
+    /**
+     * Creates the placeholder values of a message.
+     * @param values The values, by placeholder name.
+     * @return The placeholder values.
+     */
+    public static I18nPlaceholders of(Map<String, ?> values) {
+        final I18nPlaceholders placeholders = new I18nPlaceholders(Math.max(1, values.size()));
+
+        values.forEach(placeholders::with);
+        return placeholders;
+    }
+
+    /**
+     * Gives a value to a placeholder, replacing its previous value.
+     * @param name The name of the placeholder, without braces.
+     * @param value The value.
+     * @return This instance.
+     */
+    public I18nPlaceholders with(String name, Object value) {
+        final int id = I18nPlaceholders.idOf(name);
+
+        for (int i = 0; i < this.size; i++) {
+            if (this.ids[i] == id) {
+                this.values[i] = value;
+                return this;
+            }
+        }
+
+        if (this.size == this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, this.size * 2);
+            this.values = Arrays.copyOf(this.values, this.size * 2);
+        }
+
+        this.ids[this.size] = id;
+        this.values[this.size++] = value;
+        return this;
+    }
+
+    /**
+     * Get the value of a placeholder.
+     * @param id The id of the placeholder.
+     * @return The value given to the placeholder, or {@link #ABSENT} if it has none.
+     */
+    Object get(int id) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.ids[i] == id) return this.values[i];
+        }
+
+        return ABSENT;
+    }
+
+    /**
+     * Registers the global resolver of a placeholder, replacing the previous one. <br>
+     * The resolver is called each time a rendered message has the placeholder, and no value is given to it.
+     * @param name The name of the placeholder, without braces.
+     * @param resolver The resolver of the value of the placeholder.
+     */
+    public static synchronized void register(String name, Supplier<?> resolver) {
+        if (resolver == null) {
+            throw new IllegalArgumentException("The resolver of the placeholder " + name + " can't be null.");
+        }
+
+        I18nPlaceholders.setResolver(I18nPlaceholders.idOf(name), resolver);
+    }
+
+    /**
+     * Unregisters the global resolver of a placeholder.
+     * @param name The name of the placeholder, without braces.
+     */
+    public static synchronized void unregister(String name) {
+        final Integer id = IDS.get(name);
+        if (id != null) I18nPlaceholders.setResolver(id, null);
+    }
+
+    /**
+     * Check if a placeholder has a global resolver.
+     * @param name The name of the placeholder, without braces.
+     * @return <code>true</code> if a resolver is registered for the placeholder.
+     */
+    public static boolean isRegistered(String name) {
+        final Integer id = IDS.get(name);
+        return id != null && RESOLVERS[id] != null;
+    }
+
+    /**
+     * Replaces the resolver of a placeholder, copying the resolvers so the readers never lock.
+     * @param id The id of the placeholder.
+     * @param resolver The resolver, or <code>null</code>.
+     */
+    private static void setResolver(int id, Supplier<?> resolver) {
+        final Supplier<?>[] resolvers = Arrays.copyOf(RESOLVERS, Math.max(RESOLVERS.length, NAMES.length));
+
+        resolvers[id] = resolver;
+        RESOLVERS = resolvers;
+    }
+
+    /**
+     * Resolves a placeholder with its global resolver.
+     * @param id The id of the placeholder.
+     * @return The value of the placeholder, or {@link #ABSENT} if it has no resolver.
+     */
+    static Object resolve(int id) {
+        final Supplier<?>[] resolvers = RESOLVERS;
+        return id < resolvers.length && resolvers[id] != null ? resolvers[id].get() : ABSENT;
+    }
+
+    /**
+     * Get the id of a placeholder, registering its name if it is unknown.
+     * @param name The name of the placeholder, without braces.
+     * @return The id of the placeholder.
+     */
+    static int idOf(String name) {
+        final Integer id = IDS.get(name);
+        return id == null ? I18nPlaceholders.add(name) : id;
+    }
+
+    /**
+     * Registers the name of a placeholder.
+     * @param name The name of the placeholder, without braces.
+     * @return The id of the placeholder.
+     */
+    private static synchronized int add(String name) {
+        final Integer existing = IDS.get(name);
+        if (existing != null) return existing;
+
+        if (!NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid placeholder name: " + name);
+        }
+
+        final int id = SIZE;
+        if (id == NAMES.length) NAMES = Arrays.copyOf(NAMES, id * 2);
+
+        // The name is stored before it is published in the map, so a found id always has its name.
+        NAMES[id] = name;
+        SIZE = id + 1;
+        IDS.put(name, id);
+        return id;
+    }
+
+    /**
+     * Get the name of a placeholder.
+     * @param id The id of the placeholder.
+     * @return The name of the placeholder, without braces.
+     */
+    static String nameOf(int id) {
+        return NAMES[id];
+    }
+}
@@ -0,0 +1,556 @@
+package io.github.nullptr.tools.i18n;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The immutable compiled messages of all the languages, with their fallback chains resolved. <br>
+ * The chain of a locale goes from the most specific name to the least specific one, then to the fallback locale:
+ * <code>fr_CA</code>, <code>fr</code>, <code>en_US</code>. The messages of each loaded locale are flattened once
+ * with the ones of its chain, so finding a message is always a single hash lookup, whatever the depth of the chain.
+ * The other locales share the messages of the first loaded locale of their chain, resolved on first use. <br>
+ * The languages can be loaded lazily: a language is only read the first time a locale whose chain contains it is used. <br>
+ * The keys are stored once, in a {@link I18nDictionary} shared by the snapshots, each language being a dense array
+ * of templates indexed by the ids of the keys: a lookup by key is a single hash lookup, and a lookup by id an array access.
+ * The identical values of the languages share the same template, interned by the dictionary. <br>
+ * The languages can also be read from a memory-mapped {@link I18nBundle}: each key is then resolved by walking the chain once,
+ * each locale of the chain being read from its language if the snapshot has one, like a reloaded one, or else from the bundle.
+ * The template found for a key, or its absence, is kept by id for each locale, so only the first lookup of a key walks the chain.
+ */
+public class I18nSnapshot {
+
+    /**
+     * The empty table, of the locales without language.
+     */
+    private static final I18nTemplate[] EMPTY = new I18nTemplate[0];
+    /**
+     * The marker of the keys the bundle doesn't define for a locale, so they are only looked up once.
+     */
+    private static final I18nTemplate MISSING = I18nTemplate.compile("");
+
+    /**
+     * The keys and the values, shared with the snapshots created from this one.
+     */
+    private final I18nDictionary dictionary;
+    /**
+     * The bundle the locales without language are read from, or <code>null</code>.
+     */
+    private final I18nBundle bundle;
+    /**
+     * The languages, loaded or not, by locale name.
+     */
+    private final Map<String, Language> languages;
+    /**
+     * The flattened messages by key id, by locale name, filled on first use.
+     */
+    private final Map<String, I18nTemplate[]> tables = new ConcurrentHashMap<>();
+    /**
+     * The flattened messages by key id, by requested locale, filled on first use.
+     */
+    private final Map<Locale, I18nTemplate[]> resolved = new ConcurrentHashMap<>();
+    /**
+     * The messages of the snapshots having a bundle, by requested locale, filled on first use.
+     */
+    private final Map<Locale, BundleTable> bundleTables = new ConcurrentHashMap<>();
+    /**
+     * The locale the chains end with.
+     */
+    private final Locale fallback;
+
+    /**
+     * The I18nSnapshot constructor, compiling the messages.
+     * @param languages The messages, by locale.
+     * @param fallback The locale the chains end with.
+     */
+    public I18nSnapshot(Map<Locale, Map<String, String>> languages, Locale fallback) {
+        this(fallback, new I18nDictionary(), null, new HashMap<>());
+
+        languages.forEach((locale, messages) -> {
+            final Map<String, I18nTemplate> templates = I18nSnapshot.compile(messages);
+            this.languages.put(I18nSnapshot.nameOf(locale), new Language(() -> templates));
+        });
+    }
+
+    /**
+     * The I18nSnapshot constructor.
+     * @param fallback The locale the chains end with.
+     * @param dictionary The keys and the values.
+     * @param bundle The bundle the locales without language are read from, or <code>null</code>.
+     * @param languages The languages, by locale name, owned by the snapshot.
+     */
+    private I18nSnapshot(Locale fallback, I18nDictionary dictionary, I18nBundle bundle, Map<String, Language> languages) {
+        this.fallback = fallback;
+        this.dictionary = dictionary;
+        this.bundle = bundle;
+        this.languages = languages;
+    }
+
+    /**
+     * Creates a snapshot whose languages are loaded on first use.
+     * @param loaders The loaders of the compiled messages, by locale, each called at most once.
+     * @param fallback The locale the chains end with.
+     * @return The created snapshot.
+     */
+    public static I18nSnapshot lazy(Map<Locale, Supplier<Map<String, I18nTemplate>>> loaders, Locale fallback) {
+        final Map<String, Language> languages = new HashMap<>();
+
+        loaders.forEach((locale, loader) -> languages.put(I18nSnapshot.nameOf(locale), new Language(loader)));
+        return new I18nSnapshot(fallback, new I18nDictionary(), null, languages);
+    }
+
+    /**
+     * Creates a snapshot reading its languages from a bundle, without decoding it.
+     * @param bundle The memory-mapped bundle.
+     * @param fallback The locale the chains end with.
+     * @return The created snapshot.
+     */
+    public static I18nSnapshot mapped(I18nBundle bundle, Locale fallback) {
+        return new I18nSnapshot(fallback, new I18nDictionary(), bundle, new HashMap<>());
+    }
+
+    /**
+     * Compiles the messages of a locale.
+     * @param messages The messages, by key.
+     * @return The compiled messages, by key.
+     */
+    private static Map<String, I18nTemplate> compile(Map<String, String> messages) {
+        final Map<String, I18nTemplate> templates = new HashMap<>();
+
+        messages.forEach((key, value) -> templates.put(key, I18nTemplate.compile(value)));
+        return templates;
+    }
+
+    /**
+     * Creates a snapshot with the messages of a locale replaced, or added. <br>
+     * Only the new messages are compiled, the other languages are shared with this snapshot, which is left untouched.
+     * @param locale The locale.
+     * @param messages The new messages of the locale, by key.
+     * @return The new snapshot.
+     */
+    public I18nSnapshot withLanguage(Locale locale, Map<String, String> messages) {
+        final Map<String, I18nTemplate> templates = I18nSnapshot.compile(messages);
+        return this.withLanguage(locale, () -> templates);
+    }
+
+    /**
+     * Creates a snapshot with the compiled messages of a locale replaced, or added.
+     * @param locale The locale.
+     * @param loader The loader of the new compiled messages of the locale, called at most once, when first used.
+     * @return The new snapshot.
+     */
+    public I18nSnapshot withLanguage(Locale locale, Supplier<Map<String, I18nTemplate>> loader) {
+        final Map<String, Language> languages = new HashMap<>(this.languages);
+
+        languages.put(I18nSnapshot.nameOf(locale), new Language(loader));
+        return new I18nSnapshot(this.fallback, this.dictionary, this.bundle, languages);
+    }
+
+    /**
+     * Creates a snapshot without the messages of a locale, which then falls back to its chain.
+     * @param locale The locale.
+     * @return The new snapshot, or this one if the locale is not loaded.
+     */
+    public I18nSnapshot withoutLanguage(Locale locale) {
+        if (!this.languages.containsKey(I18nSnapshot.nameOf(locale))) return this;
+
+        final Map<String, Language> languages = new HashMap<>(this.languages);
+
+        languages.remove(I18nSnapshot.nameOf(locale));
+        return new I18nSnapshot(this.fallback, this.dictionary, this.bundle, languages);
+    }
+
+    /**
+     * Get the compiled template of a key.
+     * @param locale The locale.
+     * @param key The key.
+     * @return The template of the key, from the first locale of the chain defining it, or <code>null</code> if none does.
+     */
+    public I18nTemplate getTemplate(Locale locale, String key) {
+        if (this.bundle != null) return this.bundleTemplate(locale, key);
+
+        final I18nTemplate[] table = this.table(locale);
+        final int id = this.dictionary.find(key);
+        return id < 0 || id >= table.length ? null : table[id];
+    }
+
+    /**
+     * Get the compiled template of a key, by the id of the key.
+     * @param locale The locale.
+     * @param id The id of the key, given by {@link #idOf(String)}.
+     * @return The template of the key, from the first locale of the chain defining it, or <code>null</code> if none does.
+     */
+    public I18nTemplate getTemplate(Locale locale, int id) {
+        if (this.bundle != null) return this.bundleTemplate(this.bundleTable(locale), id, null);
+
+        final I18nTemplate[] table = this.table(locale);
+        return id < 0 || id >= table.length ? null : table[id];
+    }
+
+    /**
+     * Get the id of a key, to look it up without hashing it. <br>
+     * The id is assigned on the first call if no loaded language defines the key yet, and never changes.
+     * @param key The key.
+     * @return The id of the key.
+     */
+    public int idOf(String key) {
+        return this.dictionary.idOf(key);
+    }
+
+    /**
+     * Get the keys and the values of the languages.
+     * @return The dictionary, shared with the snapshots created from this one.
+     */
+    public I18nDictionary getDictionary() {
+        return this.dictionary;
+    }
+
+    /**
+     * Get the flattened messages of a locale.
+     * @param locale The locale.
+     * @return The messages, by key id.
+     */
+    private I18nTemplate[] table(Locale locale) {
+        final I18nTemplate[] table = this.resolved.get(locale);
+        if (table != null) return table;
+
+        String name = this.find(I18nSnapshot.nameOf(locale));
+        if (name == null) name = this.find(I18nSnapshot.nameOf(this.fallback));
+
+        final I18nTemplate[] found = name == null ? EMPTY : this.flattened(name);
+        this.resolved.put(locale, found);
+        return found;
+    }
+
+    /**
+     * Get the template of a key of a snapshot having a bundle.
+     * @param locale The locale.
+     * @param key The key.
+     * @return The template of the key, from the first locale of the chain defining it, or <code>null</code> if none does.
+     */
+    private I18nTemplate bundleTemplate(Locale locale, String key) {
+        // The languages of the chain are loaded first, so the keys they define have an id.
+        final BundleTable table = this.bundleTable(locale);
+        final int id = this.dictionary.find(key);
+        if (id >= 0) return this.bundleTemplate(table, id, key);
+
+        // No language of the chain defines the key, and it only gets an id once the bundle does, so wrong keys don't grow the dictionary.
+        final I18nTemplate found = this.bundle.getTemplate(table.chain, key);
+
+        if (found != null) table.put(this.dictionary.idOf(key), found);
+        return found;
+    }
+
+    /**
+     * Get the template of a key of a snapshot having a bundle, walking the chain only the first time.
+     * @param table The messages of the locale.
+     * @param id The id of the key.
+     * @param key The key, or <code>null</code> to get it from the dictionary if it must be looked up.
+     * @return The template of the key, from the first locale of the chain defining it, or <code>null</code> if none does.
+     */
+    private I18nTemplate bundleTemplate(BundleTable table, int id, String key) {
+        if (id < 0) return null;
+
+        final I18nTemplate cached = table.get(id);
+        if (cached != null) return cached == MISSING ? null : cached;
+
+        final I18nTemplate template = table.resolve(this.bundle, id, key == null ? this.dictionary.keyOf(id) : key);
+        table.put(id, template == null ? MISSING : template);
+        return template;
+    }
+
+    /**
+     * Get the messages of a locale of a snapshot having a bundle, loading the languages of its chain the first time.
+     * @param locale The locale.
+     * @return The messages of the locale, with the steps of its chain.
+     */
+    private BundleTable bundleTable(Locale locale) {
+        final BundleTable table = this.bundleTables.get(locale);
+        if (table != null) return table;
+
+        final Set<String> chain = this.chainOf(I18nSnapshot.nameOf(locale));
+        final I18nTemplate[][] languages = new I18nTemplate[chain.size()][];
+        final int[][] locales = new int[chain.size()][];
+        int index = 0;
+
+        // A locale having a language, loaded or reloaded, hides the same locale of the bundle.
+        for (final String name : chain) {
+            final Language language = this.languages.get(name);
+
+            if (language != null) {
+                languages[index] = language.get(this.dictionary);
+            } else {
+                locales[index] = this.bundle.indexesOf(Collections.singleton(name));
+            }
+            index++;
+        }
+
+        final BundleTable created = new BundleTable(languages, locales, this.dictionary.size());
+        final BundleTable previous = this.bundleTables.putIfAbsent(locale, created);
+        return previous == null ? created : previous;
+    }
+
+    /**
+     * Get the chain of a locale: the locale, its parents, then the fallback locale and its parents.
+     * @param name The name of the locale.
+     * @return The names of the locales of the chain, from the most specific one, without duplicates.
+     */
+    private Set<String> chainOf(String name) {
+        final Set<String> chain = new LinkedHashSet<>();
+
+        for (String current = name; current != null; current = I18nSnapshot.parentOf(current)) {
+            chain.add(current);
+        }
+        for (String current = I18nSnapshot.nameOf(this.fallback); current != null; current = I18nSnapshot.parentOf(current)) {
+            chain.add(current);
+        }
+
+        return chain;
+    }
+
+    /**
+     * Finds the first locale of a chain which has a language.
+     * @param name The name of the most specific locale of the chain.
+     * @return The name of the locale, or <code>null</code> if no locale of the chain has a language.
+     */
+    private String find(String name) {
+        for (String current = name; current != null; current = I18nSnapshot.parentOf(current)) {
+            if (this.languages.containsKey(current)) return current;
+        }
+
+        return null;
+    }
+
+    /**
+     * Get the flattened messages of a locale having a language, flattening them on first use.
+     * @param name The name of the locale.
+     * @return The flattened messages.
+     */
+    private I18nTemplate[] flattened(String name) {
+        final I18nTemplate[] table = this.tables.get(name);
+        if (table != null) return table;
+
+        final I18nTemplate[] flattened = this.flatten(name);
+        final I18nTemplate[] previous = this.tables.putIfAbsent(name, flattened);
+        return previous == null ? flattened : previous;
+    }
+
+    /**
+     * Flattens the messages of a locale with the ones of its chain, loading the languages of the chain. <br>
+     * The keys defined by languages loaded later are out of the table: no language of the chain defines them.
+     * @param name The name of the locale.
+     * @return The flattened messages, the most specific locale winning.
+     */
+    private I18nTemplate[] flatten(String name) {
+        final Set<String> chain = this.chainOf(name);
+        final I18nTemplate[][] messages = new I18nTemplate[chain.size()][];
+        int length = 0;
+        int index = 0;
+
+        for (final String current : chain) {
+            final Language language = this.languages.get(current);
+            messages[index] = language == null ? EMPTY : language.get(this.dictionary);
+            length = Math.max(length, messages[index++].length);
+        }
+
+        // From the most specific locale, which wins, to the least specific one.
+        final I18nTemplate[] table = new I18nTemplate[length];
+        for (final I18nTemplate[] templates : messages) {
+            for (int id = 0; id < templates.length; id++) {
+                if (table[id] == null) table[id] = templates[id];
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * Get the bundle the locales without language are read from.
+     * @return The bundle, or <code>null</code> if the snapshot has none.
+     */
+    public I18nBundle getBundle() {
+        return this.bundle;
+    }
+
+    /**
+     * Get the locale the chains end with.
+     * @return The fallback locale.
+     */
+    public Locale getFallback() {
+        return this.fallback;
+    }
+
+    /**
+     * Get the normalized name of a locale, the same for <code>new Locale("fr_CA")</code> and <code>Locale.CANADA_FRENCH</code>.
+     * @param locale The locale.
+     * @return The lower-case name of the locale, with underscores.
+     */
+    public static String nameOf(Locale locale) {
+        return locale.toString().toLowerCase(Locale.ROOT).replace('-', '_');
+    }
+
+    /**
+     * Get the name of the parent of a locale in its chain, <code>fr</code> for <code>fr_ca</code>.
+     * @param name The normalized name of the locale.
+     * @return The name of the parent, or <code>null</code> if the locale has no parent.
+     */
+    static String parentOf(String name) {
+        final int separator = name.lastIndexOf('_');
+        return separator <= 0 ? null : name.substring(0, separator);
+    }
+
+    /**
+     * The compiled messages of a locale, loaded on first use.
+     */
+    private static class Language {
+
+        /**
+         * The loader of the messages, or <code>null</code> once they are loaded.
+         */
+        private Supplier<Map<String, I18nTemplate>> loader;
+        /**
+         * The compiled messages by key id, or <code>null</code> until they are loaded.
+         */
+        private volatile I18nTemplate[] messages;
+
+        /**
+         * The Language constructor.
+         * @param loader The loader of the compiled messages.
+         */
+        private Language(Supplier<Map<String, I18nTemplate>> loader) {
+            this.loader = loader;
+        }
+
+        /**
+         * Get the compiled messages, loading them the first time.
+         * @param dictionary The dictionary registering the keys and interning the values.
+         * @return The compiled messages, by key id.
+         */
+        private I18nTemplate[] get(I18nDictionary dictionary) {
+            final I18nTemplate[] messages = this.messages;
+            if (messages != null) return messages;
+
+            synchronized (this) {
+                if (this.messages == null) {
+                    this.messages = Language.index(this.loader.get(), dictionary);
+                    this.loader = null;
+                }
+
+                return this.messages;
+            }
+        }
+
+        /**
+         * Converts messages by key to a dense array by key id, the identical values sharing the same template.
+         * @param templates The compiled messages, by key.
+         * @param dictionary The dictionary registering the keys and interning the values.
+         * @return The compiled messages, by key id.
+         */
+        private static I18nTemplate[] index(Map<String, I18nTemplate> templates, I18nDictionary dictionary) {
+            final int[] ids = new int[templates.size()];
+            final I18nTemplate[] values = new I18nTemplate[templates.size()];
+            int length = 0;
+            int count = 0;
+
+            for (final Map.Entry<String, I18nTemplate> entry : templates.entrySet()) {
+                ids[count] = dictionary.idOf(entry.getKey());
+                values[count] = dictionary.intern(entry.getValue());
+                length = Math.max(length, ids[count++] + 1);
+            }
+
+            final I18nTemplate[] messages = new I18nTemplate[length];
+            for (int i = 0; i < count; i++) {
+                messages[ids[i]] = values[i];
+            }
+
+            return messages;
+        }
+    }
+
+    /**
+     * The messages of a locale of a snapshot having a bundle, by key id, filled on first lookup.
+     */
+    private static class BundleTable {
+
+        /**
+         * The messages by key id of each step of the chain, from the most specific locale, or <code>null</code> for the steps read from the bundle.
+         */
+        private final I18nTemplate[][] languages;
+        /**
+         * The index of the locale of the bundle of each step of the chain, in an array empty if the bundle doesn't have the locale,
+         * or <code>null</code> for the steps having a language.
+         */
+        private final int[][] locales;
+        /**
+         * The indexes of the locales of the bundle read by the chain, from the most specific one.
+         */
+        private final int[] chain;
+        /**
+         * The templates by key id, {@link I18nSnapshot#MISSING} for the keys the chain doesn't define, or <code>null</code> if not looked up yet.
+         */
+        private volatile I18nTemplate[] templates;
+
+        /**
+         * The BundleTable constructor.
+         * @param languages The messages by key id of each step of the chain, or <code>null</code> for the steps read from the bundle.
+         * @param locales The index of the locale of the bundle of each step of the chain, or <code>null</code> for the steps having a language.
+         * @param capacity The expected number of keys.
+         */
+        private BundleTable(I18nTemplate[][] languages, int[][] locales, int capacity) {
+            this.languages = languages;
+            this.locales = locales;
+            this.chain = Arrays.stream(locales).filter(Objects::nonNull).flatMapToInt(Arrays::stream).toArray();
+            this.templates = new I18nTemplate[Math.max(16, capacity)];
+        }
+
+        /**
+         * Finds the template of a key, from the first step of the chain defining it.
+         * @param bundle The bundle.
+         * @param id The id of the key.
+         * @param key The key, or <code>null</code> if the id is unknown.
+         * @return The template, or <code>null</code> if no step of the chain defines the key.
+         */
+        private I18nTemplate resolve(I18nBundle bundle, int id, String key) {
+            for (int step = 0; step < this.languages.length; step++) {
+                final I18nTemplate[] messages = this.languages[step];
+                final I18nTemplate template = messages != null ? (id < messages.length ? messages[id] : null)
+                        : (key == null ? null : bundle.getTemplate(this.locales[step], key));
+
+                if (template != null) return template;
+            }
+
+            return null;
+        }
+
+        /**
+         * Get the template of a key.
+         * @param id The id of the key.
+         * @return The template, {@link I18nSnapshot#MISSING}, or <code>null</code> if the key was not looked up yet.
+         */
+        private I18nTemplate get(int id) {
+            final I18nTemplate[] templates = this.templates;
+            return id < templates.length ? templates[id] : null;
+        }
+
+        /**
+         * Keeps the template of a key. <br>
+         * The templates being immutable, a reader racing with the write either sees it or looks the key up again.
+         * @param id The id of the key.
+         * @param template The template, or {@link I18nSnapshot#MISSING}.
+         */
+        private synchronized void put(int id, I18nTemplate template) {
+            if (id >= this.templates.length) {
+                this.templates = Arrays.copyOf(this.templates, Math.max(id + 1, this.templates.length * 2));
+            }
+
+            this.templates[id] = template;
+        }
+    }
+}
@@ -0,0 +1,679 @@
+package io.github.nullptr.tools.i18n;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.Formatter;
+import java.util.IllegalFormatException;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A message value compiled once into literal segments and argument slots, rendered without parsing it again. <br>
+ * The values use the syntax of {@link String#format(String, Object...)}. The plain <code>%s</code> and <code>%d</code> slots
+ * are appended directly, the other slots (with flags, a width, a precision or another conversion) are formatted with a
+ * {@link Formatter}, as {@link String#format(String, Object...)} would. <br>
+ * A value which is not a valid format, or which misses arguments, renders as <code>Format error: &lt;value&gt;</code>. <br>
+ * The values can also have named placeholders, like <code>{player}</code>, compiled into slots rendered from {@link I18nPlaceholders}.
+ * The braces which don't surround a valid name are kept as they are. <br>
+ * The messages can be rendered straight into a builder, an {@link Appendable} or a {@link ByteBuffer}, without creating a string,
+ * and the templates with a single plain slot render an <code>int</code>, a <code>long</code> or a <code>double</code> without boxing it.
+ */
+public final class I18nTemplate {
+
+    /**
+     * The pattern of a format specifier, as parsed by {@link Formatter}.
+     */
+    private static final Pattern SPECIFIER = Pattern.compile("%(\\d+\\$)?([-#+ 0,(<]*)?(\\d+)?(\\.\\d+)?([tT])?([a-zA-Z%])");
+    /**
+     * The kind of the slots appending the argument as a string.
+     */
+    private static final byte STRING = 0;
+    /**
+     * The kind of the slots appending the argument as a decimal integer.
+     */
+    private static final byte DECIMAL = 1;
+    /**
+     * The kind of the slots formatted with a formatter.
+     */
+    private static final byte FORMATTED = 2;
+    /**
+     * The kind of the slots rendering a named placeholder.
+     */
+    private static final byte NAMED = 3;
+    /**
+     * The scratch builders of the threads, rendering the messages written to the other targets.
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * The value the template was compiled from.
+     */
+    private final String source;
+    /**
+     * The literal segments: the one before each slot, then the one after the last slot.
+     */
+    private final String[] literals;
+    /**
+     * The kinds of the slots.
+     */
+    private final byte[] kinds;
+    /**
+     * The indexes of the arguments of the slots, -1 for the slots without argument, like a padded <code>%%</code>.
+     */
+    private final int[] arguments;
+    /**
+     * The specifiers of the formatted slots, without their argument index, and the placeholders of the named slots, with their braces.
+     */
+    private final String[] specifiers;
+    /**
+     * The ids of the placeholders of the named slots, -1 for the other slots.
+     */
+    private final int[] placeholders;
+    /**
+     * The number of arguments the template uses.
+     */
+    private final int argumentCount;
+    /**
+     * <code>true</code> if the value is not a valid format.
+     */
+    private final boolean invalid;
+    /**
+     * <code>true</code> if all the slots append the first argument as a string or a decimal integer, so it can be a primitive.
+     */
+    private final boolean plain;
+    /**
+     * <code>true</code> if a slot appends its argument as a decimal integer.
+     */
+    private final boolean decimal;
+
+    /**
+     * The I18nTemplate constructor.
+     * @param source The value the template was compiled from.
+     * @param literals The literal segments.
+     * @param kinds The kinds of the slots.
+     * @param arguments The indexes of the arguments of the slots.
+     * @param specifiers The specifiers of the slots.
+     * @param placeholders The ids of the placeholders of the slots.
+     * @param invalid <code>true</code> if the value is not a valid format.
+     */
+    private I18nTemplate(String source, String[] literals, byte[] kinds, int[] arguments, String[] specifiers, int[] placeholders, boolean invalid) {
+        this.source = source;
+        this.literals = literals;
+        this.kinds = kinds;
+        this.arguments = arguments;
+        this.specifiers = specifiers;
+        this.placeholders = placeholders;
+        this.invalid = invalid;
+
+        int count = 0;
+        for (final int argument : arguments) {
+            count = Math.max(count, argument + 1);
+        }
+        this.argumentCount = count;
+
+        boolean plain = !invalid;
+        boolean decimal = false;
+        for (int i = 0; i < kinds.length; i++) {
+            plain &= (kinds[i] == STRING || kinds[i] == DECIMAL) && arguments[i] == 0;
+            decimal |= kinds[i] == DECIMAL;
+        }
+        this.plain = plain;
+        this.decimal = decimal;
+    }
+
+    /**
+     * Compiles a message value.
+     * @param source The value, using the syntax of {@link String#format(String, Object...)}, and named placeholders.
+     * @return The compiled template, rendering a format error if the value is not a valid format.
+     */
+    public static I18nTemplate compile(String source) {
+        if (source.indexOf('%') < 0 && source.indexOf('{') < 0) {
+            return new I18nTemplate(source, new String[] { source }, new byte[0], new int[0], new String[0], new int[0], false);
+        }
+
+        final List<String> literals = new ArrayList<>();
+        final List<Byte> kinds = new ArrayList<>();
+        final List<Integer> arguments = new ArrayList<>();
+        final List<String> specifiers = new ArrayList<>();
+        final List<Integer> placeholders = new ArrayList<>();
+
+        final Matcher matcher = SPECIFIER.matcher(source);
+        final Matcher name = I18nPlaceholders.NAME.matcher(source);
+        final StringBuilder literal = new StringBuilder();
+        int ordinary = 0;
+        int last = -1;
+        int position = 0;
+
+        while (position < source.length()) {
+            final int special = I18nTemplate.nextSpecial(source, position);
+
+            if (special < 0) {
+                literal.append(source, position, source.length());
+                break;
+            }
+
+            literal.append(source, position, special);
+
+            if (source.charAt(special) == '{') {
+                final int end = source.indexOf('}', special);
+
+                if (end < 0 || !name.region(special + 1, end).matches()) {
+                    literal.append('{');
+                    position = special + 1;
+                    continue;
+                }
+
+                I18nTemplate.addSlot(literals, kinds, arguments, specifiers, placeholders, literal, NAMED, -1, source.substring(special, end + 1),
+                        I18nPlaceholders.idOf(source.substring(special + 1, end)));
+                position = end + 1;
+                continue;
+            }
+
+            if (!matcher.find(special) || matcher.start() != special) {
+                return I18nTemplate.invalid(source);
+            }
+
+            position = matcher.end();
+
+            final String index = matcher.group(1);
+            final String flags = matcher.group(2) == null ? "" : matcher.group(2);
+            final String width = matcher.group(3);
+            final String precision = matcher.group(4);
+            final String time = matcher.group(5);
+            final char conversion = matcher.group(6).charAt(0);
+
+            final boolean plain = flags.isEmpty() && width == null && precision == null && time == null;
+            final boolean constant = time == null && (conversion == '%' || conversion == 'n');
+
+            if (plain && constant) {
+                literal.append(conversion == '%' ? "%" : System.lineSeparator());
+                continue;
+            }
+
+            final int argument;
+            if (constant) {
+                argument = -1;
+            } else if (flags.indexOf('<') >= 0) {
+                if (last < 0) return I18nTemplate.invalid(source);
+                argument = last;
+            } else if (index != null) {
+                argument = Integer.parseInt(index.substring(0, index.length() - 1)) - 1;
+                if (argument < 0) return I18nTemplate.invalid(source);
+            } else {
+                argument = ordinary++;
+            }
+            if (argument >= 0) last = argument;
+
+            if (plain && conversion == 's') {
+                I18nTemplate.addSlot(literals, kinds, arguments, specifiers, placeholders, literal, STRING, argument, null, -1);
+            } else if (plain && conversion == 'd') {
+                I18nTemplate.addSlot(literals, kinds, arguments, specifiers, placeholders, literal, DECIMAL, argument, null, -1);
+            } else {
+                final String specifier = "%" + flags.replace("<", "") + (width == null ? "" : width) + (precision == null ? "" : precision)
+                        + (time == null ? "" : time) + conversion;
+
+                try {
+                    // Checks the specifier once, so an unknown conversion is a compilation error, as it is for String.format.
+                    new Formatter(new StringBuilder()).format(specifier, (Object) null);
+                } catch (IllegalFormatException e) {
+                    return I18nTemplate.invalid(source);
+                }
+
+                I18nTemplate.addSlot(literals, kinds, arguments, specifiers, placeholders, literal, FORMATTED, argument, specifier, -1);
+            }
+        }
+
+        literals.add(literal.toString());
+
+        final byte[] kindArray = new byte[kinds.size()];
+        final int[] argumentArray = new int[arguments.size()];
+        final int[] placeholderArray = new int[placeholders.size()];
+        for (int i = 0; i < kindArray.length; i++) {
+            kindArray[i] = kinds.get(i);
+            argumentArray[i] = arguments.get(i);
+            placeholderArray[i] = placeholders.get(i);
+        }
+
+        return new I18nTemplate(source, literals.toArray(new String[0]), kindArray, argumentArray, specifiers.toArray(new String[0]), placeholderArray, false);
+    }
+
+    /**
+     * Finds the next character which may start a slot.
+     * @param source The value.
+     * @param from The index to search from.
+     * @return The index of the next <code>%</code> or <code>{</code>, or -1 if there is none.
+     */
+    private static int nextSpecial(String source, int from) {
+        for (int i = from; i < source.length(); i++) {
+            final char c = source.charAt(i);
+            if (c == '%' || c == '{') return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Adds a slot, ending the current literal segment.
+     * @param literals The literal segments.
+     * @param kinds The kinds of the slots.
+     * @param arguments The indexes of the arguments of the slots.
+     * @param specifiers The specifiers of the slots.
+     * @param placeholders The ids of the placeholders of the slots.
+     * @param literal The current literal segment, cleared.
+     * @param kind The kind of the slot.
+     * @param argument The index of the argument of the slot, -1 for a slot without argument.
+     * @param specifier The specifier or the placeholder of the slot, or <code>null</code>.
+     * @param placeholder The id of the placeholder of the slot, or -1.
+     */
+    private static void addSlot(List<String> literals, List<Byte> kinds, List<Integer> arguments, List<String> specifiers, List<Integer> placeholders,
+                                StringBuilder literal, byte kind, int argument, String specifier, int placeholder) {
+        literals.add(literal.toString());
+        literal.setLength(0);
+        kinds.add(kind);
+        arguments.add(argument);
+        specifiers.add(specifier);
+        placeholders.add(placeholder);
+    }
+
+    /**
+     * Creates the template of a value which is not a valid format.
+     * @param source The value.
+     * @return The template, rendering a format error.
+     */
+    private static I18nTemplate invalid(String source) {
+        return new I18nTemplate(source, new String[] { "Format error: " + source }, new byte[0], new int[0], new String[0], new int[0], true);
+    }
+
+    /**
+     * Renders the template to a string.
+     * @param replacements The arguments of the slots.
+     * @return The rendered message, or a format error if arguments are missing or don't match their slots.
+     */
+    public String format(Object... replacements) {
+        if (this.kinds.length == 0) return this.literals[0];
+
+        final StringBuilder builder = new StringBuilder(this.source.length() + 16 * this.kinds.length);
+        this.appendTo(builder, replacements);
+        return builder.toString();
+    }
+
+    /**
+     * Renders the template at the end of a builder.
+     * @param builder The builder to append the message to.
+     * @param replacements The arguments of the slots.
+     * @return The builder, with the rendered message or a format error if arguments are missing or don't match their slots.
+     */
+    public StringBuilder appendTo(StringBuilder builder, Object... replacements) {
+        final int start = builder.length();
+
+        // The placeholder values are not an argument of the slots, so they are neither counted nor consumed.
+        final I18nPlaceholders values = I18nTemplate.placeholdersOf(replacements);
+        final int count = replacements == null ? 0 : values == null ? replacements.length : replacements.length - 1;
+
+        if (this.invalid || count < this.argumentCount) {
+            return builder.append("Format error: ").append(this.source);
+        }
+
+        try {
+            for (int i = 0; i < this.kinds.length; i++) {
+                builder.append(this.literals[i]);
+                this.appendSlot(builder, i, replacements, values);
+            }
+        } catch (IllegalFormatException e) {
+            builder.setLength(start);
+            return builder.append("Format error: ").append(this.source);
+        }
+
+        return builder.append(this.literals[this.kinds.length]);
+    }
+
+    /**
+     * Renders the template to a string, with a single <code>int</code> argument, not boxed if the slots are plain.
+     * @param value The argument of the slots.
+     * @return The rendered message, or a format error if the argument doesn't match its slots.
+     */
+    public String format(int value) {
+        if (this.kinds.length == 0) return this.literals[0];
+        return this.appendTo(new StringBuilder(this.source.length() + 16), value).toString();
+    }
+
+    /**
+     * Renders the template to a string, with a single <code>long</code> argument, not boxed if the slots are plain.
+     * @param value The argument of the slots.
+     * @return The rendered message, or a format error if the argument doesn't match its slots.
+     */
+    public String format(long value) {
+        if (this.kinds.length == 0) return this.literals[0];
+        return this.appendTo(new StringBuilder(this.source.length() + 16), value).toString();
+    }
+
+    /**
+     * Renders the template to a string, with a single <code>double</code> argument, not boxed if the slots are plain.
+     * @param value The argument of the slots.
+     * @return The rendered message, or a format error if the argument doesn't match its slots.
+     */
+    public String format(double value) {
+        if (this.kinds.length == 0) return this.literals[0];
+        return this.appendTo(new StringBuilder(this.source.length() + 32), value).toString();
+    }
+
+    /**
+     * Renders the template at the end of a builder, with a single <code>int</code> argument, not boxed if the slots are plain.
+     * @param builder The builder to append the message to.
+     * @param value The argument of the slots.
+     * @return The builder, with the rendered message or a format error if the argument doesn't match its slots.
+     */
+    public StringBuilder appendTo(StringBuilder builder, int value) {
+        if (!this.plain) return this.appendTo(builder, new Object[] { value });
+
+        for (int i = 0; i < this.kinds.length; i++) {
+            builder.append(this.literals[i]).append(value);
+        }
+
+        return builder.append(this.literals[this.kinds.length]);
+    }
+
+    /**
+     * Renders the template at the end of a builder, with a single <code>long</code> argument, not boxed if the slots are plain.
+     * @param builder The builder to append the message to.
+     * @param value The argument of the slots.
+     * @return The builder, with the rendered message or a format error if the argument doesn't match its slots.
+     */
+    public StringBuilder appendTo(StringBuilder builder, long value) {
+        if (!this.plain) return this.appendTo(builder, new Object[] { value });
+
+        for (int i = 0; i < this.kinds.length; i++) {
+            builder.append(this.literals[i]).append(value);
+        }
+
+        return builder.append(this.literals[this.kinds.length]);
+    }
+
+    /**
+     * Renders the template at the end of a builder, with a single <code>double</code> argument, not boxed if the slots are plain. <br>
+     * A <code>%d</code> slot doesn't accept a <code>double</code>, and renders a format error, as {@link String#format(String, Object...)} would fail.
+     * @param builder The builder to append the message to.
+     * @param value The argument of the slots.
+     * @return The builder, with the rendered message or a format error if the argument doesn't match its slots.
+     */
+    public StringBuilder appendTo(StringBuilder builder, double value) {
+        if (!this.plain || this.decimal) return this.appendTo(builder, new Object[] { value });
+
+        for (int i = 0; i < this.kinds.length; i++) {
+            builder.append(this.literals[i]).append(value);
+        }
+
+        return builder.append(this.literals[this.kinds.length]);
+    }
+
+    /**
+     * Renders the template into an appendable. <br>
+     * The message is rendered into a builder reused by the thread, then copied into the appendable:
+     * a {@link StringBuilder} or a {@link Writer} receives the characters without any string being created.
+     * @param appendable The appendable to append the message to.
+     * @param replacements The arguments of the slots.
+     * @param <A> The type of the appendable.
+     * @return The appendable, with the rendered message or a format error if arguments are missing or don't match their slots.
+     * @throws IOException If the appendable can't be appended to.
+     */
+    public <A extends Appendable> A appendTo(A appendable, Object... replacements) throws IOException {
+        if (appendable instanceof StringBuilder) {
+            this.appendTo((StringBuilder) appendable, replacements);
+        } else if (this.kinds.length == 0) {
+            // The constant messages and the format errors of the invalid values are already strings.
+            appendable.append(this.literals[0]);
+        } else {
+            final Scratch scratch = Scratch.acquire();
+
+            try {
+                this.appendTo(scratch.builder, replacements);
+                scratch.copyTo(appendable);
+            } finally {
+                scratch.release();
+            }
+        }
+
+        return appendable;
+    }
+
+    /**
+     * Renders the template into a buffer, encoded in UTF-8, from its position. <br>
+     * The characters are encoded straight from a builder reused by the thread, without any string or byte array being created.
+     * @param buffer The buffer to write the message to.
+     * @param replacements The arguments of the slots.
+     * @return The number of bytes written.
+     * @throws BufferOverflowException If the buffer has not enough room for the message, its position being left untouched.
+     */
+    public int writeTo(ByteBuffer buffer, Object... replacements) {
+        if (this.kinds.length == 0) return I18nTemplate.encode(this.literals[0], buffer);
+
+        final Scratch scratch = Scratch.acquire();
+
+        try {
+            return I18nTemplate.encode(this.appendTo(scratch.builder, replacements), buffer);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    /**
+     * Encodes characters in UTF-8 into a buffer, from its position. <br>
+     * The unpaired surrogates are encoded as <code>?</code>, as {@link String#getBytes(java.nio.charset.Charset)} does.
+     * @param chars The characters.
+     * @param buffer The buffer to write the bytes to.
+     * @return The number of bytes written.
+     * @throws BufferOverflowException If the buffer has not enough room for the bytes, its position being left untouched.
+     */
+    static int encode(CharSequence chars, ByteBuffer buffer) {
+        final int start = buffer.position();
+
+        try {
+            for (int i = 0; i < chars.length(); i++) {
+                final char c = chars.charAt(i);
+
+                if (c < 0x80) {
+                    buffer.put((byte) c);
+                } else if (c < 0x800) {
+                    buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    if (Character.isHighSurrogate(c) && i + 1 < chars.length() && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                        final int code = Character.toCodePoint(c, chars.charAt(++i));
+                        buffer.put((byte) (0xF0 | code >> 18)).put((byte) (0x80 | code >> 12 & 0x3F))
+                                .put((byte) (0x80 | code >> 6 & 0x3F)).put((byte) (0x80 | code & 0x3F));
+                    } else {
+                        buffer.put((byte) '?');
+                    }
+                } else {
+                    buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+                }
+            }
+        } catch (BufferOverflowException e) {
+            buffer.position(start);
+            throw e;
+        }
+
+        return buffer.position() - start;
+    }
+
+    /**
+     * Appends a slot.
+     * @param builder The builder to append the slot to.
+     * @param slot The index of the slot.
+     * @param replacements The arguments of the slots.
+     * @param values The placeholder values given to the message, or <code>null</code>.
+     */
+    private void appendSlot(StringBuilder builder, int slot, Object[] replacements, I18nPlaceholders values) {
+        final Object argument = this.arguments[slot] < 0 ? null : replacements[this.arguments[slot]];
+
+        switch (this.kinds[slot]) {
+            case STRING:
+                I18nTemplate.appendString(builder, argument);
+                break;
+            case NAMED:
+                this.appendPlaceholder(builder, slot, values);
+                break;
+            case DECIMAL:
+                if (argument instanceof Integer || argument instanceof Long || argument instanceof Short || argument instanceof Byte) {
+                    builder.append(((Number) argument).longValue());
+                } else {
+                    new Formatter(builder).format("%d", argument);
+                }
+                break;
+            default:
+                new Formatter(builder).format(this.specifiers[slot], argument);
+                break;
+        }
+    }
+
+    /**
+     * Appends a named placeholder, from its given value, or from its resolver, or as it is if it has neither.
+     * @param builder The builder to append the placeholder to.
+     * @param slot The index of the slot.
+     * @param values The placeholder values given to the message, or <code>null</code>.
+     */
+    private void appendPlaceholder(StringBuilder builder, int slot, I18nPlaceholders values) {
+        Object value = values == null ? I18nPlaceholders.ABSENT : values.get(this.placeholders[slot]);
+
+        // The resolver is only called for the placeholders the message has, and which were not given.
+        if (value == I18nPlaceholders.ABSENT) value = I18nPlaceholders.resolve(this.placeholders[slot]);
+
+        if (value == I18nPlaceholders.ABSENT) {
+            builder.append(this.specifiers[slot]);
+        } else {
+            I18nTemplate.appendString(builder, value);
+        }
+    }
+
+    /**
+     * Appends an argument as a string, as <code>%s</code> does.
+     * @param builder The builder to append the argument to.
+     * @param argument The argument.
+     */
+    private static void appendString(StringBuilder builder, Object argument) {
+        if (argument instanceof String) {
+            builder.append((String) argument);
+        } else if (argument instanceof Formattable) {
+            new Formatter(builder).format("%s", argument);
+        } else {
+            builder.append(argument);
+        }
+    }
+
+    /**
+     * Get the placeholder values given to a message, as its last replacement.
+     * @param replacements The replacements.
+     * @return The last replacement if it is placeholder values, or <code>null</code>.
+     */
+    private static I18nPlaceholders placeholdersOf(Object[] replacements) {
+        if (replacements == null || replacements.length == 0) return null;
+
+        final Object last = replacements[replacements.length - 1];
+        return last instanceof I18nPlaceholders ? (I18nPlaceholders) last : null;
+    }
+
+    /**
+     * Get the value the template was compiled from.
+     * @return The source value.
+     */
+    public String getSource() {
+        return this.source;
+    }
+
+    /**
+     * Get the number of arguments the template uses.
+     * @return The number of arguments, the greatest argument index plus one.
+     */
+    public int getArgumentCount() {
+        return this.argumentCount;
+    }
+
+    /**
+     * Check if the template has no slot, so it always renders the same message.
+     * @return <code>true</code> if the template is a constant.
+     */
+    public boolean isConstant() {
+        return this.kinds.length == 0;
+    }
+
+    /**
+     * Get the value the template was compiled from.
+     * @return The source value.
+     */
+    @Override
+    public String toString() {
+        return this.source;
+    }
+
+    /**
+     * The scratch builder of a thread, and the characters copied from it to the writers.
+     */
+    private static class Scratch {
+
+        /**
+         * The largest builder kept between two messages, in characters.
+         */
+        private static final int MAX_KEPT = 64 * 1024;
+
+        /**
+         * The builder the messages are rendered into.
+         */
+        private final StringBuilder builder = new StringBuilder(256);
+        /**
+         * The characters copied from the builder to the writers.
+         */
+        private final char[] chars = new char[1024];
+        /**
+         * <code>true</code> while a message is rendered into the builder.
+         */
+        private boolean used;
+
+        /**
+         * Get the scratch builder of the thread, or a new one if it is already used,
+         * by an argument rendering another message in its {@link Object#toString()}.
+         * @return The scratch, marked as used.
+         */
+        private static Scratch acquire() {
+            Scratch scratch = SCRATCH.get();
+            if (scratch.used) scratch = new Scratch();
+
+            scratch.used = true;
+            return scratch;
+        }
+
+        /**
+         * Copies the builder into an appendable.
+         * @param appendable The appendable.
+         * @throws IOException If the appendable can't be appended to.
+         */
+        private void copyTo(Appendable appendable) throws IOException {
+            if (!(appendable instanceof Writer)) {
+                appendable.append(this.builder);
+                return;
+            }
+
+            // Writer.append(CharSequence) would create a string.
+            final Writer writer = (Writer) appendable;
+            for (int start = 0; start < this.builder.length(); start += this.chars.length) {
+                final int end = Math.min(this.builder.length(), start + this.chars.length);
+
+                this.builder.getChars(start, end, this.chars, 0);
+                writer.write(this.chars, 0, end - start);
+            }
+        }
+
+        /**
+         * Clears the builder, and marks the scratch as unused.
+         */
+        private void release() {
+            this.builder.setLength(0);
+            if (this.builder.capacity() > MAX_KEPT) this.builder.trimToSize();
+
+            this.used = false;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package io.github.nullptr.tools.i18n;
+
+import io.github.nullptr.tools.thread.ThreadHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Watches a directory of language files, and reloads the changed ones into an {@link I18n} instance, on a background thread. <br>
+ * Only the changed files are parsed again. Each change swaps a new immutable snapshot in, so the readers never lock
+ * and never see a partially reloaded language. A file which can't be parsed keeps its previous messages. <br>
+ * The changes are collected for a short delay before being applied, as editors often write a file in several steps.
+ */
+public class I18nWatcher implements AutoCloseable {
+
+    /**
+     * The logger.
+     */
+    private static final Logger LOGGER = LoggerFactory.getLogger(I18nWatcher.class);
+    /**
+     * The time to wait for more changes before reloading, in milliseconds.
+     */
+    private static final long SETTLE_DELAY = 200;
+
+    /**
+     * The instance the languages are reloaded into.
+     */
+    private final I18n i18n;
+    /**
+     * The watched directory.
+     */
+    private final Path directory;
+    /**
+     * The watch service of the directory and its sub directories.
+     */
+    private final WatchService service;
+    /**
+     * The thread waiting for the changes.
+     */
+    private final Thread thread;
+
+    /**
+     * The I18nWatcher constructor, starting to watch the directory and its sub directories.
+     * @param i18n The instance the languages are reloaded into.
+     * @param directory The directory containing the language files.
+     */
+    public I18nWatcher(I18n i18n, Path directory) {
+        this.i18n = i18n;
+        this.directory = directory;
+
+        try {
+            this.service = directory.getFileSystem().newWatchService();
+            this.registerAll(directory);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to watch the languages of " + directory, e);
+        }
+
+        this.thread = ThreadHelper.daemonFactory("nullptr-tools-i18n-watcher").newThread(this::run);
+        this.thread.start();
+    }
+
+    /**
+     * Waits for the changes, and reloads the changed files, until the watcher is closed.
+     */
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = this.service.take();
+                final Set<Path> changed = new LinkedHashSet<>();
+
+                do {
+                    this.collect(key, changed);
+                } while ((key = this.service.poll(SETTLE_DELAY, TimeUnit.MILLISECONDS)) != null);
+
+                changed.forEach(this::reload);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // The watcher is closed.
+        }
+    }
+
+    /**
+     * Collects the language files changed by the events of a key, and watches the new sub directories.
+     * @param key The signalled key.
+     * @param changed The changed language files.
+     */
+    private void collect(WatchKey key, Set<Path> changed) {
+        final Path parent = (Path) key.watchable();
+
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Some events were lost: every file is reloaded.
+                try (final Stream<Path> files = Files.walk(this.directory)) {
+                    files.filter(I18nLoader::isLanguageFile).forEach(changed::add);
+                } catch (IOException e) {
+                    LOGGER.error("Failed to list the languages of " + this.directory + ": " + e.getMessage());
+                }
+                continue;
+            }
+
+            final Path path = parent.resolve((Path) event.context());
+
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    this.registerAll(path);
+                } catch (IOException e) {
+                    LOGGER.error("Failed to watch the languages of " + path + ": " + e.getMessage());
+                }
+            } else if (path.getFileName().toString().endsWith(".json")) {
+                changed.add(path);
+            }
+        }
+
+        key.reset();
+    }
+
+    /**
+     * Reloads a changed language file, or removes its language if it was deleted.
+     * @param file The changed language file.
+     */
+    private void reload(Path file) {
+        if (Files.notExists(file)) {
+            this.i18n.update(snapshot -> snapshot.withoutLanguage(I18nLoader.localeOf(file)));
+            LOGGER.info("Removed language file: " + file.getFileName().toString());
+            return;
+        }
+
+        try {
+            final long start = System.nanoTime();
+            final Map<String, I18nTemplate> templates = I18nLoader.readTemplates(file);
+
+            this.i18n.update(snapshot -> snapshot.withLanguage(I18nLoader.localeOf(file), () -> templates));
+            LOGGER.info("Reloaded language file: " + file.getFileName().toString() + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Failed to reload language file " + file.getFileName().toString() + ", keeping the previous one: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Watches a directory and its sub directories.
+     * @param root The directory.
+     * @throws IOException If a directory can't be watched.
+     */
+    private void registerAll(Path root) throws IOException {
+        try (final Stream<Path> directories = Files.walk(root)) {
+            for (final Path directory : (Iterable<Path>) directories.filter(Files::isDirectory)::iterator) {
+                directory.register(this.service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        }
+    }
+
+    /**
+     * Get the watched directory.
+     * @return The directory containing the language files.
+     */
+    public Path getDirectory() {
+        return this.directory;
+    }
+
+    /**
+     * Stops watching the directory.
+     */
+    @Override
+    public void close() {
+        try {
+            this.service.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        this.thread.interrupt();
+    }
+}
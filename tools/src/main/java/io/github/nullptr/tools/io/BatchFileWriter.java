@@ -0,0 +1,278 @@
+package io.github.nullptr.tools.io;
+
+import io.github.nullptr.tools.builder.IBuilder;
+import io.github.nullptr.tools.thread.ThreadHelper;
+import io.github.nullptr.tools.types.Pair;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes many files at once, concurrently, each one atomically with an {@link InstantFile}. <br>
+ * The parent directories are created once per batch, before any file. The files are then written by a bounded pool of threads,
+ * each thread taking the next file of the batch until none is left, so a batch never queues more tasks than threads. <br>
+ * Writing a small file is bound by the latency of its system calls, not by the bandwidth of the disk:
+ * writing them concurrently keeps the storage device busy. <br>
+ * /!\ If a path appears twice in a batch, either content may win.
+ */
+public class BatchFileWriter implements AutoCloseable {
+
+    /**
+     * The options telling how the bytes of each file are written.
+     */
+    private final FileWriterOptions options;
+    /**
+     * The maximum number of files written at once.
+     */
+    private final int threads;
+    /**
+     * The pool of the writing threads, which stop when idle.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * The BatchFileWriter constructor.
+     * @param builder The builder holding the configuration.
+     */
+    private BatchFileWriter(Builder builder) {
+        this.options = builder.options;
+        this.threads = builder.threads;
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                ThreadHelper.daemonFactory("nullptr-tools-batch-writer"));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Writes files concurrently, and waits for all of them. <br>
+     * A failed file doesn't stop the others, its error is returned in its result.
+     * @param files The paths of the files, with their contents: a line, bytes, a buffer, a stream or the path to another file,
+     *              as accepted by the {@link InstantFile} constructors.
+     * @return The results, in the order of the files.
+     */
+    public List<Result> write(Collection<? extends Pair<Path, ?>> files) {
+        final Pair<?, ?>[] entries = files.toArray(new Pair<?, ?>[0]);
+        final Result[] results = new Result[entries.length];
+
+        this.createDirectories(entries);
+
+        final AtomicInteger next = new AtomicInteger();
+        final Runnable worker = () -> {
+            int index;
+
+            while ((index = next.getAndIncrement()) < entries.length) {
+                results[index] = this.write((Path) entries[index].getLeft(), entries[index].getRight());
+            }
+        };
+
+        final int workers = Math.min(this.threads, entries.length);
+        final List<Future<?>> futures = new ArrayList<>(workers);
+
+        for (int i = 0; i < workers; i++) {
+            futures.add(this.executor.submit(worker));
+        }
+
+        try {
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while writing a batch of " + entries.length + " files", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Creates the parent directories of the files, once per distinct directory. <br>
+     * A directory which can't be created is ignored: the writes of its files fail and report why.
+     * @param entries The paths of the files, with their contents.
+     */
+    private void createDirectories(Pair<?, ?>[] entries) {
+        final Set<Path> directories = new LinkedHashSet<>();
+
+        for (final Pair<?, ?> entry : entries) {
+            final Path parent = ((Path) entry.getLeft()).getParent();
+            if (parent != null) directories.add(parent);
+        }
+
+        for (final Path directory : directories) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException ignored) {
+                // Reported by the files of the directory.
+            }
+        }
+    }
+
+    /**
+     * Writes a file, measuring the time it took.
+     * @param path The path to the file.
+     * @param content The content of the file.
+     * @return The result of the write.
+     */
+    private Result write(Path path, Object content) {
+        final long start = System.nanoTime();
+
+        try {
+            final InstantFile file = new InstantFile(path, content, this.options);
+
+            file.write();
+            return new Result(path, file.size(), System.nanoTime() - start, null);
+        } catch (RuntimeException e) {
+            return new Result(path, 0, System.nanoTime() - start, e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    /**
+     * Stops the writing threads, once the running batches are written.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * The result of the write of a file.
+     */
+    public static class Result {
+
+        /**
+         * The path to the file.
+         */
+        private final Path path;
+        /**
+         * The number of written bytes.
+         */
+        private final long size;
+        /**
+         * The time spent writing the file, in nanoseconds.
+         */
+        private final long durationNanos;
+        /**
+         * The error that made the write fail, or <code>null</code> if the file was written.
+         */
+        private final Throwable error;
+
+        /**
+         * The Result constructor.
+         * @param path The path to the file.
+         * @param size The number of written bytes.
+         * @param durationNanos The time spent writing the file, in nanoseconds.
+         * @param error The error that made the write fail, or <code>null</code> if the file was written.
+         */
+        private Result(Path path, long size, long durationNanos, Throwable error) {
+            this.path = path;
+            this.size = size;
+            this.durationNanos = durationNanos;
+            this.error = error;
+        }
+
+        /**
+         * Get the path to the file.
+         * @return The path to the file.
+         */
+        public Path getPath() {
+            return this.path;
+        }
+
+        /**
+         * Get the number of written bytes.
+         * @return The number of written bytes, 0 if the write failed.
+         */
+        public long getSize() {
+            return this.size;
+        }
+
+        /**
+         * Get the time spent writing the file, from the creation of its temporary file to its rename.
+         * @return The duration, in nanoseconds.
+         */
+        public long getDurationNanos() {
+            return this.durationNanos;
+        }
+
+        /**
+         * Get the error that made the write fail.
+         * @return The error, or <code>null</code> if the file was written.
+         */
+        public Throwable getError() {
+            return this.error;
+        }
+
+        /**
+         * Check if the file was written.
+         * @return <code>true</code> if the file was written.
+         */
+        public boolean isSuccess() {
+            return this.error == null;
+        }
+    }
+
+    /**
+     * The builder for the batch file writer.
+     */
+    public static class Builder implements IBuilder<BatchFileWriter> {
+
+        /**
+         * The options telling how the bytes of each file are written.
+         */
+        private FileWriterOptions options = FileWriterOptions.DEFAULT;
+        /**
+         * The maximum number of files written at once.
+         */
+        private int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+        /**
+         * Set the options telling how the bytes of each file are written.
+         * @param options The file writer options.
+         * @return The builder instance.
+         */
+        public Builder withOptions(FileWriterOptions options) {
+            this.options = options;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of files written at once. <br>
+         * The default is twice the number of processors, at least 4, the threads mostly waiting for the storage device.
+         * @param threads The number of writing threads.
+         * @return The builder instance.
+         */
+        public Builder withThreads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Build the batch file writer.
+         * @return The built batch file writer.
+         */
+        @Override
+        public BatchFileWriter build() {
+            if (this.options == null) {
+                throw new IllegalArgumentException("The file writer options can't be null.");
+            }
+            if (this.threads <= 0) {
+                throw new IllegalArgumentException("The number of threads must be positive, got " + this.threads);
+            }
+
+            return new BatchFileWriter(this);
+        }
+    }
+}
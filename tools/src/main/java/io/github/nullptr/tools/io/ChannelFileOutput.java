@@ -0,0 +1,195 @@
+package io.github.nullptr.tools.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file output writing bytes to a file channel, through a reusable direct buffer. <br>
+ * Small writes are copied to the buffer, which is written in one system call when full or flushed.
+ * Bigger writes are not copied: the buffer and the written buffers are written together, with a single gathering write.
+ */
+public class ChannelFileOutput implements FileOutput {
+
+    /**
+     * The channel of the file.
+     */
+    private final FileChannel channel;
+    /**
+     * The direct buffer of the small writes, always ready to be filled.
+     */
+    private final ByteBuffer buffer;
+    /**
+     * The reusable array of the gathering writes.
+     */
+    private ByteBuffer[] gathering = new ByteBuffer[2];
+
+    /**
+     * The ChannelFileOutput constructor.
+     * @param path The path to the file.
+     * @param append <code>true</code> to write after the current content, <code>false</code> to truncate the file.
+     * @param bufferSize The size of the direct buffer.
+     * @throws IOException If the file can't be opened.
+     */
+    public ChannelFileOutput(Path path, boolean append, int bufferSize) throws IOException {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The buffer size must be positive, got " + bufferSize);
+        }
+
+        this.channel = append
+                ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Copies bytes to the buffer, or writes them with the buffer if they don't fit.
+     * @param bytes The array holding the bytes.
+     * @param offset The index of the first byte to write.
+     * @param length The number of bytes to write.
+     * @throws IOException If the bytes can't be written.
+     */
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (length <= this.buffer.remaining()) {
+            this.buffer.put(bytes, offset, length);
+        } else {
+            this.write(ByteBuffer.wrap(bytes, offset, length));
+        }
+    }
+
+    /**
+     * Copies the remaining bytes of a buffer to the direct buffer, or writes them with it if they don't fit.
+     * @param bytes The bytes to write, the position of the buffer is moved to its limit.
+     * @throws IOException If the bytes can't be written.
+     */
+    @Override
+    public void write(ByteBuffer bytes) throws IOException {
+        if (bytes.remaining() <= this.buffer.remaining()) {
+            this.buffer.put(bytes);
+        } else if (bytes.remaining() < this.buffer.capacity()) {
+            this.flush();
+            this.buffer.put(bytes);
+        } else {
+            this.gathering[0] = bytes;
+            this.writeGathering(1);
+        }
+    }
+
+    /**
+     * Writes the remaining bytes of several buffers, in order. <br>
+     * If they don't fit in the direct buffer, they are written with it in a single gathering write, without being copied.
+     * @param buffers The buffers to write, their positions are moved to their limits.
+     * @throws IOException If the bytes can't be written.
+     */
+    @Override
+    public void write(ByteBuffer... buffers) throws IOException {
+        long length = 0;
+        for (final ByteBuffer bytes : buffers) {
+            length += bytes.remaining();
+        }
+
+        if (length <= this.buffer.remaining()) {
+            for (final ByteBuffer bytes : buffers) {
+                this.buffer.put(bytes);
+            }
+            return;
+        }
+
+        if (this.gathering.length < buffers.length + 1) {
+            this.gathering = new ByteBuffer[buffers.length + 1];
+        }
+
+        System.arraycopy(buffers, 0, this.gathering, 0, buffers.length);
+        this.writeGathering(buffers.length);
+    }
+
+    /**
+     * Writes the content of the direct buffer to the file.
+     * @throws IOException If the bytes can't be written.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (this.buffer.position() == 0) return;
+
+        this.buffer.flip();
+        try {
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+        } finally {
+            this.buffer.clear();
+        }
+    }
+
+    /**
+     * Writes the content of the direct buffer to the file, then transfers all the bytes read from a channel after them,
+     * with {@link FileChannel#transferFrom(ReadableByteChannel, long, long)}.
+     * @param source The channel to read the bytes from.
+     * @return The number of written bytes.
+     * @throws IOException If the bytes can't be read or written.
+     */
+    @Override
+    public long transferFrom(ReadableByteChannel source) throws IOException {
+        this.flush();
+        return FileOutput.transferTo(this.channel, source);
+    }
+
+    /**
+     * Writes the content of the direct buffer to the file, and forces it to the disk.
+     * @throws IOException If the bytes can't be written or forced.
+     */
+    @Override
+    public void sync() throws IOException {
+        this.flush();
+        this.channel.force(false);
+    }
+
+    /**
+     * Writes the content of the direct buffer to the file, and closes it.
+     * @throws IOException If the bytes can't be written, or the file can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!this.channel.isOpen()) return;
+
+        try {
+            this.flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Writes the content of the direct buffer followed by the first buffers of the gathering array, with gathering writes.
+     * @param count The number of buffers of the gathering array to write after the direct buffer.
+     * @throws IOException If the bytes can't be written.
+     */
+    private void writeGathering(int count) throws IOException {
+        // The direct buffer goes first, the array is shifted to make room for it.
+        System.arraycopy(this.gathering, 0, this.gathering, 1, count);
+        this.gathering[0] = this.buffer;
+        this.buffer.flip();
+
+        try {
+            int first = 0;
+
+            while (first <= count) {
+                this.channel.write(this.gathering, first, count + 1 - first);
+
+                while (first <= count && !this.gathering[first].hasRemaining()) {
+                    first++;
+                }
+            }
+        } finally {
+            this.buffer.clear();
+
+            for (int i = 1; i <= count; i++) {
+                this.gathering[i] = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,713 @@
+package io.github.nullptr.tools.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A file output compressing the bytes as they are written, before handing them to another output. <br>
+ * The bytes are split into blocks of a fixed uncompressed size, each block being a point the file can be decoded up to:
+ * with {@link FileCompression#GZIP} and {@link FileCompression#STORE} a block is a whole gzip member,
+ * with {@link FileCompression#DEFLATE} a block ends with a full flush of the zlib stream.
+ * A crash loses at most the last block, and the bytes flushed in it can still be decoded by lenient readers. <br>
+ * A flush compresses the pending bytes with a sync flush, which costs a few bytes and a bit of ratio:
+ * with many small writes, prefer the buffered or group commit flush policies to flushing after each write. <br>
+ * To append to a compressed file, it must first be given to {@link #recover(Path, FileCompression)},
+ * so the file stays a single decodable stream: a gzip file is truncated to its last complete member,
+ * a zlib stream is truncated to its last flush and continued instead of a second stream being started after it.
+ */
+public class CompressedFileOutput implements FileOutput {
+
+    /**
+     * The header of a gzip member: the magic number, the deflate method, no flags, no time, no extra flags and an unknown system.
+     */
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+    /**
+     * The header of a zlib stream: the deflate method with a 32 KiB window, and the default compression level.
+     */
+    private static final byte[] ZLIB_HEADER = { 0x78, (byte) 0x9c };
+    /**
+     * The bytes ending a sync or a full flush: an empty stored block, after which a new compressor can continue the stream.
+     */
+    private static final byte[] FLUSH_MARKER = { 0, 0, (byte) 0xff, (byte) 0xff };
+    /**
+     * An empty final block, used to check that a stream can be ended after a flush.
+     */
+    private static final byte[] EMPTY_FINAL_BLOCK = { 0x03, 0x00 };
+    /**
+     * The size of the blocks read when recovering a file.
+     */
+    private static final int SCAN_BLOCK_SIZE = 64 * 1024;
+
+    /**
+     * The output the compressed bytes are written to.
+     */
+    private final FileOutput output;
+    /**
+     * <code>true</code> to write gzip members, <code>false</code> to write a zlib stream.
+     */
+    private final boolean gzip;
+    /**
+     * The number of uncompressed bytes of a block.
+     */
+    private final int blockSize;
+    /**
+     * The compressor, writing raw deflate blocks, the headers and the trailers being written by the output.
+     */
+    private final Deflater deflater;
+    /**
+     * The checksum of the uncompressed bytes: of the current member with gzip, of the whole stream with zlib.
+     */
+    private final Checksum checksum;
+    /**
+     * The reusable buffer of the compressed bytes.
+     */
+    private final byte[] compressed = new byte[64 * 1024];
+    /**
+     * The number of uncompressed bytes written to the current block.
+     */
+    private int blockLength;
+    /**
+     * <code>true</code> once the header of the zlib stream is written.
+     */
+    private boolean started;
+    /**
+     * <code>true</code> if bytes were compressed since the last flush.
+     */
+    private boolean dirty;
+    /**
+     * <code>true</code> if the output is closed.
+     */
+    private boolean closed;
+
+    /**
+     * The CompressedFileOutput constructor.
+     * @param output The output the compressed bytes are written to.
+     * @param compression The compression, other than {@link FileCompression#NONE}.
+     * @param level The compression level, from 0 to 9, or -1 for the default level, ignored when storing.
+     * @param blockSize The number of uncompressed bytes of a block.
+     */
+    public CompressedFileOutput(FileOutput output, FileCompression compression, int level, int blockSize) {
+        this(output, compression, level, blockSize, null);
+    }
+
+    /**
+     * The CompressedFileOutput constructor, continuing a recovered file.
+     * @param output The output the compressed bytes are written to, appending to the recovered file.
+     * @param compression The compression, other than {@link FileCompression#NONE}, the same as the recovered file.
+     * @param level The compression level, from 0 to 9, or -1 for the default level, ignored when storing.
+     * @param blockSize The number of uncompressed bytes of a block.
+     * @param recovery The recovered file, or <code>null</code> if the file is new or truncated.
+     */
+    public CompressedFileOutput(FileOutput output, FileCompression compression, int level, int blockSize, Recovery recovery) {
+        if (compression == FileCompression.NONE) {
+            throw new IllegalArgumentException("A compressed output needs a compression.");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("The block size must be positive, got " + blockSize);
+        }
+
+        this.output = output;
+        this.gzip = compression != FileCompression.DEFLATE;
+        this.blockSize = blockSize;
+        this.deflater = new Deflater(compression == FileCompression.STORE ? Deflater.NO_COMPRESSION : level, true);
+
+        if (this.gzip) {
+            this.checksum = new CRC32();
+        } else {
+            this.started = recovery != null && recovery.checksum != null;
+            this.checksum = this.started ? recovery.checksum : new Adler32();
+        }
+    }
+
+    /**
+     * Truncates a compressed file to the end of its last complete block, so it can be appended to: <br>
+     * - a gzip file is truncated after its last complete member, whose checksum matches,
+     * the bytes flushed in an incomplete member being lost. <br>
+     * - a zlib stream is truncated after its last flush, its checksum being computed so the stream can be continued.
+     * As a stream closed by this output ends with a full flush, nothing is lost then. <br>
+     * The file is decoded to find the end, so it takes time proportional to its size.
+     * @param path The path to the file.
+     * @param compression The compression of the file, other than {@link FileCompression#NONE}.
+     * @return The recovered file, or <code>null</code> if the file doesn't exist.
+     * @throws IOException If the file can't be read or truncated, or is not compressed with the given compression.
+     */
+    public static Recovery recover(Path path, FileCompression compression) throws IOException {
+        if (compression == FileCompression.NONE) {
+            throw new IllegalArgumentException("A compressed output needs a compression.");
+        }
+
+        final FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        try (final FileChannel file = channel) {
+            final Recovery recovery = compression == FileCompression.DEFLATE
+                    ? CompressedFileOutput.recoverZlib(path, file)
+                    : CompressedFileOutput.recoverGzip(path, file);
+
+            if (recovery.length < file.size()) file.truncate(recovery.length);
+            return recovery;
+        }
+    }
+
+    /**
+     * Compresses bytes, ending the blocks they fill.
+     * @param bytes The array holding the bytes.
+     * @param offset The index of the first byte to write.
+     * @param length The number of bytes to write.
+     * @throws IOException If the compressed bytes can't be written.
+     */
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (!this.gzip && !this.started) this.start();
+
+        while (length > 0) {
+            if (this.gzip && this.blockLength == 0) {
+                this.output.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+            }
+
+            final int count = Math.min(length, this.blockSize - this.blockLength);
+
+            this.checksum.update(bytes, offset, count);
+            this.deflater.setInput(bytes, offset, count);
+            while (!this.deflater.needsInput()) {
+                this.drain(Deflater.NO_FLUSH);
+            }
+
+            this.blockLength += count;
+            this.dirty = true;
+            offset += count;
+            length -= count;
+
+            if (this.blockLength == this.blockSize) this.endBlock();
+        }
+    }
+
+    /**
+     * Compresses the pending bytes with a sync flush, then flushes the output.
+     * @throws IOException If the compressed bytes can't be written or flushed.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (this.dirty) {
+            this.deflateAll(Deflater.SYNC_FLUSH);
+            this.dirty = false;
+        }
+
+        this.output.flush();
+    }
+
+    /**
+     * Compresses the pending bytes with a sync flush, then forces the output to the disk.
+     * @throws IOException If the compressed bytes can't be written or forced.
+     */
+    @Override
+    public void sync() throws IOException {
+        this.flush();
+        this.output.sync();
+    }
+
+    /**
+     * Ends the current block, so the whole file can be decoded, then closes the output. <br>
+     * A zlib stream is fully flushed before being finished, so it can be continued by {@link #recover(Path, FileCompression)}.
+     * @throws IOException If the compressed bytes can't be written, or the output can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) return;
+        this.closed = true;
+
+        try {
+            if (this.gzip) {
+                if (this.blockLength > 0) this.endBlock();
+            } else {
+                if (!this.started) this.start();
+
+                this.deflateAll(Deflater.FULL_FLUSH);
+                this.finish();
+
+                final byte[] trailer = this.compressed;
+                CompressedFileOutput.putIntBE(trailer, 0, (int) this.checksum.getValue());
+                this.output.write(trailer, 0, 4);
+            }
+        } finally {
+            this.deflater.end();
+            this.output.close();
+        }
+    }
+
+    /**
+     * Writes the header of the zlib stream.
+     * @throws IOException If the header can't be written.
+     */
+    private void start() throws IOException {
+        this.output.write(ZLIB_HEADER, 0, ZLIB_HEADER.length);
+        this.started = true;
+    }
+
+    /**
+     * Ends the current block: finishes the gzip member and writes its trailer, or fully flushes the zlib stream.
+     * @throws IOException If the compressed bytes can't be written.
+     */
+    private void endBlock() throws IOException {
+        if (this.gzip) {
+            this.finish();
+
+            final long crc = this.checksum.getValue();
+            final byte[] trailer = this.compressed;
+            CompressedFileOutput.putIntLE(trailer, 0, (int) crc);
+            CompressedFileOutput.putIntLE(trailer, 4, this.blockLength);
+            this.output.write(trailer, 0, 8);
+
+            this.deflater.reset();
+            this.checksum.reset();
+        } else {
+            this.deflateAll(Deflater.FULL_FLUSH);
+        }
+
+        this.blockLength = 0;
+        this.dirty = false;
+    }
+
+    /**
+     * Compresses the pending bytes in a final block.
+     * @throws IOException If the compressed bytes can't be written.
+     */
+    private void finish() throws IOException {
+        this.deflater.finish();
+        while (!this.deflater.finished()) {
+            this.drain(Deflater.NO_FLUSH);
+        }
+    }
+
+    /**
+     * Compresses the pending bytes with a flush mode, until the compressor has nothing more to write.
+     * @param flush The flush mode of the compressor.
+     * @throws IOException If the compressed bytes can't be written.
+     */
+    private void deflateAll(int flush) throws IOException {
+        // The compressor may have more to write only when it filled the whole buffer.
+        while (this.drain(flush) == this.compressed.length) {
+            // Keep draining.
+        }
+    }
+
+    /**
+     * Compresses the pending bytes once, and writes the result to the output.
+     * @param flush The flush mode of the compressor.
+     * @return The number of compressed bytes written.
+     * @throws IOException If the compressed bytes can't be written.
+     */
+    private int drain(int flush) throws IOException {
+        final int count = this.deflater.deflate(this.compressed, 0, this.compressed.length, flush);
+
+        if (count > 0) this.output.write(this.compressed, 0, count);
+        return count;
+    }
+
+    /**
+     * Finds the end of the last complete member of a gzip file.
+     * @param path The path to the file.
+     * @param channel The channel of the file.
+     * @return The recovered file.
+     * @throws IOException If the file can't be read, or is not a gzip file.
+     */
+    private static Recovery recoverGzip(Path path, FileChannel channel) throws IOException {
+        final Input input = new Input(channel, 0, channel.size());
+        final Inflater inflater = new Inflater(true);
+        final CRC32 crc = new CRC32();
+        long end = 0;
+
+        try {
+            if (!CompressedFileOutput.isGzipOrEmpty(input)) {
+                throw new IOException("The file " + path + " is not a gzip file, it can't be appended to.");
+            }
+
+            input.reset(0);
+            while (CompressedFileOutput.skipGzipHeader(input) && input.inflate(inflater, crc)) {
+                final long expectedCrc = input.readIntLE();
+                final long expectedSize = input.readIntLE();
+
+                if (expectedSize < 0 || expectedCrc != crc.getValue() || expectedSize != (inflater.getBytesWritten() & 0xffffffffL)) break;
+
+                end = input.position();
+                inflater.reset();
+                crc.reset();
+            }
+        } catch (DataFormatException e) {
+            // The member is corrupted, the file is truncated before it.
+        } finally {
+            inflater.end();
+        }
+
+        return new Recovery(end, null);
+    }
+
+    /**
+     * Check if a file starts with the magic number of gzip, or holds nothing yet. <br>
+     * A file starting with zeros holds nothing yet: the output was mapped, and the process died before the first write.
+     * @param input The input of the file, at its start.
+     * @return <code>true</code> if the file can be appended to as a gzip file.
+     * @throws IOException If the file can't be read.
+     */
+    private static boolean isGzipOrEmpty(Input input) throws IOException {
+        final int first = input.read();
+        final int second = input.read();
+
+        return second < 0 || (first == 0x1f && second == 0x8b) || (first == 0 && second == 0);
+    }
+
+    /**
+     * Skips the header of a gzip member.
+     * @param input The input of the file, at the start of a member.
+     * @return <code>true</code> if a complete header was skipped.
+     * @throws IOException If the file can't be read.
+     */
+    private static boolean skipGzipHeader(Input input) throws IOException {
+        if (input.read() != 0x1f || input.read() != 0x8b || input.read() != Deflater.DEFLATED) return false;
+
+        final int flags = input.read();
+        if (flags < 0 || !input.skip(6)) return false;
+
+        if ((flags & 4) != 0) {
+            final int low = input.read();
+            final int high = input.read();
+
+            if (high < 0 || !input.skip(low | high << 8)) return false;
+        }
+        if ((flags & 8) != 0 && !input.skipString()) return false;
+        if ((flags & 16) != 0 && !input.skipString()) return false;
+
+        return (flags & 2) == 0 || input.skip(2);
+    }
+
+    /**
+     * Finds the last flush of a zlib stream the stream can be continued from, and the checksum of the bytes before it.
+     * @param path The path to the file.
+     * @param channel The channel of the file.
+     * @return The recovered file, truncated to nothing if no flush was found.
+     * @throws IOException If the file can't be read, or is not a zlib stream.
+     */
+    private static Recovery recoverZlib(Path path, FileChannel channel) throws IOException {
+        final Input input = new Input(channel, 0, channel.size());
+        final int first = input.read();
+        final int second = input.read();
+
+        if (second < 0 || (first == 0 && second == 0)) return new Recovery(0, null);
+        if ((first & 0x0f) != Deflater.DEFLATED || (first << 8 | second) % 31 != 0 || (second & 0x20) != 0) {
+            throw new IOException("The file " + path + " is not a zlib stream, it can't be appended to.");
+        }
+
+        long flush = channel.size();
+        while ((flush = CompressedFileOutput.lastFlushMarker(channel, flush)) > 0) {
+            final Checksum checksum = CompressedFileOutput.continuableChecksum(channel, flush);
+            if (checksum != null) return new Recovery(flush, checksum);
+
+            // The marker was in the middle of a block, look for the previous one.
+            flush--;
+        }
+
+        return new Recovery(0, null);
+    }
+
+    /**
+     * Finds the last flush marker of a zlib stream ending before a position.
+     * @param channel The channel of the file.
+     * @param before The position the marker must end before, or at.
+     * @return The position after the marker, or -1 if there is none.
+     * @throws IOException If the file can't be read.
+     */
+    private static long lastFlushMarker(FileChannel channel, long before) throws IOException {
+        final ByteBuffer block = ByteBuffer.allocate(SCAN_BLOCK_SIZE);
+        long end = before;
+
+        while (end - ZLIB_HEADER.length >= FLUSH_MARKER.length) {
+            final long start = Math.max(ZLIB_HEADER.length, end - SCAN_BLOCK_SIZE);
+
+            block.clear().limit((int) (end - start));
+            while (block.hasRemaining()) {
+                if (channel.read(block, start + block.position()) < 0) break;
+            }
+
+            for (int i = block.position() - FLUSH_MARKER.length; i >= 0; i--) {
+                if (block.get(i) == FLUSH_MARKER[0] && block.get(i + 1) == FLUSH_MARKER[1]
+                        && block.get(i + 2) == FLUSH_MARKER[2] && block.get(i + 3) == FLUSH_MARKER[3]) {
+                    return start + i + FLUSH_MARKER.length;
+                }
+            }
+
+            if (start == ZLIB_HEADER.length) break;
+            // The next block overlaps this one, so a marker across both is found.
+            end = start + FLUSH_MARKER.length - 1;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Decodes a zlib stream up to a flush, and checks it can be ended there.
+     * @param channel The channel of the file.
+     * @param flush The position after the flush marker.
+     * @return The checksum of the uncompressed bytes before the flush, or <code>null</code> if the stream can't be continued there.
+     * @throws IOException If the file can't be read.
+     */
+    private static Checksum continuableChecksum(FileChannel channel, long flush) throws IOException {
+        final Input input = new Input(channel, ZLIB_HEADER.length, flush);
+        final Inflater inflater = new Inflater(true);
+        final Adler32 adler = new Adler32();
+
+        try {
+            // A stream ending before the flush was already finished.
+            if (input.inflate(inflater, adler) || inflater.getRemaining() > 0) return null;
+
+            final byte[] output = new byte[16];
+            inflater.setInput(EMPTY_FINAL_BLOCK);
+            while (!inflater.finished() && !inflater.needsInput()) {
+                if (inflater.inflate(output) > 0) return null;
+            }
+
+            return inflater.finished() && inflater.getRemaining() == 0 ? adler : null;
+        } catch (DataFormatException e) {
+            return null;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Writes an int in little-endian order, as gzip does.
+     * @param bytes The array to write to.
+     * @param offset The index of the first byte.
+     * @param value The value to write.
+     */
+    private static void putIntLE(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) value;
+        bytes[offset + 1] = (byte) (value >>> 8);
+        bytes[offset + 2] = (byte) (value >>> 16);
+        bytes[offset + 3] = (byte) (value >>> 24);
+    }
+
+    /**
+     * Writes an int in big-endian order, as zlib does.
+     * @param bytes The array to write to.
+     * @param offset The index of the first byte.
+     * @param value The value to write.
+     */
+    private static void putIntBE(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    /**
+     * A compressed file truncated to the end of its last complete block, ready to be appended to.
+     */
+    public static class Recovery {
+
+        /**
+         * The length the file was truncated to.
+         */
+        private final long length;
+        /**
+         * The checksum of the uncompressed bytes of the zlib stream to continue,
+         * or <code>null</code> if the file is a gzip file, or if a new zlib stream must be started.
+         */
+        private final Checksum checksum;
+
+        /**
+         * The Recovery constructor.
+         * @param length The length the file was truncated to.
+         * @param checksum The checksum of the zlib stream to continue, or <code>null</code>.
+         */
+        private Recovery(long length, Checksum checksum) {
+            this.length = length;
+            this.checksum = checksum;
+        }
+
+        /**
+         * Get the length the file was truncated to.
+         * @return The length of the file.
+         */
+        public long getLength() {
+            return this.length;
+        }
+    }
+
+    /**
+     * Reads a range of a file through a reusable buffer, for the recovery.
+     */
+    private static class Input {
+
+        /**
+         * The channel of the file.
+         */
+        private final FileChannel channel;
+        /**
+         * The position after the last byte to read.
+         */
+        private final long end;
+        /**
+         * The buffer of the read bytes.
+         */
+        private final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BLOCK_SIZE);
+        /**
+         * The decoded bytes, discarded once added to the checksum.
+         */
+        private final byte[] decoded = new byte[SCAN_BLOCK_SIZE];
+        /**
+         * The position in the file of the first byte of the buffer.
+         */
+        private long bufferStart;
+
+        /**
+         * The Input constructor.
+         * @param channel The channel of the file.
+         * @param start The position of the first byte to read.
+         * @param end The position after the last byte to read.
+         */
+        private Input(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.end = end;
+            this.reset(start);
+        }
+
+        /**
+         * Moves to a position, discarding the buffered bytes.
+         * @param position The position of the next byte to read.
+         */
+        private void reset(long position) {
+            this.buffer.clear().limit(0);
+            this.bufferStart = position;
+        }
+
+        /**
+         * Get the position of the next byte to read.
+         * @return The position in the file.
+         */
+        private long position() {
+            return this.bufferStart + this.buffer.position();
+        }
+
+        /**
+         * Reads the next bytes if the buffer is empty.
+         * @return <code>true</code> if there are bytes to read.
+         * @throws IOException If the file can't be read.
+         */
+        private boolean fill() throws IOException {
+            if (this.buffer.hasRemaining()) return true;
+
+            final long next = this.position();
+            if (next >= this.end) return false;
+
+            this.buffer.clear().limit((int) Math.min(this.buffer.capacity(), this.end - next));
+            while (this.buffer.hasRemaining()) {
+                if (this.channel.read(this.buffer, next + this.buffer.position()) < 0) break;
+            }
+            this.buffer.flip();
+            this.bufferStart = next;
+
+            return this.buffer.hasRemaining();
+        }
+
+        /**
+         * Reads a byte.
+         * @return The byte, from 0 to 255, or -1 at the end.
+         * @throws IOException If the file can't be read.
+         */
+        private int read() throws IOException {
+            return this.fill() ? this.buffer.get() & 0xff : -1;
+        }
+
+        /**
+         * Reads an unsigned int in little-endian order.
+         * @return The int, or -1 at the end.
+         * @throws IOException If the file can't be read.
+         */
+        private long readIntLE() throws IOException {
+            long value = 0;
+
+            for (int i = 0; i < 4; i++) {
+                final int read = this.read();
+                if (read < 0) return -1;
+
+                value |= (long) read << (8 * i);
+            }
+
+            return value;
+        }
+
+        /**
+         * Skips bytes.
+         * @param count The number of bytes to skip.
+         * @return <code>true</code> if all the bytes were skipped, <code>false</code> at the end.
+         * @throws IOException If the file can't be read.
+         */
+        private boolean skip(long count) throws IOException {
+            while (count > 0) {
+                if (!this.fill()) return false;
+
+                final int skipped = (int) Math.min(count, this.buffer.remaining());
+                this.buffer.position(this.buffer.position() + skipped);
+                count -= skipped;
+            }
+
+            return true;
+        }
+
+        /**
+         * Skips a string ended by a zero byte.
+         * @return <code>true</code> if the whole string was skipped, <code>false</code> at the end.
+         * @throws IOException If the file can't be read.
+         */
+        private boolean skipString() throws IOException {
+            int read;
+            while ((read = this.read()) > 0) {
+                // Skip the string.
+            }
+
+            return read == 0;
+        }
+
+        /**
+         * Decodes raw deflate blocks until the final one, or the end.
+         * @param inflater The decompressor.
+         * @param checksum The checksum updated with the decoded bytes.
+         * @return <code>true</code> if the final block was decoded, the input then being right after it.
+         * @throws IOException If the file can't be read.
+         * @throws DataFormatException If the blocks are corrupted.
+         */
+        private boolean inflate(Inflater inflater, Checksum checksum) throws IOException, DataFormatException {
+            while (!inflater.finished()) {
+                if (inflater.needsInput()) {
+                    if (!this.fill()) return false;
+
+                    inflater.setInput(this.buffer.array(), this.buffer.position(), this.buffer.remaining());
+                    this.buffer.position(this.buffer.limit());
+                }
+
+                final int count = inflater.inflate(this.decoded);
+                if (count == 0 && inflater.needsDictionary()) throw new DataFormatException("A preset dictionary is needed.");
+
+                checksum.update(this.decoded, 0, count);
+            }
+
+            // The bytes after the final block were handed to the decompressor, they are read again.
+            this.buffer.position(this.buffer.limit() - inflater.getRemaining());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.nullptr.tools.io;
+
+/**
+ * Enum for the compressions a {@link FileWriter} can encode its bytes with, as they are written.
+ */
+public enum FileCompression {
+
+    /**
+     * No compression, the bytes are written as they are. This is the default.
+     */
+    NONE,
+    /**
+     * A sequence of gzip members, one per block, readable by <code>gzip</code> and {@link java.util.zip.GZIPInputStream}.
+     */
+    GZIP,
+    /**
+     * A single zlib stream, fully flushed at the end of each block, readable by {@link java.util.zip.InflaterInputStream}.
+     */
+    DEFLATE,
+    /**
+     * A sequence of gzip members stored without compression, only adding the framing and the checksums of gzip, for the fastest writes.
+     */
+    STORE
+}
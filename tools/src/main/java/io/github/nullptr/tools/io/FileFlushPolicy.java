@@ -0,0 +1,24 @@
+package io.github.nullptr.tools.io;
+
+/**
+ * Enum for the policies telling when a {@link FileWriter} flushes its written bytes.
+ */
+public enum FileFlushPolicy {
+
+    /**
+     * Bytes are flushed once enough of them are pending.
+     */
+    BUFFERED,
+    /**
+     * Bytes are flushed at a fixed interval, by a background ticker running on a thread of its own for each file.
+     */
+    GROUP_COMMIT,
+    /**
+     * Bytes are flushed after each write, without being forced to the disk.
+     */
+    FLUSH_PER_WRITE,
+    /**
+     * Bytes are flushed and forced to the disk after each write.
+     */
+    SYNC_PER_WRITE
+}
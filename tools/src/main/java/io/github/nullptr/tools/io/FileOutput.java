@@ -0,0 +1,124 @@
+package io.github.nullptr.tools.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * The destination of the bytes written by a {@link FileWriter}.
+ */
+public interface FileOutput extends Closeable {
+
+    /**
+     * The maximum number of bytes transferred at once from a channel which is not a file.
+     */
+    long TRANSFER_CHUNK = 1024 * 1024;
+
+    /**
+     * Writes bytes.
+     * @param bytes The array holding the bytes.
+     * @param offset The index of the first byte to write.
+     * @param length The number of bytes to write.
+     * @throws IOException If the bytes can't be written.
+     */
+    void write(byte[] bytes, int offset, int length) throws IOException;
+
+    /**
+     * Writes the remaining bytes of a buffer.
+     * @param bytes The bytes to write, the position of the buffer is moved to its limit.
+     * @throws IOException If the bytes can't be written.
+     */
+    default void write(ByteBuffer bytes) throws IOException {
+        if (bytes.hasArray()) {
+            this.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+            bytes.position(bytes.limit());
+        } else {
+            final byte[] copy = new byte[bytes.remaining()];
+
+            bytes.get(copy);
+            this.write(copy, 0, copy.length);
+        }
+    }
+
+    /**
+     * Writes the remaining bytes of several buffers, in order, for example a header, a body and a line separator.
+     * @param buffers The buffers to write, their positions are moved to their limits.
+     * @throws IOException If the bytes can't be written.
+     */
+    default void write(ByteBuffer... buffers) throws IOException {
+        for (final ByteBuffer bytes : buffers) {
+            this.write(bytes);
+        }
+    }
+
+    /**
+     * Writes all the bytes read from a channel, until its end.
+     * @param source The channel to read the bytes from.
+     * @return The number of written bytes.
+     * @throws IOException If the bytes can't be read or written.
+     */
+    default long transferFrom(ReadableByteChannel source) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long transferred = 0;
+
+        while (source.read(buffer) != -1) {
+            buffer.flip();
+            transferred += buffer.remaining();
+            this.write(buffer);
+            buffer.clear();
+        }
+
+        return transferred;
+    }
+
+    /**
+     * Hands the written bytes over to the operating system.
+     * @throws IOException If the bytes can't be flushed.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Flushes the written bytes, and forces them to the storage device.
+     * @throws IOException If the bytes can't be forced.
+     */
+    void sync() throws IOException;
+
+    /**
+     * Transfers all the bytes read from a channel to the end of a file channel, then moves its position after them. <br>
+     * The bytes don't go through the Java heap: a file source is transferred by the operating system,
+     * and the other sources are read to a temporary direct buffer.
+     * @param channel The channel of the file, whose buffered bytes were written.
+     * @param source The channel to read the bytes from.
+     * @return The number of transferred bytes.
+     * @throws IOException If the bytes can't be read or written.
+     */
+    static long transferTo(FileChannel channel, ReadableByteChannel source) throws IOException {
+        final long start = channel.position();
+        long position = start;
+
+        if (source instanceof FileChannel) {
+            final FileChannel file = (FileChannel) source;
+            long remaining = file.size() - file.position();
+
+            while (remaining > 0) {
+                final long transferred = channel.transferFrom(file, position, remaining);
+                if (transferred <= 0) break;
+
+                position += transferred;
+                remaining -= transferred;
+            }
+        } else {
+            long transferred;
+
+            // A blocking channel only transfers nothing once it reached its end.
+            while ((transferred = channel.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                position += transferred;
+            }
+        }
+
+        channel.position(position);
+        return position - start;
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.nullptr.tools.io;
+
+/**
+ * Enum for the kinds of outputs a {@link FileWriter} can write through.
+ */
+public enum FileOutputType {
+
+    /**
+     * A buffered output stream.
+     */
+    STREAM,
+    /**
+     * A file channel, written through a reusable direct buffer and with gathering writes.
+     */
+    CHANNEL,
+    /**
+     * A memory-mapped region of the file, growing in fixed-size chunks.
+     */
+    MAPPED
+}
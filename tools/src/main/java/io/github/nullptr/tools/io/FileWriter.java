@@ -1,11 +1,20 @@
 package io.github.nullptr.tools.io;
 
-import java.io.BufferedWriter;
-import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
+import io.github.nullptr.tools.string.Utf8Helper;
+import io.github.nullptr.tools.thread.ThreadHelper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The class used to write to a file.
@@ -13,24 +22,110 @@ import java.nio.file.Path;
 public abstract class FileWriter implements AutoCloseable {
 
     /**
-     * The writer.
+     * The line separator of the system.
+     */
+    protected static final String LINE_SEPARATOR = System.lineSeparator();
+    /**
+     * The line separator of the system, encoded to UTF-8.
+     */
+    private static final byte[] LINE_SEPARATOR_BYTES = LINE_SEPARATOR.getBytes(StandardCharsets.UTF_8);
+    /**
+     * The maximum size of the reusable encoding buffer, bigger lines are encoded to a temporary buffer.
+     */
+    private static final int MAX_ENCODING_CAPACITY = 64 * 1024;
+
+    /**
+     * The path to the file.
+     */
+    private final Path path;
+    /**
+     * The options telling how the bytes are written.
+     */
+    private final FileWriterOptions options;
+    /**
+     * The lock guarding the output, so it can be replaced while other threads write.
+     */
+    private final Object lock;
+    /**
+     * <code>true</code> to write after the content the file had when it was opened.
+     */
+    private final boolean append;
+    /**
+     * The output of the file, or <code>null</code> if it is not opened yet.
+     */
+    private FileOutput output;
+    /**
+     * The number of bytes written to the current file.
+     */
+    private long size;
+    /**
+     * The number of bytes written since the last flush.
+     */
+    private long pending;
+    /**
+     * The reusable buffer the lines are encoded to, guarded by the lock.
      */
-    private final PrintWriter writer;
+    private ByteBuffer encoding;
+    /**
+     * The background ticker flushing the file on its own thread, as a flush can block on the disk,
+     * or <code>null</code> if the flush policy is not group commit.
+     */
+    private final ScheduledExecutorService ticker;
 
     /**
      * Constructs a new FileWriter.
      * @param path The path to the file.
      */
     public FileWriter(Path path) {
-        try {
-            if (Files.notExists(path)) {
-                Files.createDirectories(path.getParent());
-                Files.createFile(path);
+        this(path, FileWriterOptions.DEFAULT);
+    }
+
+    /**
+     * Constructs a new FileWriter.
+     * @param path The path to the file.
+     * @param options The options telling how the bytes are written.
+     */
+    public FileWriter(Path path, FileWriterOptions options) {
+        this(path, options, false);
+    }
+
+    /**
+     * Constructs a new FileWriter.
+     * @param path The path to the file.
+     * @param options The options telling how the bytes are written.
+     * @param append <code>true</code> to write after the current content of the file, <code>false</code> to truncate it.
+     */
+    public FileWriter(Path path, FileWriterOptions options, boolean append) {
+        this(path, options, append, true);
+    }
+
+    /**
+     * Constructs a new FileWriter, opening the file now or only when it is first written to.
+     * @param path The path to the file.
+     * @param options The options telling how the bytes are written.
+     * @param append <code>true</code> to write after the current content of the file, <code>false</code> to truncate it.
+     * @param open <code>true</code> to open the file now, <code>false</code> to create it only when it is first written to, or opened with {@link #open()}.
+     */
+    protected FileWriter(Path path, FileWriterOptions options, boolean append, boolean open) {
+        this.path = path;
+        this.options = options;
+        this.lock = new Object();
+        this.append = append;
+
+        if (open) {
+            try {
+                this.openOutput();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
             }
+        }
 
-            this.writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8)));
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        if (options.getFlushPolicy() == FileFlushPolicy.GROUP_COMMIT) {
+            final long interval = options.getFlushInterval();
+            this.ticker = Executors.newSingleThreadScheduledExecutor(ThreadHelper.daemonFactory("FileWriter-" + path.getFileName()));
+            this.ticker.scheduleAtFixedRate(this::tick, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.ticker = null;
         }
     }
 
@@ -39,8 +134,335 @@ public abstract class FileWriter implements AutoCloseable {
      * @param toWrite The line to write.
      */
     public void write(String toWrite) {
-        this.writer.println(toWrite);
-        this.writer.flush();
+        this.append(toWrite);
+        this.commit();
+    }
+
+    /**
+     * Writes bytes to the file, as they are.
+     * @param bytes The bytes to write.
+     */
+    public void write(byte[] bytes) {
+        this.append(bytes, 0, bytes.length);
+        this.commit();
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer to the file, as they are.
+     * @param bytes The bytes to write, the position of the buffer is moved to its limit.
+     */
+    public void write(ByteBuffer bytes) {
+        this.append(bytes);
+        this.commit();
+    }
+
+    /**
+     * Writes the remaining bytes of several buffers to the file, as a whole, for example a header, a body and a line separator. <br>
+     * With a channel output, they are written in a single gathering write, without being copied.
+     * @param buffers The buffers to write, their positions are moved to their limits.
+     */
+    public void write(ByteBuffer... buffers) {
+        this.append(buffers);
+        this.commit();
+    }
+
+    /**
+     * Writes a line to the file, without flushing it. <br>
+     * The line is encoded to UTF-8 in a reusable buffer, without intermediate string or array.
+     * @param toWrite The line to write, written as "null" if it is <code>null</code>.
+     */
+    protected void append(String toWrite) {
+        final String line = String.valueOf(toWrite);
+        final int length = Utf8Helper.encodedLength(line, 0, line.length()) + LINE_SEPARATOR_BYTES.length;
+
+        synchronized (this.lock) {
+            final ByteBuffer buffer = length <= MAX_ENCODING_CAPACITY ? this.encodingBuffer(length) : ByteBuffer.allocate(length);
+
+            Utf8Helper.encode(line, 0, line.length(), buffer);
+            buffer.put(LINE_SEPARATOR_BYTES).flip();
+
+            try {
+                this.output().write(buffer);
+                this.size += length;
+                this.pending += length;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes bytes to the file, without flushing them.
+     * @param bytes The array holding the bytes.
+     * @param offset The index of the first byte to write.
+     * @param length The number of bytes to write.
+     */
+    protected void append(byte[] bytes, int offset, int length) {
+        synchronized (this.lock) {
+            try {
+                this.output().write(bytes, offset, length);
+                this.size += length;
+                this.pending += length;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer to the file, without flushing them. <br>
+     * The bytes are written as a whole, they can't be interleaved with other writes.
+     * @param bytes The bytes to write, the position of the buffer is moved to its limit.
+     */
+    protected void append(ByteBuffer bytes) {
+        final int length = bytes.remaining();
+
+        synchronized (this.lock) {
+            try {
+                this.output().write(bytes);
+                this.size += length;
+                this.pending += length;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes the remaining bytes of several buffers to the file, without flushing them. <br>
+     * The bytes are written as a whole, they can't be interleaved with other writes.
+     * @param buffers The buffers to write, their positions are moved to their limits.
+     */
+    protected void append(ByteBuffer... buffers) {
+        long length = 0;
+        for (final ByteBuffer bytes : buffers) {
+            length += bytes.remaining();
+        }
+
+        synchronized (this.lock) {
+            try {
+                this.output().write(buffers);
+                this.size += length;
+                this.pending += length;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes all the bytes read from a channel to the file, until its end, without flushing them. <br>
+     * With a stream or a channel output, the bytes are transferred with {@link java.nio.channels.FileChannel#transferFrom},
+     * a file source being copied by the operating system without going through the Java heap.
+     * @param source The channel to read the bytes from.
+     * @return The number of written bytes.
+     */
+    protected long append(ReadableByteChannel source) {
+        synchronized (this.lock) {
+            try {
+                final long length = this.output().transferFrom(source);
+                this.size += length;
+                this.pending += length;
+                return length;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Opens the file, if it is not already: a writer constructed without opening its file creates it here.
+     */
+    protected void open() {
+        synchronized (this.lock) {
+            try {
+                this.output();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Get the output of the file, opening it the first time if the writer was constructed without opening it. <br>
+     * /!\ It must be called under the lock.
+     * @return The output of the file.
+     * @throws IOException If the file can't be opened.
+     */
+    private FileOutput output() throws IOException {
+        if (this.output == null) this.openOutput();
+        return this.output;
+    }
+
+    /**
+     * Opens the output of the file, creating its parent directories if they are missing.
+     * @throws IOException If the file can't be opened.
+     */
+    private void openOutput() throws IOException {
+        try {
+            this.output = this.options.open(this.path, this.append);
+        } catch (NoSuchFileException e) {
+            // The parent directories are only created when missing, saving system calls when they exist.
+            Files.createDirectories(this.path.getParent());
+            this.output = this.options.open(this.path, this.append);
+        }
+
+        if (this.append) {
+            // A mapped file is grown ahead of the written bytes.
+            this.size = this.output instanceof MappedFileOutput ? ((MappedFileOutput) this.output).position() : Files.size(this.path);
+        }
+    }
+
+    /**
+     * Get the reusable buffer the lines are encoded to, cleared and with room for the given length.
+     * @param length The number of bytes to encode.
+     * @return The cleared buffer.
+     */
+    private ByteBuffer encodingBuffer(int length) {
+        if (this.encoding == null || this.encoding.capacity() < length) {
+            this.encoding = ByteBuffer.allocate(Math.max(length, 256));
+        }
+
+        this.encoding.clear();
+        return this.encoding;
+    }
+
+    /**
+     * Applies the flush policy, after some bytes were written.
+     */
+    protected void commit() {
+        switch (this.options.getFlushPolicy()) {
+            case FLUSH_PER_WRITE:
+                this.flush();
+                break;
+            case SYNC_PER_WRITE:
+                this.sync();
+                break;
+            case BUFFERED:
+                synchronized (this.lock) {
+                    if (this.pending >= this.options.getFlushThreshold()) this.flush();
+                }
+                break;
+            case GROUP_COMMIT:
+                break;
+        }
+    }
+
+    /**
+     * Flushes the pending lines to the file.
+     */
+    public void flush() {
+        synchronized (this.lock) {
+            if (this.output == null) return;
+
+            try {
+                this.output.flush();
+                this.pending = 0;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Flushes the pending lines to the file, and forces them to the storage device.
+     */
+    public void sync() {
+        synchronized (this.lock) {
+            if (this.output == null) return;
+
+            try {
+                this.output.sync();
+                this.pending = 0;
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Flushes the pending lines, called by the group commit ticker.
+     */
+    private void tick() {
+        synchronized (this.lock) {
+            if (this.pending == 0) return;
+
+            try {
+                this.output.flush();
+                this.pending = 0;
+            } catch (IOException ignored) {
+                // The next tick, or the close, will try again.
+            }
+        }
+    }
+
+    /**
+     * Closes the current output, forcing its bytes to the disk first if needed.
+     * @throws IOException If the output can't be closed.
+     */
+    private void closeOutput() throws IOException {
+        if (this.output == null) return;
+
+        try {
+            if (this.options.isSyncOnClose()) this.output.sync();
+        } finally {
+            this.output.close();
+            this.pending = 0;
+        }
+    }
+
+    /**
+     * Moves the current file to another path, then continues writing to a new empty file at the original path. <br>
+     * Concurrent writes happen either entirely before or entirely after the move.
+     * @param target The path to move the current file to.
+     */
+    protected void rollTo(Path target) {
+        synchronized (this.lock) {
+            try {
+                this.closeOutput();
+
+                try {
+                    try {
+                        Files.move(this.path, target, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(this.path, target);
+                    }
+
+                    this.size = 0;
+                } finally {
+                    // If the move failed, keep appending to the current file.
+                    this.output = this.options.open(this.path, true);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Get the path to the file.
+     * @return The path to the file.
+     */
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Get the options telling how the bytes are written.
+     * @return The options of the writer.
+     */
+    public FileWriterOptions getOptions() {
+        return this.options;
+    }
+
+    /**
+     * Get the number of bytes written to the current file.
+     * @return The number of bytes written.
+     */
+    protected long size() {
+        synchronized (this.lock) {
+            return this.size;
+        }
     }
 
     /**
@@ -48,6 +470,14 @@ public abstract class FileWriter implements AutoCloseable {
      */
     @Override
     public void close() {
-        this.writer.close();
+        if (this.ticker != null) this.ticker.shutdown();
+
+        synchronized (this.lock) {
+            try {
+                this.closeOutput();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
     }
 }
@@ -0,0 +1,351 @@
+package io.github.nullptr.tools.io;
+
+import io.github.nullptr.tools.builder.IBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The options of a {@link FileWriter}, telling how the bytes are written to the file.
+ */
+public class FileWriterOptions {
+
+    /**
+     * The default options: a buffered output stream.
+     */
+    public static final FileWriterOptions DEFAULT = new Builder().build();
+
+    /**
+     * The kind of output to write through.
+     */
+    private final FileOutputType outputType;
+    /**
+     * The size of the chunks a memory-mapped file grows with.
+     */
+    private final int mappedChunkSize;
+    /**
+     * The size of the direct buffer of a channel output.
+     */
+    private final int channelBufferSize;
+    /**
+     * The compression the bytes are encoded with, as they are written.
+     */
+    private final FileCompression compression;
+    /**
+     * The compression level, from 0 to 9, or -1 for the default level.
+     */
+    private final int compressionLevel;
+    /**
+     * The number of uncompressed bytes of a compressed block.
+     */
+    private final int compressionBlockSize;
+    /**
+     * The policy telling when the written bytes are flushed.
+     */
+    private final FileFlushPolicy flushPolicy;
+    /**
+     * The number of pending bytes that triggers a flush, with the buffered policy.
+     */
+    private final int flushThreshold;
+    /**
+     * The interval between two flushes, in milliseconds, with the group commit policy.
+     */
+    private final long flushInterval;
+    /**
+     * <code>true</code> to force the bytes to the disk when the file is closed.
+     */
+    private final boolean syncOnClose;
+
+    /**
+     * The FileWriterOptions constructor.
+     * @param builder The builder holding the options.
+     */
+    private FileWriterOptions(Builder builder) {
+        this.outputType = builder.outputType;
+        this.mappedChunkSize = builder.mappedChunkSize;
+        this.channelBufferSize = builder.channelBufferSize;
+        this.compression = builder.compression;
+        this.compressionLevel = builder.compressionLevel;
+        this.compressionBlockSize = builder.compressionBlockSize;
+        this.flushPolicy = builder.flushPolicy;
+        this.flushThreshold = builder.flushThreshold;
+        this.flushInterval = builder.flushInterval;
+        this.syncOnClose = builder.syncOnClose;
+    }
+
+    /**
+     * Opens the output of a file. <br>
+     * A compressed file opened to append is first truncated to the end of its last complete block,
+     * as described by {@link CompressedFileOutput#recover(Path, FileCompression)}.
+     * @param path The path to the file.
+     * @param append <code>true</code> to write after the current content, <code>false</code> to truncate the file.
+     * @return The opened output.
+     * @throws IOException If the file can't be opened, or if it can't be appended to with the compression.
+     */
+    public FileOutput open(Path path, boolean append) throws IOException {
+        final CompressedFileOutput.Recovery recovery = append && this.compression != FileCompression.NONE
+                ? CompressedFileOutput.recover(path, this.compression)
+                : null;
+        final FileOutput output;
+
+        switch (this.outputType) {
+            case MAPPED:
+                // The recovered length is exact, the zeros a mapped file may end with being part of the compressed bytes.
+                output = recovery != null
+                        ? new MappedFileOutput(path, recovery.getLength(), this.mappedChunkSize)
+                        : new MappedFileOutput(path, append, this.mappedChunkSize);
+                break;
+            case CHANNEL:
+                output = new ChannelFileOutput(path, append, this.channelBufferSize);
+                break;
+            case STREAM:
+            default:
+                output = new StreamFileOutput(path, append);
+                break;
+        }
+
+        return this.compression == FileCompression.NONE
+                ? output
+                : new CompressedFileOutput(output, this.compression, this.compressionLevel, this.compressionBlockSize, recovery);
+    }
+
+    /**
+     * Get the kind of output to write through.
+     * @return The kind of output.
+     */
+    public FileOutputType getOutputType() {
+        return this.outputType;
+    }
+
+    /**
+     * Get the compression the bytes are encoded with, as they are written.
+     * @return The compression.
+     */
+    public FileCompression getCompression() {
+        return this.compression;
+    }
+
+    /**
+     * Get the policy telling when the written bytes are flushed.
+     * @return The flush policy.
+     */
+    public FileFlushPolicy getFlushPolicy() {
+        return this.flushPolicy;
+    }
+
+    /**
+     * Get the number of pending bytes that triggers a flush, with the buffered policy.
+     * @return The flush threshold, in bytes.
+     */
+    public int getFlushThreshold() {
+        return this.flushThreshold;
+    }
+
+    /**
+     * Get the interval between two flushes, with the group commit policy.
+     * @return The flush interval, in milliseconds.
+     */
+    public long getFlushInterval() {
+        return this.flushInterval;
+    }
+
+    /**
+     * Check if the bytes are forced to the disk when the file is closed.
+     * @return <code>true</code> if the bytes are forced when closing.
+     */
+    public boolean isSyncOnClose() {
+        return this.syncOnClose;
+    }
+
+    /**
+     * The builder for the file writer options.
+     */
+    public static class Builder implements IBuilder<FileWriterOptions> {
+
+        /**
+         * The kind of output to write through.
+         */
+        private FileOutputType outputType = FileOutputType.STREAM;
+        /**
+         * The size of the chunks a memory-mapped file grows with.
+         */
+        private int mappedChunkSize = 4 * 1024 * 1024;
+        /**
+         * The size of the direct buffer of a channel output.
+         */
+        private int channelBufferSize = 64 * 1024;
+        /**
+         * The compression the bytes are encoded with, as they are written.
+         */
+        private FileCompression compression = FileCompression.NONE;
+        /**
+         * The compression level, from 0 to 9, or -1 for the default level.
+         */
+        private int compressionLevel = -1;
+        /**
+         * The number of uncompressed bytes of a compressed block.
+         */
+        private int compressionBlockSize = 256 * 1024;
+        /**
+         * The policy telling when the written bytes are flushed.
+         */
+        private FileFlushPolicy flushPolicy = FileFlushPolicy.FLUSH_PER_WRITE;
+        /**
+         * The number of pending bytes that triggers a flush, with the buffered policy.
+         */
+        private int flushThreshold = 8192;
+        /**
+         * The interval between two flushes, in milliseconds, with the group commit policy.
+         */
+        private long flushInterval = 1000;
+        /**
+         * <code>true</code> to force the bytes to the disk when the file is closed.
+         */
+        private boolean syncOnClose = false;
+
+        /**
+         * Write through a buffered output stream. This is the default.
+         * @return The builder instance.
+         */
+        public Builder withStream() {
+            this.outputType = FileOutputType.STREAM;
+            return this;
+        }
+
+        /**
+         * Write to a memory-mapped region of the file, pre-allocated in fixed-size chunks. <br>
+         * Writes are plain memory copies, and the file is truncated to the written length when closed.
+         * @param chunkSize The size of the chunks the file grows with, in bytes.
+         * @return The builder instance.
+         */
+        public Builder withMapped(int chunkSize) {
+            this.outputType = FileOutputType.MAPPED;
+            this.mappedChunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Write to a file channel through a reusable direct buffer. <br>
+         * Small writes are batched in the buffer, bigger ones and {@link FileWriter#write(ByteBuffer...)} are written
+         * together with it in a single gathering write, without being copied.
+         * @param bufferSize The size of the direct buffer, in bytes.
+         * @return The builder instance.
+         */
+        public Builder withChannel(int bufferSize) {
+            this.outputType = FileOutputType.CHANNEL;
+            this.channelBufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Compress the bytes as they are written, on top of the output, in blocks of 256 KiB of uncompressed bytes. <br>
+         * /!\ The sizes seen by the writer, for example to roll a log file, are the uncompressed sizes,
+         * and the offsets of a timestamp index don't match the compressed file.
+         * @param compression The compression, {@link FileCompression#NONE} to write the bytes as they are.
+         * @param level The compression level, from 0 (fastest) to 9 (smallest), or -1 for the default level, ignored when storing.
+         * @return The builder instance.
+         */
+        public Builder withCompression(FileCompression compression, int level) {
+            this.compression = compression;
+            this.compressionLevel = level;
+            return this;
+        }
+
+        /**
+         * Compress the bytes as they are written, with the default level.
+         * @param compression The compression, {@link FileCompression#NONE} to write the bytes as they are.
+         * @return The builder instance.
+         */
+        public Builder withCompression(FileCompression compression) {
+            return this.withCompression(compression, -1);
+        }
+
+        /**
+         * Set the number of uncompressed bytes of a compressed block: a crash loses at most the last block.
+         * @param blockSize The size of a block, in bytes.
+         * @return The builder instance.
+         */
+        public Builder withCompressionBlockSize(int blockSize) {
+            this.compressionBlockSize = blockSize;
+            return this;
+        }
+
+        /**
+         * Flush once enough bytes are pending. Best throughput, but the last bytes stay in memory until the threshold or the close.
+         * @param threshold The number of pending bytes that triggers a flush.
+         * @return The builder instance.
+         */
+        public Builder withBufferedFlush(int threshold) {
+            this.flushPolicy = FileFlushPolicy.BUFFERED;
+            this.flushThreshold = threshold;
+            return this;
+        }
+
+        /**
+         * Flush at a fixed interval, from a background ticker, grouping all the writes done in between.
+         * @param intervalMillis The interval between two flushes, in milliseconds.
+         * @return The builder instance.
+         */
+        public Builder withGroupCommit(long intervalMillis) {
+            this.flushPolicy = FileFlushPolicy.GROUP_COMMIT;
+            this.flushInterval = intervalMillis;
+            return this;
+        }
+
+        /**
+         * Flush after each write, without forcing the bytes to the disk. This is the default.
+         * @return The builder instance.
+         */
+        public Builder withFlushPerWrite() {
+            this.flushPolicy = FileFlushPolicy.FLUSH_PER_WRITE;
+            return this;
+        }
+
+        /**
+         * Flush and force the bytes to the disk after each write. Slowest, but each written line survives a crash.
+         * @return The builder instance.
+         */
+        public Builder withSyncPerWrite() {
+            this.flushPolicy = FileFlushPolicy.SYNC_PER_WRITE;
+            return this;
+        }
+
+        /**
+         * Force the bytes to the disk when the file is closed, or rolled.
+         * @param syncOnClose <code>true</code> to force the bytes when closing.
+         * @return The builder instance.
+         */
+        public Builder withSyncOnClose(boolean syncOnClose) {
+            this.syncOnClose = syncOnClose;
+            return this;
+        }
+
+        /**
+         * Build the file writer options.
+         * @return The built file writer options.
+         */
+        @Override
+        public FileWriterOptions build() {
+            if (this.mappedChunkSize <= 0) {
+                throw new IllegalArgumentException("The chunk size must be positive, got " + this.mappedChunkSize);
+            }
+            if (this.channelBufferSize <= 0) {
+                throw new IllegalArgumentException("The buffer size must be positive, got " + this.channelBufferSize);
+            }
+            if (this.compression == null) {
+                throw new IllegalArgumentException("The compression can't be null, use NONE to not compress.");
+            }
+            if (this.compressionLevel < -1 || this.compressionLevel > 9) {
+                throw new IllegalArgumentException("The compression level must be between -1 and 9, got " + this.compressionLevel);
+            }
+            if (this.compressionBlockSize <= 0) {
+                throw new IllegalArgumentException("The compression block size must be positive, got " + this.compressionBlockSize);
+            }
+            if (this.flushThreshold <= 0 || this.flushInterval <= 0) {
+                throw new IllegalArgumentException("The flush threshold and interval must be positive.");
+            }
+
+            return new FileWriterOptions(this);
+        }
+    }
+}
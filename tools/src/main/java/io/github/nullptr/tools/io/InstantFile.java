@@ -1,24 +1,308 @@
 package io.github.nullptr.tools.io;
 
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * A file written at once and atomically: the content is written to a temporary file next to it, which is then renamed to the file. <br>
+ * Readers see either the previous file or the complete new one, never a partially written one, even if the process crashes. <br>
+ * The content is a line, bytes, a buffer, a stream or another file. Streams and files are transferred with
+ * {@link FileChannel#transferFrom(java.nio.channels.ReadableByteChannel, long, long)}, a file being copied by the operating system
+ * without going through the Java heap. <br>
+ * /!\ The content survives a power loss only if the options sync on close, which also forces the rename to the disk.
+ */
 public class InstantFile extends FileWriter {
 
-    private final String content;
+    /**
+     * The extension of the temporary files.
+     */
+    private static final String TEMPORARY_EXTENSION = ".tmp";
+
+    /**
+     * The path to the file.
+     */
+    private final Path target;
+    /**
+     * The content of the file: a line, bytes, a buffer, a stream or the path to another file.
+     */
+    private final Object content;
+    /**
+     * <code>true</code> if the temporary file is closed.
+     */
+    private boolean closed;
+    /**
+     * <code>true</code> if the temporary file was renamed to the file.
+     */
+    private boolean written;
 
     /**
-     * Constructs a new InstantFile.
-     *
+     * Constructs a new InstantFile, whose content is a line.
      * @param path The path to the file.
+     * @param content The line to write, followed by the line separator.
      */
     public InstantFile(Path path, String content) {
-        super(path);
+        this(path, content, FileWriterOptions.DEFAULT);
+    }
+
+    /**
+     * Constructs a new InstantFile, whose content is a line.
+     * @param path The path to the file.
+     * @param content The line to write, followed by the line separator.
+     * @param options The options telling how the bytes are written.
+     */
+    public InstantFile(Path path, String content, FileWriterOptions options) {
+        this(path, (Object) content, options);
+    }
+
+    /**
+     * Constructs a new InstantFile, whose content is bytes.
+     * @param path The path to the file.
+     * @param content The bytes to write, as they are.
+     */
+    public InstantFile(Path path, byte[] content) {
+        this(path, content, FileWriterOptions.DEFAULT);
+    }
 
+    /**
+     * Constructs a new InstantFile, whose content is bytes.
+     * @param path The path to the file.
+     * @param content The bytes to write, as they are.
+     * @param options The options telling how the bytes are written.
+     */
+    public InstantFile(Path path, byte[] content, FileWriterOptions options) {
+        this(path, (Object) content, options);
+    }
+
+    /**
+     * Constructs a new InstantFile, whose content is the remaining bytes of a buffer.
+     * @param path The path to the file.
+     * @param content The bytes to write, a direct buffer being written without copy.
+     */
+    public InstantFile(Path path, ByteBuffer content) {
+        this(path, content, FileWriterOptions.DEFAULT);
+    }
+
+    /**
+     * Constructs a new InstantFile, whose content is the remaining bytes of a buffer.
+     * @param path The path to the file.
+     * @param content The bytes to write, a direct buffer being written without copy.
+     * @param options The options telling how the bytes are written.
+     */
+    public InstantFile(Path path, ByteBuffer content, FileWriterOptions options) {
+        this(path, (Object) content, options);
+    }
+
+    /**
+     * Constructs a new InstantFile, whose content is read from a stream until its end.
+     * @param path The path to the file.
+     * @param content The stream to read, which is not closed.
+     */
+    public InstantFile(Path path, InputStream content) {
+        this(path, content, FileWriterOptions.DEFAULT);
+    }
+
+    /**
+     * Constructs a new InstantFile, whose content is read from a stream until its end.
+     * @param path The path to the file.
+     * @param content The stream to read, which is not closed.
+     * @param options The options telling how the bytes are written.
+     */
+    public InstantFile(Path path, InputStream content, FileWriterOptions options) {
+        this(path, (Object) content, options);
+    }
+
+    /**
+     * Constructs a new InstantFile, whose content is copied from another file.
+     * @param path The path to the file.
+     * @param content The path to the file to copy.
+     */
+    public InstantFile(Path path, Path content) {
+        this(path, content, FileWriterOptions.DEFAULT);
+    }
+
+    /**
+     * Constructs a new InstantFile, whose content is copied from another file.
+     * @param path The path to the file.
+     * @param content The path to the file to copy.
+     * @param options The options telling how the bytes are written.
+     */
+    public InstantFile(Path path, Path content, FileWriterOptions options) {
+        this(path, (Object) content, options);
+    }
+
+    /**
+     * Constructs a new InstantFile. <br>
+     * The temporary file is only created by {@link #write()}, so an instance closed without being written leaves no file behind.
+     * @param path The path to the file.
+     * @param content The content of the file: a line, bytes, a buffer, a stream or the path to another file.
+     * @param options The options telling how the bytes are written.
+     */
+    InstantFile(Path path, Object content, FileWriterOptions options) {
+        super(InstantFile.temporaryPathOf(path), options, false, false);
+
+        if (!InstantFile.isContent(content)) {
+            this.discard();
+            throw new IllegalArgumentException("Unsupported content for " + path + ": " + (content == null ? null : content.getClass().getName()));
+        }
+
+        this.target = path;
         this.content = content;
     }
 
+    /**
+     * Writes the content to the temporary file, closes it, then renames it to the file, replacing it. <br>
+     * If anything fails, the temporary file is deleted and the file is left untouched.
+     */
     public void write() {
-        super.write(content);
-        super.close();
+        if (this.closed) {
+            throw new IllegalStateException("The file " + this.target + " was already written or closed.");
+        }
+
+        try {
+            // Created here, the temporary file is always deleted if the write fails.
+            this.open();
+            this.writeContent();
+
+            this.closed = true;
+            super.close();
+
+            InstantFile.move(this.getTemporaryPath(), this.target);
+            this.written = true;
+
+            if (this.getOptions().isSyncOnClose()) InstantFile.syncDirectory(this.target);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            if (!this.written) this.discard();
+        }
+    }
+
+    /**
+     * Writes the content to the temporary file.
+     * @throws IOException If the content can't be read.
+     */
+    private void writeContent() throws IOException {
+        if (this.content instanceof String) {
+            super.append((String) this.content);
+        } else if (this.content instanceof byte[]) {
+            final byte[] bytes = (byte[]) this.content;
+            super.append(bytes, 0, bytes.length);
+        } else if (this.content instanceof ByteBuffer) {
+            super.append((ByteBuffer) this.content);
+        } else if (this.content instanceof FileInputStream) {
+            // The channel shares the position of the stream, so the bytes already read are skipped.
+            super.append(((FileInputStream) this.content).getChannel());
+        } else if (this.content instanceof InputStream) {
+            super.append(Channels.newChannel((InputStream) this.content));
+        } else {
+            try (final FileChannel source = FileChannel.open((Path) this.content, StandardOpenOption.READ)) {
+                super.append(source);
+            }
+        }
+    }
+
+    /**
+     * Closes and deletes the temporary file, if the file was not written. <br>
+     * The file is left untouched.
+     */
+    @Override
+    public void close() {
+        if (!this.closed) this.discard();
+    }
+
+    /**
+     * Closes and deletes the temporary file, ignoring the errors.
+     */
+    private void discard() {
+        if (!this.closed) {
+            this.closed = true;
+
+            try {
+                super.close();
+            } catch (RuntimeException ignored) {
+                // The content is abandoned anyway.
+            }
+        }
+
+        try {
+            Files.deleteIfExists(this.getTemporaryPath());
+        } catch (IOException ignored) {
+            // A leftover temporary file is harmless, it will never be renamed.
+        }
+    }
+
+    /**
+     * Get the path to the file.
+     * @return The path to the file.
+     */
+    @Override
+    public Path getPath() {
+        return this.target;
+    }
+
+    /**
+     * Get the path to the temporary file, renamed to the file once written.
+     * @return The path to the temporary file.
+     */
+    public Path getTemporaryPath() {
+        return super.getPath();
+    }
+
+    /**
+     * Check if an object can be the content of a file.
+     * @param content The object to check.
+     * @return <code>true</code> if it is a line, bytes, a buffer, a stream or the path to another file.
+     */
+    static boolean isContent(Object content) {
+        return content instanceof String || content instanceof byte[] || content instanceof ByteBuffer
+                || content instanceof InputStream || content instanceof Path;
+    }
+
+    /**
+     * Get a unique temporary path next to a file, so it can be atomically renamed to it.
+     * @param path The path to the file.
+     * @return The temporary path, hidden on Unix.
+     */
+    private static Path temporaryPathOf(Path path) {
+        return path.resolveSibling("." + path.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + TEMPORARY_EXTENSION);
+    }
+
+    /**
+     * Renames the temporary file to the file, atomically if the file system supports it.
+     * @param source The path to the temporary file.
+     * @param target The path to the file.
+     * @throws IOException If the file can't be renamed.
+     */
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Forces the directory of a file to the disk, so its rename survives a power loss. <br>
+     * Some systems, like Windows, can't open directories: the rename is then left to the file system.
+     * @param path The path to the file.
+     */
+    private static void syncDirectory(Path path) {
+        final Path directory = path.toAbsolutePath().getParent();
+
+        try (final FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            // The directory can't be forced on this system.
+        }
     }
 }
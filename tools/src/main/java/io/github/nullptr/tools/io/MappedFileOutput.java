@@ -0,0 +1,273 @@
+package io.github.nullptr.tools.io;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file output writing to a memory-mapped region of the file. <br>
+ * The file is pre-allocated in fixed-size chunks, so writes are plain memory copies and the operating system
+ * writes the pages out asynchronously. The file is truncated to the written length when closed. <br>
+ * /!\ Until then, readers see the pre-allocated chunk filled with zeros after the written bytes.
+ * If the process dies before closing the file, the zeros stay: appending to the file skips them,
+ * so a written text or record must not end with a zero byte to be kept. <br>
+ * The previous chunk is unmapped when the next one is mapped, so the mapped memory stays within one chunk.
+ */
+public class MappedFileOutput implements FileOutput {
+
+    /**
+     * The size of the blocks read when looking for the end of the written bytes.
+     */
+    private static final int SCAN_BLOCK_SIZE = 8192;
+    /**
+     * The method unmapping a region, or <code>null</code> if the runtime doesn't allow it.
+     */
+    private static final Unmapper UNMAPPER = MappedFileOutput.unmapper();
+
+    /**
+     * The channel of the file.
+     */
+    private final FileChannel channel;
+    /**
+     * The size of the chunks the file grows with.
+     */
+    private final int chunkSize;
+    /**
+     * The mapped region of the current chunk.
+     */
+    private MappedByteBuffer region;
+    /**
+     * The position of the current chunk in the file.
+     */
+    private long regionStart;
+
+    /**
+     * The MappedFileOutput constructor.
+     * @param path The path to the file.
+     * @param append <code>true</code> to write after the current content, <code>false</code> to truncate the file.
+     * @param chunkSize The size of the chunks the file grows with.
+     * @throws IOException If the file can't be opened or mapped.
+     */
+    public MappedFileOutput(Path path, boolean append, int chunkSize) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive, got " + chunkSize);
+        }
+
+        this.channel = append
+                ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.chunkSize = chunkSize;
+        this.map(append ? MappedFileOutput.writtenLength(this.channel) : 0);
+    }
+
+    /**
+     * The MappedFileOutput constructor, writing after a known length, for a file which may legitimately end with zeros.
+     * @param path The path to the file.
+     * @param length The length of the content to keep, the bytes after it being overwritten.
+     * @param chunkSize The size of the chunks the file grows with.
+     * @throws IOException If the file can't be opened or mapped.
+     */
+    public MappedFileOutput(Path path, long length, int chunkSize) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive, got " + chunkSize);
+        }
+        if (length < 0) {
+            throw new IllegalArgumentException("The length must not be negative, got " + length);
+        }
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.chunkSize = chunkSize;
+        this.map(length);
+    }
+
+    /**
+     * Copies bytes to the mapped region, mapping the next chunks as needed.
+     * @param bytes The array holding the bytes.
+     * @param offset The index of the first byte to write.
+     * @param length The number of bytes to write.
+     * @throws IOException If the next chunk can't be mapped.
+     */
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (!this.region.hasRemaining()) this.map(this.position());
+
+            final int count = Math.min(length, this.region.remaining());
+            this.region.put(bytes, offset, count);
+
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Copies the remaining bytes of a buffer to the mapped region, mapping the next chunks as needed.
+     * @param bytes The bytes to write, the position of the buffer is moved to its limit.
+     * @throws IOException If the next chunk can't be mapped.
+     */
+    @Override
+    public void write(ByteBuffer bytes) throws IOException {
+        while (bytes.hasRemaining()) {
+            if (!this.region.hasRemaining()) this.map(this.position());
+
+            if (bytes.remaining() <= this.region.remaining()) {
+                this.region.put(bytes);
+            } else {
+                final int limit = bytes.limit();
+
+                bytes.limit(bytes.position() + this.region.remaining());
+                this.region.put(bytes);
+                bytes.limit(limit);
+            }
+        }
+    }
+
+    /**
+     * Does nothing: the written bytes are already in the page cache, the operating system writes them out by itself.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Forces the mapped chunks to the disk.
+     * @throws IOException If the bytes can't be forced.
+     */
+    @Override
+    public void sync() throws IOException {
+        this.region.force();
+        this.channel.force(false);
+    }
+
+    /**
+     * Truncates the file to the written length, and closes it.
+     * @throws IOException If the file can't be truncated or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!this.channel.isOpen()) return;
+
+        final long position = this.position();
+
+        MappedFileOutput.unmap(this.region);
+        this.region = null;
+        try {
+            this.channel.truncate(position);
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Get the position of the next byte to write in the file, which is the written length once the file is closed.
+     * @return The position of the next byte.
+     */
+    public long position() {
+        return this.regionStart + this.region.position();
+    }
+
+    /**
+     * Maps the chunk starting at the given position, growing the file if needed.
+     * @param start The position of the chunk in the file.
+     * @throws IOException If the chunk can't be mapped.
+     */
+    private void map(long start) throws IOException {
+        final MappedByteBuffer previous = this.region;
+
+        this.region = this.channel.map(FileChannel.MapMode.READ_WRITE, start, this.chunkSize);
+        this.regionStart = start;
+        MappedFileOutput.unmap(previous);
+    }
+
+    /**
+     * Get the length of the written bytes of a file, skipping the zeros of a chunk left pre-allocated by a crash.
+     * @param channel The channel of the file.
+     * @return The position after the last non-zero byte of the file.
+     * @throws IOException If the file can't be read.
+     */
+    private static long writtenLength(FileChannel channel) throws IOException {
+        final ByteBuffer block = ByteBuffer.allocate(SCAN_BLOCK_SIZE);
+        long end = channel.size();
+
+        while (end > 0) {
+            final long start = Math.max(0, end - SCAN_BLOCK_SIZE);
+
+            block.clear().limit((int) (end - start));
+            while (block.hasRemaining()) {
+                if (channel.read(block, start + block.position()) < 0) break;
+            }
+
+            for (int i = block.position() - 1; i >= 0; i--) {
+                if (block.get(i) != 0) return start + i + 1;
+            }
+
+            end = start;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Unmaps a region right away, instead of waiting for the garbage collector. <br>
+     * /!\ The region must not be used anymore.
+     * @param region The region to unmap, or <code>null</code>.
+     */
+    private static void unmap(MappedByteBuffer region) {
+        if (region == null || UNMAPPER == null) return;
+
+        try {
+            UNMAPPER.unmap(region);
+        } catch (Exception e) {
+            // The region is then unmapped by the garbage collector.
+        }
+    }
+
+    /**
+     * Finds the way the runtime unmaps a region: the cleaner of the unsafe since Java 9, the cleaner of the buffer before.
+     * @return The unmapper, or <code>null</code> if the runtime doesn't allow it.
+     */
+    private static Unmapper unmapper() {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field field = unsafeClass.getDeclaredField("theUnsafe");
+
+            field.setAccessible(true);
+            final Object unsafe = field.get(null);
+            return region -> invokeCleaner.invoke(unsafe, region);
+        } catch (Exception | LinkageError e) {
+            // Before Java 9.
+        }
+
+        try {
+            final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+
+            return region -> {
+                final Object regionCleaner = cleaner.invoke(region);
+                if (regionCleaner != null) clean.invoke(regionCleaner);
+            };
+        } catch (Exception | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * A way to unmap a region.
+     */
+    @FunctionalInterface
+    private interface Unmapper {
+
+        /**
+         * Unmaps a region.
+         * @param region The region to unmap.
+         * @throws Exception If the region can't be unmapped.
+         */
+        void unmap(MappedByteBuffer region) throws Exception;
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.nullptr.tools.io;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file output writing through a buffered output stream.
+ */
+public class StreamFileOutput implements FileOutput {
+
+    /**
+     * The channel of the file, used to force the bytes to the disk.
+     */
+    private final FileChannel channel;
+    /**
+     * The buffered stream of the file.
+     */
+    private final OutputStream stream;
+
+    /**
+     * The StreamFileOutput constructor.
+     * @param path The path to the file.
+     * @param append <code>true</code> to write after the current content, <code>false</code> to truncate the file.
+     * @throws IOException If the file can't be opened.
+     */
+    public StreamFileOutput(Path path, boolean append) throws IOException {
+        this.channel = append
+                ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)
+                : FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.stream = new BufferedOutputStream(Channels.newOutputStream(this.channel));
+    }
+
+    /**
+     * Writes bytes to the stream buffer.
+     * @param bytes The array holding the bytes.
+     * @param offset The index of the first byte to write.
+     * @param length The number of bytes to write.
+     * @throws IOException If the bytes can't be written.
+     */
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        this.stream.write(bytes, offset, length);
+    }
+
+    /**
+     * Writes the remaining bytes of a buffer. <br>
+     * A direct buffer is written to the channel after the stream buffer, instead of being copied to the heap.
+     * @param bytes The bytes to write, the position of the buffer is moved to its limit.
+     * @throws IOException If the bytes can't be written.
+     */
+    @Override
+    public void write(ByteBuffer bytes) throws IOException {
+        if (!bytes.isDirect()) {
+            FileOutput.super.write(bytes);
+            return;
+        }
+
+        this.stream.flush();
+        while (bytes.hasRemaining()) {
+            this.channel.write(bytes);
+        }
+    }
+
+    /**
+     * Writes the stream buffer to the file.
+     * @throws IOException If the bytes can't be flushed.
+     */
+    @Override
+    public void flush() throws IOException {
+        this.stream.flush();
+    }
+
+    /**
+     * Writes the stream buffer to the file, then transfers all the bytes read from a channel after them,
+     * with {@link FileChannel#transferFrom(ReadableByteChannel, long, long)}.
+     * @param source The channel to read the bytes from.
+     * @return The number of written bytes.
+     * @throws IOException If the bytes can't be read or written.
+     */
+    @Override
+    public long transferFrom(ReadableByteChannel source) throws IOException {
+        this.stream.flush();
+        return FileOutput.transferTo(this.channel, source);
+    }
+
+    /**
+     * Writes the stream buffer to the file, and forces it to the disk.
+     * @throws IOException If the bytes can't be forced.
+     */
+    @Override
+    public void sync() throws IOException {
+        this.stream.flush();
+        this.channel.force(false);
+    }
+
+    /**
+     * Flushes and closes the stream.
+     * @throws IOException If the stream can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.stream.close();
+    }
+}
@@ -0,0 +1,152 @@
+package io.github.nullptr.tools.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the sparse timestamp index written by {@link TimestampIndexWriter}, to map only the region of a file holding a time window. <br>
+ * The index is binary searched, so finding the region is logarithmic in the size of the file, and only the region is mapped. <br>
+ * /!\ The region starts at an entry boundary, so it may begin with a few records before the window. When the records are not
+ * written in timestamp order, as with an asynchronous logger, records close to the end of the window may lie after the region.
+ */
+public class TimestampIndexReader {
+
+    /**
+     * The indexed file.
+     */
+    private final Path file;
+    /**
+     * The content of the index.
+     */
+    private final ByteBuffer index;
+    /**
+     * The number of entries of the index.
+     */
+    private final int entries;
+
+    /**
+     * The TimestampIndexReader constructor, reading the index next to the file.
+     * @param file The path to the indexed file.
+     * @throws IOException If the index can't be read.
+     */
+    public TimestampIndexReader(Path file) throws IOException {
+        this.file = file;
+
+        try (final FileChannel channel = FileChannel.open(TimestampIndexWriter.pathOf(file), StandardOpenOption.READ)) {
+            // An entry being written by the logger is ignored.
+            this.entries = (int) (channel.size() / TimestampIndexWriter.ENTRY_SIZE);
+            this.index = channel.map(FileChannel.MapMode.READ_ONLY, 0, (long) this.entries * TimestampIndexWriter.ENTRY_SIZE);
+        }
+    }
+
+    /**
+     * Get the offset from which all the records at or after a time are found.
+     * @param fromMillis The start of the window, in milliseconds since the epoch.
+     * @return The start offset, at an entry boundary.
+     */
+    public long startOffset(long fromMillis) {
+        // The last entry whose greatest timestamp so far is before the window: nothing before it is in the window.
+        final int entry = this.search(fromMillis) - 1;
+        return entry < 0 ? 0 : this.offset(entry);
+    }
+
+    /**
+     * Get the offset before which all the records at or before a time are found.
+     * @param toMillis The end of the window, in milliseconds since the epoch, inclusive.
+     * @param fileSize The current size of the file.
+     * @return The end offset, at an entry boundary, or the size of the file.
+     */
+    public long endOffset(long toMillis, long fileSize) {
+        // The first entry whose greatest timestamp so far is after the window.
+        final int entry = this.search(toMillis + 1);
+        return entry >= this.entries ? fileSize : Math.min(this.offset(entry), fileSize);
+    }
+
+    /**
+     * Maps the region of the file holding the records of a time window.
+     * @param fromMillis The start of the window, in milliseconds since the epoch.
+     * @param toMillis The end of the window, in milliseconds since the epoch, inclusive.
+     * @return The read-only mapped region, empty if the window is out of the file.
+     * @throws IOException If the file can't be mapped.
+     */
+    public MappedByteBuffer map(long fromMillis, long toMillis) throws IOException {
+        try (final FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final long start = Math.min(this.startOffset(fromMillis), size);
+            final long end = Math.max(start, this.endOffset(toMillis, size));
+
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The region of the window is too big to be mapped: " + (end - start) + " bytes.");
+            }
+
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        }
+    }
+
+    /**
+     * Get the number of entries of the index.
+     * @return The number of entries.
+     */
+    public int size() {
+        return this.entries;
+    }
+
+    /**
+     * Get the path to the indexed file.
+     * @return The path to the indexed file.
+     */
+    public Path getFile() {
+        return this.file;
+    }
+
+    /**
+     * Check if a file has an index.
+     * @param file The path to the file.
+     * @return <code>true</code> if the index of the file exists.
+     */
+    public static boolean exists(Path file) {
+        return Files.exists(TimestampIndexWriter.pathOf(file));
+    }
+
+    /**
+     * Binary searches the first entry whose greatest timestamp so far is at or after a time.
+     * @param millis The time, in milliseconds since the epoch.
+     * @return The index of the entry, or the number of entries if there is none.
+     */
+    private int search(long millis) {
+        int low = 0;
+        int high = this.entries;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (this.timestamp(middle) < millis) low = middle + 1;
+            else high = middle;
+        }
+
+        return low;
+    }
+
+    /**
+     * Get the greatest timestamp so far of an entry.
+     * @param entry The index of the entry.
+     * @return The timestamp, in milliseconds since the epoch.
+     */
+    private long timestamp(int entry) {
+        return this.index.getLong(entry * TimestampIndexWriter.ENTRY_SIZE);
+    }
+
+    /**
+     * Get the offset of an entry.
+     * @param entry The index of the entry.
+     * @return The offset in the file.
+     */
+    private long offset(int entry) {
+        return this.index.getLong(entry * TimestampIndexWriter.ENTRY_SIZE + 8);
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.nullptr.tools.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes the sparse timestamp index of a file, next to it, read back by {@link TimestampIndexReader}. <br>
+ * Each time the file grew by the index interval, an entry is written, mapping the greatest timestamp written so far
+ * to the offset of the record being written. The index is a sequence of entries of two big-endian longs, so it stays tiny:
+ * 16 bytes per interval, 256 KiB for a 1 GiB file indexed every 64 KiB.
+ */
+public class TimestampIndexWriter implements AutoCloseable {
+
+    /**
+     * The extension appended to the name of the indexed file.
+     */
+    public static final String EXTENSION = ".idx";
+    /**
+     * The size of an entry, in bytes.
+     */
+    public static final int ENTRY_SIZE = 16;
+
+    /**
+     * The path to the index.
+     */
+    private final Path path;
+    /**
+     * The number of bytes between two entries.
+     */
+    private final long interval;
+    /**
+     * The reusable buffer of an entry.
+     */
+    private final ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+    /**
+     * The channel of the index.
+     */
+    private FileChannel channel;
+    /**
+     * The offset of the last entry, or -1 if there is none.
+     */
+    private long lastOffset = -1;
+    /**
+     * The greatest timestamp recorded so far.
+     */
+    private long maxTimestamp = Long.MIN_VALUE;
+
+    /**
+     * The TimestampIndexWriter constructor, truncating the index.
+     * @param file The path to the indexed file, the index being written next to it.
+     * @param interval The number of bytes between two entries.
+     * @throws IOException If the index can't be opened.
+     */
+    public TimestampIndexWriter(Path file, long interval) throws IOException {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("The index interval must be positive, got " + interval);
+        }
+
+        this.path = TimestampIndexWriter.pathOf(file);
+        this.interval = interval;
+        this.channel = this.open();
+    }
+
+    /**
+     * Get the path to the index of a file.
+     * @param file The path to the indexed file.
+     * @return The path to its index.
+     */
+    public static Path pathOf(Path file) {
+        return file.resolveSibling(file.getFileName() + EXTENSION);
+    }
+
+    /**
+     * Records a record about to be written, writing an entry if the file grew by the interval since the last one. <br>
+     * /!\ It must be called in the order the records are written, under the lock that writes them.
+     * @param timestamp The timestamp of the record.
+     * @param offset The offset of the record in the file.
+     * @throws IOException If the entry can't be written.
+     */
+    public void record(long timestamp, long offset) throws IOException {
+        if (timestamp > this.maxTimestamp) this.maxTimestamp = timestamp;
+        if (this.lastOffset >= 0 && offset - this.lastOffset < this.interval) return;
+
+        this.entry.clear();
+        this.entry.putLong(this.maxTimestamp).putLong(offset).flip();
+
+        while (this.entry.hasRemaining()) {
+            this.channel.write(this.entry);
+        }
+
+        this.lastOffset = offset;
+    }
+
+    /**
+     * Moves the index next to the rolled file, and starts a new one for the current file.
+     * @param target The path to the rolled file.
+     * @throws IOException If the index can't be moved or reopened.
+     */
+    public void rollTo(Path target) throws IOException {
+        this.channel.close();
+
+        try {
+            try {
+                Files.move(this.path, TimestampIndexWriter.pathOf(target), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(this.path, TimestampIndexWriter.pathOf(target), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            this.channel = this.open();
+            this.lastOffset = -1;
+        }
+    }
+
+    /**
+     * Closes the index.
+     * @throws IOException If the index can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Opens the index, truncating it.
+     * @return The channel of the index.
+     * @throws IOException If the index can't be opened.
+     */
+    private FileChannel open() throws IOException {
+        return FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+}
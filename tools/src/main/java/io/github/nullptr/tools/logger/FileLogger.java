@@ -1,10 +1,25 @@
 package io.github.nullptr.tools.logger;
 
+import io.github.nullptr.tools.builder.IBuilder;
+import io.github.nullptr.tools.io.FileCompression;
 import io.github.nullptr.tools.io.FileWriter;
+import io.github.nullptr.tools.io.FileWriterOptions;
+import io.github.nullptr.tools.io.TimestampIndexWriter;
+import io.github.nullptr.tools.thread.ThreadHelper;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * The file logger.
@@ -12,9 +27,91 @@ import java.util.Date;
 public class FileLogger extends FileWriter {
 
     /**
-     * The logger prefix.
+     * The default maximum number of distinct stack traces remembered.
      */
-    private final String prefix;
+    private static final int DEFAULT_STACK_TRACE_CAPACITY = 1024;
+    /**
+     * The default interval between two reports of the repeated stack traces, in milliseconds.
+     */
+    private static final long DEFAULT_STACK_TRACE_REPORT_INTERVAL = 60_000;
+    /**
+     * The maximum number of distinct templates rate limited per type.
+     */
+    private static final int RATE_LIMITER_CAPACITY = 1024;
+    /**
+     * The flag of the pending report of the repeated stack traces.
+     */
+    private static final int STACK_TRACE_REPORT = 1;
+    /**
+     * The flag of the pending report of the messages suppressed by the rate limiter.
+     */
+    private static final int SUPPRESSED_REPORT = 2;
+
+    /**
+     * The prefix of the logger.
+     */
+    private final LoggerPrefix prefix;
+    /**
+     * The prefixes sharing the file, by name, including the prefix of the logger.
+     */
+    private final Map<String, LoggerPrefix> prefixes = new ConcurrentHashMap<>();
+    /**
+     * The flags of the reports requested by the shared scheduler and not done yet,
+     * so a report requested again before being done is only handed off once.
+     */
+    private final AtomicInteger pendingReports = new AtomicInteger();
+    /**
+     * The format of the records.
+     */
+    private final LoggerFormat format;
+    /**
+     * The minimum type of the messages to log.
+     */
+    private volatile LoggerPrintType level;
+    /**
+     * The dispatcher writing the messages in background, or <code>null</code> if the logger is synchronous.
+     */
+    private final LoggerAsyncDispatcher dispatcher;
+    /**
+     * The roller of the file, or <code>null</code> if the file is never rolled.
+     */
+    private final LoggerRoller roller;
+    /**
+     * The hook closing the logger when the JVM shuts down, or <code>null</code> if the logger is synchronous.
+     */
+    private final Thread shutdownHook;
+    /**
+     * The stack traces already written in full.
+     */
+    private final LoggerStackTraces stackTraces;
+    /**
+     * The interval between two reports of the repeated stack traces, in milliseconds.
+     */
+    private final long stackTraceReportInterval;
+    /**
+     * The task requesting the reports of the repeated stack traces, scheduled with the first exception.
+     */
+    private volatile ScheduledFuture<?> stackTraceReporter;
+    /**
+     * The sparse timestamp index of the file, or <code>null</code> if the file is not indexed.
+     */
+    private final TimestampIndexWriter index;
+    /**
+     * The limiter of the rate of similar messages, or <code>null</code> if the rate is not limited.
+     */
+    private final LoggerRateLimiter rateLimiter;
+    /**
+     * The task requesting the reports of the messages suppressed by the rate limiter, or <code>null</code> if the rate is not limited.
+     */
+    private final ScheduledFuture<?> suppressedReporter;
+    /**
+     * The thread doing the reports of a synchronous logger which is not rolled, created with the first report.
+     */
+    private ExecutorService reportExecutor;
+    /**
+     * <code>true</code> once the logger did its last reports, so no report thread is created anymore.
+     */
+    private boolean reportsClosed;
 
     /**
      * The File Logger constructor.
@@ -23,17 +120,501 @@ public class FileLogger extends FileWriter {
      */
     public FileLogger(final Path path, final String prefix) {
         super(path);
-        this.prefix = "[" + prefix + "] ";
+        this.prefix = new LoggerPrefix(0, prefix);
+        this.prefixes.put(prefix, this.prefix);
+        this.format = LoggerFormat.TEXT;
+        this.level = LoggerPrintType.DEBUG;
+        this.stackTraces = new LoggerStackTraces(DEFAULT_STACK_TRACE_CAPACITY);
+        this.stackTraceReportInterval = DEFAULT_STACK_TRACE_REPORT_INTERVAL;
+        this.rateLimiter = null;
+        this.suppressedReporter = null;
+        this.index = null;
+        this.roller = null;
+        this.dispatcher = null;
+        this.shutdownHook = null;
+    }
+
+    /**
+     * The File Logger constructor, used by the builder.
+     * @param builder The builder holding the logger configuration.
+     */
+    private FileLogger(final Builder builder) {
+        // Appended to when rolling, so the file left by a previous run is rolled instead of truncated.
+        super(builder.path, builder.options, builder.isRolling());
+        this.prefix = new LoggerPrefix(0, builder.prefix);
+        this.prefixes.put(builder.prefix, this.prefix);
+        this.format = builder.format;
+        this.level = builder.level;
+        this.stackTraces = new LoggerStackTraces(builder.stackTraceCapacity);
+        this.stackTraceReportInterval = builder.stackTraceReportInterval;
+
+        if (builder.isRolling()) {
+            // Segments already compressed as they were written are not compressed again.
+            final boolean compress = builder.rollingCompression && builder.options.getCompression() == FileCompression.NONE;
+            this.roller = new LoggerRoller(builder.path, builder.rollingMaxBytes, builder.rollingInterval, builder.rollingRetention, compress, this::error);
+
+            if (this.size() > 0) this.rollPrevious();
+        } else {
+            this.roller = null;
+        }
+
+        if (this.format == LoggerFormat.BINARY) {
+            this.writeBinaryHeader();
+            this.flush();
+        }
+
+        if (builder.indexInterval > 0) {
+            try {
+                this.index = new TimestampIndexWriter(builder.path, builder.indexInterval);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        } else {
+            this.index = null;
+        }
+
+        if (builder.rateLimit > 0) {
+            this.rateLimiter = new LoggerRateLimiter(builder.rateLimit, builder.rateLimitBurst, RATE_LIMITER_CAPACITY);
+            this.suppressedReporter = ThreadHelper.scheduler().scheduleWithFixedDelay(() -> this.requestReport(SUPPRESSED_REPORT),
+                    builder.rateLimitReportInterval, builder.rateLimitReportInterval, TimeUnit.MILLISECONDS);
+        } else {
+            this.rateLimiter = null;
+            this.suppressedReporter = null;
+        }
+
+        if (builder.asyncCapacity > 0) {
+            this.dispatcher = new LoggerAsyncDispatcher("FileLogger-" + builder.prefix, builder.asyncCapacity, builder.overflowPolicy, this::writeRecord, this::commit);
+            this.shutdownHook = new Thread(this::close, "FileLogger-" + builder.prefix + "-shutdown");
+
+            Runtime.getRuntime().addShutdownHook(this.shutdownHook);
+        } else {
+            this.dispatcher = null;
+            this.shutdownHook = null;
+        }
+    }
+
+    /**
+     * Get the prefix of the given name, creating it the first time. <br>
+     * Several prefixes can share the same file, for example one per class, each message being written with the prefix it is logged with.
+     * @param name The name of the prefix.
+     * @return The prefix, always the same instance for a given name.
+     */
+    public LoggerPrefix prefix(final String name) {
+        final LoggerPrefix existing = this.prefixes.get(name);
+        if (existing != null) return existing;
+
+        synchronized (this.prefixes) {
+            final LoggerPrefix known = this.prefixes.get(name);
+            if (known != null) return known;
+
+            final LoggerPrefix prefix = new LoggerPrefix(this.prefixes.size(), name);
+
+            // Registered before its definition is written, so a concurrent roll defines it in the next file too.
+            this.prefixes.put(name, prefix);
+            if (this.format == LoggerFormat.BINARY) this.writeDefinition(prefix);
+
+            return prefix;
+        }
+    }
+
+    /**
+     * Logs a message with the given prefix, if its type is enabled.
+     * @param prefix The prefix of the message, from {@link #prefix(String)}.
+     * @param type The type of the message.
+     * @param message The message to log.
+     */
+    public void log(final LoggerPrefix prefix, final LoggerPrintType type, final String message) {
+        if (this.accept(prefix, type, message)) this.message(LoggerEncoder.get(), prefix, type, message);
+    }
+
+    /**
+     * Logs a lazily built message with the given prefix, if its type is enabled.
+     * @param prefix The prefix of the message, from {@link #prefix(String)}.
+     * @param type The type of the message.
+     * @param message The supplier of the message to log.
+     */
+    public void log(final LoggerPrefix prefix, final LoggerPrintType type, final Supplier<String> message) {
+        if (this.accept(prefix, type, message.getClass())) this.message(LoggerEncoder.get(), prefix, type, message.get());
+    }
+
+    /**
+     * Logs a parameterized message with the given prefix, if its type is enabled.
+     * @param prefix The prefix of the message, from {@link #prefix(String)}.
+     * @param type The type of the message.
+     * @param pattern The pattern of the message to log.
+     * @param argument The argument.
+     */
+    public void log(final LoggerPrefix prefix, final LoggerPrintType type, final String pattern, final Object argument) {
+        if (!this.accept(prefix, type, pattern)) return;
+
+        final LoggerEncoder encoder = LoggerEncoder.get();
+        final StringBuilder builder = encoder.acquire();
+
+        try {
+            this.message(encoder, prefix, type, LoggerFormatter.format(builder, pattern, argument));
+        } finally {
+            encoder.release(builder);
+        }
+    }
+
+    /**
+     * Logs a parameterized message with the given prefix, if its type is enabled.
+     * @param prefix The prefix of the message, from {@link #prefix(String)}.
+     * @param type The type of the message.
+     * @param pattern The pattern of the message to log.
+     * @param argument The argument.
+     */
+    public void log(final LoggerPrefix prefix, final LoggerPrintType type, final String pattern, final long argument) {
+        if (!this.accept(prefix, type, pattern)) return;
+
+        final LoggerEncoder encoder = LoggerEncoder.get();
+        final StringBuilder builder = encoder.acquire();
+
+        try {
+            this.message(encoder, prefix, type, LoggerFormatter.format(builder, pattern, argument));
+        } finally {
+            encoder.release(builder);
+        }
+    }
+
+    /**
+     * Logs a parameterized message with the given prefix, if its type is enabled.
+     * @param prefix The prefix of the message, from {@link #prefix(String)}.
+     * @param type The type of the message.
+     * @param pattern The pattern of the message to log.
+     * @param first The first argument.
+     * @param second The second argument.
+     */
+    public void log(final LoggerPrefix prefix, final LoggerPrintType type, final String pattern, final Object first, final Object second) {
+        if (!this.accept(prefix, type, pattern)) return;
+
+        final LoggerEncoder encoder = LoggerEncoder.get();
+        final StringBuilder builder = encoder.acquire();
+
+        try {
+            this.message(encoder, prefix, type, LoggerFormatter.format(builder, pattern, first, second));
+        } finally {
+            encoder.release(builder);
+        }
+    }
+
+    /**
+     * Logs a parameterized message with the given prefix, if its type is enabled.
+     * @param prefix The prefix of the message, from {@link #prefix(String)}.
+     * @param type The type of the message.
+     * @param pattern The pattern of the message to log.
+     * @param arguments The arguments.
+     */
+    public void log(final LoggerPrefix prefix, final LoggerPrintType type, final String pattern, final Object[] arguments) {
+        if (!this.accept(prefix, type, pattern)) return;
+
+        final LoggerEncoder encoder = LoggerEncoder.get();
+        final StringBuilder builder = encoder.acquire();
+
+        try {
+            this.message(encoder, prefix, type, LoggerFormatter.format(builder, pattern, arguments));
+        } finally {
+            encoder.release(builder);
+        }
+    }
+
+    /**
+     * Logs a parameterized message followed by an exception with the given prefix, if its type is enabled.
+     * @param prefix The prefix of the message, from {@link #prefix(String)}.
+     * @param type The type of the message.
+     * @param pattern The pattern of the message to log.
+     * @param arguments The arguments, or <code>null</code> if there is none.
+     * @param count The number of arguments to use, the next ones are ignored.
+     * @param throwable The exception to log after the message with its stack trace, or <code>null</code> if there is none.
+     */
+    public void log(final LoggerPrefix prefix, final LoggerPrintType type, final String pattern, final Object[] arguments, final int count, final Throwable throwable) {
+        if (!this.accept(prefix, type, pattern)) return;
+
+        final LoggerEncoder encoder = LoggerEncoder.get();
+        final StringBuilder builder = encoder.acquire();
+
+        try {
+            LoggerFormatter.format(builder, pattern, arguments, count);
+
+            if (throwable != null) this.appendThrowable(builder.append(": "), prefix, type, throwable);
+            this.message(encoder, prefix, type, builder);
+        } finally {
+            encoder.release(builder);
+        }
+    }
+
+    /**
+     * Check if a message must be logged: its type must be enabled, and its template must not be over its rate limit.
+     * @param prefix The prefix of the message.
+     * @param type The type of the message.
+     * @param template The template of the message.
+     * @return <code>true</code> if the message must be logged.
+     */
+    private boolean accept(final LoggerPrefix prefix, final LoggerPrintType type, final Object template) {
+        return this.isEnabled(type) && (this.rateLimiter == null || this.rateLimiter.tryAcquire(prefix, type, template));
+    }
+
+    /**
+     * Logs how many messages were suppressed by the rate limiter since the last report.
+     */
+    private void reportSuppressed() {
+        final LoggerEncoder encoder = LoggerEncoder.get();
+        final StringBuilder builder = encoder.acquire();
+
+        try {
+            this.rateLimiter.report((prefix, type, line) -> this.message(encoder, prefix, type, line), builder);
+        } catch (RuntimeException e) {
+            // The logger is closed, the last report was done when closing it.
+        } finally {
+            encoder.release(builder);
+        }
+    }
+
+    /**
+     * Appends an exception with its stack trace, or with a reference to it if the same trace was already written.
+     * @param builder The builder to append the exception to.
+     * @param prefix The prefix of the message.
+     * @param type The type of the message.
+     * @param throwable The exception.
+     */
+    private void appendThrowable(final StringBuilder builder, final LoggerPrefix prefix, final LoggerPrintType type, final Throwable throwable) {
+        if (this.stackTraces.append(builder, throwable, prefix, type) && this.stackTraceReporter == null) {
+            this.scheduleStackTraceReporter();
+        }
+    }
+
+    /**
+     * Schedules the task requesting the reports of the repeated stack traces, if it is not already.
+     */
+    private synchronized void scheduleStackTraceReporter() {
+        if (this.stackTraceReporter != null) return;
+
+        this.stackTraceReporter = ThreadHelper.scheduler().scheduleWithFixedDelay(() -> this.requestReport(STACK_TRACE_REPORT),
+                this.stackTraceReportInterval, this.stackTraceReportInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Requests a report, handed off to a thread of the logger so it is done even if nothing else is logged:
+     * the background thread in asynchronous mode, else the thread of the roller, else the report thread of the logger. <br>
+     * Called by the shared scheduler: it never formats nor writes anything itself, as the scheduler must never block.
+     * @param report The flag of the report.
+     */
+    private void requestReport(final int report) {
+        final int previous = this.pendingReports.getAndAccumulate(report, (reports, requested) -> reports | requested);
+        if (previous != 0) return;
+
+        try {
+            if (this.dispatcher != null) {
+                this.dispatcher.execute(this::runPendingReports);
+            } else if (this.roller != null) {
+                this.roller.execute(this::runPendingReports);
+            } else {
+                this.reportExecutor().execute(this::runPendingReports);
+            }
+        } catch (RejectedExecutionException e) {
+            // The logger is closed, the last report was done when closing it.
+        }
+    }
+
+    /**
+     * Get the thread doing the reports of a synchronous logger which is not rolled, creating it the first time.
+     * @return The report thread.
+     * @throws RejectedExecutionException If the logger is closed.
+     */
+    private synchronized ExecutorService reportExecutor() {
+        if (this.reportsClosed) throw new RejectedExecutionException("The logger is closed.");
+
+        if (this.reportExecutor == null) {
+            this.reportExecutor = Executors.newSingleThreadExecutor(ThreadHelper.daemonFactory("FileLogger-" + this.prefix.getName() + "-reports"));
+        }
+
+        return this.reportExecutor;
+    }
+
+    /**
+     * Does the requested reports.
+     */
+    private void runPendingReports() {
+        final int reports = this.pendingReports.getAndSet(0);
+
+        if ((reports & STACK_TRACE_REPORT) != 0) this.reportStackTraces();
+        if ((reports & SUPPRESSED_REPORT) != 0) this.reportSuppressed();
+    }
+
+    /**
+     * Logs how many times each stack trace was repeated since the last report.
+     */
+    private void reportStackTraces() {
+        final LoggerEncoder encoder = LoggerEncoder.get();
+        final StringBuilder builder = encoder.acquire();
+
+        try {
+            this.stackTraces.report(entry -> this.message(encoder, entry.getPrefix(), entry.getType(), builder), builder);
+        } catch (RuntimeException e) {
+            // The logger is closed, the last report was done when closing it.
+        } finally {
+            encoder.release(builder);
+        }
     }
 
     /**
      * Logs a message.
+     * @param encoder The encoder of the current thread.
+     * @param prefix The prefix of the message.
      * @param type The type of the message.
      * @param message The message to log.
      */
-    private void message(final LoggerPrintType type, final String message) {
-        final String msg = String.format("[%s] ", new SimpleDateFormat("hh:mm:ss").format(new Date())) + this.prefix + "[" + type + "]: " + message;
-        this.write(type.getColor() + msg + LoggerColor.RESET);
+    private void message(final LoggerEncoder encoder, final LoggerPrefix prefix, final LoggerPrintType type, final CharSequence message) {
+        final long timestamp = System.currentTimeMillis();
+        final ByteBuffer line = this.format == LoggerFormat.BINARY
+                ? encoder.encodeBinary(timestamp, type, prefix, message)
+                : encoder.encode(timestamp, type, prefix, message);
+
+        if (this.dispatcher != null) {
+            this.dispatcher.dispatch(timestamp, line);
+        } else {
+            this.writeRecord(timestamp, line);
+            this.commit();
+        }
+    }
+
+    /**
+     * Writes an encoded record to the file, without flushing it.
+     * @param timestamp The time of the record, in milliseconds since the epoch.
+     * @param record The encoded record.
+     */
+    private void writeRecord(final long timestamp, final ByteBuffer record) {
+        if (this.roller == null) {
+            this.appendRecord(timestamp, record);
+            return;
+        }
+
+        synchronized (this.roller) {
+            if (this.roller.shouldRoll(timestamp, this.size(), record.remaining())) {
+                final Path segment = this.roller.nextSegment(timestamp);
+
+                try {
+                    this.rollTo(segment);
+                    if (this.index != null) this.rollIndex(segment);
+
+                    this.roller.archive(segment);
+                    this.stackTraces.reset();
+
+                    if (this.format == LoggerFormat.BINARY) this.writeBinaryHeader();
+                } catch (RuntimeException e) {
+                    // The record is still written to the current file, the roll is retried with the next record.
+                }
+            }
+
+            this.appendRecord(timestamp, record);
+        }
+    }
+
+    /**
+     * Appends an encoded record to the file, recording its offset in the index if needed.
+     * @param timestamp The time of the record, in milliseconds since the epoch.
+     * @param record The encoded record.
+     */
+    private void appendRecord(final long timestamp, final ByteBuffer record) {
+        if (this.index == null) {
+            this.append(record);
+            return;
+        }
+
+        synchronized (this.index) {
+            try {
+                this.index.record(timestamp, this.size());
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+
+            this.append(record);
+        }
+    }
+
+    /**
+     * Moves the index next to the rolled segment, and starts a new one.
+     * @param segment The rolled segment.
+     */
+    private void rollIndex(final Path segment) {
+        synchronized (this.index) {
+            try {
+                this.index.rollTo(segment);
+            } catch (IOException e) {
+                // The segment is left without index, the current file still gets a new one.
+            }
+        }
+    }
+
+    /**
+     * Rolls the file left by a previous run, with its index, to a segment labelled with the time it was last written.
+     */
+    private void rollPrevious() {
+        final Path path = this.getPath();
+
+        try {
+            final Path segment = this.roller.previousSegment(Files.getLastModifiedTime(path).toMillis());
+            final Path index = TimestampIndexWriter.pathOf(path);
+
+            this.rollTo(segment);
+            if (Files.exists(index)) Files.move(index, TimestampIndexWriter.pathOf(segment));
+
+            this.roller.archive(segment);
+        } catch (IOException | RuntimeException e) {
+            // The previous content is kept, and rolled with the current file at the next roll.
+        }
+    }
+
+    /**
+     * Writes the header of a binary log file, defining all the known prefixes.
+     */
+    private void writeBinaryHeader() {
+        this.append(LoggerBinaryFormat.header(this.prefixes.values()));
+    }
+
+    /**
+     * Writes the definition of a new prefix to a binary log file, before any record using it.
+     * @param prefix The new prefix.
+     */
+    private void writeDefinition(final LoggerPrefix prefix) {
+        final ByteBuffer definition = ByteBuffer.allocate(LoggerBinaryFormat.definitionLength(prefix));
+
+        LoggerBinaryFormat.putDefinition(definition, prefix);
+        definition.flip();
+
+        if (this.roller == null) {
+            this.append(definition);
+        } else {
+            synchronized (this.roller) {
+                this.append(definition);
+            }
+        }
+    }
+
+    /**
+     * Set the minimum type of the messages to log, messages of a lower severity are ignored. <br>
+     * It can be changed at any time, from any thread.
+     * @param level The minimum type of the messages to log.
+     */
+    public void setLevel(final LoggerPrintType level) {
+        this.level = level;
+    }
+
+    /**
+     * Get the minimum type of the messages to log.
+     * @return The minimum type of the messages to log.
+     */
+    public LoggerPrintType getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Check if the messages of a type are logged.
+     * @param type The type of the messages.
+     * @return <code>true</code> if the messages of this type are logged.
+     */
+    public boolean isEnabled(final LoggerPrintType type) {
+        return type.isAtLeast(this.level);
     }
 
     /**
@@ -41,7 +622,52 @@ public class FileLogger extends FileWriter {
      * @param message The message to log.
      */
     public void info(final String message) {
-        this.message(LoggerPrintType.INFO, message);
+        this.log(this.prefix, LoggerPrintType.INFO, message);
+    }
+
+    /**
+     * Log as info, the message being built only if info messages are enabled.
+     * @param message The supplier of the message to log.
+     */
+    public void info(final Supplier<String> message) {
+        this.log(this.prefix, LoggerPrintType.INFO, message);
+    }
+
+    /**
+     * Log as info, the first "{}" of the pattern being replaced by the argument.
+     * @param pattern The pattern of the message to log.
+     * @param argument The argument.
+     */
+    public void info(final String pattern, final Object argument) {
+        this.log(this.prefix, LoggerPrintType.INFO, pattern, argument);
+    }
+
+    /**
+     * Log as info, the first "{}" of the pattern being replaced by the argument, without boxing it.
+     * @param pattern The pattern of the message to log.
+     * @param argument The argument.
+     */
+    public void info(final String pattern, final long argument) {
+        this.log(this.prefix, LoggerPrintType.INFO, pattern, argument);
+    }
+
+    /**
+     * Log as info, the two first "{}" of the pattern being replaced by the arguments.
+     * @param pattern The pattern of the message to log.
+     * @param first The first argument.
+     * @param second The second argument.
+     */
+    public void info(final String pattern, final Object first, final Object second) {
+        this.log(this.prefix, LoggerPrintType.INFO, pattern, first, second);
+    }
+
+    /**
+     * Log as info, each "{}" of the pattern being replaced by the next argument.
+     * @param pattern The pattern of the message to log.
+     * @param arguments The arguments.
+     */
+    public void info(final String pattern, final Object... arguments) {
+        this.log(this.prefix, LoggerPrintType.INFO, pattern, arguments);
     }
 
     /**
@@ -49,15 +675,81 @@ public class FileLogger extends FileWriter {
      * @param message The message to log.
      */
     public void error(final String message) {
-        this.message(LoggerPrintType.ERROR, message);
+        this.log(this.prefix, LoggerPrintType.ERROR, message);
     }
 
     /**
-     * Log as error.
+     * Log as error, the message being built only if error messages are enabled.
+     * @param message The supplier of the message to log.
+     */
+    public void error(final Supplier<String> message) {
+        this.log(this.prefix, LoggerPrintType.ERROR, message);
+    }
+
+    /**
+     * Log as error, the first "{}" of the pattern being replaced by the argument.
+     * @param pattern The pattern of the message to log.
+     * @param argument The argument.
+     */
+    public void error(final String pattern, final Object argument) {
+        this.log(this.prefix, LoggerPrintType.ERROR, pattern, argument);
+    }
+
+    /**
+     * Log as error, the first "{}" of the pattern being replaced by the argument, without boxing it.
+     * @param pattern The pattern of the message to log.
+     * @param argument The argument.
+     */
+    public void error(final String pattern, final long argument) {
+        this.log(this.prefix, LoggerPrintType.ERROR, pattern, argument);
+    }
+
+    /**
+     * Log as error, the two first "{}" of the pattern being replaced by the arguments.
+     * @param pattern The pattern of the message to log.
+     * @param first The first argument.
+     * @param second The second argument.
+     */
+    public void error(final String pattern, final Object first, final Object second) {
+        this.log(this.prefix, LoggerPrintType.ERROR, pattern, first, second);
+    }
+
+    /**
+     * Log as error, each "{}" of the pattern being replaced by the next argument.
+     * @param pattern The pattern of the message to log.
+     * @param arguments The arguments.
+     */
+    public void error(final String pattern, final Object... arguments) {
+        this.log(this.prefix, LoggerPrintType.ERROR, pattern, arguments);
+    }
+
+    /**
+     * Log as error, with the stack trace. <br>
+     * Each distinct stack trace is written in full once per file, the next occurrences being written as a reference to it,
+     * and counted in a "repeated N times" report.
      * @param throwable The exception to log.
      */
     public void error(final Throwable throwable) {
-        this.message(LoggerPrintType.ERROR, throwable.getMessage());
+        if (!this.accept(this.prefix, LoggerPrintType.ERROR, throwable.getClass())) return;
+
+        final LoggerEncoder encoder = LoggerEncoder.get();
+        final StringBuilder builder = encoder.acquire();
+
+        try {
+            this.appendThrowable(builder, this.prefix, LoggerPrintType.ERROR, throwable);
+            this.message(encoder, this.prefix, LoggerPrintType.ERROR, builder);
+        } finally {
+            encoder.release(builder);
+        }
+    }
+
+    /**
+     * Log as error, followed by the stack trace.
+     * @param message The message to log.
+     * @param throwable The exception to log.
+     */
+    public void error(final String message, final Throwable throwable) {
+        this.log(this.prefix, LoggerPrintType.ERROR, message, null, 0, throwable);
     }
 
     /**
@@ -65,7 +757,52 @@ public class FileLogger extends FileWriter {
      * @param message The message to log.
      */
     public void warn(final String message) {
-        this.message(LoggerPrintType.WARNING, message);
+        this.log(this.prefix, LoggerPrintType.WARNING, message);
+    }
+
+    /**
+     * Log as warning, the message being built only if warning messages are enabled.
+     * @param message The supplier of the message to log.
+     */
+    public void warn(final Supplier<String> message) {
+        this.log(this.prefix, LoggerPrintType.WARNING, message);
+    }
+
+    /**
+     * Log as warning, the first "{}" of the pattern being replaced by the argument.
+     * @param pattern The pattern of the message to log.
+     * @param argument The argument.
+     */
+    public void warn(final String pattern, final Object argument) {
+        this.log(this.prefix, LoggerPrintType.WARNING, pattern, argument);
+    }
+
+    /**
+     * Log as warning, the first "{}" of the pattern being replaced by the argument, without boxing it.
+     * @param pattern The pattern of the message to log.
+     * @param argument The argument.
+     */
+    public void warn(final String pattern, final long argument) {
+        this.log(this.prefix, LoggerPrintType.WARNING, pattern, argument);
+    }
+
+    /**
+     * Log as warning, the two first "{}" of the pattern being replaced by the arguments.
+     * @param pattern The pattern of the message to log.
+     * @param first The first argument.
+     * @param second The second argument.
+     */
+    public void warn(final String pattern, final Object first, final Object second) {
+        this.log(this.prefix, LoggerPrintType.WARNING, pattern, first, second);
+    }
+
+    /**
+     * Log as warning, each "{}" of the pattern being replaced by the next argument.
+     * @param pattern The pattern of the message to log.
+     * @param arguments The arguments.
+     */
+    public void warn(final String pattern, final Object... arguments) {
+        this.log(this.prefix, LoggerPrintType.WARNING, pattern, arguments);
     }
 
     /**
@@ -73,6 +810,330 @@ public class FileLogger extends FileWriter {
      * @param message The message to log.
      */
     public void debug(final String message) {
-        this.message(LoggerPrintType.DEBUG, message);
+        this.log(this.prefix, LoggerPrintType.DEBUG, message);
+    }
+
+    /**
+     * Log as debug, the message being built only if debug messages are enabled.
+     * @param message The supplier of the message to log.
+     */
+    public void debug(final Supplier<String> message) {
+        this.log(this.prefix, LoggerPrintType.DEBUG, message);
+    }
+
+    /**
+     * Log as debug, the first "{}" of the pattern being replaced by the argument.
+     * @param pattern The pattern of the message to log.
+     * @param argument The argument.
+     */
+    public void debug(final String pattern, final Object argument) {
+        this.log(this.prefix, LoggerPrintType.DEBUG, pattern, argument);
+    }
+
+    /**
+     * Log as debug, the first "{}" of the pattern being replaced by the argument, without boxing it.
+     * @param pattern The pattern of the message to log.
+     * @param argument The argument.
+     */
+    public void debug(final String pattern, final long argument) {
+        this.log(this.prefix, LoggerPrintType.DEBUG, pattern, argument);
+    }
+
+    /**
+     * Log as debug, the two first "{}" of the pattern being replaced by the arguments.
+     * @param pattern The pattern of the message to log.
+     * @param first The first argument.
+     * @param second The second argument.
+     */
+    public void debug(final String pattern, final Object first, final Object second) {
+        this.log(this.prefix, LoggerPrintType.DEBUG, pattern, first, second);
+    }
+
+    /**
+     * Log as debug, each "{}" of the pattern being replaced by the next argument.
+     * @param pattern The pattern of the message to log.
+     * @param arguments The arguments.
+     */
+    public void debug(final String pattern, final Object... arguments) {
+        this.log(this.prefix, LoggerPrintType.DEBUG, pattern, arguments);
+    }
+
+    /**
+     * Get the number of messages dropped by the asynchronous mode.
+     * @return The number of dropped messages, always 0 if the logger is synchronous.
+     */
+    public long getDroppedCount() {
+        return this.dispatcher == null ? 0 : this.dispatcher.getDroppedCount();
+    }
+
+    /**
+     * Closes the logger, after writing all the pending messages.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (this.stackTraceReporter != null) {
+                this.stackTraceReporter.cancel(false);
+                this.reportStackTraces();
+            }
+        }
+
+        if (this.suppressedReporter != null) {
+            this.suppressedReporter.cancel(false);
+            this.reportSuppressed();
+        }
+
+        synchronized (this) {
+            this.reportsClosed = true;
+            if (this.reportExecutor != null) this.reportExecutor.shutdown();
+        }
+
+        if (this.dispatcher != null) {
+            this.dispatcher.close();
+
+            try {
+                Runtime.getRuntime().removeShutdownHook(this.shutdownHook);
+            } catch (IllegalStateException ignored) {
+                // The JVM is already shutting down, the hook is the one closing the logger.
+            }
+        }
+
+        if (this.roller != null) this.roller.close();
+        super.close();
+
+        if (this.index != null) {
+            try {
+                this.index.close();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * The builder for the file logger.
+     */
+    public static class Builder implements IBuilder<FileLogger> {
+
+        /**
+         * The path of the file to log to.
+         */
+        private Path path;
+        /**
+         * The prefix of the logger.
+         */
+        private String prefix;
+        /**
+         * The options telling how the bytes are written to the file.
+         */
+        private FileWriterOptions options = FileWriterOptions.DEFAULT;
+        /**
+         * The capacity of the asynchronous buffer, 0 to log synchronously.
+         */
+        private int asyncCapacity = 0;
+        /**
+         * The behavior when the asynchronous buffer is full.
+         */
+        private LoggerOverflowPolicy overflowPolicy = LoggerOverflowPolicy.BLOCK;
+        /**
+         * The minimum type of the messages to log.
+         */
+        private LoggerPrintType level = LoggerPrintType.DEBUG;
+        /**
+         * The format of the records.
+         */
+        private LoggerFormat format = LoggerFormat.TEXT;
+        /**
+         * The maximum size of the file before it is rolled, 0 to never roll because of size.
+         */
+        private long rollingMaxBytes = 0;
+        /**
+         * The interval at which the file is rolled.
+         */
+        private LoggerRollingInterval rollingInterval = LoggerRollingInterval.NEVER;
+        /**
+         * The number of rolled segments to keep, 0 to keep them all.
+         */
+        private int rollingRetention = 0;
+        /**
+         * <code>true</code> to compress the rolled segments with gzip.
+         */
+        private boolean rollingCompression = false;
+        /**
+         * The maximum number of distinct stack traces remembered, 0 to always write the traces in full.
+         */
+        private int stackTraceCapacity = DEFAULT_STACK_TRACE_CAPACITY;
+        /**
+         * The interval between two reports of the repeated stack traces, in milliseconds.
+         */
+        private long stackTraceReportInterval = DEFAULT_STACK_TRACE_REPORT_INTERVAL;
+        /**
+         * The sustained number of similar messages allowed per second, 0 to not limit the rate.
+         */
+        private double rateLimit = 0;
+        /**
+         * The number of similar messages allowed at once, above the sustained rate.
+         */
+        private int rateLimitBurst = 1;
+        /**
+         * The interval between two reports of the suppressed messages, in milliseconds.
+         */
+        private long rateLimitReportInterval = 10_000;
+        /**
+         * The number of bytes between two entries of the index, 0 to not index the file.
+         */
+        private long indexInterval = 0;
+
+        /**
+         * Set the path of the file to log to.
+         * @param path The path of the file.
+         * @return The builder instance.
+         */
+        public Builder withPath(Path path) {
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * Set the prefix of the logger.
+         * @param prefix The prefix of the logger.
+         * @return The builder instance.
+         */
+        public Builder withPrefix(String prefix) {
+            this.prefix = prefix;
+            return this;
+        }
+
+        /**
+         * Set the options telling how the bytes are written to the file, for example to write to a memory-mapped file.
+         * @param options The file writer options.
+         * @return The builder instance.
+         */
+        public Builder withOptions(FileWriterOptions options) {
+            this.options = options;
+            return this;
+        }
+
+        /**
+         * Set the format of the records. The binary format writes several times fewer bytes per record,
+         * and can be rendered back to text with {@link LoggerBinaryDecoder}.
+         * @param format The format of the records.
+         * @return The builder instance.
+         */
+        public Builder withFormat(LoggerFormat format) {
+            this.format = format;
+            return this;
+        }
+
+        /**
+         * Set the minimum type of the messages to log, it can be changed later with {@link FileLogger#setLevel(LoggerPrintType)}.
+         * @param level The minimum type of the messages to log.
+         * @return The builder instance.
+         */
+        public Builder withLevel(LoggerPrintType level) {
+            this.level = level;
+            return this;
+        }
+
+        /**
+         * Roll the file when it gets too big or when a new period starts: the current file is moved next to it,
+         * named after the period and an index (for example "latest.2022-03-25.1.log"), and logging continues in a new file. <br>
+         * Compression of the rolled segments and deletion of the oldest ones happen on a background thread.
+         * @param maxBytes The maximum size of the file before it is rolled, 0 to never roll because of size.
+         * @param interval The interval at which the file is rolled.
+         * @param retention The number of rolled segments to keep, 0 to keep them all.
+         * @param compress <code>true</code> to compress the rolled segments with gzip.
+         * @return The builder instance.
+         */
+        public Builder withRolling(long maxBytes, LoggerRollingInterval interval, int retention, boolean compress) {
+            this.rollingMaxBytes = maxBytes;
+            this.rollingInterval = interval;
+            this.rollingRetention = retention;
+            this.rollingCompression = compress;
+            return this;
+        }
+
+        /**
+         * Log asynchronously: messages are enqueued in a bounded buffer, and written in batches by a background thread. <br>
+         * Pending messages are always written when the logger is closed, or when the JVM shuts down.
+         * @param capacity The capacity of the buffer, rounded up to a power of two.
+         * @param overflowPolicy The behavior when the buffer is full.
+         * @return The builder instance.
+         */
+        public Builder withAsync(int capacity, LoggerOverflowPolicy overflowPolicy) {
+            this.asyncCapacity = capacity;
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Set how the stack traces are deduplicated: each distinct trace is written in full once per file,
+         * the next occurrences being written as a reference to it, and reported periodically as "repeated N times",
+         * after each interval, by a thread of the logger even if nothing else is logged.
+         * @param capacity The maximum number of distinct traces remembered, 0 to always write the traces in full.
+         * @param reportIntervalMillis The interval between two reports of the repeated traces, in milliseconds.
+         * @return The builder instance.
+         */
+        public Builder withStackTraces(int capacity, long reportIntervalMillis) {
+            this.stackTraceCapacity = capacity;
+            this.stackTraceReportInterval = reportIntervalMillis;
+            return this;
+        }
+
+        /**
+         * Limit the rate of similar messages, the messages being similar when they have the same template and the same type. <br>
+         * Each template has its own token bucket, checked without locking before the message is formatted.
+         * The suppressed messages are counted, and reported periodically as "suppressed N similar messages",
+         * after each interval, by a thread of the logger even if nothing else is logged.
+         * @param messagesPerSecond The sustained number of similar messages allowed per second, 0 to not limit the rate.
+         * @param burst The number of similar messages allowed at once, above the sustained rate.
+         * @param reportIntervalMillis The interval between two reports of the suppressed messages, in milliseconds.
+         * @return The builder instance.
+         */
+        public Builder withRateLimit(double messagesPerSecond, int burst, long reportIntervalMillis) {
+            this.rateLimit = messagesPerSecond;
+            this.rateLimitBurst = burst;
+            this.rateLimitReportInterval = reportIntervalMillis;
+            return this;
+        }
+
+        /**
+         * Write a sparse timestamp index next to the file, named after it with the ".idx" extension,
+         * so a time window can be found without scanning the file, with {@link io.github.nullptr.tools.io.TimestampIndexReader}. <br>
+         * The index follows the rolled segments, and is deleted with them, or when they are compressed.
+         * @param intervalBytes The number of bytes between two entries of the index, 0 to not index the file.
+         * @return The builder instance.
+         */
+        public Builder withIndex(long intervalBytes) {
+            this.indexInterval = intervalBytes;
+            return this;
+        }
+
+        /**
+         * Check if the file must be rolled, because of its size or its age.
+         * @return <code>true</code> if rolling is configured.
+         */
+        private boolean isRolling() {
+            return this.rollingMaxBytes > 0 || this.rollingInterval != LoggerRollingInterval.NEVER;
+        }
+
+        /**
+         * Build the file logger.
+         * @return The built file logger.
+         */
+        @Override
+        public FileLogger build() {
+            if (this.path == null || this.prefix == null) {
+                throw new IllegalArgumentException("The path and the prefix of the logger are required.");
+            }
+            if (this.stackTraceReportInterval <= 0) {
+                throw new IllegalArgumentException("The stack trace report interval must be positive.");
+            }
+            if (this.rateLimit > 0 && (this.rateLimitBurst <= 0 || this.rateLimitReportInterval <= 0)) {
+                throw new IllegalArgumentException("The rate limit burst and report interval must be positive.");
+            }
+
+            return new FileLogger(this);
+        }
     }
 }
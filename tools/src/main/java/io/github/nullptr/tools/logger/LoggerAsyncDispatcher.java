@@ -0,0 +1,277 @@
+package io.github.nullptr.tools.logger;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Dispatches encoded log records to a background thread, through a bounded ring buffer. <br>
+ * The background thread drains the buffer in batches, and commits once per batch. <br>
+ * It also runs the tasks given to {@link #execute(Runnable)}: a record dispatched by such a task is written right away,
+ * in order with the drained ones, instead of waiting for room in the buffer the thread itself drains.
+ */
+public class LoggerAsyncDispatcher implements AutoCloseable {
+
+    /**
+     * The maximum number of records written between two commits.
+     */
+    private static final int BATCH_SIZE = 512;
+    /**
+     * The maximum time the background thread sleeps without checking the buffer, in nanoseconds.
+     */
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * The buffer of pending records.
+     */
+    private final LoggerRingBuffer buffer;
+    /**
+     * The behavior when the buffer is full.
+     */
+    private final LoggerOverflowPolicy policy;
+    /**
+     * The sink writing a record, without flushing.
+     */
+    private final LoggerSink sink;
+    /**
+     * The action committing the written records, applying the flush policy of the file.
+     */
+    private final Runnable flusher;
+    /**
+     * The background thread.
+     */
+    private final Thread worker;
+    /**
+     * The number of dropped records.
+     */
+    private final AtomicLong dropped;
+    /**
+     * The number of producers inside {@link #dispatch(long, ByteBuffer)}, which the background thread waits for when closing.
+     */
+    private final AtomicInteger producers;
+    /**
+     * The tasks to run on the background thread.
+     */
+    private final Queue<Runnable> tasks;
+
+    /**
+     * <code>true</code> while the dispatcher accepts new records.
+     */
+    private volatile boolean running;
+    /**
+     * <code>true</code> while the background thread is parked, waiting for records.
+     */
+    private volatile boolean sleeping;
+
+    /**
+     * The LoggerAsyncDispatcher constructor.
+     * @param name The name of the background thread.
+     * @param capacity The capacity of the buffer.
+     * @param policy The behavior when the buffer is full.
+     * @param sink The sink writing a record, without flushing.
+     * @param flusher The action committing the written records, applying the flush policy of the file.
+     */
+    public LoggerAsyncDispatcher(String name, int capacity, LoggerOverflowPolicy policy, LoggerSink sink, Runnable flusher) {
+        this.buffer = new LoggerRingBuffer(capacity);
+        this.policy = policy;
+        this.sink = sink;
+        this.flusher = flusher;
+        this.dropped = new AtomicLong();
+        this.producers = new AtomicInteger();
+        this.tasks = new ConcurrentLinkedQueue<>();
+        this.running = true;
+
+        this.worker = new Thread(this::drainLoop, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Enqueues a copy of a record, applying the overflow policy if the buffer is full.
+     * @param timestamp The time of the record, in milliseconds since the epoch.
+     * @param record The encoded record.
+     */
+    public void dispatch(long timestamp, ByteBuffer record) {
+        if (Thread.currentThread() == this.worker) {
+            this.write(timestamp, record);
+            return;
+        }
+
+        // Counted before checking the state, so a producer which saw the dispatcher running is always waited for.
+        this.producers.incrementAndGet();
+
+        try {
+            this.enqueue(timestamp, record);
+        } finally {
+            this.producers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Enqueues a copy of a record, applying the overflow policy if the buffer is full.
+     * @param timestamp The time of the record, in milliseconds since the epoch.
+     * @param record The encoded record.
+     */
+    private void enqueue(long timestamp, ByteBuffer record) {
+        if (!this.running) {
+            this.dropped.incrementAndGet();
+            return;
+        }
+
+        if (!this.buffer.offer(timestamp, record)) {
+            switch (this.policy) {
+                case DROP:
+                    this.dropped.incrementAndGet();
+                    return;
+                case DROP_OLDEST:
+                    do {
+                        if (this.buffer.poll(null)) this.dropped.incrementAndGet();
+                    } while (!this.buffer.offer(timestamp, record));
+                    break;
+                case BLOCK:
+                    while (!this.buffer.offer(timestamp, record)) {
+                        if (!this.running) {
+                            this.dropped.incrementAndGet();
+                            return;
+                        }
+
+                        this.wakeUp();
+                        LockSupport.parkNanos(1000L);
+                    }
+                    break;
+            }
+        }
+
+        if (this.sleeping) this.wakeUp();
+    }
+
+    /**
+     * Runs a task on the background thread, after the records already in the buffer are written. <br>
+     * It never blocks, and the task is not run if the dispatcher is closed before.
+     * @param task The task to run.
+     */
+    public void execute(Runnable task) {
+        this.tasks.add(task);
+        this.wakeUp();
+    }
+
+    /**
+     * Get the number of records dropped because the buffer was full or the dispatcher closed.
+     * @return The number of dropped records.
+     */
+    public long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Stops accepting records, and waits for the background thread to write all the pending ones.
+     */
+    @Override
+    public void close() {
+        this.running = false;
+        this.wakeUp();
+
+        if (Thread.currentThread() == this.worker) return;
+
+        boolean interrupted = false;
+        while (this.worker.isAlive()) {
+            try {
+                this.worker.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Wakes up the background thread.
+     */
+    private void wakeUp() {
+        LockSupport.unpark(this.worker);
+    }
+
+    /**
+     * The background thread loop, draining the buffer until the dispatcher is closed, no producer is enqueuing, and the buffer is empty.
+     */
+    private void drainLoop() {
+        while (true) {
+            if (this.drain() > 0) continue;
+            if (this.runTasks()) continue;
+
+            if (!this.running) {
+                // A producer which saw the dispatcher running may still be offering its record: it is waited for, then drained.
+                if (this.producers.get() == 0 && this.buffer.isEmpty()) break;
+
+                Thread.yield();
+                continue;
+            }
+
+            this.sleeping = true;
+            if (this.buffer.isEmpty() && this.tasks.isEmpty() && this.running) {
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+            this.sleeping = false;
+        }
+
+        this.flusher.run();
+    }
+
+    /**
+     * Runs the pending tasks, then commits the records they wrote.
+     * @return <code>true</code> if a task was run.
+     */
+    private boolean runTasks() {
+        Runnable task = this.tasks.poll();
+        if (task == null) return false;
+
+        do {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                // A failing task must not stop the background thread.
+            }
+        } while ((task = this.tasks.poll()) != null);
+
+        this.flusher.run();
+        return true;
+    }
+
+    /**
+     * Writes a record dispatched by the background thread itself, counting it as dropped if it can't be written.
+     * @param timestamp The time of the record, in milliseconds since the epoch.
+     * @param record The encoded record.
+     */
+    private void write(long timestamp, ByteBuffer record) {
+        try {
+            this.sink.write(timestamp, record);
+        } catch (RuntimeException e) {
+            this.dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Writes a batch of records, then commits them.
+     * @return The number of written records.
+     */
+    private int drain() {
+        int count = 0;
+
+        while (count < BATCH_SIZE) {
+            try {
+                if (!this.buffer.poll(this.sink)) break;
+            } catch (RuntimeException e) {
+                this.dropped.incrementAndGet();
+            }
+            count++;
+        }
+
+        if (count > 0) this.flusher.run();
+        return count;
+    }
+}
@@ -0,0 +1,192 @@
+package io.github.nullptr.tools.logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Renders binary log files back to the text format of the {@link FileLogger}. <br>
+ * Gzip-compressed files, such as rolled segments, are decompressed on the fly. <br>
+ * It can be used from the command line: <code>java -cp tools.jar io.github.nullptr.tools.logger.LoggerBinaryDecoder &lt;input&gt; [output]</code>
+ */
+public class LoggerBinaryDecoder {
+
+    /**
+     * The first byte of gzip-compressed files.
+     */
+    private static final int GZIP_MAGIC = 0x1F;
+
+    /**
+     * Decodes a binary log file from the command line, to the given output file or to the standard output.
+     * @param args The path of the binary log file, and optionally the path of the output file.
+     * @throws IOException If the file can't be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: LoggerBinaryDecoder <input> [output]");
+            System.exit(1);
+            return;
+        }
+
+        final Path input = Paths.get(args[0]);
+
+        if (args.length == 2) {
+            try (final OutputStream output = new BufferedOutputStream(Files.newOutputStream(Paths.get(args[1])))) {
+                LoggerBinaryDecoder.decode(input, output);
+            }
+        } else {
+            final OutputStream output = new BufferedOutputStream(System.out);
+
+            LoggerBinaryDecoder.decode(input, output);
+            output.flush();
+        }
+    }
+
+    /**
+     * Decodes a binary log file to text.
+     * @param input The path of the binary log file, compressed with gzip or not.
+     * @param output The stream to write the text lines to.
+     * @return The number of decoded records.
+     * @throws IOException If the file can't be read, is not a binary log file, or the output can't be written.
+     */
+    public static long decode(Path input, OutputStream output) throws IOException {
+        try (final InputStream stream = new BufferedInputStream(Files.newInputStream(input), 64 * 1024)) {
+            stream.mark(1);
+            final boolean compressed = stream.read() == GZIP_MAGIC;
+            stream.reset();
+
+            return LoggerBinaryDecoder.decode(compressed ? new BufferedInputStream(new GZIPInputStream(stream, 64 * 1024)) : stream, output);
+        }
+    }
+
+    /**
+     * Decodes a binary log stream to text.
+     * @param input The binary log stream, not compressed.
+     * @param output The stream to write the text lines to.
+     * @return The number of decoded records.
+     * @throws IOException If the stream can't be read, is not a binary log stream, or the output can't be written.
+     */
+    public static long decode(InputStream input, OutputStream output) throws IOException {
+        final DataInputStream data = new DataInputStream(input);
+        final Map<Integer, LoggerPrefix> prefixes = new HashMap<>();
+        final LoggerEncoder encoder = LoggerEncoder.get();
+        byte[] message = new byte[256];
+        long count = 0;
+
+        LoggerBinaryDecoder.readHeader(data);
+
+        int tag;
+        while ((tag = data.read()) != -1) {
+            if (tag == 0) {
+                // The zeros pre-allocated by a memory-mapped file that was not closed.
+                break;
+            } else if (tag == LoggerBinaryFormat.PREFIX_TAG) {
+                final int id = LoggerBinaryDecoder.readVarInt(data);
+                final byte[] name = new byte[LoggerBinaryDecoder.readVarInt(data)];
+
+                data.readFully(name);
+                prefixes.put(id, new LoggerPrefix(id, new String(name, StandardCharsets.UTF_8)));
+            } else if (tag == LoggerBinaryFormat.RECORD_TAG) {
+                final long nanos;
+                final int severity;
+                final int prefixId;
+                final int length;
+
+                try {
+                    nanos = data.readLong();
+                    severity = data.readUnsignedByte();
+                    prefixId = LoggerBinaryDecoder.readVarInt(data);
+                    length = LoggerBinaryDecoder.readVarInt(data);
+
+                    if (message.length < length) message = new byte[Math.max(length, message.length * 2)];
+                    data.readFully(message, 0, length);
+                } catch (EOFException e) {
+                    // The last record was cut, for example by a crash.
+                    break;
+                }
+
+                final LoggerPrintType type = LoggerPrintType.fromSeverity(severity);
+                if (type == null) throw new IOException("Unknown severity " + severity + " in record " + count);
+
+                final LoggerPrefix prefix = prefixes.computeIfAbsent(prefixId, id -> new LoggerPrefix(id, "#" + id));
+                final ByteBuffer line = encoder.encode(Math.floorDiv(nanos, 1_000_000L), type, prefix, new String(message, 0, length, StandardCharsets.UTF_8));
+
+                output.write(line.array(), line.arrayOffset() + line.position(), line.remaining());
+                count++;
+            } else if (tag == LoggerBinaryFormat.MAGIC[0]) {
+                // Files are concatenated, for example after a crash or when decoding several segments at once.
+                LoggerBinaryDecoder.readHeaderTail(data);
+                prefixes.clear();
+            } else {
+                throw new IOException("Unknown tag " + tag + " after record " + count);
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Reads and checks the magic bytes and the version.
+     * @param data The binary log stream.
+     * @throws IOException If the stream is not a binary log stream.
+     */
+    private static void readHeader(DataInputStream data) throws IOException {
+        if (data.read() != LoggerBinaryFormat.MAGIC[0]) {
+            throw new IOException("Not a binary log file: bad magic bytes.");
+        }
+
+        LoggerBinaryDecoder.readHeaderTail(data);
+    }
+
+    /**
+     * Reads and checks the magic bytes, after the first one, and the version.
+     * @param data The binary log stream.
+     * @throws IOException If the stream is not a binary log stream.
+     */
+    private static void readHeaderTail(DataInputStream data) throws IOException {
+        final byte[] magic = new byte[LoggerBinaryFormat.MAGIC.length - 1];
+        data.readFully(magic);
+
+        if (!Arrays.equals(magic, Arrays.copyOfRange(LoggerBinaryFormat.MAGIC, 1, LoggerBinaryFormat.MAGIC.length))) {
+            throw new IOException("Not a binary log file: bad magic bytes.");
+        }
+
+        final int version = data.readUnsignedByte();
+        if (version != LoggerBinaryFormat.VERSION) {
+            throw new IOException("Unsupported binary log version " + version);
+        }
+    }
+
+    /**
+     * Reads a variable-length integer.
+     * @param data The binary log stream.
+     * @return The read integer.
+     * @throws IOException If the stream ends in the middle of the integer.
+     */
+    private static int readVarInt(DataInputStream data) throws IOException {
+        int value = 0;
+
+        for (int shift = 0; shift < 35; shift += 7) {
+            final int read = data.read();
+            if (read == -1) throw new EOFException("Truncated variable-length integer.");
+
+            value |= (read & 0x7F) << shift;
+            if ((read & 0x80) == 0) return value;
+        }
+
+        throw new IOException("Malformed variable-length integer.");
+    }
+}
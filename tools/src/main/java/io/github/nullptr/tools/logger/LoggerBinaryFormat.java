@@ -0,0 +1,109 @@
+package io.github.nullptr.tools.logger;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The layout of the binary log files. <br>
+ * A file starts with the magic bytes and the version, followed by entries, each starting with a tag byte:
+ * <ul>
+ *     <li>a prefix definition: the tag, the prefix id (varint), the length of the name (varint) and the UTF-8 name,</li>
+ *     <li>a record: the tag, the time in nanoseconds since the epoch (8 bytes, big-endian), the severity of the type (1 byte),
+ *     the prefix id (varint), the length of the message (varint) and the UTF-8 message.</li>
+ * </ul>
+ * A prefix is always defined before the first record using it.
+ */
+public class LoggerBinaryFormat {
+
+    /**
+     * The magic bytes starting each binary log file.
+     */
+    static final byte[] MAGIC = {'N', 'P', 'L', 'O', 'G'};
+    /**
+     * The version of the layout.
+     */
+    static final byte VERSION = 1;
+    /**
+     * The tag of a prefix definition.
+     */
+    static final byte PREFIX_TAG = 1;
+    /**
+     * The tag of a record.
+     */
+    static final byte RECORD_TAG = 2;
+
+    /**
+     * Encodes the header of a binary log file, with the definitions of the given prefixes.
+     * @param prefixes The prefixes to define.
+     * @return The encoded header, ready to be read.
+     */
+    public static ByteBuffer header(Iterable<LoggerPrefix> prefixes) {
+        int length = MAGIC.length + 1;
+        for (final LoggerPrefix prefix : prefixes) {
+            length += LoggerBinaryFormat.definitionLength(prefix);
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.put(MAGIC).put(VERSION);
+
+        for (final LoggerPrefix prefix : prefixes) {
+            LoggerBinaryFormat.putDefinition(buffer, prefix);
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Get the length of the definition of a prefix.
+     * @param prefix The prefix.
+     * @return The length of the definition, in bytes.
+     */
+    static int definitionLength(LoggerPrefix prefix) {
+        final int nameLength = prefix.getName().getBytes(StandardCharsets.UTF_8).length;
+        return 1 + LoggerBinaryFormat.varIntLength(prefix.getId()) + LoggerBinaryFormat.varIntLength(nameLength) + nameLength;
+    }
+
+    /**
+     * Writes the definition of a prefix.
+     * @param buffer The buffer to write to.
+     * @param prefix The prefix.
+     */
+    static void putDefinition(ByteBuffer buffer, LoggerPrefix prefix) {
+        final byte[] name = prefix.getName().getBytes(StandardCharsets.UTF_8);
+
+        buffer.put(PREFIX_TAG);
+        LoggerBinaryFormat.putVarInt(buffer, prefix.getId());
+        LoggerBinaryFormat.putVarInt(buffer, name.length);
+        buffer.put(name);
+    }
+
+    /**
+     * Get the number of bytes of a variable-length integer.
+     * @param value The non-negative integer.
+     * @return The number of bytes, from 1 to 5.
+     */
+    static int varIntLength(int value) {
+        int length = 1;
+
+        while ((value >>>= 7) != 0) {
+            length++;
+        }
+
+        return length;
+    }
+
+    /**
+     * Writes a variable-length integer, 7 bits per byte with the high bit set on all bytes but the last.
+     * @param buffer The buffer to write to.
+     * @param value The non-negative integer.
+     */
+    static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        buffer.put((byte) value);
+    }
+}
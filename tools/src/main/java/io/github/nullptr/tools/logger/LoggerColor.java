@@ -1,5 +1,7 @@
 package io.github.nullptr.tools.logger;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Enum for the colors of the logger.
  */
@@ -23,6 +25,10 @@ public enum LoggerColor {
     CYAN("\u001B[36m");
 
     private final String color;
+    /**
+     * The color, encoded in UTF-8.
+     */
+    private final byte[] bytes;
 
     /**
      * The LoggerColor constructor.
@@ -30,6 +36,16 @@ public enum LoggerColor {
      */
     LoggerColor(final String color) {
         this.color = color;
+        this.bytes = color.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get the color, encoded in UTF-8. <br>
+     * /!\ The returned array is shared, it must not be modified.
+     * @return The encoded color.
+     */
+    public byte[] getBytes() {
+        return this.bytes;
     }
 
     /**
@@ -0,0 +1,194 @@
+package io.github.nullptr.tools.logger;
+
+import io.github.nullptr.tools.string.Utf8Helper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.TimeZone;
+
+/**
+ * Encodes log lines to UTF-8, without allocating once warmed up. <br>
+ * Each thread owns its encoder, holding a reusable builder and buffer, and a timestamp cached for the current second.
+ */
+public class LoggerEncoder {
+
+    /**
+     * The encoder of each thread.
+     */
+    private static final ThreadLocal<LoggerEncoder> ENCODERS = ThreadLocal.withInitial(LoggerEncoder::new);
+    /**
+     * The time zone used to format timestamps.
+     */
+    private static final TimeZone TIME_ZONE = TimeZone.getDefault();
+    /**
+     * The line separator of the system, encoded in UTF-8.
+     */
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    /**
+     * The initial capacity of the buffer.
+     */
+    private static final int INITIAL_CAPACITY = 512;
+    /**
+     * The capacity above which the builder and the buffer are not retained, to not keep huge messages in memory.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    /**
+     * The formatted timestamp of the cached second, as "[hh:mm:ss] ".
+     */
+    private final byte[] timestamp;
+    /**
+     * The cached second, since the epoch.
+     */
+    private long second;
+    /**
+     * The reusable buffer.
+     */
+    private ByteBuffer buffer;
+    /**
+     * The reusable builder, used to format messages.
+     */
+    private StringBuilder builder;
+    /**
+     * The number of builders acquired and not released yet, above one when a message is logged while formatting another.
+     */
+    private int depth;
+
+    /**
+     * The LoggerEncoder constructor.
+     */
+    private LoggerEncoder() {
+        this.timestamp = "[00:00:00] ".getBytes(StandardCharsets.US_ASCII);
+        this.second = Long.MIN_VALUE;
+        this.buffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+        this.builder = new StringBuilder(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Get the encoder of the current thread.
+     * @return The encoder of the current thread.
+     */
+    public static LoggerEncoder get() {
+        return ENCODERS.get();
+    }
+
+    /**
+     * Acquires the reusable builder of the encoder, cleared. <br>
+     * If it is already acquired, by a message logged while formatting another one, like in the <code>toString</code> of an argument,
+     * a new builder is returned instead, so the outer message is not overwritten.
+     * /!\ The builder must be given back with {@link #release(StringBuilder)} once the message is encoded.
+     * @return The cleared builder.
+     */
+    public StringBuilder acquire() {
+        if (this.depth++ > 0) return new StringBuilder(INITIAL_CAPACITY);
+
+        this.builder.setLength(0);
+        return this.builder;
+    }
+
+    /**
+     * Releases a builder acquired with {@link #acquire()}, replacing the reusable one if it grew too big to be retained.
+     * @param builder The acquired builder.
+     */
+    public void release(StringBuilder builder) {
+        this.depth--;
+
+        if (builder == this.builder && builder.capacity() > MAX_RETAINED_CAPACITY) {
+            this.builder = new StringBuilder(INITIAL_CAPACITY);
+        }
+    }
+
+    /**
+     * Encodes a log line, as "color[hh:mm:ss] [prefix] [type]: message reset" followed by the line separator.
+     * @param millis The time of the line, in milliseconds since the epoch.
+     * @param type The type of the line.
+     * @param prefix The prefix of the line.
+     * @param message The message of the line.
+     * @return The reusable buffer holding the encoded line, ready to be read.
+     */
+    public ByteBuffer encode(long millis, LoggerPrintType type, LoggerPrefix prefix, CharSequence message) {
+        final CharSequence text = message == null ? "null" : message;
+        final byte[] header = prefix.getHeader(type);
+        final byte[] color = type.getColor().getBytes();
+        final byte[] reset = LoggerColor.RESET.getBytes();
+        final int length = color.length + this.timestamp.length + header.length + Utf8Helper.encodedLength(text, 0, text.length()) + reset.length + LINE_SEPARATOR.length;
+
+        this.updateTimestamp(millis);
+
+        final ByteBuffer buffer = this.prepare(length);
+        buffer.put(color).put(this.timestamp).put(header);
+        Utf8Helper.encode(text, 0, text.length(), buffer);
+        buffer.put(reset).put(LINE_SEPARATOR);
+        buffer.flip();
+
+        return buffer;
+    }
+
+    /**
+     * Encodes a binary log record, as described by {@link LoggerBinaryFormat}.
+     * @param millis The time of the record, in milliseconds since the epoch.
+     * @param type The type of the record.
+     * @param prefix The prefix of the record.
+     * @param message The message of the record.
+     * @return The reusable buffer holding the encoded record, ready to be read.
+     */
+    public ByteBuffer encodeBinary(long millis, LoggerPrintType type, LoggerPrefix prefix, CharSequence message) {
+        final CharSequence text = message == null ? "null" : message;
+        final int messageLength = Utf8Helper.encodedLength(text, 0, text.length());
+        final int length = 1 + Long.BYTES + 1 + LoggerBinaryFormat.varIntLength(prefix.getId()) + LoggerBinaryFormat.varIntLength(messageLength) + messageLength;
+
+        final ByteBuffer buffer = this.prepare(length);
+        buffer.put(LoggerBinaryFormat.RECORD_TAG).putLong(millis * 1_000_000L).put((byte) type.getSeverity());
+        LoggerBinaryFormat.putVarInt(buffer, prefix.getId());
+        LoggerBinaryFormat.putVarInt(buffer, messageLength);
+        Utf8Helper.encode(text, 0, text.length(), buffer);
+        buffer.flip();
+
+        return buffer;
+    }
+
+    /**
+     * Clears the buffer, and grows it if it can't hold the given number of bytes. <br>
+     * A line too big to be retained is given its own buffer, left to the garbage collector once written.
+     * @param length The number of bytes to hold.
+     * @return The cleared buffer.
+     */
+    private ByteBuffer prepare(int length) {
+        if (length > MAX_RETAINED_CAPACITY) return ByteBuffer.allocate(length);
+
+        if (this.buffer.capacity() < length) {
+            this.buffer = ByteBuffer.allocate(Math.min(MAX_RETAINED_CAPACITY, Math.max(length, this.buffer.capacity() * 2)));
+        }
+
+        this.buffer.clear();
+        return this.buffer;
+    }
+
+    /**
+     * Formats the timestamp again if the second changed since the last line.
+     * @param millis The time of the line, in milliseconds since the epoch.
+     */
+    private void updateTimestamp(long millis) {
+        final long second = Math.floorDiv(millis, 1000L);
+        if (second == this.second) return;
+
+        final long local = Math.floorDiv(millis + TIME_ZONE.getOffset(millis), 1000L);
+        final int secondOfDay = (int) Math.floorMod(local, 86400L);
+        final int hour = secondOfDay / 3600 % 12;
+
+        this.writeTwoDigits(1, hour == 0 ? 12 : hour);
+        this.writeTwoDigits(4, secondOfDay / 60 % 60);
+        this.writeTwoDigits(7, secondOfDay % 60);
+        this.second = second;
+    }
+
+    /**
+     * Writes a number of two digits in the timestamp.
+     * @param index The index of the first digit.
+     * @param value The number to write.
+     */
+    private void writeTwoDigits(int index, int value) {
+        this.timestamp[index] = (byte) ('0' + value / 10);
+        this.timestamp[index + 1] = (byte) ('0' + value % 10);
+    }
+}
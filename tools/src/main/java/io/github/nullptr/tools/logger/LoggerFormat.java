@@ -0,0 +1,16 @@
+package io.github.nullptr.tools.logger;
+
+/**
+ * Enum for the formats a logger writes its records in.
+ */
+public enum LoggerFormat {
+
+    /**
+     * Human-readable colored lines, as "[hh:mm:ss] [prefix] [type]: message".
+     */
+    TEXT,
+    /**
+     * Compact binary records, rendered back to text with {@link LoggerBinaryDecoder}.
+     */
+    BINARY
+}
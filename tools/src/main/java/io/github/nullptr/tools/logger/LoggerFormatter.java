@@ -0,0 +1,120 @@
+package io.github.nullptr.tools.logger;
+
+import java.util.Arrays;
+
+/**
+ * Formats parameterized log messages, where each "{}" is replaced by the next argument. <br>
+ * Placeholders without argument are kept as is, and arguments without placeholder are ignored.
+ */
+public class LoggerFormatter {
+
+    /**
+     * The placeholder replaced by an argument.
+     */
+    private static final String PLACEHOLDER = "{}";
+
+    /**
+     * Formats a message with one argument, without boxing it.
+     * @param builder The builder to append the message to.
+     * @param pattern The message pattern.
+     * @param argument The argument.
+     * @return The builder.
+     */
+    public static StringBuilder format(StringBuilder builder, String pattern, long argument) {
+        if (pattern == null) return builder.append((String) null);
+
+        final int placeholder = pattern.indexOf(PLACEHOLDER);
+
+        if (placeholder < 0) return builder.append(pattern);
+        return builder.append(pattern, 0, placeholder).append(argument).append(pattern, placeholder + PLACEHOLDER.length(), pattern.length());
+    }
+
+    /**
+     * Formats a message with one argument.
+     * @param builder The builder to append the message to.
+     * @param pattern The message pattern.
+     * @param argument The argument.
+     * @return The builder.
+     */
+    public static StringBuilder format(StringBuilder builder, String pattern, Object argument) {
+        return LoggerFormatter.format(builder, pattern, 1, argument, null, null);
+    }
+
+    /**
+     * Formats a message with two arguments.
+     * @param builder The builder to append the message to.
+     * @param pattern The message pattern.
+     * @param first The first argument.
+     * @param second The second argument.
+     * @return The builder.
+     */
+    public static StringBuilder format(StringBuilder builder, String pattern, Object first, Object second) {
+        return LoggerFormatter.format(builder, pattern, 2, first, second, null);
+    }
+
+    /**
+     * Formats a message with any number of arguments.
+     * @param builder The builder to append the message to.
+     * @param pattern The message pattern.
+     * @param arguments The arguments.
+     * @return The builder.
+     */
+    public static StringBuilder format(StringBuilder builder, String pattern, Object... arguments) {
+        if (arguments == null) return builder.append(pattern);
+        return LoggerFormatter.format(builder, pattern, arguments.length, null, null, arguments);
+    }
+
+    /**
+     * Formats a message with the first arguments of an array, the next ones being ignored.
+     * @param builder The builder to append the message to.
+     * @param pattern The message pattern.
+     * @param arguments The arguments, or <code>null</code> if there is none.
+     * @param count The number of arguments to use.
+     * @return The builder.
+     */
+    public static StringBuilder format(StringBuilder builder, String pattern, Object[] arguments, int count) {
+        if (arguments == null || count <= 0) return builder.append(pattern);
+        return LoggerFormatter.format(builder, pattern, Math.min(count, arguments.length), null, null, arguments);
+    }
+
+    /**
+     * Formats a message, taking the arguments either from the two first ones or from the array.
+     * @param builder The builder to append the message to.
+     * @param pattern The message pattern.
+     * @param count The number of arguments.
+     * @param first The first argument, if there is no array.
+     * @param second The second argument, if there is no array.
+     * @param arguments The arguments, or <code>null</code> to use the two first ones.
+     * @return The builder.
+     */
+    private static StringBuilder format(StringBuilder builder, String pattern, int count, Object first, Object second, Object[] arguments) {
+        if (pattern == null) return builder.append((String) null);
+
+        int start = 0;
+        int index = 0;
+
+        while (index < count) {
+            final int placeholder = pattern.indexOf(PLACEHOLDER, start);
+            if (placeholder < 0) break;
+
+            builder.append(pattern, start, placeholder);
+            LoggerFormatter.appendArgument(builder, arguments != null ? arguments[index] : index == 0 ? first : second);
+
+            start = placeholder + PLACEHOLDER.length();
+            index++;
+        }
+
+        return builder.append(pattern, start, pattern.length());
+    }
+
+    /**
+     * Appends an argument, rendering arrays with their content.
+     * @param builder The builder to append the argument to.
+     * @param argument The argument.
+     */
+    private static void appendArgument(StringBuilder builder, Object argument) {
+        if (argument instanceof Object[]) builder.append(Arrays.deepToString((Object[]) argument));
+        else if (argument instanceof CharSequence) builder.append((CharSequence) argument);
+        else builder.append(argument);
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.nullptr.tools.logger;
+
+/**
+ * Enum for the behaviors of an asynchronous logger when its buffer is full.
+ */
+public enum LoggerOverflowPolicy {
+
+    /**
+     * The caller waits until there is room in the buffer.
+     */
+    BLOCK,
+    /**
+     * The new message is dropped.
+     */
+    DROP,
+    /**
+     * The oldest pending message is dropped to make room for the new one.
+     */
+    DROP_OLDEST
+}
@@ -0,0 +1,65 @@
+package io.github.nullptr.tools.logger;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A logger prefix, with its interned id and its pre-encoded text headers.
+ */
+public class LoggerPrefix {
+
+    /**
+     * The id of the prefix, unique in its logger.
+     */
+    private final int id;
+    /**
+     * The name of the prefix.
+     */
+    private final String name;
+    /**
+     * The encoded text headers, as "[prefix] [type]: ", by type ordinal.
+     */
+    private final byte[][] headers;
+
+    /**
+     * The LoggerPrefix constructor.
+     * @param id The id of the prefix, unique in its logger.
+     * @param name The name of the prefix.
+     */
+    public LoggerPrefix(int id, String name) {
+        this.id = id;
+        this.name = name;
+
+        final LoggerPrintType[] types = LoggerPrintType.values();
+        this.headers = new byte[types.length][];
+
+        for (final LoggerPrintType type : types) {
+            this.headers[type.ordinal()] = ("[" + name + "] [" + type + "]: ").getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Get the id of the prefix.
+     * @return The id of the prefix.
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Get the name of the prefix.
+     * @return The name of the prefix.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Get the encoded text header of a message type. <br>
+     * /!\ The returned array is shared, it must not be modified.
+     * @param type The type of the message.
+     * @return The encoded header, as "[prefix] [type]: ".
+     */
+    public byte[] getHeader(LoggerPrintType type) {
+        return this.headers[type.ordinal()];
+    }
+}
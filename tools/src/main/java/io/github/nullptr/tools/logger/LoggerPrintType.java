@@ -8,28 +8,64 @@ public enum LoggerPrintType {
     /**
      * The message is an info message.
      */
-    INFO(LoggerColor.RESET),
+    INFO(LoggerColor.RESET, 20),
     /**
      * The message is a debug message.
      */
-    DEBUG(LoggerColor.CYAN),
+    DEBUG(LoggerColor.CYAN, 10),
     /**
      * The message is an error message.
      */
-    ERROR(LoggerColor.RED),
+    ERROR(LoggerColor.RED, 40),
     /**
      * The message is a warning message.
      */
-    WARNING(LoggerColor.YELLOW);
+    WARNING(LoggerColor.YELLOW, 30);
 
     private final LoggerColor color;
+    /**
+     * The severity of the message, higher is more severe.
+     */
+    private final int severity;
 
     /**
      * The LoggerPrintType constructor.
      * @param color The color of the message
+     * @param severity The severity of the message
      */
-    LoggerPrintType(final LoggerColor color) {
+    LoggerPrintType(final LoggerColor color, final int severity) {
         this.color = color;
+        this.severity = severity;
+    }
+
+    /**
+     * Get the severity of the message, higher is more severe.
+     * @return The severity of the message
+     */
+    public int getSeverity() {
+        return this.severity;
+    }
+
+    /**
+     * Get the type of a severity.
+     * @param severity The severity of the message
+     * @return The type with this severity, or <code>null</code> if there is none
+     */
+    public static LoggerPrintType fromSeverity(final int severity) {
+        for (final LoggerPrintType type : LoggerPrintType.values()) {
+            if (type.severity == severity) return type;
+        }
+
+        return null;
+    }
+
+    /**
+     * Check if the message is at least as severe as another type.
+     * @param other The other type
+     * @return <code>true</code> if the message is at least as severe as the other type
+     */
+    public boolean isAtLeast(final LoggerPrintType other) {
+        return this.severity >= other.severity;
     }
 
     /**
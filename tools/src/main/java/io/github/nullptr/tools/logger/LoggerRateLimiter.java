@@ -0,0 +1,238 @@
+package io.github.nullptr.tools.logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Limits the rate of similar messages, the messages being similar when they have the same template and the same type. <br>
+ * Each template has its own token bucket, implemented as a generic cell rate algorithm: a single timestamp per bucket,
+ * updated with a compare-and-set, so the hot path never locks. The suppressed messages are counted,
+ * the counters being reported periodically by the logger as "suppressed N similar messages". <br>
+ * The slot of a template whose bucket is full again, and whose suppressed messages were reported, is reclaimed for a new template.
+ * /!\ When no slot can be found for a template, because too many distinct templates are limited at once,
+ * its messages are not limited, and counted in the reports.
+ */
+public class LoggerRateLimiter {
+
+    /**
+     * The maximum number of slots looked at to find the bucket of a template.
+     */
+    private static final int MAX_PROBES = 8;
+
+    /**
+     * The time between two permits, in nanoseconds.
+     */
+    private final long emissionInterval;
+    /**
+     * The maximum advance of the theoretical arrival time over the current time, in nanoseconds.
+     */
+    private final long tolerance;
+    /**
+     * The buckets, by type ordinal.
+     */
+    private final Buckets[] buckets;
+
+    /**
+     * The LoggerRateLimiter constructor.
+     * @param messagesPerSecond The sustained number of similar messages allowed per second.
+     * @param burst The number of similar messages allowed at once, above the sustained rate.
+     * @param capacity The maximum number of distinct templates per type, rounded up to a power of two.
+     */
+    public LoggerRateLimiter(double messagesPerSecond, int burst, int capacity) {
+        if (messagesPerSecond <= 0 || burst <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("The rate, the burst and the capacity must be positive.");
+        }
+
+        this.emissionInterval = Math.max(1, (long) (1_000_000_000L / messagesPerSecond));
+        this.tolerance = this.emissionInterval * burst;
+
+        final int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.buckets = new Buckets[LoggerPrintType.values().length];
+
+        for (int i = 0; i < this.buckets.length; i++) {
+            this.buckets[i] = new Buckets(size);
+        }
+    }
+
+    /**
+     * Takes a permit for a message, or counts it as suppressed.
+     * @param prefix The prefix of the message, reported with the suppressed messages.
+     * @param type The type of the message.
+     * @param template The template of the message: its pattern, or any object identifying its call site.
+     * @return <code>true</code> if the message can be logged.
+     */
+    public boolean tryAcquire(LoggerPrefix prefix, LoggerPrintType type, Object template) {
+        if (template == null) return true;
+
+        final Buckets buckets = this.buckets[type.ordinal()];
+        final long now = System.nanoTime();
+        final int slot = buckets.slot(template, now);
+
+        if (slot < 0) {
+            buckets.unlimitedPrefix = prefix;
+            buckets.unlimited.incrementAndGet();
+            return true;
+        }
+
+        while (true) {
+            final long arrival = buckets.arrivals.get(slot);
+            final long next = (arrival == 0 || now - arrival > 0 ? now : arrival) + this.emissionInterval;
+
+            if (next - now > this.tolerance) {
+                buckets.prefixes.lazySet(slot, prefix);
+                buckets.suppressed.incrementAndGet(slot);
+                return false;
+            }
+
+            if (buckets.arrivals.compareAndSet(slot, arrival, next)) return true;
+        }
+    }
+
+    /**
+     * Reports the templates having suppressed messages since the last report, and resets their counters.
+     * @param reporter The consumer of the report lines, called with the prefix and the type of the suppressed messages.
+     * @param builder The builder to write the report lines to, cleared before each line.
+     */
+    public void report(Reporter reporter, StringBuilder builder) {
+        final LoggerPrintType[] types = LoggerPrintType.values();
+
+        for (int ordinal = 0; ordinal < this.buckets.length; ordinal++) {
+            final Buckets buckets = this.buckets[ordinal];
+
+            if (buckets.unlimited.get() != 0) {
+                final long unlimited = buckets.unlimited.getAndSet(0);
+
+                builder.setLength(0);
+                builder.append("Did not rate limit ").append(unlimited).append(unlimited == 1 ? " message" : " messages")
+                        .append(": too many distinct templates");
+
+                reporter.report(buckets.unlimitedPrefix, types[ordinal], builder);
+            }
+
+            for (int slot = 0; slot < buckets.templates.length(); slot++) {
+                if (buckets.suppressed.get(slot) == 0) continue;
+
+                final long suppressed = buckets.suppressed.getAndSet(slot, 0);
+                if (suppressed == 0) continue;
+
+                final Object template = buckets.templates.get(slot);
+
+                builder.setLength(0);
+                builder.append("Suppressed ").append(suppressed).append(suppressed == 1 ? " similar message: " : " similar messages: ")
+                        .append(template instanceof Class ? ((Class<?>) template).getName() : template);
+
+                reporter.report(buckets.prefixes.get(slot), types[ordinal], builder);
+            }
+        }
+    }
+
+    /**
+     * Get the number of messages not limited since the last report, because no slot could be found for their template.
+     * @return The number of messages let through without limit.
+     */
+    public long getUnlimitedCount() {
+        long unlimited = 0;
+
+        for (final Buckets buckets : this.buckets) {
+            unlimited += buckets.unlimited.get();
+        }
+
+        return unlimited;
+    }
+
+    /**
+     * The consumer of the report lines.
+     */
+    @FunctionalInterface
+    public interface Reporter {
+
+        /**
+         * Reports the suppressed messages of a template.
+         * @param prefix The prefix of the last suppressed message.
+         * @param type The type of the suppressed messages.
+         * @param line The report line.
+         */
+        void report(LoggerPrefix prefix, LoggerPrintType type, CharSequence line);
+    }
+
+    /**
+     * The buckets of a type, in an open-addressing table whose slots are claimed by a template, and reclaimed once it is idle.
+     */
+    private static class Buckets {
+
+        /**
+         * The templates, by slot, or <code>null</code> if the slot is free.
+         */
+        private final AtomicReferenceArray<Object> templates;
+        /**
+         * The theoretical arrival times of the next messages, in nanoseconds, by slot.
+         */
+        private final AtomicLongArray arrivals;
+        /**
+         * The numbers of suppressed messages since the last report, by slot.
+         */
+        private final AtomicLongArray suppressed;
+        /**
+         * The prefixes of the last suppressed messages, by slot.
+         */
+        private final AtomicReferenceArray<LoggerPrefix> prefixes;
+        /**
+         * The number of messages not limited since the last report, because no slot could be found for their template.
+         */
+        private final AtomicLong unlimited;
+        /**
+         * The prefix of the last message not limited.
+         */
+        private volatile LoggerPrefix unlimitedPrefix;
+
+        /**
+         * The Buckets constructor.
+         * @param size The number of slots, a power of two.
+         */
+        private Buckets(int size) {
+            this.templates = new AtomicReferenceArray<>(size);
+            this.arrivals = new AtomicLongArray(size);
+            this.suppressed = new AtomicLongArray(size);
+            this.prefixes = new AtomicReferenceArray<>(size);
+            this.unlimited = new AtomicLong();
+        }
+
+        /**
+         * Get the slot of a template, claiming a free one the first time, or else reclaiming an idle one around its hash. <br>
+         * A slot is idle when its bucket is full again, its next permit being due, and its suppressed messages were reported,
+         * so a reclaimed slot starts with a full bucket, as a new one.
+         * @param template The template.
+         * @param now The current time, in nanoseconds.
+         * @return The slot of the template, or -1 if the table is too full around its hash.
+         */
+        private int slot(Object template, long now) {
+            final int hash = template.hashCode();
+            final int mask = this.templates.length() - 1;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            int idle = -1;
+            Object idleTemplate = null;
+
+            for (int probe = 0; probe < MAX_PROBES; probe++) {
+                Object current = this.templates.get(slot);
+
+                if (current == null) {
+                    if (this.templates.compareAndSet(slot, null, template)) return slot;
+                    current = this.templates.get(slot);
+                }
+
+                if (current == template || current.equals(template)) return slot;
+
+                if (idle < 0 && now - this.arrivals.get(slot) >= 0 && this.suppressed.get(slot) == 0) {
+                    idle = slot;
+                    idleTemplate = current;
+                }
+
+                slot = (slot + 1) & mask;
+            }
+
+            // Another thread may reclaim the same slot first, the template is then left without limit this time.
+            return idle >= 0 && this.templates.compareAndSet(idle, idleTemplate, template) ? idle : -1;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package io.github.nullptr.tools.logger;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded lock-free ring buffer of encoded log records, safe for many producers and many consumers. <br>
+ * Each slot carries a sequence number telling whether it is ready to be written or read,
+ * so producers and consumers only contend on a single compare-and-set of their own cursor. <br>
+ * Slots are allocated once and records are copied into them, so the buffer doesn't allocate once warmed up.
+ * A slot grown for a huge record is shrunk back once the record is read.
+ */
+public class LoggerRingBuffer {
+
+    /**
+     * The initial capacity of each slot, in bytes.
+     */
+    private static final int SLOT_CAPACITY = 256;
+    /**
+     * The capacity above which a slot is shrunk back once read, to not retain huge records.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    /**
+     * The mask used to turn a position into a slot index.
+     */
+    private final int mask;
+    /**
+     * The encoded records, by slot.
+     */
+    private final ByteBuffer[] records;
+    /**
+     * The timestamps of the records, by slot.
+     */
+    private final long[] timestamps;
+    /**
+     * The sequence numbers, by slot.
+     */
+    private final AtomicLongArray sequences;
+    /**
+     * The next position to write to.
+     */
+    private final AtomicLong tail;
+    /**
+     * The next position to read from.
+     */
+    private final AtomicLong head;
+
+    /**
+     * The LoggerRingBuffer constructor.
+     * @param capacity The minimum capacity of the buffer, rounded up to a power of two.
+     */
+    public LoggerRingBuffer(int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("The capacity must be at least 2, got " + capacity);
+        }
+
+        final int size = Integer.highestOneBit(capacity - 1) << 1;
+
+        this.mask = size - 1;
+        this.records = new ByteBuffer[size];
+        this.timestamps = new long[size];
+        this.sequences = new AtomicLongArray(size);
+        this.tail = new AtomicLong();
+        this.head = new AtomicLong();
+
+        for (int i = 0; i < size; i++) {
+            this.records[i] = ByteBuffer.allocate(SLOT_CAPACITY);
+            this.sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Copies a record to the buffer, if there is room for it.
+     * @param timestamp The time of the record, in milliseconds since the epoch.
+     * @param record The encoded record, the position of the buffer is moved to its limit if it was added.
+     * @return <code>true</code> if the record was added, <code>false</code> if the buffer is full.
+     */
+    public boolean offer(long timestamp, ByteBuffer record) {
+        long position = this.tail.get();
+
+        while (true) {
+            final int index = (int) position & this.mask;
+            final long difference = this.sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    ByteBuffer slot = this.records[index];
+
+                    if (slot.capacity() < record.remaining()) {
+                        slot = ByteBuffer.allocate(Math.max(record.remaining(), slot.capacity() * 2));
+                        this.records[index] = slot;
+                    }
+
+                    slot.clear();
+                    slot.put(record);
+                    slot.flip();
+
+                    this.timestamps[index] = timestamp;
+                    this.sequences.lazySet(index, position + 1);
+                    return true;
+                }
+
+                position = this.tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = this.tail.get();
+            }
+        }
+    }
+
+    /**
+     * Removes the oldest record from the buffer, and writes it to a sink.
+     * @param sink The sink to write the record to, or <code>null</code> to discard it.
+     * @return <code>true</code> if a record was removed, <code>false</code> if the buffer is empty.
+     */
+    public boolean poll(LoggerSink sink) {
+        long position = this.head.get();
+
+        while (true) {
+            final int index = (int) position & this.mask;
+            final long difference = this.sequences.get(index) - (position + 1);
+
+            if (difference == 0) {
+                if (this.head.compareAndSet(position, position + 1)) {
+                    try {
+                        if (sink != null) sink.write(this.timestamps[index], this.records[index]);
+                    } finally {
+                        // Published to the next producer of the slot by the sequence below.
+                        if (this.records[index].capacity() > MAX_RETAINED_CAPACITY) {
+                            this.records[index] = ByteBuffer.allocate(SLOT_CAPACITY);
+                        }
+                        this.sequences.lazySet(index, position + this.mask + 1);
+                    }
+                    return true;
+                }
+
+                position = this.head.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = this.head.get();
+            }
+        }
+    }
+
+    /**
+     * Check if the buffer is empty.
+     * @return <code>true</code> if there is no record to read.
+     */
+    public boolean isEmpty() {
+        return this.head.get() >= this.tail.get();
+    }
+
+    /**
+     * Get the capacity of the buffer.
+     * @return The capacity of the buffer.
+     */
+    public int capacity() {
+        return this.mask + 1;
+    }
+}
@@ -0,0 +1,307 @@
+package io.github.nullptr.tools.logger;
+
+import io.github.nullptr.tools.io.TimestampIndexWriter;
+import io.github.nullptr.tools.thread.ThreadHelper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Decides when a log file must be rolled, names the rolled segments,
+ * and compresses and cleans them up on a background thread.
+ */
+public class LoggerRoller implements AutoCloseable {
+
+    /**
+     * The extension of the compressed segments.
+     */
+    private static final String COMPRESSED_EXTENSION = ".gz";
+    /**
+     * The maximum time to wait for the pending compressions when closing, in seconds.
+     */
+    private static final long CLOSE_TIMEOUT = 30;
+
+    /**
+     * The directory of the log file.
+     */
+    private final Path directory;
+    /**
+     * The name of the log file, without its extension.
+     */
+    private final String baseName;
+    /**
+     * The extension of the log file, with its dot, or an empty string.
+     */
+    private final String extension;
+    /**
+     * The maximum size of a file before it is rolled, or 0 to never roll because of size.
+     */
+    private final long maxBytes;
+    /**
+     * The interval at which the file is rolled.
+     */
+    private final LoggerRollingInterval interval;
+    /**
+     * The number of rolled segments to keep, or 0 to keep them all.
+     */
+    private final int retention;
+    /**
+     * <code>true</code> to compress the rolled segments with gzip.
+     */
+    private final boolean compress;
+    /**
+     * The consumer of the errors that happen in background.
+     */
+    private final Consumer<String> errorHandler;
+    /**
+     * The executor compressing and cleaning up the rolled segments.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The time at which the current period started, in milliseconds since the epoch.
+     */
+    private long periodStart;
+    /**
+     * The time at which the current period ends, in milliseconds since the epoch.
+     */
+    private long nextRollover;
+    /**
+     * The index of the last segment rolled in the current period.
+     */
+    private int index;
+
+    /**
+     * The LoggerRoller constructor.
+     * @param path The path of the log file.
+     * @param maxBytes The maximum size of a file before it is rolled, or 0 to never roll because of size.
+     * @param interval The interval at which the file is rolled.
+     * @param retention The number of rolled segments to keep, or 0 to keep them all.
+     * @param compress <code>true</code> to compress the rolled segments with gzip.
+     * @param errorHandler The consumer of the errors that happen in background.
+     */
+    public LoggerRoller(Path path, long maxBytes, LoggerRollingInterval interval, int retention, boolean compress, Consumer<String> errorHandler) {
+        final String fileName = path.getFileName().toString();
+        final int dot = fileName.lastIndexOf('.');
+
+        this.directory = path.toAbsolutePath().getParent();
+        this.baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        this.extension = dot > 0 ? fileName.substring(dot) : "";
+        this.maxBytes = maxBytes;
+        this.interval = interval;
+        this.retention = retention;
+        this.compress = compress;
+        this.errorHandler = errorHandler;
+        this.executor = Executors.newSingleThreadExecutor(ThreadHelper.daemonFactory("LoggerRoller-" + fileName));
+
+        this.startPeriod(System.currentTimeMillis());
+    }
+
+    /**
+     * Check if the file must be rolled before writing a record.
+     * @param timestamp The time of the record, in milliseconds since the epoch.
+     * @param size The current size of the file.
+     * @param length The length of the record.
+     * @return <code>true</code> if the file must be rolled.
+     */
+    public boolean shouldRoll(long timestamp, long size, int length) {
+        if (timestamp >= this.nextRollover) return true;
+        return this.maxBytes > 0 && size > 0 && size + length > this.maxBytes;
+    }
+
+    /**
+     * Get the path of the next rolled segment, and starts a new period if the current one ended.
+     * @param timestamp The time of the record that triggered the roll, in milliseconds since the epoch.
+     * @return The path to move the current file to.
+     */
+    public Path nextSegment(long timestamp) {
+        final Path segment = this.segmentOf(this.interval == LoggerRollingInterval.NEVER ? timestamp : this.periodStart);
+
+        if (timestamp >= this.nextRollover) this.startPeriod(timestamp);
+        return segment;
+    }
+
+    /**
+     * Get the path of the segment to move a file left by a previous run to, labelled with the time it was last written.
+     * @param lastModified The last modification time of the file, in milliseconds since the epoch.
+     * @return The path to move the file to.
+     */
+    public Path previousSegment(long lastModified) {
+        return this.segmentOf(lastModified);
+    }
+
+    /**
+     * Get the path of the first free segment with the label of the given time.
+     * @param millis The time to label the segment with, in milliseconds since the epoch.
+     * @return The path of the segment.
+     */
+    private Path segmentOf(long millis) {
+        final String label = this.interval.label(millis);
+        Path segment;
+
+        do {
+            segment = this.directory.resolve(this.baseName + "." + label + "." + ++this.index + this.extension);
+        } while (Files.exists(segment) || Files.exists(segment.resolveSibling(segment.getFileName() + COMPRESSED_EXTENSION)));
+
+        return segment;
+    }
+
+    /**
+     * Compresses a rolled segment if needed, then deletes the oldest segments, in background. <br>
+     * If the roller is closing, it is done by the current thread instead, so the segment is still archived.
+     * @param segment The rolled segment.
+     */
+    public void archive(Path segment) {
+        final Runnable task = () -> {
+            if (this.compress) this.compress(segment);
+            if (this.retention > 0) this.cleanUp();
+        };
+
+        try {
+            this.executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    /**
+     * Runs a task on the background thread of the roller, after the pending compressions and clean ups.
+     * @param task The task to run.
+     * @throws java.util.concurrent.RejectedExecutionException If the roller is closed.
+     */
+    public void execute(Runnable task) {
+        this.executor.execute(task);
+    }
+
+    /**
+     * Waits for the pending compressions and clean ups.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdown();
+
+        try {
+            this.executor.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts the period containing the given time.
+     * @param millis The time, in milliseconds since the epoch.
+     */
+    private void startPeriod(long millis) {
+        this.periodStart = millis;
+        this.nextRollover = this.interval.nextRollover(millis);
+        this.index = 0;
+    }
+
+    /**
+     * Compresses a segment with gzip, then deletes it. <br>
+     * If the compression fails, the segment is kept uncompressed.
+     * @param segment The segment to compress.
+     */
+    private void compress(Path segment) {
+        final Path compressed = segment.resolveSibling(segment.getFileName() + COMPRESSED_EXTENSION);
+
+        // The clean up after a more recent segment already deleted it, as the compressions lag behind the rolls.
+        if (!Files.exists(segment)) return;
+
+        try {
+            try (final OutputStream output = new GZIPOutputStream(Files.newOutputStream(compressed), 64 * 1024)) {
+                Files.copy(segment, output);
+            }
+
+            Files.setLastModifiedTime(compressed, Files.getLastModifiedTime(segment));
+            Files.delete(segment);
+            // The offsets of the index don't apply to the compressed segment.
+            Files.deleteIfExists(TimestampIndexWriter.pathOf(segment));
+        } catch (IOException e) {
+            this.errorHandler.accept("Failed to compress the log segment " + segment + ": " + e.getMessage());
+
+            try {
+                Files.deleteIfExists(compressed);
+            } catch (IOException ignored) {
+                // The partial archive is left as is, the segment is still there.
+            }
+        }
+    }
+
+    /**
+     * Deletes the oldest segments, keeping only the most recent ones.
+     */
+    private void cleanUp() {
+        final String prefix = this.baseName + ".";
+        final List<Path> segments;
+
+        try (final Stream<Path> files = Files.list(this.directory)) {
+            segments = files.filter(file -> {
+                final String name = file.getFileName().toString();
+                return name.startsWith(prefix) && (name.endsWith(this.extension) || name.endsWith(this.extension + COMPRESSED_EXTENSION))
+                        && !name.equals(this.baseName + this.extension);
+            }).collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException e) {
+            this.errorHandler.accept("Failed to list the log segments in " + this.directory + ": " + e.getMessage());
+            return;
+        }
+
+        if (segments.size() <= this.retention) return;
+        // Segments rolled within the same tick of the file system clock are ordered by their index.
+        segments.sort(Comparator.comparing(LoggerRoller::lastModified).thenComparingInt(this::indexOf).reversed());
+
+        for (final Path segment : segments.subList(this.retention, segments.size())) {
+            try {
+                Files.deleteIfExists(segment);
+                Files.deleteIfExists(TimestampIndexWriter.pathOf(segment));
+            } catch (IOException e) {
+                this.errorHandler.accept("Failed to delete the log segment " + segment + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Get the index of a segment within its period, from its name.
+     * @param segment The segment, compressed or not.
+     * @return The index of the segment, or 0 if its name has none.
+     */
+    private int indexOf(Path segment) {
+        String name = segment.getFileName().toString();
+
+        if (name.endsWith(COMPRESSED_EXTENSION)) name = name.substring(0, name.length() - COMPRESSED_EXTENSION.length());
+        name = name.substring(0, name.length() - this.extension.length());
+
+        try {
+            return Integer.parseInt(name.substring(name.lastIndexOf('.') + 1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Get the last modification time of a file.
+     * @param file The file.
+     * @return The last modification time, or the epoch if it can't be read.
+     */
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.nullptr.tools.logger;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Enum for the intervals at which a logger rolls its file.
+ */
+public enum LoggerRollingInterval {
+
+    /**
+     * The file is never rolled because of time.
+     */
+    NEVER(null, "yyyy-MM-dd"),
+    /**
+     * The file is rolled at the beginning of each hour.
+     */
+    HOURLY(ChronoUnit.HOURS, "yyyy-MM-dd-HH"),
+    /**
+     * The file is rolled at the beginning of each day.
+     */
+    DAILY(ChronoUnit.DAYS, "yyyy-MM-dd");
+
+    /**
+     * The unit of the interval, or <code>null</code> if the file is never rolled because of time.
+     */
+    private final ChronoUnit unit;
+    /**
+     * The formatter of the period labels, used in the rolled file names.
+     */
+    private final DateTimeFormatter formatter;
+
+    /**
+     * The LoggerRollingInterval constructor.
+     * @param unit The unit of the interval.
+     * @param pattern The pattern of the period labels.
+     */
+    LoggerRollingInterval(final ChronoUnit unit, final String pattern) {
+        this.unit = unit;
+        this.formatter = DateTimeFormatter.ofPattern(pattern);
+    }
+
+    /**
+     * Get the time at which the period containing the given time ends.
+     * @param millis The time, in milliseconds since the epoch.
+     * @return The end of the period, in milliseconds since the epoch, or {@link Long#MAX_VALUE} if it never ends.
+     */
+    public long nextRollover(final long millis) {
+        if (this.unit == null) return Long.MAX_VALUE;
+
+        final ZoneId zone = ZoneId.systemDefault();
+        final LocalDateTime start = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone).truncatedTo(this.unit);
+
+        return start.plus(1, this.unit).atZone(zone).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Get the label of the period containing the given time.
+     * @param millis The time, in milliseconds since the epoch.
+     * @return The label of the period.
+     */
+    public String label(final long millis) {
+        return this.formatter.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()));
+    }
+}
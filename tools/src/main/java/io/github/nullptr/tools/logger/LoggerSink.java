@@ -0,0 +1,17 @@
+package io.github.nullptr.tools.logger;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A destination for encoded log records.
+ */
+@FunctionalInterface
+public interface LoggerSink {
+
+    /**
+     * Writes an encoded record, without flushing it.
+     * @param timestamp The time of the record, in milliseconds since the epoch.
+     * @param record The encoded record, the position of the buffer is moved to its limit.
+     */
+    void write(long timestamp, ByteBuffer record);
+}
@@ -0,0 +1,313 @@
+package io.github.nullptr.tools.logger;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Renders the stack traces of exceptions, each distinct trace being written in full only once. <br>
+ * A trace is identified by a hash of its exception classes and frames, including its causes, but not of its messages.
+ * The next occurrences are rendered as a reference to the first one, and counted, the counters being reported periodically by the logger. <br>
+ * The known traces are forgotten when a new file is started, so each file holds the full traces it references.
+ */
+public class LoggerStackTraces {
+
+    /**
+     * The line separator of the rendered traces.
+     */
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+    /**
+     * The FNV-1a offset basis.
+     */
+    private static final long HASH_OFFSET = 0xCBF29CE484222325L;
+    /**
+     * The FNV-1a prime.
+     */
+    private static final long HASH_PRIME = 0x100000001B3L;
+    /**
+     * The maximum number of causes hashed.
+     */
+    private static final int MAX_CAUSES = 32;
+
+    /**
+     * The maximum number of known traces, 0 to always render the traces in full.
+     */
+    private final int capacity;
+    /**
+     * The known traces, by hash.
+     */
+    private final Map<Long, Entry> traces = new ConcurrentHashMap<>();
+    /**
+     * The generation of the known traces, incremented when a new file is started.
+     */
+    private volatile int generation;
+
+    /**
+     * The LoggerStackTraces constructor.
+     * @param capacity The maximum number of known traces, 0 to always render the traces in full.
+     */
+    public LoggerStackTraces(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Appends an exception, with its full stack trace the first time it is seen, or with a reference to it the next times.
+     * @param builder The builder to append the exception to.
+     * @param throwable The exception.
+     * @param prefix The prefix of the message, reported with the repetitions.
+     * @param type The type of the message, reported with the repetitions.
+     * @return <code>true</code> if the trace is seen for the first time, and was appended in full.
+     */
+    public boolean append(StringBuilder builder, Throwable throwable, LoggerPrefix prefix, LoggerPrintType type) {
+        if (this.capacity <= 0) {
+            builder.append(throwable);
+            LoggerStackTraces.appendFrames(builder, throwable);
+            return true;
+        }
+
+        final long hash = LoggerStackTraces.hash(throwable);
+        final Entry entry = this.entry(hash, throwable);
+        final int current = this.generation;
+        final int written = entry.generation.get();
+
+        builder.append(throwable).append(" [stack trace ");
+        LoggerStackTraces.appendHash(builder, hash);
+
+        if (written != current && entry.generation.compareAndSet(written, current)) {
+            builder.append(']');
+            LoggerStackTraces.appendFrames(builder, throwable);
+            return true;
+        }
+
+        entry.prefix = prefix;
+        entry.type = type;
+        entry.repeats.incrementAndGet();
+
+        builder.append(", see above]");
+        return false;
+    }
+
+    /**
+     * Reports the traces repeated since the last report, and resets their counters.
+     * @param reporter The consumer of the repeated traces, called with a builder holding the report line.
+     * @param builder The builder to write the report lines to, cleared before each line.
+     */
+    public void report(Consumer<Entry> reporter, StringBuilder builder) {
+        for (final Entry entry : this.traces.values()) {
+            if (entry.repeats.get() == 0) continue;
+
+            final long repeats = entry.repeats.getAndSet(0);
+            if (repeats == 0) continue;
+
+            builder.setLength(0);
+            builder.append("Stack trace ");
+            LoggerStackTraces.appendHash(builder, entry.hash);
+            builder.append(" (").append(entry.className).append(") repeated ").append(repeats).append(repeats == 1 ? " time" : " times");
+
+            reporter.accept(entry);
+        }
+    }
+
+    /**
+     * Forgets the known traces, so their next occurrence is rendered in full. Called when a new file is started.
+     */
+    public void reset() {
+        this.generation++;
+    }
+
+    /**
+     * Get the entry of a trace, creating it the first time.
+     * @param hash The hash of the trace.
+     * @param throwable The exception.
+     * @return The entry of the trace.
+     */
+    private Entry entry(long hash, Throwable throwable) {
+        final Entry existing = this.traces.get(hash);
+        if (existing != null) return existing;
+
+        // Bounds the memory during storms of distinct traces, the forgotten ones are rendered in full again.
+        if (this.traces.size() >= this.capacity) this.traces.clear();
+
+        final Entry entry = new Entry(hash, throwable.getClass().getName());
+        final Entry raced = this.traces.putIfAbsent(hash, entry);
+
+        return raced != null ? raced : entry;
+    }
+
+    /**
+     * Hashes the exception classes and frames of an exception and of its causes.
+     * @param throwable The exception.
+     * @return The hash of the trace.
+     */
+    static long hash(Throwable throwable) {
+        long hash = HASH_OFFSET;
+        Throwable current = throwable;
+
+        for (int depth = 0; current != null && depth < MAX_CAUSES; depth++) {
+            hash = LoggerStackTraces.hash(hash, current.getClass().getName());
+
+            for (final StackTraceElement frame : current.getStackTrace()) {
+                hash = LoggerStackTraces.hash(hash, frame.getClassName());
+                hash = LoggerStackTraces.hash(hash, frame.getMethodName());
+                hash = (hash ^ frame.getLineNumber()) * HASH_PRIME;
+            }
+
+            final Throwable cause = current.getCause();
+            current = cause == current ? null : cause;
+        }
+
+        return hash;
+    }
+
+    /**
+     * Continues a hash with the characters of a string.
+     * @param hash The current hash.
+     * @param value The string, may be <code>null</code>.
+     * @return The new hash.
+     */
+    private static long hash(long hash, String value) {
+        if (value == null) return hash * HASH_PRIME;
+
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * HASH_PRIME;
+        }
+
+        return hash;
+    }
+
+    /**
+     * Appends a hash as 16 hexadecimal digits.
+     * @param builder The builder to append the hash to.
+     * @param hash The hash.
+     */
+    private static void appendHash(StringBuilder builder, long hash) {
+        for (int shift = 60; shift >= 0; shift -= 4) {
+            builder.append(Character.forDigit((int) (hash >>> shift) & 0xF, 16));
+        }
+    }
+
+    /**
+     * Appends the frames, the suppressed exceptions and the causes of an exception, as {@link Throwable#printStackTrace()} does.
+     * @param builder The builder to append the frames to.
+     * @param throwable The exception.
+     */
+    private static void appendFrames(StringBuilder builder, Throwable throwable) {
+        final Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        final StackTraceElement[] trace = throwable.getStackTrace();
+
+        seen.add(throwable);
+        for (final StackTraceElement frame : trace) {
+            builder.append(LINE_SEPARATOR).append("\tat ").append(frame);
+        }
+
+        for (final Throwable suppressed : throwable.getSuppressed()) {
+            LoggerStackTraces.appendEnclosed(builder, suppressed, trace, "Suppressed: ", "\t", seen);
+        }
+
+        if (throwable.getCause() != null) {
+            LoggerStackTraces.appendEnclosed(builder, throwable.getCause(), trace, "Caused by: ", "", seen);
+        }
+    }
+
+    /**
+     * Appends a suppressed exception or a cause, omitting the frames in common with the enclosing trace.
+     * @param builder The builder to append the exception to.
+     * @param throwable The exception.
+     * @param enclosing The frames of the enclosing exception.
+     * @param caption The caption of the exception.
+     * @param indent The indentation of the lines.
+     * @param seen The already appended exceptions, to stop on circular references.
+     */
+    private static void appendEnclosed(StringBuilder builder, Throwable throwable, StackTraceElement[] enclosing, String caption, String indent, Set<Throwable> seen) {
+        if (!seen.add(throwable)) {
+            builder.append(LINE_SEPARATOR).append(indent).append(caption).append("[CIRCULAR REFERENCE: ").append(throwable).append(']');
+            return;
+        }
+
+        final StackTraceElement[] trace = throwable.getStackTrace();
+        int last = trace.length - 1;
+
+        for (int enclosingLast = enclosing.length - 1; last >= 0 && enclosingLast >= 0 && trace[last].equals(enclosing[enclosingLast]); enclosingLast--) {
+            last--;
+        }
+
+        builder.append(LINE_SEPARATOR).append(indent).append(caption).append(throwable);
+        for (int i = 0; i <= last; i++) {
+            builder.append(LINE_SEPARATOR).append(indent).append("\tat ").append(trace[i]);
+        }
+
+        if (last < trace.length - 1) {
+            builder.append(LINE_SEPARATOR).append(indent).append("\t... ").append(trace.length - 1 - last).append(" more");
+        }
+
+        for (final Throwable suppressed : throwable.getSuppressed()) {
+            LoggerStackTraces.appendEnclosed(builder, suppressed, trace, "Suppressed: ", indent + "\t", seen);
+        }
+
+        if (throwable.getCause() != null) {
+            LoggerStackTraces.appendEnclosed(builder, throwable.getCause(), trace, "Caused by: ", indent, seen);
+        }
+    }
+
+    /**
+     * A known stack trace, with its repetition counter.
+     */
+    public static class Entry {
+
+        /**
+         * The hash of the trace.
+         */
+        private final long hash;
+        /**
+         * The class name of the exception.
+         */
+        private final String className;
+        /**
+         * The number of repetitions since the last report.
+         */
+        private final AtomicLong repeats = new AtomicLong();
+        /**
+         * The generation in which the trace was last written in full.
+         */
+        private final AtomicInteger generation = new AtomicInteger(-1);
+        /**
+         * The prefix of the last repetition.
+         */
+        private volatile LoggerPrefix prefix;
+        /**
+         * The type of the last repetition.
+         */
+        private volatile LoggerPrintType type;
+
+        /**
+         * The Entry constructor.
+         * @param hash The hash of the trace.
+         * @param className The class name of the exception.
+         */
+        private Entry(long hash, String className) {
+            this.hash = hash;
+            this.className = className;
+        }
+
+        /**
+         * Get the prefix of the last repetition.
+         * @return The prefix of the last repetition.
+         */
+        public LoggerPrefix getPrefix() {
+            return this.prefix;
+        }
+
+        /**
+         * Get the type of the last repetition.
+         * @return The type of the last repetition.
+         */
+        public LoggerPrintType getType() {
+            return this.type;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.nullptr.tools.string;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes characters to UTF-8 without any intermediate String or byte array.
+ */
+public class Utf8Helper {
+
+    /**
+     * The byte written in place of a lone surrogate character.
+     */
+    private static final byte REPLACEMENT = '?';
+
+    /**
+     * Get the number of bytes needed to encode characters to UTF-8.
+     * @param chars The characters to encode.
+     * @param start The index of the first character, inclusive.
+     * @param end The index of the last character, exclusive.
+     * @return The number of bytes needed.
+     */
+    public static int encodedLength(CharSequence chars, int start, int end) {
+        int length = 0;
+
+        for (int i = start; i < end; i++) {
+            final char c = chars.charAt(i);
+
+            if (c < 0x80) length++;
+            else if (c < 0x800) length += 2;
+            else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) length++;
+            else length += 3;
+        }
+
+        return length;
+    }
+
+    /**
+     * Encodes characters to UTF-8, at the position of the buffer. <br>
+     * Lone surrogate characters are replaced by '?'.
+     * @param chars The characters to encode.
+     * @param start The index of the first character, inclusive.
+     * @param end The index of the last character, exclusive.
+     * @param target The buffer to write to, with enough room for {@link #encodedLength(CharSequence, int, int)} bytes.
+     */
+    public static void encode(CharSequence chars, int start, int end, ByteBuffer target) {
+        for (int i = start; i < end; i++) {
+            final char c = chars.charAt(i);
+
+            if (c < 0x80) {
+                target.put((byte) c);
+            } else if (c < 0x800) {
+                target.put((byte) (0xC0 | (c >> 6)));
+                target.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, chars.charAt(++i));
+
+                target.put((byte) (0xF0 | (codePoint >> 18)));
+                target.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                target.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                target.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                target.put(REPLACEMENT);
+            } else {
+                target.put((byte) (0xE0 | (c >> 12)));
+                target.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                target.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+}
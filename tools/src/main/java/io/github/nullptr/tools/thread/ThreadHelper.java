@@ -0,0 +1,59 @@
+package io.github.nullptr.tools.thread;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Helpers to create the background threads used by the tools.
+ */
+public class ThreadHelper {
+
+    /**
+     * Creates a factory of daemon threads, named after the given name and a counter.
+     * @param name The name of the threads.
+     * @return The thread factory.
+     */
+    public static ThreadFactory daemonFactory(String name) {
+        final AtomicInteger counter = new AtomicInteger();
+
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Get the shared scheduler, running light periodic tasks of the tools on a single daemon thread. <br>
+     * /!\ Tasks must be short, and must never block.
+     * @return The shared scheduler.
+     */
+    public static ScheduledExecutorService scheduler() {
+        return SchedulerHolder.SCHEDULER;
+    }
+
+    /**
+     * Holds the shared scheduler, so it is only created when first used.
+     */
+    private static class SchedulerHolder {
+
+        /**
+         * The shared scheduler.
+         */
+        private static final ScheduledExecutorService SCHEDULER = SchedulerHolder.create();
+
+        /**
+         * Creates the shared scheduler, forgetting cancelled tasks right away.
+         * @return The created scheduler.
+         */
+        private static ScheduledExecutorService create() {
+            final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, ThreadHelper.daemonFactory("nullptr-tools-scheduler"));
+
+            scheduler.setRemoveOnCancelPolicy(true);
+            return scheduler;
+        }
+    }
+}
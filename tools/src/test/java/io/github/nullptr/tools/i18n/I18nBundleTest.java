@@ -0,0 +1,100 @@
+package io.github.nullptr.tools.i18n;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The tests of the {@link I18nBundle}: the languages compiled by the {@link I18nBundleCompiler} are read back as they were.
+ */
+class I18nBundleTest {
+
+    @Test
+    void readsBackTheCompiledLanguages(@TempDir final Path directory) {
+        final Map<Locale, Map<String, String>> languages = I18nBundleTest.languages();
+        final Path file = directory.resolve("i18n.bin");
+
+        I18nBundleCompiler.compile(languages, file);
+
+        final I18nBundle bundle = I18nBundle.open(file);
+        final I18nSnapshot snapshot = I18nSnapshot.mapped(bundle, Locale.US);
+
+        assertEquals(2, bundle.getLocaleCount());
+        assertEquals(4, bundle.getKeyCount());
+        assertTrue(bundle.hasLocale(Locale.FRENCH));
+        assertFalse(bundle.hasLocale(Locale.CANADA_FRENCH));
+
+        languages.forEach((locale, messages) -> messages.forEach((key, value) -> {
+            assertEquals(value, snapshot.getTemplate(locale, key).getSource(), locale + " " + key);
+            assertEquals(value, snapshot.getTemplate(locale, snapshot.idOf(key)).getSource(), locale + " " + key);
+        }));
+    }
+
+    @Test
+    void resolvesTheMissingKeys() {
+        final I18nBundle bundle = new I18nBundle(ByteBuffer.wrap(I18nBundleCompiler.compile(I18nBundleTest.languages())));
+        final I18nSnapshot snapshot = I18nSnapshot.mapped(bundle, Locale.US);
+
+        // Missing from fr, found in en_US.
+        assertEquals("Quit", snapshot.getTemplate(Locale.CANADA_FRENCH, "menu.quit").format());
+        assertEquals("Bonjour Al, ça va ?", snapshot.getTemplate(Locale.CANADA_FRENCH, "greeting").format("Al"));
+        // Missing from all the locales: not even given an id.
+        assertNull(snapshot.getTemplate(Locale.CANADA_FRENCH, "missing"));
+        assertNull(snapshot.getTemplate(Locale.CANADA_FRENCH, "missing"));
+        assertEquals(-1, snapshot.getDictionary().find("missing"));
+        assertNull(snapshot.getTemplate(Locale.CANADA_FRENCH, snapshot.idOf("missing")));
+    }
+
+    @Test
+    void compilesTheSameBundleFromFiles(@TempDir final Path directory) throws IOException {
+        final Path languages = Files.createDirectory(directory.resolve("i18n"));
+        final Path file = directory.resolve("i18n.bin");
+
+        Files.write(languages.resolve("en_US.json"), "{\"greeting\": \"Hello %s\", \"menu\": {\"quit\": \"Quit\"}}".getBytes(StandardCharsets.UTF_8));
+        Files.write(languages.resolve("fr.json"), ("{\"greeting\": \"Bonjour %s, ça va ?\", \"clé.été\": \"Été ☀ 日本 😀\","
+                + " \"vide\": \"\"}").getBytes(StandardCharsets.UTF_8));
+        I18nBundleCompiler.compile(languages, file);
+
+        final byte[] bytes = Files.readAllBytes(file);
+        assertArrayEquals(I18nBundleCompiler.compile(I18nBundleTest.languages()), bytes);
+
+        final I18nBundle read = I18nBundle.read(new ByteArrayInputStream(bytes));
+        assertEquals("Été ☀ 日本 😀", I18nSnapshot.mapped(read, Locale.US).getTemplate(Locale.FRENCH, "clé.été").format());
+        assertEquals("Quit", I18nLoader.loadBundle(file).get(Locale.FRENCH, "menu.quit"));
+    }
+
+    /**
+     * Creates the languages <code>en_US</code> and <code>fr</code>, with non-ASCII keys and values.
+     * @return The messages, by locale.
+     */
+    private static Map<Locale, Map<String, String>> languages() {
+        final Map<Locale, Map<String, String>> languages = new HashMap<>();
+        final Map<String, String> english = new HashMap<>();
+        final Map<String, String> french = new HashMap<>();
+
+        english.put("greeting", "Hello %s");
+        english.put("menu.quit", "Quit");
+        french.put("greeting", "Bonjour %s, ça va ?");
+        french.put("clé.été", "Été ☀ 日本 😀");
+        french.put("vide", "");
+
+        languages.put(Locale.US, english);
+        languages.put(Locale.FRENCH, french);
+        return languages;
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.nullptr.tools.i18n;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The tests of the {@link I18nLoader}: the languages are loaded from a directory, lazily or at once, or through an {@link I18nIndex}.
+ */
+class I18nLoaderTest {
+
+    @Test
+    void lazyLoadingParsesOnlyTheChain(@TempDir final Path directory) throws IOException {
+        I18nLoaderTest.write(directory.resolve("en_US.json"), "{\"hello\": \"Hello\", \"quit\": \"Quit\"}");
+        I18nLoaderTest.write(directory.resolve("fr.json"), "{\"hello\": \"Bonjour\"}");
+        I18nLoaderTest.write(directory.resolve("de.json"), "{\"hello\": \"Hallo\"}");
+
+        final I18n i18n = I18nLoader.loadLanguages(directory);
+
+        // Only listed: a file changed before its first use is read as it is then.
+        I18nLoaderTest.write(directory.resolve("fr.json"), "{\"hello\": \"Salut\"}");
+        assertEquals("Salut", i18n.get(Locale.CANADA_FRENCH, "hello"));
+        assertEquals("Quit", i18n.get(Locale.CANADA_FRENCH, "quit"));
+
+        // Out of the chain of fr_CA, de was not parsed yet.
+        I18nLoaderTest.write(directory.resolve("de.json"), "{\"hello\": \"Guten Tag\"}");
+        assertEquals("Guten Tag", i18n.get(Locale.GERMAN, "hello"));
+
+        // Once parsed, a language is not read again.
+        I18nLoaderTest.write(directory.resolve("fr.json"), "{\"hello\": \"Allo\"}");
+        assertEquals("Salut", i18n.get(Locale.FRENCH, "hello"));
+    }
+
+    @Test
+    void eagerLoadingReportsTheBrokenFiles(@TempDir final Path directory) throws IOException {
+        final List<I18nLoader.Result> results = new ArrayList<>();
+
+        I18nLoaderTest.write(directory.resolve("en_US.json"), "{\"hello\": \"Hello\", \"menu\": {\"quit\": \"Quit\"}}");
+        I18nLoaderTest.write(directory.resolve("fr.json"), "{\"hello\": ");
+
+        final I18n i18n = I18nLoader.loadLanguages(directory, 2, results::add);
+
+        assertEquals(2, results.size());
+        results.forEach(result -> assertEquals(!result.getLocale().equals(Locale.FRENCH), result.isSuccess(), result.getFile().toString()));
+        assertEquals("Quit", i18n.get(Locale.US, "menu.quit"));
+        // The broken language falls back to its chain.
+        assertEquals("Hello", i18n.get(Locale.FRENCH, "hello"));
+    }
+
+    @Test
+    void loadsThroughTheIndex() {
+        final I18n i18n = I18nLoader.loadLanguages();
+
+        assertEquals("Hello Al", i18n.get(Locale.US, "greeting", "Al"));
+        assertEquals("Bonjour Al", i18n.get(Locale.CANADA_FRENCH, "greeting", "Al"));
+        assertEquals("Quit", i18n.get(Locale.FRENCH, "menu.quit"));
+    }
+
+    @Test
+    void indexListsTheLanguageFiles(@TempDir final Path directory) throws IOException {
+        I18nLoaderTest.write(Files.createDirectory(directory.resolve("nested")).resolve("fr.json"), "{}");
+        I18nLoaderTest.write(directory.resolve("en_US.json"), "{}");
+        I18nLoaderTest.write(directory.resolve("notes.txt"), "Not a language.");
+
+        final List<String> files = I18nIndex.write(directory);
+        final Path index = directory.resolve(I18nIndex.FILE_NAME);
+
+        assertEquals(Arrays.asList("en_US.json", "nested/fr.json"), files);
+        assertEquals(files, I18nIndex.read(Files.newInputStream(index)));
+        assertEquals(files, I18nIndex.read(new ByteArrayInputStream("# Comment\n\n en_US.json \nnested/fr.json\n".getBytes(StandardCharsets.UTF_8))));
+        // The index is not a language file, so generating it again gives the same index.
+        assertFalse(I18nLoader.isLanguageFile(index));
+        assertEquals(files, I18nIndex.write(directory));
+        assertTrue(I18nLoader.isLanguageFile(directory.resolve("en_US.json")));
+    }
+
+    /**
+     * Writes a language file.
+     * @param file The path to the file.
+     * @param content The JSON content.
+     * @throws IOException If the file can't be written.
+     */
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.nullptr.tools.i18n;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * The tests of the {@link I18nSnapshot}: the fallback chains, with loaded, reloaded and bundled languages.
+ */
+class I18nSnapshotTest {
+
+    @Test
+    void resolvesTheFallbackChains() {
+        final I18nSnapshot snapshot = new I18nSnapshot(I18nSnapshotTest.languages(), Locale.US);
+
+        assertEquals("Salut", snapshot.getTemplate(Locale.CANADA_FRENCH, "hello").format());
+        assertEquals("Au revoir", snapshot.getTemplate(Locale.CANADA_FRENCH, "bye").format());
+        assertEquals("Quit", snapshot.getTemplate(Locale.CANADA_FRENCH, "quit").format());
+        // A locale without language, nor parent with one, falls back to en_US.
+        assertEquals("Bonjour", snapshot.getTemplate(new Locale("fr", "BE"), "hello").format());
+        assertEquals("Hello", snapshot.getTemplate(Locale.GERMANY, "hello").format());
+        assertEquals("Colour", snapshot.getTemplate(Locale.UK, "color").format());
+        assertEquals("Hello", snapshot.getTemplate(Locale.UK, "hello").format());
+        assertEquals("Salut", snapshot.getTemplate(new Locale("FR", "ca"), "hello").format());
+        assertNull(snapshot.getTemplate(Locale.CANADA_FRENCH, "missing"));
+    }
+
+    @Test
+    void fallsBackToTheKey() {
+        final I18n i18n = new I18n(I18nSnapshotTest.languages());
+
+        assertEquals("Salut", i18n.get(Locale.CANADA_FRENCH, "hello"));
+        assertEquals("missing", i18n.get(Locale.CANADA_FRENCH, "missing"));
+        assertEquals("missing", i18n.get(Locale.CANADA_FRENCH, i18n.idOf("missing")));
+    }
+
+    @Test
+    void looksUpByIdAsByKey() {
+        final I18nSnapshot snapshot = new I18nSnapshot(I18nSnapshotTest.languages(), Locale.US);
+        final Locale[] locales = { Locale.US, Locale.UK, Locale.FRENCH, Locale.CANADA_FRENCH, Locale.GERMANY };
+
+        for (final String key : new String[] { "hello", "bye", "quit", "color", "missing" }) {
+            final int id = snapshot.idOf(key);
+
+            assertEquals(id, snapshot.idOf(key));
+            assertEquals(key, snapshot.getDictionary().keyOf(id));
+
+            for (final Locale locale : locales) {
+                assertSame(snapshot.getTemplate(locale, key), snapshot.getTemplate(locale, id), locale + " " + key);
+            }
+        }
+
+        // The id of a key stays the same once a reload defines it.
+        final int id = snapshot.idOf("added");
+        final I18nSnapshot reloaded = snapshot.withLanguage(Locale.FRENCH, I18nSnapshotTest.messages("added", "Ajouté"));
+
+        assertNull(snapshot.getTemplate(Locale.FRENCH, id));
+        assertEquals("Ajouté", reloaded.getTemplate(Locale.CANADA_FRENCH, id).format());
+        assertSame(reloaded.getTemplate(Locale.CANADA_FRENCH, "added"), reloaded.getTemplate(Locale.CANADA_FRENCH, id));
+        assertNull(snapshot.getTemplate(Locale.CANADA_FRENCH, "added"));
+    }
+
+    @Test
+    void bundleLocaleWinsOverReloadedFallback() {
+        final I18n i18n = new I18n(I18nSnapshot.mapped(I18nSnapshotTest.bundle(), Locale.US));
+
+        i18n.update(snapshot -> snapshot.withLanguage(Locale.US, I18nSnapshotTest.messages("hello", "Hello!", "bye", "Goodbye")));
+
+        assertEquals("Allo", i18n.get(Locale.CANADA_FRENCH, "hello"));
+        assertEquals("Allo", i18n.get(Locale.CANADA_FRENCH, i18n.idOf("hello")));
+        // The reloaded en_US hides the one of the bundle.
+        assertEquals("Goodbye", i18n.get(Locale.CANADA_FRENCH, "bye"));
+        assertEquals("Goodbye", i18n.get(Locale.US, "bye"));
+    }
+
+    @Test
+    void reloadedLocaleHidesBundleLocale() {
+        final I18nSnapshot snapshot = I18nSnapshot.mapped(I18nSnapshotTest.bundle(), Locale.US)
+                .withLanguage(Locale.CANADA_FRENCH, I18nSnapshotTest.messages("new", "Nouveau"));
+
+        assertEquals("Nouveau", snapshot.getTemplate(Locale.CANADA_FRENCH, "new").format());
+        assertEquals("Hello!", snapshot.getTemplate(Locale.CANADA_FRENCH, "hello").format());
+        assertNull(snapshot.getTemplate(Locale.CANADA_FRENCH, "unknown"));
+        assertEquals(-1, snapshot.getDictionary().find("unknown"));
+
+        // Without the reloaded language, the bundle is read again.
+        assertEquals("Allo", snapshot.withoutLanguage(Locale.CANADA_FRENCH).getTemplate(Locale.CANADA_FRENCH, "hello").format());
+    }
+
+    @Test
+    void identicalValuesAreSharedAfterReload() {
+        final I18nSnapshot snapshot = new I18nSnapshot(Collections.singletonMap(Locale.US, I18nSnapshotTest.messages("ok", "Okay")), Locale.US);
+        final I18nTemplate loaded = snapshot.getTemplate(Locale.US, "ok");
+        final I18nSnapshot reloaded = snapshot.withLanguage(Locale.FRENCH, I18nSnapshotTest.messages("ok", "Okay", "yes", "Okay"));
+
+        // The en_US language is inherited, already loaded by the first snapshot.
+        assertSame(loaded, reloaded.getTemplate(Locale.US, "ok"));
+        assertSame(loaded, reloaded.getTemplate(Locale.FRENCH, "ok"));
+        assertSame(loaded, reloaded.getTemplate(Locale.FRENCH, "yes"));
+    }
+
+    /**
+     * Creates the languages <code>en_US</code>, <code>en</code>, <code>fr</code> and <code>fr_CA</code>.
+     * @return The messages, by locale.
+     */
+    private static Map<Locale, Map<String, String>> languages() {
+        final Map<Locale, Map<String, String>> languages = new HashMap<>();
+
+        languages.put(Locale.US, I18nSnapshotTest.messages("hello", "Hello", "bye", "Bye", "quit", "Quit", "color", "Color"));
+        languages.put(Locale.ENGLISH, I18nSnapshotTest.messages("color", "Colour"));
+        languages.put(Locale.FRENCH, I18nSnapshotTest.messages("hello", "Bonjour", "bye", "Au revoir"));
+        languages.put(Locale.CANADA_FRENCH, I18nSnapshotTest.messages("hello", "Salut"));
+        return languages;
+    }
+
+    /**
+     * Creates a bundle with <code>fr_CA</code> and <code>en_US</code>.
+     * @return The bundle.
+     */
+    private static I18nBundle bundle() {
+        final Map<Locale, Map<String, String>> languages = new HashMap<>();
+
+        languages.put(Locale.CANADA_FRENCH, I18nSnapshotTest.messages("hello", "Allo"));
+        languages.put(Locale.US, I18nSnapshotTest.messages("hello", "Hello!", "bye", "Bye"));
+        return new I18nBundle(ByteBuffer.wrap(I18nBundleCompiler.compile(languages)));
+    }
+
+    /**
+     * Creates messages.
+     * @param entries The keys, each followed by its value.
+     * @return The messages, by key.
+     */
+    private static Map<String, String> messages(String... entries) {
+        final Map<String, String> messages = new HashMap<>();
+
+        for (int i = 0; i < entries.length; i += 2) {
+            messages.put(entries[i], entries[i + 1]);
+        }
+
+        return messages;
+    }
+}
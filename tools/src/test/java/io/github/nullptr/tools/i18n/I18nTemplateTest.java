@@ -0,0 +1,124 @@
+package io.github.nullptr.tools.i18n;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.IllegalFormatException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The tests of the {@link I18nTemplate}: the rendered messages, with positional arguments and named placeholders.
+ */
+class I18nTemplateTest {
+
+    /**
+     * The valid formats, each followed by its arguments.
+     */
+    private static final Object[][] FORMATS = {
+            { "Hello" },
+            { "%s", "text" },
+            { "%s", null },
+            { "%d", 42 },
+            { "%d", -7L },
+            { "%d", (short) 3 },
+            { "%d", new BigInteger("123456789012345678901234567890") },
+            { "%5d|", 42 },
+            { "%-6s|", "ab" },
+            { "%10.4s|", "abcdefgh" },
+            { "%.2f", 3.14159 },
+            { "%08.3f", -2.5 },
+            { "%.3f", new BigDecimal("1.0005") },
+            { "%,d", 1234567 },
+            { "%+d %(d", 5, -5 },
+            { "%x %X %o", 255, 255, 8 },
+            { "%e", 12345.678 },
+            { "%b %b", null, "yes" },
+            { "%c", 'é' },
+            { "%S", "up" },
+            { "%tY-%<tm-%<td", LocalDate.of(2024, 1, 2) },
+            { "%2$s %1$s", "a", "b" },
+            { "%s %<s %s", "a", "b" },
+            { "100%% sure%n" },
+            { "%d %d", 1, 2, 3 },
+            { "Hi %s, %d coins (%.1f%%)", "Al", 3, 12.5 },
+            { "Ça va, %s ? 日本 😀", "é" },
+            { "Braces {} { and {not a name!}" },
+    };
+    /**
+     * The invalid formats, or missing arguments, each followed by its arguments.
+     */
+    private static final Object[][] INVALID = {
+            { "%q" },
+            { "Trailing %" },
+            { "%s %s", "a" },
+            { "%d", "not a number" },
+            { "%.2f", 3 },
+            { "%0$s", "a" },
+    };
+
+    @Test
+    void rendersAsStringFormat() {
+        for (final Object[] format : FORMATS) {
+            final String source = (String) format[0];
+            final Object[] arguments = I18nTemplateTest.argumentsOf(format);
+            final String expected = String.format(source, arguments);
+            final I18nTemplate template = I18nTemplate.compile(source);
+
+            assertEquals(expected, template.format(arguments), source);
+            assertEquals("> " + expected, template.appendTo(new StringBuilder("> "), arguments).toString(), source);
+
+            final ByteBuffer buffer = ByteBuffer.allocate(256);
+            template.writeTo(buffer, arguments);
+            assertEquals(expected, new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8), source);
+        }
+    }
+
+    @Test
+    void rendersFormatErrors() {
+        for (final Object[] format : INVALID) {
+            final String source = (String) format[0];
+            final Object[] arguments = I18nTemplateTest.argumentsOf(format);
+
+            assertThrows(IllegalFormatException.class, () -> String.format(source, arguments), source);
+            assertEquals("Format error: " + source, I18nTemplate.compile(source).format(arguments), source);
+        }
+    }
+
+    @Test
+    void rendersPrimitivesAsStringFormat() {
+        assertEquals(String.format("%d coins", 3), I18nTemplate.compile("%d coins").format(3));
+        assertEquals(String.format("%s / %<d", Long.MIN_VALUE), I18nTemplate.compile("%s / %<d").format(Long.MIN_VALUE));
+        assertEquals(String.format("%.1f%%", 2.25), I18nTemplate.compile("%.1f%%").format(2.25));
+        assertEquals(String.format("%s", 0.1), I18nTemplate.compile("%s").format(0.1));
+        assertEquals("Format error: %d", I18nTemplate.compile("%d").format(0.5));
+    }
+
+    @Test
+    void trailingPlaceholdersAreNotAnArgument() {
+        final I18nPlaceholders player = I18nPlaceholders.of("player", "Al");
+
+        assertEquals("Format error: Hi %s", I18nTemplate.compile("Hi %s").format(player));
+        assertEquals("Format error: {player} has %d coins", I18nTemplate.compile("{player} has %d coins").format(player));
+        assertEquals("Al has 3 coins", I18nTemplate.compile("{player} has %d coins").format(3, player));
+        assertEquals("Hi Al", I18nTemplate.compile("Hi {player}").format(player));
+        assertEquals("Hi Bo, not Al", I18nTemplate.compile("Hi %s, not {player}").format("Bo", player));
+    }
+
+    /**
+     * Get the arguments of a format of the corpus.
+     * @param format The format, followed by its arguments.
+     * @return The arguments.
+     */
+    private static Object[] argumentsOf(Object[] format) {
+        final Object[] arguments = new Object[format.length - 1];
+
+        System.arraycopy(format, 1, arguments, 0, arguments.length);
+        return arguments;
+    }
+}
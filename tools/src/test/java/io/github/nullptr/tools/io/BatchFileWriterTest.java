@@ -0,0 +1,76 @@
+package io.github.nullptr.tools.io;
+
+import io.github.nullptr.tools.types.Pair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The tests of the {@link BatchFileWriter}.
+ */
+class BatchFileWriterTest {
+
+    @Test
+    void resultsFollowTheOrderOfTheFiles(@TempDir final Path directory) throws IOException {
+        final List<Pair<Path, ?>> files = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            // Spread over a few directories, created by the batch.
+            final Path file = directory.resolve("dir" + i % 7).resolve("file" + i + ".txt");
+            files.add(new Pair<>(file, ("content " + i).getBytes(StandardCharsets.UTF_8)));
+        }
+
+        final List<BatchFileWriter.Result> results;
+        try (final BatchFileWriter writer = new BatchFileWriter.Builder().withThreads(4).build()) {
+            results = writer.write(files);
+        }
+
+        assertEquals(files.size(), results.size());
+        for (int i = 0; i < files.size(); i++) {
+            final BatchFileWriter.Result result = results.get(i);
+            final byte[] content = (byte[]) files.get(i).getRight();
+
+            assertEquals(files.get(i).getLeft(), result.getPath());
+            assertTrue(result.isSuccess());
+            assertNull(result.getError());
+            assertEquals(content.length, result.getSize());
+            assertTrue(result.getDurationNanos() >= 0);
+            assertEquals("content " + i, new String(Files.readAllBytes(result.getPath()), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void failedFileDoesNotStopTheOthers(@TempDir final Path directory) throws IOException {
+        final Path notDirectory = directory.resolve("not-a-directory");
+        final List<Pair<Path, ?>> files = new ArrayList<>();
+
+        Files.write(notDirectory, new byte[0]);
+        files.add(new Pair<>(directory.resolve("first.txt"), "first"));
+        files.add(new Pair<>(notDirectory.resolve("failed.txt"), "failed"));
+        files.add(new Pair<>(directory.resolve("last.txt"), "last"));
+
+        final List<BatchFileWriter.Result> results;
+        try (final BatchFileWriter writer = new BatchFileWriter.Builder().withThreads(2).build()) {
+            results = writer.write(files);
+        }
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertNotNull(results.get(1).getError());
+        assertEquals(0, results.get(1).getSize());
+        assertTrue(results.get(2).isSuccess());
+        assertTrue(Files.exists(directory.resolve("last.txt")));
+    }
+}
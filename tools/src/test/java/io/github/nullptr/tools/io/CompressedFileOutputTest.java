@@ -0,0 +1,238 @@
+package io.github.nullptr.tools.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The tests of the {@link CompressedFileOutput}, decoding its files with the decoders of the JDK.
+ */
+class CompressedFileOutputTest {
+
+    /**
+     * The compressions of the tests.
+     */
+    private static final FileCompression[] COMPRESSIONS = { FileCompression.GZIP, FileCompression.STORE, FileCompression.DEFLATE };
+    /**
+     * The number of uncompressed bytes of a block, small so the files have many blocks.
+     */
+    private static final int BLOCK_SIZE = 64;
+
+    @Test
+    void closedFileIsDecodedWhole(@TempDir final Path directory) throws IOException {
+        for (final FileCompression compression : COMPRESSIONS) {
+            final Path file = directory.resolve("closed-" + compression);
+            final byte[] content = CompressedFileOutputTest.content(0, 1000);
+
+            CompressedFileOutputTest.write(file, compression, FileOutputType.STREAM, false, content);
+
+            assertArrayEquals(content, CompressedFileOutputTest.decode(file, compression, false));
+        }
+    }
+
+    @Test
+    void flushedBytesAreDecodedBeforeClose(@TempDir final Path directory) throws IOException {
+        for (final FileCompression compression : COMPRESSIONS) {
+            final Path file = directory.resolve("flushed-" + compression);
+            final byte[] content = CompressedFileOutputTest.content(0, 1000);
+            final FileOutput output = CompressedFileOutputTest.options(compression, FileOutputType.STREAM).open(file, false);
+
+            try {
+                output.write(content, 0, content.length);
+                output.flush();
+
+                assertArrayEquals(content, CompressedFileOutputTest.decode(file, compression, true), compression.toString());
+            } finally {
+                output.close();
+            }
+        }
+    }
+
+    @Test
+    void truncatedTailLosesOnlyTheLastBlock(@TempDir final Path directory) throws IOException {
+        for (final FileCompression compression : COMPRESSIONS) {
+            final Path file = directory.resolve("truncated-" + compression);
+            final byte[] content = CompressedFileOutputTest.content(0, 1000);
+
+            CompressedFileOutputTest.write(file, compression, FileOutputType.STREAM, false, content);
+
+            final byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length - 20));
+
+            final byte[] decoded = CompressedFileOutputTest.decode(file, compression, true);
+            assertTrue(decoded.length >= content.length - 2 * BLOCK_SIZE, compression + ": decoded " + decoded.length + " bytes");
+            assertArrayEquals(Arrays.copyOf(content, decoded.length), decoded);
+        }
+    }
+
+    @Test
+    void appendedFileIsASingleStream(@TempDir final Path directory) throws IOException {
+        for (final FileOutputType type : FileOutputType.values()) {
+            for (final FileCompression compression : COMPRESSIONS) {
+                final Path file = directory.resolve("appended-" + type + "-" + compression);
+                final byte[] first = CompressedFileOutputTest.content(0, 1000);
+                final byte[] second = CompressedFileOutputTest.content(1000, 500);
+
+                CompressedFileOutputTest.write(file, compression, type, false, first);
+                CompressedFileOutputTest.write(file, compression, type, true, second);
+
+                assertArrayEquals(CompressedFileOutputTest.concat(first, second), CompressedFileOutputTest.decode(file, compression, false),
+                        type + " " + compression);
+            }
+        }
+    }
+
+    @Test
+    void appendAfterCrashDropsTheIncompleteBlock(@TempDir final Path directory) throws IOException {
+        for (final FileCompression compression : COMPRESSIONS) {
+            final Path file = directory.resolve("crashed-" + compression);
+            final Path crashed = directory.resolve("crashed-copy-" + compression);
+            final byte[] first = CompressedFileOutputTest.content(0, 1000);
+            final byte[] second = CompressedFileOutputTest.content(1000, 500);
+            final FileOutput output = CompressedFileOutputTest.options(compression, FileOutputType.STREAM).open(file, false);
+
+            try {
+                output.write(first, 0, first.length);
+                output.flush();
+
+                // The file as the process left it when dying.
+                Files.copy(file, crashed);
+            } finally {
+                output.close();
+            }
+
+            CompressedFileOutputTest.write(crashed, compression, FileOutputType.STREAM, true, second);
+
+            // A zlib stream is continued after its last flush, a gzip file after its last complete member.
+            final int kept = compression == FileCompression.DEFLATE ? first.length : first.length / BLOCK_SIZE * BLOCK_SIZE;
+            assertArrayEquals(CompressedFileOutputTest.concat(Arrays.copyOf(first, kept), second), CompressedFileOutputTest.decode(crashed, compression, false),
+                    compression.toString());
+        }
+    }
+
+    @Test
+    void appendToAnotherFormatIsRejected(@TempDir final Path directory) throws IOException {
+        final Path file = directory.resolve("plain.txt");
+        final byte[] content = "plain text".getBytes(StandardCharsets.UTF_8);
+
+        Files.write(file, content);
+
+        for (final FileCompression compression : COMPRESSIONS) {
+            assertThrows(IOException.class, () -> CompressedFileOutput.recover(file, compression));
+            assertArrayEquals(content, Files.readAllBytes(file));
+        }
+    }
+
+    /**
+     * Get the options writing through an output type with a compression.
+     * @param compression The compression.
+     * @param type The output type.
+     * @return The options.
+     */
+    private static FileWriterOptions options(final FileCompression compression, final FileOutputType type) {
+        final FileWriterOptions.Builder builder = new FileWriterOptions.Builder()
+                .withCompression(compression)
+                .withCompressionBlockSize(BLOCK_SIZE);
+
+        switch (type) {
+            case MAPPED:
+                builder.withMapped(4096);
+                break;
+            case CHANNEL:
+                builder.withChannel(256);
+                break;
+            case STREAM:
+            default:
+                builder.withStream();
+                break;
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Writes bytes to a compressed file, then closes it.
+     * @param file The path to the file.
+     * @param compression The compression.
+     * @param type The output type.
+     * @param append <code>true</code> to append to the file.
+     * @param content The bytes to write.
+     * @throws IOException If the file can't be written.
+     */
+    private static void write(final Path file, final FileCompression compression, final FileOutputType type, final boolean append,
+                              final byte[] content) throws IOException {
+        try (final FileOutput output = CompressedFileOutputTest.options(compression, type).open(file, append)) {
+            output.write(content, 0, content.length);
+        }
+    }
+
+    /**
+     * Decodes a compressed file with the decoders of the JDK.
+     * @param file The path to the file.
+     * @param compression The compression.
+     * @param lenient <code>true</code> to return the bytes decoded before an unexpected end, <code>false</code> to fail.
+     * @return The decoded bytes.
+     * @throws IOException If the file can't be decoded.
+     */
+    private static byte[] decode(final Path file, final FileCompression compression, final boolean lenient) throws IOException {
+        final ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[1024];
+
+        try (final InputStream input = compression == FileCompression.DEFLATE
+                ? new InflaterInputStream(Files.newInputStream(file))
+                : new GZIPInputStream(Files.newInputStream(file))) {
+            int read;
+            while ((read = input.read(buffer)) >= 0) {
+                decoded.write(buffer, 0, read);
+            }
+        } catch (EOFException e) {
+            if (!lenient) throw e;
+        }
+
+        return decoded.toByteArray();
+    }
+
+    /**
+     * Get distinct lines of text, so a block lost or repeated is noticed.
+     * @param first The number of the first line.
+     * @param length The number of bytes.
+     * @return The bytes of the lines.
+     */
+    private static byte[] content(final int first, final int length) {
+        final StringBuilder builder = new StringBuilder();
+
+        for (int line = first; builder.length() < length; line++) {
+            builder.append("line ").append(line).append('\n');
+        }
+
+        return Arrays.copyOf(builder.toString().getBytes(StandardCharsets.US_ASCII), length);
+    }
+
+    /**
+     * Concatenates two arrays.
+     * @param first The first array.
+     * @param second The second array.
+     * @return The concatenation.
+     */
+    private static byte[] concat(final byte[] first, final byte[] second) {
+        final byte[] result = Arrays.copyOf(first, first.length + second.length);
+
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
@@ -0,0 +1,32 @@
+package io.github.nullptr.tools.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The tests of the {@link FileWriter}.
+ */
+class FileWriterTest {
+
+    @Test
+    void linesAreEncodedToUtf8(@TempDir final Path directory) throws IOException {
+        final Path file = directory.resolve("lines.txt");
+
+        try (final FileWriter writer = new FileWriter(file) { }) {
+            writer.write("plain");
+            writer.write("été 😀");
+            writer.write((String) null);
+        }
+
+        final String separator = System.lineSeparator();
+        assertEquals("plain" + separator + "été 😀" + separator + "null" + separator,
+                new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+}
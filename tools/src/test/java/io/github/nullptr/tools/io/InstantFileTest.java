@@ -0,0 +1,90 @@
+package io.github.nullptr.tools.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The tests of the {@link InstantFile}: the file is either replaced whole, or left untouched.
+ */
+class InstantFileTest {
+
+    @Test
+    void writeReplacesTheFile(@TempDir final Path directory) throws IOException {
+        final Path file = directory.resolve("file.txt");
+        final InstantFile instant = new InstantFile(file, "new".getBytes(StandardCharsets.UTF_8));
+
+        Files.write(file, "old".getBytes(StandardCharsets.UTF_8));
+        instant.write();
+
+        assertEquals("new", InstantFileTest.read(file));
+        assertFalse(Files.exists(instant.getTemporaryPath()));
+        assertThrows(IllegalStateException.class, instant::write);
+    }
+
+    @Test
+    void failedWriteLeavesTheFileUntouched(@TempDir final Path directory) throws IOException {
+        final Path file = directory.resolve("file.txt");
+        // Fails after a part of the content was written to the temporary file.
+        final InputStream content = new SequenceInputStream(new ByteArrayInputStream(new byte[100_000]), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("The source failed.");
+            }
+        });
+        final InstantFile instant = new InstantFile(file, content);
+
+        Files.write(file, "old".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(RuntimeException.class, instant::write);
+        assertEquals("old", InstantFileTest.read(file));
+        assertFalse(Files.exists(instant.getTemporaryPath()));
+        InstantFileTest.assertOnlyFile(directory, file);
+    }
+
+    @Test
+    void closeWithoutWriteLeavesNothing(@TempDir final Path directory) throws IOException {
+        final Path file = directory.resolve("file.txt");
+
+        new InstantFile(file, "never written").close();
+
+        InstantFileTest.assertOnlyFile(directory, null);
+    }
+
+    /**
+     * Check a directory holds a single file, or nothing.
+     * @param directory The directory.
+     * @param file The single file expected, or <code>null</code> if the directory must be empty.
+     * @throws IOException If the directory can't be listed.
+     */
+    private static void assertOnlyFile(final Path directory, final Path file) throws IOException {
+        try (final Stream<Path> files = Files.list(directory)) {
+            final Object[] listed = files.toArray();
+
+            assertEquals(file == null ? 0 : 1, listed.length);
+            if (file != null) assertEquals(file, listed[0]);
+        }
+    }
+
+    /**
+     * Reads a file as UTF-8.
+     * @param file The path to the file.
+     * @return The content of the file.
+     * @throws IOException If the file can't be read.
+     */
+    private static String read(final Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.nullptr.tools.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The tests of the {@link MappedFileOutput}.
+ */
+class MappedFileOutputTest {
+
+    @Test
+    void appendSkipsTheZerosLeftByACrash(@TempDir final Path directory) throws IOException {
+        final Path file = directory.resolve("crashed.log");
+        final byte[] before = "first\n".getBytes(StandardCharsets.UTF_8);
+        final byte[] crashed = new byte[before.length + 20_000];
+
+        // The pre-allocated chunk of a file that was never closed.
+        System.arraycopy(before, 0, crashed, 0, before.length);
+        Files.write(file, crashed);
+
+        try (final MappedFileOutput output = new MappedFileOutput(file, true, 4096)) {
+            assertEquals(before.length, output.position());
+            output.write("second\n".getBytes(StandardCharsets.UTF_8), 0, 7);
+        }
+
+        assertEquals("first\nsecond\n", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writesAcrossManyChunks(@TempDir final Path directory) throws IOException {
+        final Path file = directory.resolve("chunks.log");
+        final StringBuilder expected = new StringBuilder();
+
+        try (final MappedFileOutput output = new MappedFileOutput(file, false, 16)) {
+            for (int i = 0; i < 500; i++) {
+                final byte[] line = ("line " + i + "\n").getBytes(StandardCharsets.UTF_8);
+
+                output.write(line, 0, line.length);
+                expected.append("line ").append(i).append('\n');
+            }
+        }
+
+        assertEquals(expected.toString(), new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void appendingWriterCountsTheWrittenBytesOnly(@TempDir final Path directory) throws IOException {
+        final Path file = directory.resolve("writer.log");
+        final FileWriterOptions options = new FileWriterOptions.Builder().withMapped(1024 * 1024).build();
+
+        Files.write(file, "first\n".getBytes(StandardCharsets.UTF_8));
+        try (final FileWriter writer = new FileWriter(file, options, true) { }) {
+            writer.write("second");
+            assertEquals(13, writer.size());
+        }
+
+        assertEquals("first\nsecond\n", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+    }
+}
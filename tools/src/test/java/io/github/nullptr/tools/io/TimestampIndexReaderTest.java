@@ -0,0 +1,134 @@
+package io.github.nullptr.tools.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The tests of the {@link TimestampIndexReader}, on a file of fixed-size records written in timestamp order.
+ */
+class TimestampIndexReaderTest {
+
+    /**
+     * The number of records of the file.
+     */
+    private static final int RECORDS = 100;
+    /**
+     * The size of a record, in bytes.
+     */
+    private static final int RECORD_SIZE = 10;
+    /**
+     * The time of the first record, in milliseconds since the epoch.
+     */
+    private static final long FIRST = 1_000;
+    /**
+     * The time between two records, in milliseconds.
+     */
+    private static final long STEP = 10;
+
+    @Test
+    void regionHoldsEveryRecordOfTheWindow(@TempDir final Path directory) throws IOException {
+        final Path file = TimestampIndexReaderTest.indexedFile(directory, 5 * RECORD_SIZE);
+        final TimestampIndexReader reader = new TimestampIndexReader(file);
+        final long size = Files.size(file);
+
+        assertEquals(RECORDS / 5, reader.size());
+
+        for (long from = FIRST - 50; from <= FIRST + RECORDS * STEP + 50; from += 7) {
+            for (long to = from; to <= from + 300; to += 13) {
+                final long start = reader.startOffset(from);
+                final long end = reader.endOffset(to, size);
+
+                assertTrue(start >= 0 && start <= end && end <= size, "[" + start + ", " + end + "[ for " + from + "-" + to);
+
+                for (int record = 0; record < RECORDS; record++) {
+                    final long timestamp = FIRST + record * STEP;
+                    if (timestamp < from || timestamp > to) continue;
+
+                    final long offset = (long) record * RECORD_SIZE;
+                    assertTrue(start <= offset && offset + RECORD_SIZE <= end, "Record " + record + " out of [" + start + ", " + end + "[");
+                }
+            }
+        }
+    }
+
+    @Test
+    void windowOutOfTheFile(@TempDir final Path directory) throws IOException {
+        final Path file = TimestampIndexReaderTest.indexedFile(directory, 5 * RECORD_SIZE);
+        final TimestampIndexReader reader = new TimestampIndexReader(file);
+        final long size = Files.size(file);
+
+        assertEquals(0, reader.startOffset(Long.MIN_VALUE));
+        assertEquals(0, reader.endOffset(FIRST - 1, size));
+        assertEquals(0, reader.map(0, FIRST - 1).remaining());
+
+        assertEquals(size, reader.endOffset(Long.MAX_VALUE - 1, size));
+        assertTrue(reader.startOffset(Long.MAX_VALUE) < size, "The last records may be after the last entry");
+    }
+
+    @Test
+    void fileShorterThanItsIndex(@TempDir final Path directory) throws IOException {
+        final Path file = TimestampIndexReaderTest.indexedFile(directory, 5 * RECORD_SIZE);
+        final TimestampIndexReader reader = new TimestampIndexReader(file);
+
+        // Rewritten since the index was read.
+        Files.write(file, new byte[3 * RECORD_SIZE]);
+
+        final MappedByteBuffer after = reader.map(FIRST + 80 * STEP, FIRST + 90 * STEP);
+        final MappedByteBuffer all = reader.map(Long.MIN_VALUE, Long.MAX_VALUE - 1);
+
+        assertEquals(0, after.remaining());
+        assertEquals(3 * RECORD_SIZE, all.remaining());
+    }
+
+    @Test
+    void partialEntryIsIgnored(@TempDir final Path directory) throws IOException {
+        final Path file = TimestampIndexReaderTest.indexedFile(directory, 5 * RECORD_SIZE);
+
+        // An entry being written by the logger.
+        Files.write(TimestampIndexWriter.pathOf(file), new byte[5], StandardOpenOption.APPEND);
+
+        assertEquals(RECORDS / 5, new TimestampIndexReader(file).size());
+    }
+
+    @Test
+    void emptyIndexMapsTheWholeFile(@TempDir final Path directory) throws IOException {
+        final Path file = TimestampIndexReaderTest.indexedFile(directory, Long.MAX_VALUE);
+        final TimestampIndexWriter writer = new TimestampIndexWriter(file, 1);
+
+        // Truncates the index.
+        writer.close();
+
+        final TimestampIndexReader reader = new TimestampIndexReader(file);
+        assertEquals(0, reader.size());
+        assertEquals(RECORDS * RECORD_SIZE, reader.map(FIRST, FIRST).remaining());
+    }
+
+    /**
+     * Writes a file of records and its index.
+     * @param directory The directory of the file.
+     * @param interval The number of bytes between two entries of the index.
+     * @return The path to the file.
+     * @throws IOException If the file or its index can't be written.
+     */
+    private static Path indexedFile(final Path directory, final long interval) throws IOException {
+        final Path file = directory.resolve("records.bin");
+
+        try (final TimestampIndexWriter writer = new TimestampIndexWriter(file, interval)) {
+            for (int record = 0; record < RECORDS; record++) {
+                writer.record(FIRST + record * STEP, (long) record * RECORD_SIZE);
+            }
+        }
+
+        Files.write(file, new byte[RECORDS * RECORD_SIZE]);
+        return file;
+    }
+}
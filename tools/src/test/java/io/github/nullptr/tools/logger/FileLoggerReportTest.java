@@ -0,0 +1,110 @@
+package io.github.nullptr.tools.logger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The tests of the periodic reports of the {@link FileLogger}: they are written even if nothing else is logged.
+ */
+class FileLoggerReportTest {
+
+    /**
+     * The interval between two reports, in milliseconds.
+     */
+    private static final long REPORT_INTERVAL = 50;
+    /**
+     * The maximum time to wait for a report, in milliseconds.
+     */
+    private static final long TIMEOUT = 5_000;
+
+    @Test
+    void stackTraceReportOfSynchronousLogger(@TempDir final Path directory) throws IOException, InterruptedException {
+        FileLoggerReportTest.assertStackTraceReport(directory.resolve("sync.log"), new FileLogger.Builder());
+    }
+
+    @Test
+    void stackTraceReportOfRolledLogger(@TempDir final Path directory) throws IOException, InterruptedException {
+        FileLoggerReportTest.assertStackTraceReport(directory.resolve("rolled.log"),
+                new FileLogger.Builder().withRolling(1024 * 1024, LoggerRollingInterval.NEVER, 0, false));
+    }
+
+    @Test
+    void stackTraceReportOfAsynchronousLogger(@TempDir final Path directory) throws IOException, InterruptedException {
+        FileLoggerReportTest.assertStackTraceReport(directory.resolve("async.log"),
+                new FileLogger.Builder().withAsync(64, LoggerOverflowPolicy.BLOCK));
+    }
+
+    @Test
+    void suppressedReportWithoutNewMessage(@TempDir final Path directory) throws IOException, InterruptedException {
+        final Path path = directory.resolve("limited.log");
+        final FileLogger logger = new FileLogger.Builder().withPath(path).withPrefix("Test")
+                .withRateLimit(1, 1, REPORT_INTERVAL)
+                .build();
+
+        try {
+            for (int i = 0; i < 10; i++) logger.info("flood {}", i);
+
+            assertTrue(FileLoggerReportTest.awaitContent(path, "Suppressed 9 similar messages: flood {}"), FileLoggerReportTest.read(path));
+        } finally {
+            logger.close();
+        }
+    }
+
+    /**
+     * Logs the same exception twice, then checks the repeated stack trace is reported without logging anything else.
+     * @param path The path of the file to log to.
+     * @param builder The builder of the logger, without its path and prefix.
+     * @throws IOException If the file can't be read.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    private static void assertStackTraceReport(final Path path, final FileLogger.Builder builder) throws IOException, InterruptedException {
+        final FileLogger logger = builder.withPath(path).withPrefix("Test").withStackTraces(16, REPORT_INTERVAL).build();
+        final IllegalStateException exception = new IllegalStateException("boom");
+
+        try {
+            logger.error(exception);
+            logger.error(exception);
+
+            assertTrue(FileLoggerReportTest.awaitContent(path, "repeated 1 time"), FileLoggerReportTest.read(path));
+        } finally {
+            logger.close();
+        }
+    }
+
+    /**
+     * Waits for a text to appear in a file.
+     * @param path The path of the file.
+     * @param text The text to wait for.
+     * @return <code>true</code> if the text appeared before the timeout.
+     * @throws IOException If the file can't be read.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    private static boolean awaitContent(final Path path, final String text) throws IOException, InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT);
+
+        while (System.nanoTime() < deadline) {
+            if (FileLoggerReportTest.read(path).contains(text)) return true;
+            Thread.sleep(10);
+        }
+
+        return false;
+    }
+
+    /**
+     * Reads a file as UTF-8.
+     * @param path The path of the file.
+     * @return The content of the file.
+     * @throws IOException If the file can't be read.
+     */
+    private static String read(final Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+}
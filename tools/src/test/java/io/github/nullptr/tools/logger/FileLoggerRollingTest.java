@@ -0,0 +1,168 @@
+package io.github.nullptr.tools.logger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The tests of the rolling of the {@link FileLogger}.
+ */
+class FileLoggerRollingTest {
+
+    /**
+     * The maximum size of a file before it is rolled.
+     */
+    private static final long MAX_BYTES = 1024;
+    /**
+     * The number of rolled segments kept.
+     */
+    private static final int RETENTION = 3;
+    /**
+     * The number of the line in a message.
+     */
+    private static final Pattern LINE = Pattern.compile("line (\\d+)");
+
+    @Test
+    void sizeRollingKeepsTheRetainedSegments(@TempDir final Path directory) throws IOException {
+        FileLoggerRollingTest.assertRolling(directory, false);
+    }
+
+    @Test
+    void compressedSegmentsAreRetained(@TempDir final Path directory) throws IOException {
+        FileLoggerRollingTest.assertRolling(directory, true);
+    }
+
+    @Test
+    void fileOfThePreviousRunIsRolled(@TempDir final Path directory) throws IOException {
+        final Path path = directory.resolve("app.log");
+
+        Files.write(path, "previous run\n".getBytes(StandardCharsets.UTF_8));
+
+        final FileLogger logger = new FileLogger.Builder().withPath(path).withPrefix("Test")
+                .withRolling(MAX_BYTES, LoggerRollingInterval.NEVER, 0, false)
+                .build();
+        try {
+            logger.info("current run");
+        } finally {
+            logger.close();
+        }
+
+        final List<Path> segments = FileLoggerRollingTest.segments(directory);
+        assertEquals(1, segments.size());
+        assertEquals("previous run\n", FileLoggerRollingTest.read(segments.get(0)));
+
+        final String current = FileLoggerRollingTest.read(path);
+        assertTrue(current.contains("current run"), current);
+        assertFalse(current.contains("previous run"), current);
+    }
+
+    /**
+     * Logs enough lines to roll many times, then checks only the retained segments are left,
+     * each one below the maximum size, and holding the most recent lines.
+     * @param directory The directory of the file.
+     * @param compress <code>true</code> to compress the rolled segments.
+     * @throws IOException If a file can't be read.
+     */
+    private static void assertRolling(final Path directory, final boolean compress) throws IOException {
+        final Path path = directory.resolve("app.log");
+        final int lines = 500;
+        final FileLogger logger = new FileLogger.Builder().withPath(path).withPrefix("Test")
+                .withRolling(MAX_BYTES, LoggerRollingInterval.NEVER, RETENTION, compress)
+                .build();
+
+        try {
+            for (int i = 0; i < lines; i++) logger.info("line {}", i);
+        } finally {
+            logger.close();
+        }
+
+        final List<Path> segments = FileLoggerRollingTest.segments(directory);
+        final Set<Integer> numbers = new HashSet<>();
+
+        assertEquals(RETENTION, segments.size(), segments.toString());
+        for (final Path segment : segments) {
+            assertEquals(compress, segment.getFileName().toString().endsWith(".gz"), segment.toString());
+
+            final String content = FileLoggerRollingTest.read(segment);
+            assertTrue(content.getBytes(StandardCharsets.UTF_8).length <= MAX_BYTES, segment + " is too big");
+            FileLoggerRollingTest.collectNumbers(content, numbers);
+        }
+        FileLoggerRollingTest.collectNumbers(FileLoggerRollingTest.read(path), numbers);
+
+        // The kept lines are the last ones, without gap.
+        final int oldest = lines - numbers.size();
+        for (int i = oldest; i < lines; i++) {
+            assertTrue(numbers.contains(i), "Missing line " + i);
+        }
+    }
+
+    /**
+     * Get the rolled segments of "app.log" in a directory.
+     * @param directory The directory.
+     * @return The segments.
+     * @throws IOException If the directory can't be listed.
+     */
+    private static List<Path> segments(final Path directory) throws IOException {
+        try (final Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                final String name = file.getFileName().toString();
+                return name.startsWith("app.") && !name.equals("app.log") && !name.endsWith(".idx");
+            }).sorted().collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    /**
+     * Adds the numbers of the lines of a file to a set, checking none is repeated.
+     * @param content The content of the file.
+     * @param numbers The numbers already read.
+     */
+    private static void collectNumbers(final String content, final Set<Integer> numbers) {
+        final Matcher matcher = LINE.matcher(content);
+
+        while (matcher.find()) {
+            assertTrue(numbers.add(Integer.parseInt(matcher.group(1))), "Repeated " + matcher.group());
+        }
+    }
+
+    /**
+     * Reads a file as UTF-8, decompressing it if it is a gzip file.
+     * @param file The path to the file.
+     * @return The content of the file.
+     * @throws IOException If the file can't be read.
+     */
+    private static String read(final Path file) throws IOException {
+        if (!file.getFileName().toString().endsWith(".gz")) {
+            return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        }
+
+        try (final InputStream input = new GZIPInputStream(Files.newInputStream(file))) {
+            final StringBuilder builder = new StringBuilder();
+            final byte[] buffer = new byte[4096];
+            int read;
+
+            while ((read = input.read(buffer)) >= 0) {
+                builder.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+            }
+
+            return builder.toString();
+        }
+    }
+}
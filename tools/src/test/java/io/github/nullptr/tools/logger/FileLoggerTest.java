@@ -0,0 +1,78 @@
+package io.github.nullptr.tools.logger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * The tests of the {@link FileLogger} hot path.
+ */
+class FileLoggerTest {
+
+    /**
+     * The number of messages logged before measuring, so the logging path is compiled.
+     */
+    private static final int WARM_UP = 200_000;
+    /**
+     * The number of measured messages.
+     */
+    private static final int MEASURED = 100_000;
+
+    @Test
+    void parameterizedLogDoesNotAllocate(@TempDir final Path directory) {
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        final FileLogger logger = new FileLogger(directory.resolve("test.log"), "Test");
+        final LoggerPrefix prefix = logger.prefix("Test");
+        final long thread = Thread.currentThread().getId();
+
+        try {
+            for (int i = 0; i < WARM_UP; i++) logger.log(prefix, LoggerPrintType.INFO, "x {}", 42L);
+
+            final long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < MEASURED; i++) logger.log(prefix, LoggerPrintType.INFO, "x {}", 42L);
+            final long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+            // A few bytes are tolerated for the measure itself, far from one allocation per message.
+            assertTrue(allocated < MEASURED / 10, "Allocated " + allocated + " bytes for " + MEASURED + " messages");
+        } finally {
+            logger.close();
+        }
+    }
+
+    @Test
+    void nestedLogDoesNotOverwriteMessage(@TempDir final Path directory) throws IOException {
+        final Path path = directory.resolve("test.log");
+        final FileLogger logger = new FileLogger(path, "Test");
+        final LoggerPrefix prefix = logger.prefix("Test");
+
+        // An argument logging while the outer message is formatted, with the builder of the thread.
+        final Object argument = new Object() {
+            @Override
+            public String toString() {
+                logger.log(prefix, LoggerPrintType.DEBUG, "inner {}", 1L);
+                return "argument";
+            }
+        };
+
+        try {
+            logger.log(prefix, LoggerPrintType.INFO, "outer {} end", argument);
+        } finally {
+            logger.close();
+        }
+
+        final String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+        assertTrue(content.contains("inner 1"), content);
+        assertTrue(content.contains("outer argument end"), content);
+    }
+}
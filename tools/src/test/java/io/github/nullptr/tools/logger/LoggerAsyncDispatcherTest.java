@@ -0,0 +1,142 @@
+package io.github.nullptr.tools.logger;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The tests of the {@link LoggerAsyncDispatcher}: every record is either written once or counted as dropped.
+ */
+class LoggerAsyncDispatcherTest {
+
+    /**
+     * The number of concurrent producers.
+     */
+    private static final int PRODUCERS = 4;
+    /**
+     * The number of records dispatched by each producer.
+     */
+    private static final int RECORDS = 2_000;
+
+    @Test
+    void closeRacingProducersLosesNothing() throws InterruptedException {
+        for (int round = 0; round < 50; round++) {
+            for (final LoggerOverflowPolicy policy : LoggerOverflowPolicy.values()) {
+                this.closeWhileDispatching(policy, round % 3);
+            }
+        }
+    }
+
+    @Test
+    void dropOldestKeepsTheNewestRecords() throws InterruptedException {
+        final List<Long> written = Collections.synchronizedList(new ArrayList<>());
+        // A slow sink, so the buffer overflows and the oldest records are dropped.
+        final LoggerAsyncDispatcher dispatcher = new LoggerAsyncDispatcher("test", 16, LoggerOverflowPolicy.DROP_OLDEST, (timestamp, record) -> {
+            written.add(record.getLong(record.position()));
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }, () -> {});
+
+        final ByteBuffer record = ByteBuffer.allocate(Long.BYTES);
+        final int total = 10_000;
+
+        for (long id = 0; id < total; id++) {
+            record.clear();
+            record.putLong(0, id);
+            dispatcher.dispatch(id, record);
+        }
+
+        dispatcher.close();
+
+        assertTrue(dispatcher.getDroppedCount() > 0, "The buffer never overflowed");
+        assertEquals(total, written.size() + dispatcher.getDroppedCount(), "Written and dropped records");
+        assertEquals(total - 1L, (long) written.get(written.size() - 1), "The newest record must be written");
+
+        for (int i = 1; i < written.size(); i++) {
+            assertTrue(written.get(i - 1) < written.get(i), "Records written out of order: " + written.get(i - 1) + " then " + written.get(i));
+        }
+    }
+
+    @Test
+    void dropCountsRejectedRecords() {
+        final AtomicLong written = new AtomicLong();
+        final LoggerAsyncDispatcher dispatcher = new LoggerAsyncDispatcher("test", 4, LoggerOverflowPolicy.DROP, (timestamp, record) -> {
+            written.incrementAndGet();
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }, () -> {});
+
+        final ByteBuffer record = ByteBuffer.allocate(Long.BYTES);
+        for (int i = 0; i < 1_000; i++) {
+            record.clear();
+            dispatcher.dispatch(i, record);
+        }
+
+        dispatcher.close();
+
+        assertTrue(dispatcher.getDroppedCount() > 0, "The buffer never overflowed");
+        assertEquals(1_000, written.get() + dispatcher.getDroppedCount());
+    }
+
+    @Test
+    void dispatchAfterCloseIsDropped() {
+        final AtomicLong written = new AtomicLong();
+        final LoggerAsyncDispatcher dispatcher = new LoggerAsyncDispatcher("test", 4, LoggerOverflowPolicy.BLOCK, (timestamp, record) -> written.incrementAndGet(), () -> {});
+
+        dispatcher.close();
+        dispatcher.dispatch(0, ByteBuffer.allocate(Long.BYTES));
+
+        assertEquals(0, written.get());
+        assertEquals(1, dispatcher.getDroppedCount());
+    }
+
+    /**
+     * Closes a dispatcher while producers dispatch to it, then checks every record was written once or dropped.
+     * @param policy The overflow policy.
+     * @param delayMillis The time to let the producers run before closing.
+     * @throws InterruptedException If the test is interrupted.
+     */
+    private void closeWhileDispatching(final LoggerOverflowPolicy policy, final long delayMillis) throws InterruptedException {
+        final List<Long> written = Collections.synchronizedList(new ArrayList<>());
+        final AtomicLong dispatched = new AtomicLong();
+        final LoggerAsyncDispatcher dispatcher = new LoggerAsyncDispatcher("test", 64, policy,
+                (timestamp, record) -> written.add(record.getLong(record.position())), () -> {});
+
+        final Thread[] producers = new Thread[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            final long first = (long) p * RECORDS;
+
+            producers[p] = new Thread(() -> {
+                final ByteBuffer record = ByteBuffer.allocate(Long.BYTES);
+
+                for (long id = first; id < first + RECORDS; id++) {
+                    record.clear();
+                    record.putLong(0, id);
+                    dispatcher.dispatch(id, record);
+                    dispatched.incrementAndGet();
+                }
+            });
+            producers[p].start();
+        }
+
+        Thread.sleep(delayMillis);
+        dispatcher.close();
+
+        for (final Thread producer : producers) {
+            producer.join();
+        }
+
+        final Set<Long> distinct = new HashSet<>(written);
+        assertEquals(written.size(), distinct.size(), policy + ": records written twice");
+        assertEquals(dispatched.get(), written.size() + dispatcher.getDroppedCount(), policy + ": records lost");
+    }
+}
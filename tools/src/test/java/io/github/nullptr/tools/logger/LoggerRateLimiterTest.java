@@ -0,0 +1,82 @@
+package io.github.nullptr.tools.logger;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The tests of the {@link LoggerRateLimiter}.
+ */
+class LoggerRateLimiterTest {
+
+    /**
+     * The prefix of the messages.
+     */
+    private static final LoggerPrefix PREFIX = new LoggerPrefix(0, "Test");
+
+    @Test
+    void similarMessagesAreSuppressedAndReported() {
+        final LoggerRateLimiter limiter = new LoggerRateLimiter(1, 2, 16);
+        final List<String> lines = new ArrayList<>();
+
+        assertTrue(limiter.tryAcquire(PREFIX, LoggerPrintType.INFO, "flood {}"));
+        assertTrue(limiter.tryAcquire(PREFIX, LoggerPrintType.INFO, "flood {}"));
+        assertFalse(limiter.tryAcquire(PREFIX, LoggerPrintType.INFO, "flood {}"));
+        assertFalse(limiter.tryAcquire(PREFIX, LoggerPrintType.INFO, "flood {}"));
+        assertTrue(limiter.tryAcquire(PREFIX, LoggerPrintType.WARNING, "flood {}"), "Each type has its own buckets");
+
+        limiter.report((prefix, type, line) -> lines.add(type + " " + line), new StringBuilder());
+        assertEquals(1, lines.size());
+        assertEquals("INFO Suppressed 2 similar messages: flood {}", lines.get(0));
+
+        lines.clear();
+        limiter.report((prefix, type, line) -> lines.add(line.toString()), new StringBuilder());
+        assertTrue(lines.isEmpty(), "The counters are reset by the report");
+    }
+
+    @Test
+    void idleSlotsAreReclaimed() throws InterruptedException {
+        final LoggerRateLimiter limiter = new LoggerRateLimiter(1000, 1, 2);
+
+        assertTrue(limiter.tryAcquire(PREFIX, LoggerPrintType.INFO, "first"));
+        assertTrue(limiter.tryAcquire(PREFIX, LoggerPrintType.INFO, "second"));
+
+        // Both slots are busy until their buckets are full again.
+        assertTrue(limiter.tryAcquire(PREFIX, LoggerPrintType.INFO, "third"));
+        assertEquals(1, limiter.getUnlimitedCount());
+
+        Thread.sleep(20);
+
+        assertTrue(limiter.tryAcquire(PREFIX, LoggerPrintType.INFO, "third"));
+        assertFalse(limiter.tryAcquire(PREFIX, LoggerPrintType.INFO, "third"), "A reclaimed slot limits its new template");
+        assertEquals(1, limiter.getUnlimitedCount());
+    }
+
+    @Test
+    void slotWithUnreportedMessagesIsNotReclaimed() throws InterruptedException {
+        final LoggerRateLimiter limiter = new LoggerRateLimiter(1000, 1, 1);
+        final List<String> lines = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire(PREFIX, LoggerPrintType.INFO, "first");
+            limiter.tryAcquire(PREFIX, LoggerPrintType.INFO, "second");
+        }
+        Thread.sleep(20);
+
+        assertTrue(limiter.tryAcquire(PREFIX, LoggerPrintType.INFO, "third"));
+        assertEquals(1, limiter.getUnlimitedCount());
+
+        limiter.report((prefix, type, line) -> lines.add(line.toString()), new StringBuilder());
+        assertTrue(lines.contains("Suppressed 2 similar messages: first"), lines.toString());
+        assertTrue(lines.contains("Suppressed 2 similar messages: second"), lines.toString());
+        assertTrue(lines.contains("Did not rate limit 1 message: too many distinct templates"), lines.toString());
+
+        assertTrue(limiter.tryAcquire(PREFIX, LoggerPrintType.INFO, "third"));
+        assertEquals(0, limiter.getUnlimitedCount());
+    }
+}
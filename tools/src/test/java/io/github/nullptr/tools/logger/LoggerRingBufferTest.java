@@ -0,0 +1,76 @@
+package io.github.nullptr.tools.logger;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The tests of the {@link LoggerRingBuffer}.
+ */
+class LoggerRingBufferTest {
+
+    @Test
+    void recordsAreReadInOrderUntilEmpty() {
+        final LoggerRingBuffer buffer = new LoggerRingBuffer(5);
+        final List<Long> read = new ArrayList<>();
+
+        assertEquals(8, buffer.capacity());
+        for (long id = 0; id < 8; id++) {
+            assertTrue(buffer.offer(id, LoggerRingBufferTest.record(id)));
+        }
+        assertFalse(buffer.offer(8, LoggerRingBufferTest.record(8)), "A full buffer must reject the record");
+
+        while (buffer.poll((timestamp, record) -> read.add(record.getLong(record.position())))) {
+            // Drains the buffer.
+        }
+
+        assertTrue(buffer.isEmpty());
+        for (int i = 0; i < 8; i++) {
+            assertEquals((long) i, (long) read.get(i));
+        }
+    }
+
+    @Test
+    void hugeRecordIsCopiedWhole() {
+        final LoggerRingBuffer buffer = new LoggerRingBuffer(2);
+        final ByteBuffer huge = ByteBuffer.allocate(1 << 20);
+
+        for (int i = 0; i < huge.capacity(); i++) {
+            huge.put(i, (byte) i);
+        }
+
+        assertTrue(buffer.offer(0, huge));
+        assertEquals(huge.capacity(), huge.position(), "The record must be consumed");
+
+        huge.flip();
+        assertTrue(buffer.poll((timestamp, record) -> assertEquals(huge, record)));
+
+        // The slot, shrunk back, still takes the next records.
+        assertTrue(buffer.offer(1, LoggerRingBufferTest.record(1)));
+        assertTrue(buffer.poll((timestamp, record) -> assertEquals(1L, record.getLong(record.position()))));
+    }
+
+    @Test
+    void tooSmallCapacityIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new LoggerRingBuffer(1));
+    }
+
+    /**
+     * Creates a record holding an id.
+     * @param id The id.
+     * @return The record, ready to be read.
+     */
+    private static ByteBuffer record(long id) {
+        final ByteBuffer record = ByteBuffer.allocate(Long.BYTES);
+
+        record.putLong(0, id);
+        return record;
+    }
+}